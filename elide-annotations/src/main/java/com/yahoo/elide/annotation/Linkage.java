@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.annotation;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Chooses how the linkage of a to-many relationship is rendered when its owner is part of a collection response.
+ * The linkage query parameter overrides it for a single request.
+ */
+@Target({METHOD, FIELD})
+@Retention(RUNTIME)
+public @interface Linkage {
+
+    /**
+     * Linkage mode.
+     */
+    enum Mode {
+        /**
+         * Every member of the relationship is identified.
+         */
+        FULL,
+        /**
+         * At most {@link Linkage#limit()} members are identified, along with the total count.
+         */
+        CAPPED,
+        /**
+         * Only links to the relationship are rendered.  Its members are not loaded.
+         */
+        LINKS
+    }
+
+    /**
+     * How the linkage is rendered.
+     *
+     * @return the mode (default = Mode.FULL)
+     */
+    Mode mode() default Mode.FULL;
+
+    /**
+     * The maximum number of members identified in CAPPED mode.
+     *
+     * @return the limit (default = 100)
+     */
+    int limit() default 100;
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.benchmarks;
+
+import com.yahoo.elide.ElideResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * Measures complete JSON-API requests, from parsing the path to serializing the response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElideBenchmark {
+    private static final MultivaluedMap<String, String> INCLUDE = ElideState.queryParams("include", "minions");
+
+    private static final MultivaluedMap<String, String> FILTER_SORT_PAGE = ElideState.queryParams(
+            "filter[employee]", "boss.id=in=(1,2,3)",
+            "sort", "-id",
+            "page[size]", "10");
+
+    @Setup
+    public void setup(ElideState state) {
+        for (ElideResponse response : new ElideResponse[] {
+                getCollectionWithInclude(state), getFilteredSortedPage(state), getLedgers(state)}) {
+            if (response.getResponseCode() != 200) {
+                throw new IllegalStateException(response.getBody());
+            }
+        }
+    }
+
+    @Benchmark
+    public ElideResponse getCollectionWithInclude(ElideState state) {
+        return state.elide.get("/manager", INCLUDE, ElideState.OWNER);
+    }
+
+    @Benchmark
+    public ElideResponse getFilteredSortedPage(ElideState state) {
+        return state.elide.get("/employee", FILTER_SORT_PAGE, ElideState.OWNER);
+    }
+
+    @Benchmark
+    public ElideResponse getLedgers(ElideState state) {
+        return state.elide.get("/ledger", null, ElideState.OWNER);
+    }
+}
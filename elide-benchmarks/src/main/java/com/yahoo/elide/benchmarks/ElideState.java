@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.benchmarks;
+
+import com.yahoo.elide.Elide;
+import com.yahoo.elide.ElideSettings;
+import com.yahoo.elide.ElideSettingsBuilder;
+import com.yahoo.elide.benchmarks.models.Ledger;
+import com.yahoo.elide.core.DataStoreTransaction;
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.core.datastore.inmemory.HashMapDataStore;
+import com.yahoo.elide.core.filter.dialect.RSQLFilterDialect;
+import com.yahoo.elide.models.generics.Employee;
+import com.yahoo.elide.models.generics.Manager;
+import com.yahoo.elide.security.User;
+import com.yahoo.elide.security.checks.Check;
+
+import com.google.common.collect.Sets;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * An Elide instance backed by a {@link HashMapDataStore} holding a generated data set of managers, their
+ * employees and one {@link Ledger} per manager.  The size of the data set is set from the command line,
+ * for example {@code -p managers=1000 -p employeesPerManager=20}.
+ */
+@State(Scope.Benchmark)
+public class ElideState {
+    public static final String OWNER = "owner";
+
+    @Param("100")
+    public int managers;
+
+    @Param("10")
+    public int employeesPerManager;
+
+    public EntityDictionary dictionary;
+    public ElideSettings settings;
+    public Elide elide;
+    public User user;
+    public RSQLFilterDialect filterDialect;
+    public List<Ledger> ledgers;
+
+    @Setup
+    public void setup() {
+        Map<String, Class<? extends Check>> checks = new HashMap<>();
+        checks.put("is owner", Ledger.IsOwner.class);
+        dictionary = new EntityDictionary(checks);
+
+        HashMapDataStore dataStore = new HashMapDataStore(
+                Sets.newHashSet(Manager.class.getPackage(), Ledger.class.getPackage()));
+
+        settings = new ElideSettingsBuilder(dataStore)
+                .withEntityDictionary(dictionary)
+                .withJoinFilterDialect(new RSQLFilterDialect(dictionary))
+                .withSubqueryFilterDialect(new RSQLFilterDialect(dictionary))
+                .build();
+        elide = new Elide(settings);
+        user = new User(OWNER);
+        filterDialect = new RSQLFilterDialect(dictionary);
+
+        populate();
+    }
+
+    /**
+     * Creates a request scope with its own transaction.
+     *
+     * @param path the request path
+     * @param queryParams the query parameters or null
+     * @return the request scope
+     */
+    public RequestScope newRequestScope(String path, MultivaluedMap<String, String> queryParams) {
+        return new RequestScope(path, null, elide.getDataStore().beginTransaction(), user, queryParams, settings);
+    }
+
+    /**
+     * Builds query parameters from name/value pairs.
+     *
+     * @param nameValuePairs alternating parameter names and values
+     * @return the query parameters
+     */
+    public static MultivaluedMap<String, String> queryParams(String... nameValuePairs) {
+        MultivaluedMap<String, String> queryParams = new MultivaluedHashMap<>();
+        for (int idx = 0; idx < nameValuePairs.length; idx += 2) {
+            queryParams.add(nameValuePairs[idx], nameValuePairs[idx + 1]);
+        }
+        return queryParams;
+    }
+
+    private void populate() {
+        RequestScope scope = newRequestScope("/", null);
+        DataStoreTransaction tx = scope.getTransaction();
+        ledgers = new ArrayList<>();
+
+        for (int managerIdx = 0; managerIdx < managers; managerIdx++) {
+            Manager manager = new Manager();
+            tx.createObject(manager, scope);
+
+            Set<Employee> minions = new LinkedHashSet<>();
+            for (int employeeIdx = 0; employeeIdx < employeesPerManager; employeeIdx++) {
+                Employee employee = new Employee();
+                dictionary.setValue(employee, "boss", manager);
+                tx.createObject(employee, scope);
+                minions.add(employee);
+            }
+            dictionary.setValue(manager, "minions", minions);
+
+            Ledger ledger = new Ledger();
+            ledger.setOwner(managerIdx % 2 == 0 ? OWNER : "someone else");
+            ledger.setBalance(managerIdx);
+            tx.createObject(ledger, scope);
+            ledgers.add(ledger);
+        }
+
+        tx.commit(scope);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.benchmarks;
+
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.models.triggers.Invoice;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link EntityDictionary#getId} against the previous implementation which walked the class
+ * hierarchy and reflected into the id field on every call.
+ * <p>
+ * {@link Invoice} inherits its id from a mapped superclass and {@link InvoiceProxy} stands in for an ORM proxy
+ * subclass which is not bound in the dictionary.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetIdBenchmark {
+
+    /**
+     * Simulates a proxy subclass generated by an ORM.
+     */
+    public static class InvoiceProxy extends Invoice {
+        public InvoiceProxy(long id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Exposes the id lookup as it was implemented before ids were cached per class.
+     */
+    public static class ReflectiveDictionary extends EntityDictionary {
+        public ReflectiveDictionary() {
+            super(new HashMap<>());
+        }
+
+        public String getIdReflectively(Object value) {
+            try {
+                AccessibleObject idField = null;
+                for (Class<?> cls = value.getClass(); idField == null && cls != null; cls = cls.getSuperclass()) {
+                    try {
+                        idField = getEntityBinding(cls).getIdField();
+                    } catch (NullPointerException e) {
+                        //Keep walking up the hierarchy
+                    }
+                }
+                if (idField instanceof Field) {
+                    return String.valueOf(((Field) idField).get(value));
+                }
+                if (idField instanceof Method) {
+                    return String.valueOf(((Method) idField).invoke(value, (Object[]) null));
+                }
+                return null;
+            } catch (IllegalArgumentException | IllegalAccessException | InvocationTargetException e) {
+                return null;
+            }
+        }
+    }
+
+    private ReflectiveDictionary dictionary;
+    private Invoice invoice;
+    private Invoice proxy;
+
+    @Setup
+    public void setup() {
+        dictionary = new ReflectiveDictionary();
+        dictionary.bindEntity(Invoice.class);
+
+        invoice = new Invoice();
+        dictionary.setValue(invoice, "id", 1L);
+
+        proxy = new InvoiceProxy(2L);
+    }
+
+    @Benchmark
+    public String getId() {
+        return dictionary.getId(invoice);
+    }
+
+    @Benchmark
+    public String getIdReflectively() {
+        return dictionary.getIdReflectively(invoice);
+    }
+
+    @Benchmark
+    public String getProxyId() {
+        return dictionary.getId(proxy);
+    }
+
+    @Benchmark
+    public String getProxyIdReflectively() {
+        return dictionary.getIdReflectively(proxy);
+    }
+}
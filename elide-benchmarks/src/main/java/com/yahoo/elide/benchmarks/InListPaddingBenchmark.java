@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.benchmarks;
+
+import com.yahoo.elide.ElideSettings;
+import com.yahoo.elide.ElideSettingsBuilder;
+import com.yahoo.elide.benchmarks.models.Ledger;
+import com.yahoo.elide.core.DataStore;
+import com.yahoo.elide.core.DataStoreTransaction;
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.Path;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.core.filter.InPredicate;
+import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.datastores.hibernate5.AbstractHibernateStore;
+import com.yahoo.elide.security.User;
+import com.yahoo.elide.security.checks.Check;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.Environment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading records by id lists of every size from 1 to {@code maxIds} from H2 through Hibernate, with
+ * and without IN-list padding.  Without padding every size is a distinct statement; with padding the sizes
+ * share one statement per power of two.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InListPaddingBenchmark {
+
+    /**
+     * A Hibernate store over an in-memory H2 database of ledgers.
+     */
+    @State(Scope.Benchmark)
+    public static class H2State {
+        @Param({"false", "true"})
+        public boolean inListPadding;
+
+        @Param("64")
+        public int maxIds;
+
+        public SessionFactory sessionFactory;
+        public DataStore dataStore;
+        public ElideSettings settings;
+        public List<FilterExpression> idFilters;
+        private int next;
+
+        @Setup
+        public void setup() {
+            MetadataSources metadataSources = new MetadataSources(new StandardServiceRegistryBuilder()
+                    .applySetting(Environment.DIALECT, "org.hibernate.dialect.H2Dialect")
+                    .applySetting(Environment.DRIVER, "org.h2.Driver")
+                    .applySetting(Environment.URL, "jdbc:h2:mem:inlist;DB_CLOSE_DELAY=-1")
+                    .applySetting(Environment.HBM2DDL_AUTO, "create-drop")
+                    .applySetting(Environment.CURRENT_SESSION_CONTEXT_CLASS, "thread")
+                    .build());
+            metadataSources.addAnnotatedClass(Ledger.class);
+            sessionFactory = metadataSources.buildMetadata().buildSessionFactory();
+
+            try (Session session = sessionFactory.openSession()) {
+                session.beginTransaction();
+                for (int i = 0; i < maxIds; i++) {
+                    Ledger ledger = new Ledger();
+                    ledger.setOwner(ElideState.OWNER);
+                    session.save(ledger);
+                }
+                session.getTransaction().commit();
+            }
+
+            Map<String, Class<? extends Check>> checks = new HashMap<>();
+            checks.put("is owner", Ledger.IsOwner.class);
+            EntityDictionary dictionary = new EntityDictionary(checks);
+
+            dataStore = new AbstractHibernateStore.Builder(sessionFactory).build();
+            dataStore.populateEntityDictionary(dictionary);
+            settings = new ElideSettingsBuilder(dataStore)
+                    .withEntityDictionary(dictionary)
+                    .withInListPadding(inListPadding)
+                    .build();
+
+            Path.PathElement idPath = new Path.PathElement(Ledger.class, long.class, "id");
+            idFilters = new ArrayList<>();
+            List<Object> ids = new ArrayList<>();
+            for (long id = 1; id <= maxIds; id++) {
+                ids.add(id);
+                idFilters.add(new InPredicate(idPath, new ArrayList<>(ids)));
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            sessionFactory.close();
+        }
+
+        public FilterExpression nextIdFilter() {
+            next = (next + 1) % idFilters.size();
+            return idFilters.get(next);
+        }
+    }
+
+    @Benchmark
+    public void loadByIds(H2State state, Blackhole blackhole) throws IOException {
+        try (DataStoreTransaction tx = state.dataStore.beginReadTransaction()) {
+            RequestScope scope = new RequestScope("/ledger", null, tx, new User(ElideState.OWNER), null,
+                    state.settings);
+            for (Object ledger : tx.loadObjects(Ledger.class, Optional.of(state.nextIdFilter()),
+                    Optional.empty(), Optional.empty(), scope)) {
+                blackhole.consume(ledger);
+            }
+            tx.commit(scope);
+        }
+    }
+}
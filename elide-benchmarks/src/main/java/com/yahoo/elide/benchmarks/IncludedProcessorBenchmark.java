@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.benchmarks;
+
+import com.yahoo.elide.core.DataStoreTransaction;
+import com.yahoo.elide.core.PersistentResource;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.jsonapi.document.processors.IncludedProcessor;
+import com.yahoo.elide.jsonapi.models.JsonApiDocument;
+import com.yahoo.elide.models.generics.Manager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * Measures adding two levels of included resources for every manager.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncludedProcessorBenchmark {
+    private static final MultivaluedMap<String, String> INCLUDE = ElideState.queryParams("include", "minions.boss");
+
+    private static final IncludedProcessor PROCESSOR = new IncludedProcessor();
+
+    @Benchmark
+    public JsonApiDocument includeMinionsAndBosses(ElideState state) throws IOException {
+        RequestScope scope = state.newRequestScope("/manager", INCLUDE);
+        try (DataStoreTransaction tx = scope.getTransaction()) {
+            Set<PersistentResource> managers = PersistentResource.loadRecords(Manager.class,
+                    Collections.emptyList(), Optional.empty(), Optional.empty(), Optional.empty(), scope);
+
+            JsonApiDocument document = new JsonApiDocument();
+            PROCESSOR.execute(document, managers, Optional.of(INCLUDE));
+            return document;
+        }
+    }
+}
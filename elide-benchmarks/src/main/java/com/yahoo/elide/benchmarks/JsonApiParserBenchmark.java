@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.benchmarks;
+
+import com.yahoo.elide.parsers.JsonApiParser;
+import com.yahoo.elide.parsers.ParsedPath;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing JSON-API request paths, with and without the path shape cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonApiParserBenchmark {
+
+    private final JsonApiParser parser = new JsonApiParser();
+
+    @Benchmark
+    public ParseTree parseCollection() {
+        return JsonApiParser.parse("/manager");
+    }
+
+    @Benchmark
+    public ParseTree parseNestedEntity() {
+        return JsonApiParser.parse("/manager/1/minions/2/boss");
+    }
+
+    @Benchmark
+    public ParseTree parseRelationship() {
+        return JsonApiParser.parse("/manager/1/relationships/minions");
+    }
+
+    @Benchmark
+    public ParsedPath parsePathCollection() {
+        return parser.parsePath("/manager");
+    }
+
+    @Benchmark
+    public ParsedPath parsePathNestedEntity() {
+        return parser.parsePath("/manager/1/minions/2/boss");
+    }
+
+    @Benchmark
+    public ParsedPath parsePathRelationship() {
+        return parser.parsePath("/manager/1/relationships/minions");
+    }
+}
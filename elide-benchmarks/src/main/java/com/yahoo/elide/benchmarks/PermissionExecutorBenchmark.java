@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.benchmarks;
+
+import com.yahoo.elide.annotation.ReadPermission;
+import com.yahoo.elide.annotation.UpdatePermission;
+import com.yahoo.elide.benchmarks.models.Ledger;
+import com.yahoo.elide.core.PersistentResource;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.core.exceptions.ForbiddenAccessException;
+import com.yahoo.elide.security.PermissionExecutor;
+import com.yahoo.elide.security.executors.ActivePermissionExecutor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures evaluating class and field level permissions with the {@link ActivePermissionExecutor}.
+ * Half of the ledgers belong to the user, so half of the checks are denied.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionExecutorBenchmark {
+
+    @Benchmark
+    public void checkPermissions(ElideState state, Blackhole blackhole) {
+        RequestScope scope = state.newRequestScope("/ledger", null);
+        PermissionExecutor executor = scope.getPermissionExecutor();
+
+        for (Ledger ledger : state.ledgers) {
+            PersistentResource<Ledger> resource =
+                    new PersistentResource<>(ledger, null, scope.getUUIDFor(ledger), scope);
+            try {
+                blackhole.consume(executor.checkPermission(ReadPermission.class, resource));
+                blackhole.consume(executor.checkSpecificFieldPermissions(
+                        resource, null, ReadPermission.class, "balance"));
+                blackhole.consume(executor.checkPermission(UpdatePermission.class, resource));
+            } catch (ForbiddenAccessException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+}
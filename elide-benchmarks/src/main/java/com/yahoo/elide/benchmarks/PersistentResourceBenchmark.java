@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.benchmarks;
+
+import com.yahoo.elide.core.DataStoreTransaction;
+import com.yahoo.elide.core.PersistentResource;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.models.generics.Employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a collection from the data store and serializing every record.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistentResourceBenchmark {
+
+    @Benchmark
+    public void loadRecordsAndToResource(ElideState state, Blackhole blackhole) throws IOException {
+        RequestScope scope = state.newRequestScope("/employee", null);
+        try (DataStoreTransaction tx = scope.getTransaction()) {
+            for (PersistentResource resource : PersistentResource.loadRecords(Employee.class,
+                    Collections.emptyList(), Optional.empty(), Optional.empty(), Optional.empty(), scope)) {
+                blackhole.consume(resource.toResource());
+            }
+        }
+    }
+}
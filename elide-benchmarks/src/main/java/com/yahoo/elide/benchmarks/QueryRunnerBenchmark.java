@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.benchmarks;
+
+import com.yahoo.elide.ElideResponse;
+import com.yahoo.elide.graphql.QueryRunner;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures running a GraphQL query which fetches every manager with its employees, and a small query which
+ * fetches a single manager with and without the parsed document cache and as a persisted query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryRunnerBenchmark {
+    private static final String QUERY = "{\"query\": \"{ manager { edges { node { id "
+            + "minions { edges { node { id boss { edges { node { id } } } } } } } } } }\"}";
+    private static final String SMALL_QUERY = "{ manager(ids: [\"1\"]) { edges { node { id } } } }";
+
+    private QueryRunner runner;
+    private QueryRunner uncachedRunner;
+    private String smallRequest;
+    private String persistedRequest;
+
+    @Setup
+    public void setup(ElideState state) throws JsonProcessingException {
+        runner = new QueryRunner(state.elide);
+        uncachedRunner = new QueryRunner(state.elide, 0);
+
+        ObjectMapper mapper = new ObjectMapper();
+        String hash = runner.registerPersistedQuery(SMALL_QUERY);
+        smallRequest = mapper.writeValueAsString(Collections.singletonMap("query", SMALL_QUERY));
+        persistedRequest = mapper.writeValueAsString(Collections.singletonMap("extensions",
+                Collections.singletonMap("persistedQuery", Collections.singletonMap("sha256Hash", hash))));
+
+        check(runner.run(QUERY, ElideState.OWNER));
+        check(runner.run(smallRequest, ElideState.OWNER));
+        check(runner.run(persistedRequest, ElideState.OWNER));
+    }
+
+    private static void check(ElideResponse response) {
+        if (response.getResponseCode() != 200 || response.getBody().contains("errors")) {
+            throw new IllegalStateException(response.getBody());
+        }
+    }
+
+    @Benchmark
+    public ElideResponse run() {
+        return runner.run(QUERY, ElideState.OWNER);
+    }
+
+    @Benchmark
+    public ElideResponse runSmall() {
+        return runner.run(smallRequest, ElideState.OWNER);
+    }
+
+    @Benchmark
+    public ElideResponse runSmallUncached() {
+        return uncachedRunner.run(smallRequest, ElideState.OWNER);
+    }
+
+    @Benchmark
+    public ElideResponse runSmallPersisted() {
+        return runner.run(persistedRequest, ElideState.OWNER);
+    }
+}
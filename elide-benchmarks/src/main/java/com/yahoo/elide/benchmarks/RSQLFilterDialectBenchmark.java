@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.benchmarks;
+
+import com.yahoo.elide.core.filter.dialect.ParseException;
+import com.yahoo.elide.core.filter.expression.FilterExpression;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * Measures parsing RSQL filters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RSQLFilterDialectBenchmark {
+    private static final MultivaluedMap<String, String> TYPED_FILTER = ElideState.queryParams(
+            "filter[employee]", "id=ge=10;boss.id=in=(1,2,3),id==5",
+            "filter[manager]", "id=in=(4,5,6)");
+
+    private static final MultivaluedMap<String, String> GLOBAL_FILTER = ElideState.queryParams(
+            "filter", "id=ge=10;boss.id=in=(1,2,3),id==5");
+
+    @Benchmark
+    public Map<String, FilterExpression> parseTypedExpression(ElideState state) throws ParseException {
+        return state.filterDialect.parseTypedExpression("/employee", TYPED_FILTER);
+    }
+
+    @Benchmark
+    public FilterExpression parseGlobalExpression(ElideState state) throws ParseException {
+        return state.filterDialect.parseGlobalExpression("/employee", GLOBAL_FILTER);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.benchmarks;
+
+import com.yahoo.elide.core.RequestScope;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * Measures building a request scope, which parses the filter, sort and pagination parameters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestScopeBenchmark {
+    private static final MultivaluedMap<String, String> QUERY_PARAMS = ElideState.queryParams(
+            "filter[employee]", "id=ge=10;boss.id=in=(1,2,3)",
+            "fields[employee]", "boss",
+            "sort", "-id",
+            "page[size]", "10",
+            "page[number]", "2");
+
+    @Benchmark
+    public RequestScope withoutParameters(ElideState state) {
+        return new RequestScope("/employee", null, null, state.user, null, state.settings);
+    }
+
+    @Benchmark
+    public RequestScope withFilterSortAndPagination(ElideState state) {
+        return new RequestScope("/employee", null, null, state.user, QUERY_PARAMS, state.settings);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.benchmarks.models;
+
+import com.yahoo.elide.annotation.Include;
+import com.yahoo.elide.annotation.ReadPermission;
+import com.yahoo.elide.annotation.UpdatePermission;
+import com.yahoo.elide.models.BaseId;
+import com.yahoo.elide.security.ChangeSpec;
+import com.yahoo.elide.security.RequestScope;
+import com.yahoo.elide.security.checks.OperationCheck;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Optional;
+
+import javax.persistence.Entity;
+
+/**
+ * The example models carry no permissions, so the permission benchmarks use this entity which mixes
+ * user and operation checks at the class and field level.
+ */
+@Entity
+@Include(rootLevel = true, type = "ledger")
+@ReadPermission(expression = "Prefab.Role.All AND is owner")
+@UpdatePermission(expression = "is owner")
+public class Ledger extends BaseId {
+    @Getter
+    @Setter
+    private String owner;
+
+    @Getter
+    @Setter
+    @ReadPermission(expression = "is owner OR Prefab.Role.None")
+    private long balance;
+
+    /**
+     * Passes when the ledger belongs to the user.
+     */
+    public static class IsOwner extends OperationCheck<Ledger> {
+        @Override
+        public boolean ok(Ledger ledger, RequestScope requestScope, Optional<ChangeSpec> changeSpec) {
+            return requestScope.getUser().getOpaqueUser().equals(ledger.getOwner());
+        }
+    }
+}
@@ -6,6 +6,7 @@
 package com.yahoo.elide;
 
 import com.yahoo.elide.audit.AuditLogger;
+import com.yahoo.elide.audit.LogMessage;
 import com.yahoo.elide.core.DataStore;
 import com.yahoo.elide.core.DataStoreTransaction;
 import com.yahoo.elide.core.ErrorObjects;
@@ -45,11 +46,14 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 import javax.validation.ConstraintViolationException;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.StreamingOutput;
 
 /**
  * REST Entry point handler.
@@ -61,6 +65,7 @@ public class Elide {
     @Getter private final AuditLogger auditLogger;
     @Getter private final DataStore dataStore;
     @Getter private final JsonApiMapper mapper;
+    private final JsonApiParser parser = new JsonApiParser();
 
     /**
      * Instantiates a new Elide instance.
@@ -88,7 +93,8 @@ public class Elide {
      * @return Elide response object
      */
     public ElideResponse get(String path, MultivaluedMap<String, String> queryParams, Object opaqueUser) {
-        return handleRequest(true, opaqueUser, dataStore::beginReadTransaction, (tx, user) -> {
+        boolean isStreaming = elideSettings.isStreamingResponses();
+        return handleRequest(true, isStreaming, opaqueUser, dataStore::beginReadTransaction, (tx, user) -> {
             JsonApiDocument jsonApiDoc = new JsonApiDocument();
             RequestScope requestScope = new RequestScope(path, jsonApiDoc, tx, user, queryParams, elideSettings);
             BaseVisitor visitor = new GetVisitor(requestScope);
@@ -172,7 +178,7 @@ public class Elide {
 
     public HandlerResult visit(String path, RequestScope requestScope, BaseVisitor visitor) {
         try {
-            Supplier<Pair<Integer, JsonNode>> responder = visitor.visit(JsonApiParser.parse(path));
+            Supplier<Pair<Integer, JsonNode>> responder = visitor.visit(parser.parsePath(path));
             return new HandlerResult(requestScope, responder);
         } catch (RuntimeException e) {
             return new HandlerResult(requestScope, e);
@@ -191,33 +197,70 @@ public class Elide {
     protected ElideResponse handleRequest(boolean isReadOnly, Object opaqueUser,
                                           Supplier<DataStoreTransaction> transaction,
                                           Handler<DataStoreTransaction, User, HandlerResult> handler) {
+        return handleRequest(isReadOnly, false, opaqueUser, transaction, handler);
+    }
+
+    /**
+     * Handle JSON API requests.
+     * <p>
+     * When streaming, the returned response writes its body directly to the client.  The transaction is only
+     * committed and closed once that body has been written, so that resources can be pulled from the data store
+     * while the response is being serialized.
+     *
+     * @param isReadOnly if the transaction is read only
+     * @param isStreaming if the response body should be streamed
+     * @param opaqueUser the user object from the container
+     * @param transaction a transaction supplier
+     * @param handler a function that creates the request scope and request handler
+     * @return the response
+     */
+    protected ElideResponse handleRequest(boolean isReadOnly, boolean isStreaming, Object opaqueUser,
+                                          Supplier<DataStoreTransaction> transaction,
+                                          Handler<DataStoreTransaction, User, HandlerResult> handler) {
         boolean isVerbose = false;
-        try (DataStoreTransaction tx = transaction.get()) {
-            final User user = tx.accessUser(opaqueUser);
-            HandlerResult result = handler.handle(tx, user);
-            RequestScope requestScope = result.getRequestScope();
-            isVerbose = requestScope.getPermissionExecutor().isVerbose();
-            Supplier<Pair<Integer, JsonNode>> responder = result.getResponder();
-            tx.preCommit();
-            requestScope.runQueuedPreSecurityTriggers();
-            requestScope.getPermissionExecutor().executeCommitChecks();
-            if (!isReadOnly) {
-                requestScope.saveOrCreateObjects();
-            }
-            tx.flush(requestScope);
+        try {
+            DataStoreTransaction tx = transaction.get();
+            ElideResponse response;
+            try {
+                final User user = tx.accessUser(opaqueUser);
+                HandlerResult result = handler.handle(tx, user);
+                RequestScope requestScope = result.getRequestScope();
+                isVerbose = requestScope.getPermissionExecutor().isVerbose();
+                Supplier<Pair<Integer, JsonNode>> responder = result.getResponder();
+                tx.preCommit();
+                requestScope.runQueuedPreSecurityTriggers();
+                requestScope.getPermissionExecutor().executeCommitChecks();
+                if (!isReadOnly) {
+                    requestScope.saveOrCreateObjects();
+                }
+                tx.flush(requestScope);
 
-            requestScope.runQueuedPreCommitTriggers();
+                requestScope.runQueuedPreCommitTriggers();
+
+                if (isStreaming) {
+                    return buildStreamingResponse(tx, requestScope, responder.get());
+                }
 
-            ElideResponse response = buildResponse(responder.get());
+                response = buildResponse(responder.get());
 
-            auditLogger.commit(requestScope);
-            tx.commit(requestScope);
-            requestScope.runQueuedPostCommitTriggers();
+                auditLogger.commit(requestScope);
+                tx.commit(requestScope);
+                requestScope.runQueuedPostCommitTriggers();
 
-            if (log.isTraceEnabled()) {
-                requestScope.getPermissionExecutor().printCheckStats();
+                if (log.isTraceEnabled()) {
+                    requestScope.getPermissionExecutor().printCheckStats();
+                }
+            } catch (Exception | Error e) {
+                // Same as try-with-resources: a failure to close must not hide the original failure
+                try {
+                    tx.close();
+                } catch (Exception | Error e2) {
+                    e.addSuppressed(e2);
+                }
+                throw e;
             }
 
+            tx.close();
             return response;
 
         } catch (WebApplicationException e) {
@@ -263,6 +306,59 @@ public class Elide {
         }
     }
 
+    /**
+     * Build a response which serializes the body, then commits and closes the transaction.
+     * <p>
+     * The status line is sent before the body is written, so a failure to serialize or commit can only abort the
+     * response.  The audit log is committed only once the transaction has, from whichever thread writes the body.
+     * The transaction is also closed by {@link ElideResponse#complete()}, for bodies which are never written
+     * because the client went away or the request timed out.
+     *
+     * @param tx the open transaction
+     * @param requestScope the request scope
+     * @param response the response code and body
+     * @return the streaming response
+     */
+    protected ElideResponse buildStreamingResponse(DataStoreTransaction tx, RequestScope requestScope,
+                                                   Pair<Integer, JsonNode> response) {
+        JsonNode responseNode = response.getRight();
+        List<LogMessage> auditMessages = auditLogger.detach();
+        AtomicBoolean isClosed = new AtomicBoolean(false);
+        Runnable closeTransaction = () -> {
+            if (isClosed.compareAndSet(false, true)) {
+                try {
+                    tx.close();
+                } catch (IOException | RuntimeException e) {
+                    log.error("Failed to close the transaction of a streamed response", e);
+                }
+            }
+        };
+
+        StreamingOutput streamingBody = outputStream -> {
+            try {
+                if (responseNode != null) {
+                    mapper.writeJsonApiDocument(responseNode, outputStream);
+                }
+
+                tx.commit(requestScope);
+                auditLogger.attach(auditMessages);
+                auditLogger.commit(requestScope);
+                requestScope.runQueuedPostCommitTriggers();
+
+                if (log.isTraceEnabled()) {
+                    requestScope.getPermissionExecutor().printCheckStats();
+                }
+            } catch (IOException | RuntimeException | Error e) {
+                log.error("Error or exception while streaming response", e);
+                throw e;
+            } finally {
+                auditLogger.clear();
+                closeTransaction.run();
+            }
+        };
+        return new ElideResponse(response.getLeft(), null, streamingBody, closeTransaction);
+    }
+
     protected ElideResponse buildErrorResponse(HttpStatusException error, boolean isVerbose) {
         if (error instanceof InternalServerErrorException) {
             log.error("Internal Server Error", error);
@@ -8,6 +8,8 @@ package com.yahoo.elide;
 import lombok.Builder;
 import lombok.Getter;
 
+import javax.ws.rs.core.StreamingOutput;
+
 /**
  * Elide response object.
  */
@@ -15,6 +17,8 @@ import lombok.Getter;
 public class ElideResponse {
     @Getter private final int responseCode;
     @Getter private final String body;
+    @Getter private final StreamingOutput streamingBody;
+    private final Runnable onCompletion;
 
     /**
      * Constructor.
@@ -23,7 +27,52 @@ public class ElideResponse {
      * @param body returned body string
      */
     public ElideResponse(int responseCode, String body) {
+        this(responseCode, body, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param responseCode HTTP response code
+     * @param body returned body string
+     * @param streamingBody writes the returned body to an output stream
+     */
+    public ElideResponse(int responseCode, String body, StreamingOutput streamingBody) {
+        this(responseCode, body, streamingBody, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param responseCode HTTP response code
+     * @param body returned body string
+     * @param streamingBody writes the returned body to an output stream
+     * @param onCompletion releases what the streaming body holds open
+     */
+    public ElideResponse(int responseCode, String body, StreamingOutput streamingBody, Runnable onCompletion) {
         this.responseCode = responseCode;
         this.body = body;
+        this.streamingBody = streamingBody;
+        this.onCompletion = onCompletion;
+    }
+
+    /**
+     * Whether the body must be written with the streaming body rather than read as a string.
+     *
+     * @return true if this response is streamed
+     */
+    public boolean isStreaming() {
+        return streamingBody != null;
+    }
+
+    /**
+     * Releases what a streaming body holds open, such as its transaction.  Containers call it once the response
+     * has completed, failed or timed out, since the body may never have been written.  Calling it again, or after
+     * the body was written, does nothing.
+     */
+    public void complete() {
+        if (onCompletion != null) {
+            onCompletion.run();
+        }
     }
 }
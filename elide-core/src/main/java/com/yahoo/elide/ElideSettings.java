@@ -11,6 +11,7 @@ import com.yahoo.elide.core.EntityDictionary;
 import com.yahoo.elide.core.RequestScope;
 import com.yahoo.elide.core.filter.dialect.JoinFilterDialect;
 import com.yahoo.elide.core.filter.dialect.SubqueryFilterDialect;
+import com.yahoo.elide.core.pagination.PageTotalsCache;
 import com.yahoo.elide.jsonapi.JsonApiMapper;
 import com.yahoo.elide.security.PermissionExecutor;
 import com.yahoo.elide.utils.coerce.converters.Serde;
@@ -41,4 +42,8 @@ public class ElideSettings {
     @Getter private final boolean returnErrorObjects;
     @Getter private final Map<Class, Serde> serdes;
     @Getter private final boolean encodeErrorResponses;
+    @Getter private final boolean streamingResponses;
+    @Getter private final boolean inListPadding;
+    @Getter private final PageTotalsCache pageTotalsCache;
+    @Getter private final String baseUrl;
 }
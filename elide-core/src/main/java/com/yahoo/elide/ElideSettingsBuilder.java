@@ -15,6 +15,7 @@ import com.yahoo.elide.core.filter.dialect.DefaultFilterDialect;
 import com.yahoo.elide.core.filter.dialect.JoinFilterDialect;
 import com.yahoo.elide.core.filter.dialect.RSQLFilterDialect;
 import com.yahoo.elide.core.filter.dialect.SubqueryFilterDialect;
+import com.yahoo.elide.core.pagination.PageTotalsCache;
 import com.yahoo.elide.core.pagination.Pagination;
 import com.yahoo.elide.jsonapi.JsonApiMapper;
 import com.yahoo.elide.security.PermissionExecutor;
@@ -51,6 +52,10 @@ public class ElideSettingsBuilder {
     private int updateStatusCode;
     private boolean returnErrorObjects;
     private boolean encodeErrorResponses;
+    private boolean streamingResponses;
+    private boolean inListPadding;
+    private PageTotalsCache pageTotalsCache;
+    private String baseUrl = "";
 
     /**
      * A new builder used to generate Elide instances. Instantiates an {@link EntityDictionary} without
@@ -96,7 +101,11 @@ public class ElideSettingsBuilder {
                 updateStatusCode,
                 returnErrorObjects,
                 serdes,
-                encodeErrorResponses);
+                encodeErrorResponses,
+                streamingResponses,
+                inListPadding,
+                pageTotalsCache,
+                baseUrl);
     }
 
     public ElideSettingsBuilder withAuditLogger(AuditLogger auditLogger) {
@@ -201,4 +210,42 @@ public class ElideSettingsBuilder {
         this.encodeErrorResponses = encodeErrorResponses;
         return this;
     }
+
+    public ElideSettingsBuilder withStreamingResponses(boolean streamingResponses) {
+        this.streamingResponses = streamingResponses;
+        return this;
+    }
+
+    /**
+     * Pad the values of IN filters (including id lists) up to the next power of two in data stores which build
+     * query text, so that a few statements cover every list size.
+     * @param inListPadding whether to pad IN lists
+     * @return this builder
+     */
+    public ElideSettingsBuilder withInListPadding(boolean inListPadding) {
+        this.inListPadding = inListPadding;
+        return this;
+    }
+
+    /**
+     * Reuse the page totals counted by data stores for the same query until they expire in the cache, so that
+     * paging through a collection counts it once.  Totals may lag behind writes for as long as they are cached.
+     * @param pageTotalsCache the cache of page totals
+     * @return this builder
+     */
+    public ElideSettingsBuilder withPageTotalsCache(PageTotalsCache pageTotalsCache) {
+        this.pageTotalsCache = pageTotalsCache;
+        return this;
+    }
+
+    /**
+     * The URL at which the JSON API is served, used to build the links of relationships whose linkage is not
+     * rendered.  Links are relative to the server root when it is not set.
+     * @param baseUrl the base URL, without a trailing slash
+     * @return this builder
+     */
+    public ElideSettingsBuilder withBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+        return this;
+    }
 }
@@ -29,6 +29,26 @@ public abstract class AuditLogger {
 
     public abstract void commit(RequestScope requestScope) throws IOException;
 
+    /**
+     * Removes the messages logged by this thread, so that they can be committed from another thread.
+     *
+     * @return the messages logged by this thread
+     */
+    public List<LogMessage> detach() {
+        List<LogMessage> detachedMessages = new ArrayList<>(messages.get());
+        clear();
+        return detachedMessages;
+    }
+
+    /**
+     * Adds messages detached from another thread to the messages of this thread.
+     *
+     * @param detachedMessages the messages to commit from this thread
+     */
+    public void attach(List<LogMessage> detachedMessages) {
+        messages.get().addAll(detachedMessages);
+    }
+
     public void clear() {
         List<LogMessage> remainingMessages = messages.get();
         if (remainingMessages != null) {
@@ -14,7 +14,12 @@ import com.yahoo.elide.security.User;
 
 import java.io.Closeable;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -189,6 +194,68 @@ public interface DataStoreTransaction extends Closeable {
         return PersistentResource.getValue(entity, relationName, scope);
     }
 
+    /**
+     * Retrieve a relation from a collection of objects of the same type.
+     * <p>
+     * The default implementation calls {@link #getRelation} once per object.  Data stores can override this
+     * to fetch the relation of every object in a single round trip.
+     *
+     * @param relationTx - The datastore that governs objects of the relationhip's type.
+     * @param entities - The objects which own the relationship.
+     * @param relationName - name of the relationship.
+     * @param filterExpression - filtering which can be pushed down to the data store.
+     * It is optional for the data store to attempt evaluation.
+     * @param scope - contains request level metadata.
+     * @return the object in the relation for each entity, keyed by entity instance
+     */
+    default Map<Object, Object> getRelations(
+            DataStoreTransaction relationTx,
+            Collection<?> entities,
+            String relationName,
+            Optional<FilterExpression> filterExpression,
+            RequestScope scope) {
+        Map<Object, Object> relations = new IdentityHashMap<>();
+        for (Object entity : entities) {
+            relations.put(entity, getRelation(relationTx, entity, relationName, filterExpression,
+                    Optional.empty(), Optional.empty(), scope));
+        }
+        return relations;
+    }
+
+    /**
+     * Retrieve the ids of the members of a relation for a collection of objects of the same type.
+     * <p>
+     * Elide calls this instead of {@link #getRelations} when it only needs the linkage of a relation.  The default
+     * implementation loads the relations with {@link #getRelations}.  Data stores can override this to fetch the
+     * ids without loading the related objects.
+     *
+     * @param relationTx - The datastore that governs objects of the relationhip's type.
+     * @param entities - The objects which own the relationship.
+     * @param relationName - name of the relationship.
+     * @param filterExpression - filtering which can be pushed down to the data store.
+     * It is optional for the data store to attempt evaluation.
+     * @param scope - contains request level metadata.
+     * @return the ids of the objects in the relation for each entity, keyed by entity instance
+     */
+    default Map<Object, List<String>> getRelationIds(
+            DataStoreTransaction relationTx,
+            Collection<?> entities,
+            String relationName,
+            Optional<FilterExpression> filterExpression,
+            RequestScope scope) {
+        EntityDictionary dictionary = scope.getDictionary();
+        Map<Object, List<String>> ids = new IdentityHashMap<>();
+        getRelations(relationTx, entities, relationName, filterExpression, scope).forEach((entity, relation) -> {
+            List<String> relationIds = new ArrayList<>();
+            if (relation instanceof Iterable) {
+                ((Iterable<?>) relation).forEach(member -> relationIds.add(dictionary.getId(member)));
+            } else if (relation != null) {
+                relationIds.add(dictionary.getId(relation));
+            }
+            ids.put(entity, relationIds);
+        });
+        return ids;
+    }
 
     /**
      * Elide core will update the in memory representation of the objects to the requested state.
@@ -285,4 +352,14 @@ public interface DataStoreTransaction extends Closeable {
     default boolean supportsPagination(Class<?> entityClass) {
         return true;
     }
+
+    /**
+     * Whether or not the transaction applies the cursor of a keyset pagination (see {@link Pagination#isKeyset()})
+     * when it paginates the provided class.  Otherwise, Elide turns the cursor into a filter and a sort order.
+     * @param entityClass
+     * @return true if keyset pagination is possible
+     */
+    default boolean supportsKeysetPagination(Class<?> entityClass) {
+        return false;
+    }
 }
@@ -31,14 +31,19 @@ import com.google.common.base.Throwables;
 
 import org.apache.commons.collections4.MultiValuedMap;
 import org.apache.commons.collections4.multimap.HashSetValuedHashMap;
+import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.reflect.TypeUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
@@ -79,6 +84,8 @@ import javax.persistence.Transient;
 public class EntityBinding {
 
     private static final List<Method> OBJ_METHODS = Arrays.asList(Object.class.getMethods());
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
     private static final List<Class<? extends Annotation>> RELATIONSHIP_TYPES =
             Arrays.asList(ManyToMany.class, ManyToOne.class, OneToMany.class, OneToOne.class,
                     ToOne.class, ToMany.class);
@@ -111,6 +118,8 @@ public class EntityBinding {
     public final ConcurrentHashMap<String, String> relationshipToInverse = new ConcurrentHashMap<>();
     public final ConcurrentHashMap<String, CascadeType[]> relationshipToCascadeTypes = new ConcurrentHashMap<>();
     public final ConcurrentHashMap<String, AccessibleObject> fieldsToValues = new ConcurrentHashMap<>();
+    public final ConcurrentHashMap<String, MethodHandle> fieldsToGetters = new ConcurrentHashMap<>();
+    public final ConcurrentHashMap<String, FieldSetter> fieldsToSetters = new ConcurrentHashMap<>();
     public final MultiValuedMap<Pair<Class, String>, LifeCycleHook> fieldsToTriggers = new HashSetValuedHashMap<>();
     public final MultiValuedMap<Class, LifeCycleHook> classToTriggers = new HashSetValuedHashMap<>();
     public final ConcurrentHashMap<String, Class<?>> fieldsToTypes = new ConcurrentHashMap<>();
@@ -184,6 +193,7 @@ public class EntityBinding {
         }
 
         bindEntityFields(cls, type, fieldOrMethodList);
+        bindAccessors();
 
         attributes = dequeToList(attributesDeque);
         relationships = dequeToList(relationshipsDeque);
@@ -305,6 +315,88 @@ public class EntityBinding {
         }
     }
 
+    /**
+     * Create the getter and setter handles for every bound field.  Fields without a usable handle (for example
+     * members that are not accessible) are left out and are read or written through reflection instead.
+     */
+    private void bindAccessors() {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        fieldsToValues.forEach((fieldName, fieldOrMethod) -> {
+            MethodHandle getter = getterFor(lookup, fieldOrMethod);
+            if (getter != null) {
+                fieldsToGetters.put(fieldName, getter);
+            }
+
+            FieldSetter setter = setterFor(lookup, fieldName, fieldOrMethod);
+            if (setter != null) {
+                fieldsToSetters.put(fieldName, setter);
+            }
+        });
+    }
+
+    /**
+     * Create a getter with the signature (Object entity, Object requestScope) -> Object.
+     *
+     * @param lookup lookup used to create the handle
+     * @param fieldOrMethod field or method to read
+     * @return the getter or null if the member cannot be read through a handle
+     */
+    private MethodHandle getterFor(MethodHandles.Lookup lookup, AccessibleObject fieldOrMethod) {
+        try {
+            if (fieldOrMethod instanceof Field) {
+                MethodHandle getter = lookup.unreflectGetter((Field) fieldOrMethod);
+                return MethodHandles.dropArguments(getter, 1, Object.class).asType(GETTER_TYPE);
+            }
+
+            Method method = (Method) fieldOrMethod;
+            MethodHandle getter = lookup.unreflect(method);
+            if (requestScopeableMethods.getOrDefault(method, false)) {
+                return getter.asType(GETTER_TYPE);
+            }
+            if (method.getParameterCount() == 0) {
+                return MethodHandles.dropArguments(getter, 1, Object.class).asType(GETTER_TYPE);
+            }
+            return null;
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Create a setter with the signature (Object entity, Object value) -> void.  A public set method is
+     * preferred over the field itself.
+     *
+     * @param lookup lookup used to create the handle
+     * @param fieldName name of the field
+     * @param fieldOrMethod field or method bound to the field name
+     * @return the setter or null if the member cannot be written through a handle
+     */
+    private FieldSetter setterFor(MethodHandles.Lookup lookup, String fieldName, AccessibleObject fieldOrMethod) {
+        Class<?> fieldType = fieldsToTypes.get(fieldName);
+        if (fieldType == null) {
+            return null;
+        }
+
+        try {
+            Method method = EntityDictionary.findMethod(entityClass, "set" + StringUtils.capitalize(fieldName),
+                    fieldType);
+            return new FieldSetter(lookup.unreflect(method).asType(SETTER_TYPE), fieldType);
+        } catch (NoSuchMethodException | IllegalAccessException | SecurityException e) {
+            //Fall back to the field
+        }
+
+        if (fieldOrMethod instanceof Field) {
+            Field field = (Field) fieldOrMethod;
+            try {
+                return new FieldSetter(lookup.unreflectSetter(field).asType(SETTER_TYPE), field.getType());
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
     /**
      * Convert a deque to a list.
      *
@@ -586,4 +678,28 @@ public class EntityBinding {
 
         return results;
     }
+
+    /**
+     * A handle that writes a field along with the type the value must be coerced into.
+     */
+    @AllArgsConstructor
+    public static class FieldSetter {
+        @Getter
+        private final MethodHandle handle;
+        @Getter
+        private final Class<?> valueType;
+
+        /**
+         * Whether the handle can be invoked with the value without any conversion other than unboxing.
+         *
+         * @param value the (coerced) value
+         * @return true if the value can be passed to the handle
+         */
+        public boolean accepts(Object value) {
+            if (value == null) {
+                return !valueType.isPrimitive();
+            }
+            return ClassUtils.primitiveToWrapper(valueType).isInstance(value);
+        }
+    }
 }
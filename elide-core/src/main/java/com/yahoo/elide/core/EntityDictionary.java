@@ -25,6 +25,7 @@ import com.yahoo.elide.security.checks.prefab.Collections.AppendOnly;
 import com.yahoo.elide.security.checks.prefab.Collections.RemoveOnly;
 import com.yahoo.elide.security.checks.prefab.Common;
 import com.yahoo.elide.security.checks.prefab.Role;
+import com.yahoo.elide.security.permissions.PermissionPlan;
 import com.yahoo.elide.utils.ClassScanner;
 import com.yahoo.elide.utils.coerce.CoerceUtil;
 
@@ -38,6 +39,7 @@ import org.apache.commons.lang3.StringUtils;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -58,6 +60,7 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -78,6 +81,7 @@ public class EntityDictionary {
 
     protected final ConcurrentHashMap<String, Class<?>> bindJsonApiToEntity = new ConcurrentHashMap<>();
     protected final ConcurrentHashMap<Class<?>, EntityBinding> entityBindings = new ConcurrentHashMap<>();
+    protected final ConcurrentHashMap<Class<?>, EntityBinding> idBindings = new ConcurrentHashMap<>();
     protected final CopyOnWriteArrayList<Class<?>> bindEntityRoots = new CopyOnWriteArrayList<>();
     protected final ConcurrentHashMap<Class<?>, List<Class<?>>> subclassingEntities = new ConcurrentHashMap<>();
     protected final BiMap<String, Class<? extends Check>> checkNames;
@@ -278,6 +282,34 @@ public class EntityDictionary {
         return binding.entityPermissions.getFieldChecksForPermission(field, annotationClass);
     }
 
+    /**
+     * Gets the compiled permission (if any) at the class level.
+     *
+     * @param resourceClass the entity to check
+     * @param annotationClass the permission to look for
+     * @return the compiled permission or {@code null} if the permission is not specified at a class level
+     */
+    public PermissionPlan getPermissionPlanForClass(Class<?> resourceClass,
+                                                    Class<? extends Annotation> annotationClass) {
+        EntityBinding binding = getEntityBinding(resourceClass);
+        return binding.entityPermissions.getClassPlanForPermission(annotationClass);
+    }
+
+    /**
+     * Gets the compiled permission (if any) of a field.
+     *
+     * @param resourceClass the entity to check
+     * @param field the field to inspect
+     * @param annotationClass the permission to look for
+     * @return the compiled permission or {@code null} if the permission is not specified on that field
+     */
+    public PermissionPlan getPermissionPlanForField(Class<?> resourceClass,
+                                                    String field,
+                                                    Class<? extends Annotation> annotationClass) {
+        EntityBinding binding = getEntityBinding(resourceClass);
+        return binding.entityPermissions.getFieldPlanForPermission(field, annotationClass);
+    }
+
     /**
      * Returns the check mapped to a particular identifier.
      *
@@ -865,6 +897,7 @@ public class EntityDictionary {
 
         bindJsonApiToEntity.put(type, declaredClass);
         entityBindings.put(declaredClass, new EntityBinding(this, declaredClass, type, name));
+        idBindings.clear();
         if (include.rootLevel()) {
             bindEntityRoots.add(declaredClass);
         }
@@ -985,6 +1018,9 @@ public class EntityDictionary {
 
     /**
      * Gets id.
+     * <p>
+     * The binding which declares the id is cached per concrete class, so ORM proxy subclasses no longer walk their
+     * class hierarchy on every call.  The id itself is still read reflectively.
      *
      * @param value the value
      * @return the id
@@ -994,14 +1030,7 @@ public class EntityDictionary {
             return null;
         }
         try {
-            AccessibleObject idField = null;
-            for (Class<?> cls = value.getClass(); idField == null && cls != null; cls = cls.getSuperclass()) {
-                try {
-                    idField = getEntityBinding(cls).getIdField();
-                } catch (NullPointerException e) {
-                    System.out.println("Class: " + cls.getSimpleName() + " ID Field: " + idField.toString());
-                }
-            }
+            AccessibleObject idField = idBindings.computeIfAbsent(value.getClass(), this::lookupIdBinding).getIdField();
             if (idField instanceof Field) {
                 return String.valueOf(((Field) idField).get(value));
             }
@@ -1014,6 +1043,22 @@ public class EntityDictionary {
         }
     }
 
+    /**
+     * Finds the binding which declares the id of a concrete class (including ORM proxy subclasses).
+     *
+     * @param cls the concrete class
+     * @return the binding holding the id field or EMPTY_BINDING if the class has no id
+     */
+    private EntityBinding lookupIdBinding(Class<?> cls) {
+        for (Class<?> type = cls; type != null; type = type.getSuperclass()) {
+            EntityBinding binding = getEntityBinding(type);
+            if (binding != null && binding.getIdField() != null) {
+                return binding;
+            }
+        }
+        return EMPTY_BINDING;
+    }
+
     /**
      * Returns type of id field.
      *
@@ -1331,6 +1376,11 @@ public class EntityDictionary {
      * @return the value
      */
     public Object getValue(Object target, String fieldName, RequestScope scope) {
+        MethodHandle getter = getEntityBinding(target.getClass()).fieldsToGetters.get(fieldName);
+        if (getter != null) {
+            return invokeGetter(getter, target, scope);
+        }
+
         AccessibleObject accessor = getAccessibleObject(target, fieldName);
         try {
             if (accessor instanceof Method) {
@@ -1351,6 +1401,30 @@ public class EntityDictionary {
         throw new InvalidAttributeException(fieldName, getJsonAliasFor(target.getClass()));
     }
 
+    /**
+     * Resolve how to read a field once, to read it from many objects of the same class.
+     * @param targetClass the class of the objects to read
+     * @param fieldName the field name to get or invoke equivalent get method
+     * @return a function reading the field of an object in a request scope
+     */
+    public BiFunction<Object, RequestScope, Object> getAccessor(Class<?> targetClass, String fieldName) {
+        MethodHandle getter = getEntityBinding(targetClass).fieldsToGetters.get(fieldName);
+        if (getter != null) {
+            return (target, scope) -> invokeGetter(getter, target, scope);
+        }
+        return (target, scope) -> getValue(target, fieldName, scope);
+    }
+
+    private Object invokeGetter(MethodHandle getter, Object target, RequestScope scope) {
+        try {
+            return (Object) getter.invokeExact(target, (Object) scope);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw handleInvocationTargetException(new InvocationTargetException(e));
+        }
+    }
+
     /**
      * Invoke the set[fieldName] method on the target object OR set the field with the corresponding name.
      * @param fieldName the field name to set or invoke equivalent set method
@@ -1358,6 +1432,24 @@ public class EntityDictionary {
      */
     public void setValue(Object target, String fieldName, Object value) {
         Class<?> targetClass = target.getClass();
+
+        EntityBinding.FieldSetter setter = getEntityBinding(targetClass).fieldsToSetters.get(fieldName);
+        if (setter != null) {
+            Object coerced = coerce(target, value, fieldName, setter.getValueType());
+
+            // Anything the handle cannot take as is goes through reflection, which also widens primitives
+            if (setter.accepts(coerced)) {
+                try {
+                    setter.getHandle().invokeExact(target, coerced);
+                    return;
+                } catch (Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw handleInvocationTargetException(new InvocationTargetException(e));
+                }
+            }
+        }
+
         String targetType = getJsonAliasFor(targetClass);
 
         String fieldAlias = fieldName;
@@ -1395,6 +1487,9 @@ public class EntityDictionary {
      */
     private static RuntimeException handleInvocationTargetException(InvocationTargetException e) {
         Throwable exception = e.getTargetException();
+        if (exception instanceof Error) {
+            throw (Error) exception;
+        }
         if (exception instanceof HttpStatusException || exception instanceof WebApplicationException) {
             return (RuntimeException) exception;
         }
@@ -12,6 +12,8 @@ import com.yahoo.elide.annotation.SharePermission;
 import com.yahoo.elide.annotation.UpdatePermission;
 import com.yahoo.elide.generated.parsers.ExpressionLexer;
 import com.yahoo.elide.generated.parsers.ExpressionParser;
+import com.yahoo.elide.parsers.expression.PermissionPlanVisitor;
+import com.yahoo.elide.security.permissions.PermissionPlan;
 
 import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.BaseErrorListener;
@@ -33,6 +35,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Extract permissions related annotation data for a model.
@@ -49,16 +52,31 @@ public class EntityPermissions implements CheckInstantiator {
 
     public static final EntityPermissions EMPTY_PERMISSIONS = new EntityPermissions();
 
-    private static final AnnotationBinding EMPTY_BINDING = new AnnotationBinding(null, Collections.emptyMap());
+    private static final AnnotationBinding EMPTY_BINDING =
+            new AnnotationBinding(null, null, Collections.emptyMap());
     private final HashMap<Class<? extends Annotation>, AnnotationBinding> bindings = new HashMap<>();
 
     private static class AnnotationBinding {
         final ParseTree classPermission;
         final Map<String, ParseTree> fieldPermissions;
+        final PermissionPlan classPlan;
+        final Map<String, PermissionPlan> fieldPlans;
 
-        public AnnotationBinding(ParseTree classPermission, Map<String, ParseTree> fieldPermissions) {
+        public AnnotationBinding(EntityDictionary dictionary,
+                                 ParseTree classPermission,
+                                 Map<String, ParseTree> fieldPermissions) {
             this.classPermission = classPermission;
             this.fieldPermissions = fieldPermissions.isEmpty() ? Collections.emptyMap() : fieldPermissions;
+
+            // Compile every expression once so that requests never walk the parse trees
+            this.classPlan = (classPermission == null)
+                    ? null
+                    : new PermissionPlanVisitor(dictionary).visit(classPermission);
+            this.fieldPlans = fieldPermissions.isEmpty()
+                    ? Collections.emptyMap()
+                    : fieldPermissions.entrySet().stream().collect(Collectors.toMap(
+                            Map.Entry::getKey,
+                            entry -> new PermissionPlanVisitor(dictionary).visit(entry.getValue())));
         }
     }
 
@@ -82,7 +100,8 @@ public class EntityPermissions implements CheckInstantiator {
             if (annotationClass != SharePermission.class) {
                 ParseTree classPermission = bindClassPermissions(cls, annotationClass);
                 if (classPermission != null || !fieldPermissions.isEmpty()) {
-                    bindings.put(annotationClass, new AnnotationBinding(classPermission, fieldPermissions));
+                    bindings.put(annotationClass,
+                            new AnnotationBinding(dictionary, classPermission, fieldPermissions));
                 }
             }
         }
@@ -164,4 +183,23 @@ public class EntityPermissions implements CheckInstantiator {
     public ParseTree getFieldChecksForPermission(String field, Class<? extends Annotation> annotationClass) {
         return bindings.getOrDefault(annotationClass, EMPTY_BINDING).fieldPermissions.get(field);
     }
+
+    /**
+     * Get the compiled entity permission.
+     * @param annotationClass permission class
+     * @return entity permission plan or null if none
+     */
+    public PermissionPlan getClassPlanForPermission(Class<? extends Annotation> annotationClass) {
+        return bindings.getOrDefault(annotationClass, EMPTY_BINDING).classPlan;
+    }
+
+    /**
+     * Get the compiled field permission for provided name.
+     * @param field provided field name
+     * @param annotationClass permission class
+     * @return field permission plan or null if none
+     */
+    public PermissionPlan getFieldPlanForPermission(String field, Class<? extends Annotation> annotationClass) {
+        return bindings.getOrDefault(annotationClass, EMPTY_BINDING).fieldPlans.get(field);
+    }
 }
@@ -5,9 +5,11 @@
  */
 package com.yahoo.elide.core;
 
+import com.yahoo.elide.ElideSettings;
 import com.yahoo.elide.annotation.Audit;
 import com.yahoo.elide.annotation.CreatePermission;
 import com.yahoo.elide.annotation.DeletePermission;
+import com.yahoo.elide.annotation.Linkage;
 import com.yahoo.elide.annotation.ReadPermission;
 import com.yahoo.elide.annotation.SharePermission;
 import com.yahoo.elide.annotation.UpdatePermission;
@@ -25,7 +27,9 @@ import com.yahoo.elide.core.filter.expression.AndFilterExpression;
 import com.yahoo.elide.core.filter.expression.FilterExpression;
 import com.yahoo.elide.core.pagination.Pagination;
 import com.yahoo.elide.core.sort.Sorting;
+import com.yahoo.elide.jsonapi.document.processors.IncludedProcessor;
 import com.yahoo.elide.jsonapi.models.Data;
+import com.yahoo.elide.jsonapi.models.Meta;
 import com.yahoo.elide.jsonapi.models.Relationship;
 import com.yahoo.elide.jsonapi.models.Resource;
 import com.yahoo.elide.jsonapi.models.ResourceIdentifier;
@@ -37,6 +41,7 @@ import com.yahoo.elide.utils.coerce.CoerceUtil;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -78,6 +83,7 @@ public class PersistentResource<T> implements com.yahoo.elide.security.Persisten
     private final RequestScope requestScope;
     private int hashCode = 0;
     static final String CLASS_NO_FIELD = "";
+    private static final String INCLUDE = "include";
 
     /**
      * The Dictionary.
@@ -272,11 +278,7 @@ public class PersistentResource<T> implements com.yahoo.elide.security.Persisten
         }
 
 
-        if (pagination.isPresent() && !pagination.get().isDefaultInstance()
-                && !CanPaginateVisitor.canPaginate(loadClass, dictionary, requestScope)) {
-            throw new InvalidPredicateException(String.format("Cannot paginate %s",
-                    dictionary.getJsonAliasFor(loadClass)));
-        }
+        checkCanPaginate(loadClass, pagination, requestScope);
 
         Set<PersistentResource> newResources = new LinkedHashSet<>();
 
@@ -296,14 +298,7 @@ public class PersistentResource<T> implements com.yahoo.elide.security.Persisten
             filterExpression = filter.orElse(null);
         }
 
-        Optional<FilterExpression> permissionFilter = getPermissionFilterExpression(loadClass, requestScope);
-        if (permissionFilter.isPresent()) {
-            if (filterExpression != null) {
-                filterExpression = new AndFilterExpression(filterExpression, permissionFilter.get());
-            } else {
-                filterExpression = permissionFilter.get();
-            }
-        }
+        filterExpression = withPermissionFilter(loadClass, filterExpression, requestScope);
 
         Set<PersistentResource> existingResources = filter(ReadPermission.class,
                 new PersistentResourceSet(tx.loadObjects(loadClass, Optional.ofNullable(filterExpression), sorting,
@@ -323,6 +318,81 @@ public class PersistentResource<T> implements com.yahoo.elide.security.Persisten
         return allResources;
     }
 
+    /**
+     * Load a collection from the datastore without materializing it.  Records are wrapped and checked for read
+     * permission only as they are pulled from the returned iterable, so a large result can be written out while
+     * it is still being read from the store.  The returned iterable can only be traversed once.
+     *
+     * @param loadClass the load class
+     * @param filter an optional filter expression
+     * @param sorting an optional sorting clause
+     * @param pagination an optional pagination clause
+     * @param requestScope the request scope
+     * @return a lazily filtered collection of resources loaded from the datastore.
+     */
+    public static Iterable<PersistentResource> loadRecordsLazily(
+            Class<?> loadClass,
+            Optional<FilterExpression> filter,
+            Optional<Sorting> sorting,
+            Optional<Pagination> pagination,
+            RequestScope requestScope) {
+
+        DataStoreTransaction tx = requestScope.getTransaction();
+
+        if (shouldSkipCollection(loadClass, ReadPermission.class, requestScope)) {
+            return Collections.emptySet();
+        }
+
+        checkCanPaginate(loadClass, pagination, requestScope);
+
+        FilterExpression filterExpression = withPermissionFilter(loadClass, filter.orElse(null), requestScope);
+
+        Iterable<PersistentResource> existingResources = new PersistentResourceSet(
+                tx.loadObjects(loadClass, Optional.ofNullable(filterExpression), sorting,
+                        pagination.map(p -> p.evaluate(loadClass)), requestScope), requestScope);
+
+        return Iterables.filter(existingResources, resource -> isPermitted(ReadPermission.class, resource));
+    }
+
+    /**
+     * Verify that a collection of the given type can be paginated.
+     *
+     * @param loadClass the load class
+     * @param pagination the requested pagination
+     * @param requestScope the request scope
+     */
+    private static void checkCanPaginate(Class<?> loadClass,
+                                         Optional<Pagination> pagination,
+                                         RequestScope requestScope) {
+        EntityDictionary dictionary = requestScope.getDictionary();
+        if (pagination.isPresent() && !pagination.get().isDefaultInstance()
+                && !CanPaginateVisitor.canPaginate(loadClass, dictionary, requestScope)) {
+            throw new InvalidPredicateException(String.format("Cannot paginate %s",
+                    dictionary.getJsonAliasFor(loadClass)));
+        }
+    }
+
+    /**
+     * Combine a filter expression with the read permission filter of a type.
+     *
+     * @param loadClass the load class
+     * @param filterExpression the filter expression or null
+     * @param requestScope the request scope
+     * @return the combined filter expression or null if neither is present
+     */
+    private static FilterExpression withPermissionFilter(Class<?> loadClass,
+                                                         FilterExpression filterExpression,
+                                                         RequestScope requestScope) {
+        Optional<FilterExpression> permissionFilter = getPermissionFilterExpression(loadClass, requestScope);
+        if (permissionFilter.isPresent()) {
+            if (filterExpression != null) {
+                return new AndFilterExpression(filterExpression, permissionFilter.get());
+            }
+            return permissionFilter.get();
+        }
+        return filterExpression;
+    }
+
     /**
      * Update attribute in existing resource.
      *
@@ -997,7 +1067,6 @@ public class PersistentResource<T> implements com.yahoo.elide.security.Persisten
                                                          Optional<FilterExpression> filterExpression,
                                                          Optional<Sorting> sorting,
                                                          Optional<Pagination> pagination) {
-        RelationshipType type = getRelationshipType(relationName);
         final Class<?> relationClass = dictionary.getParameterizedType(obj, relationName);
         if (relationClass == null) {
             throw new InvalidAttributeException(relationName, this.getType());
@@ -1005,20 +1074,101 @@ public class PersistentResource<T> implements com.yahoo.elide.security.Persisten
 
         Optional<Pagination> computedPagination = pagination.map(p -> p.evaluate(relationClass));
 
-        //Invoke filterExpressionCheck and then merge with filterExpression.
+        Optional<FilterExpression> computedFilters = withRelationPermissionFilter(relationClass, filterExpression,
+                requestScope);
+
+        Object val = transaction.getRelation(transaction, obj, relationName,
+                    computedFilters, sorting, computedPagination, requestScope);
+
+        return toRelationResources(relationName, val);
+    }
+
+    /**
+     * Get the readable resources of a relation for a collection of resources of the same type.  The relation of
+     * every resource is requested from the data store at once so that it can be fetched in a single batch.
+     *
+     * @param resources the resources which own the relation
+     * @param relationName field
+     * @param filterExpression An optional filter expression
+     * @return the resources in the relation keyed by owning resource.  Owning resources which are not allowed to
+     * read the relation are left out.
+     */
+    public static Map<PersistentResource, Set<PersistentResource>> getRelationsCheckedFiltered(
+            Collection<PersistentResource> resources,
+            String relationName,
+            Optional<FilterExpression> filterExpression) {
+
+        List<PersistentResource> readable = new ArrayList<>();
+        for (PersistentResource resource : resources) {
+            try {
+                if (resource.checkRelation(relationName)) {
+                    readable.add(resource);
+                }
+            } catch (ForbiddenAccessException e) {
+                // Do nothing. Filter from set.
+            }
+        }
+
+        Map<PersistentResource, Set<PersistentResource>> relations = new LinkedHashMap<>();
+        if (readable.isEmpty()) {
+            return relations;
+        }
+
+        PersistentResource<?> first = readable.get(0);
+        RequestScope requestScope = first.getRequestScope();
+        DataStoreTransaction transaction = first.transaction;
+        Class<?> relationClass = first.dictionary.getParameterizedType(first.getObject(), relationName);
+        if (relationClass == null) {
+            throw new InvalidAttributeException(relationName, first.getType());
+        }
+
+        Optional<FilterExpression> computedFilters = withRelationPermissionFilter(relationClass, filterExpression,
+                requestScope);
+
+        List<Object> objects = readable.stream()
+                .map(PersistentResource::getObject)
+                .collect(Collectors.toList());
+
+        Map<Object, Object> values = transaction.getRelations(transaction, objects, relationName,
+                computedFilters, requestScope);
+
+        for (PersistentResource<?> resource : readable) {
+            relations.put(resource, filter(ReadPermission.class,
+                    resource.toRelationResources(relationName, values.get(resource.getObject()))));
+        }
+        return relations;
+    }
+
+    /**
+     * Invoke filterExpressionCheck for a relation type and then merge with filterExpression.
+     *
+     * @param relationClass the type of the relation
+     * @param filterExpression An optional filter expression
+     * @param requestScope the request scope
+     * @return the merged filter expression
+     */
+    private static Optional<FilterExpression> withRelationPermissionFilter(Class<?> relationClass,
+                                                                          Optional<FilterExpression> filterExpression,
+                                                                          RequestScope requestScope) {
         Optional<FilterExpression> permissionFilter = getPermissionFilterExpression(relationClass, requestScope);
-        Optional<FilterExpression> computedFilters = filterExpression;
 
         if (permissionFilter.isPresent() && filterExpression.isPresent()) {
-            FilterExpression mergedExpression =
-                    new AndFilterExpression(filterExpression.get(), permissionFilter.get());
-            computedFilters = Optional.of(mergedExpression);
+            return Optional.of(new AndFilterExpression(filterExpression.get(), permissionFilter.get()));
         } else if (permissionFilter.isPresent()) {
-            computedFilters = permissionFilter;
+            return permissionFilter;
         }
+        return filterExpression;
+    }
 
-        Object val = transaction.getRelation(transaction, obj, relationName,
-                    computedFilters, sorting, computedPagination, requestScope);
+    /**
+     * Wrap the value of a relation returned by the data store.
+     *
+     * @param relationName field
+     * @param val the relation value
+     * @return the resources in the relationship
+     */
+    private Set<PersistentResource> toRelationResources(String relationName, Object val) {
+        RelationshipType type = getRelationshipType(relationName);
 
         if (val == null) {
             return Collections.emptySet();
@@ -1209,6 +1359,149 @@ public class PersistentResource<T> implements com.yahoo.elide.security.Persisten
         return resource;
     }
 
+    /**
+     * Convert persistent resources to resources.
+     * <p>
+     * The linkage of a to-many relationship which is not included, and whose members the user may read without
+     * them being loaded, is built from the ids of its members.  The ids are fetched for all the resources of a type
+     * at once.  To-many relationships are rendered in their {@link RelationshipLinkage} mode.
+     *
+     * @param resources the persistent resources
+     * @return the resources, in the same order
+     */
+    public static List<Resource> toResources(Collection<PersistentResource> resources) {
+        Map<Class<?>, List<PersistentResource>> resourcesByType = resources.stream()
+                .collect(Collectors.groupingBy(PersistentResource::getResourceClass,
+                        LinkedHashMap::new, Collectors.toList()));
+
+        Map<Class<?>, Map<String, Map<Object, List<String>>>> linkageByType = new LinkedHashMap<>();
+        resourcesByType.forEach((type, sameTypeResources) ->
+                linkageByType.put(type, getRelationIds(sameTypeResources)));
+
+        return resources.stream()
+                .map(resource -> resource.toResource(
+                        () -> resource.getRelationshipsWithLinkage(linkageByType.get(resource.getResourceClass())),
+                        resource::getAttributes))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the linkage of a relationship in a collection response.
+     * <p>
+     * Included relationships are always fully identified, since every included resource must be identified by
+     * the relationships that lead to it.
+     *
+     * @param relationName the relationship
+     * @return the linkage requested for the relationship, else the linkage it is annotated with
+     */
+    private RelationshipLinkage getLinkage(String relationName) {
+        if (!getRelationshipType(relationName).isToMany() || isIncluded(relationName)) {
+            return RelationshipLinkage.FULL;
+        }
+        return requestScope.getLinkage(type, relationName)
+                .orElseGet(() -> RelationshipLinkage.fromAnnotation(
+                        dictionary.getAttributeOrRelationAnnotation(getResourceClass(), Linkage.class, relationName)));
+    }
+
+    /**
+     * Fetch the ids of the members of the relationships which only need linkage.
+     *
+     * @param resources resources of the same type
+     * @return the ids of the members of each relationship keyed by owning object, keyed by relationship name
+     */
+    private static Map<String, Map<Object, List<String>>> getRelationIds(List<PersistentResource> resources) {
+        PersistentResource<?> first = resources.get(0);
+        RequestScope requestScope = first.getRequestScope();
+        DataStoreTransaction transaction = first.transaction;
+
+        List<Object> objects = resources.stream()
+                .map(PersistentResource::getObject)
+                .collect(Collectors.toList());
+
+        Map<String, Map<Object, List<String>>> relationIds = new LinkedHashMap<>();
+        for (String relationName : first.dictionary.getRelationships(first.getResourceClass())) {
+            // Relationships left out by sparse fields or rendered as links only are not read at all
+            if (!checkIncludeSparseField(requestScope.getSparseFields(), first.type, relationName)
+                    || first.getLinkage(relationName).getMode() == Linkage.Mode.LINKS
+                    || !first.isLinkageOnly(relationName)) {
+                continue;
+            }
+
+            Class<?> relationClass = first.dictionary.getParameterizedType(first.getResourceClass(), relationName);
+            Optional<FilterExpression> filterExpression = withRelationPermissionFilter(relationClass,
+                    requestScope.getExpressionForRelation(first, relationName), requestScope);
+
+            relationIds.put(relationName, transaction.getRelationIds(transaction, objects, relationName,
+                    filterExpression, requestScope));
+        }
+        return relationIds;
+    }
+
+    /**
+     * Whether the linkage of a relationship can be built from the ids of its members alone.
+     * <p>
+     * Included relationships are loaded anyway.  Members created in this request are not in the data store yet.
+     * The type of a member with subtypes is only known once it is loaded, and neither is whether the user may read
+     * it if that depends on more than the user.
+     *
+     * @param relationName the relationship
+     * @return true if the members need not be loaded
+     */
+    private boolean isLinkageOnly(String relationName) {
+        if (!getRelationshipType(relationName).isToMany()
+                || isIncluded(relationName)
+                || !requestScope.getNewPersistentResources().isEmpty()) {
+            return false;
+        }
+
+        Class<?> relationClass = dictionary.getParameterizedType(getResourceClass(), relationName);
+        if (!dictionary.getSubclassingEntities(relationClass).isEmpty()) {
+            return false;
+        }
+
+        try {
+            return requestScope.getPermissionExecutor().checkUserPermissions(relationClass, ReadPermission.class)
+                    == ExpressionResult.PASS;
+        } catch (ForbiddenAccessException e) {
+            return false;
+        }
+    }
+
+    private boolean isIncluded(String relationName) {
+        return requestScope.getQueryParams()
+                .map(params -> params.get(INCLUDE))
+                .map(includes -> IncludedProcessor.getRelationPaths(includes).stream()
+                        .anyMatch(path -> path.get(0).equals(relationName)))
+                .orElse(false);
+    }
+
+    /**
+     * Get relationship mappings, using the fetched ids of the members of relationships which only need linkage.
+     *
+     * @param relationIds the ids of the members of each relationship keyed by owning object
+     * @return Relationship mapping
+     */
+    private Map<String, Relationship> getRelationshipsWithLinkage(Map<String, Map<Object, List<String>>> relationIds) {
+        return getRelationshipsWithLinkageFunction(this::getLinkage, (relationName) -> {
+            Map<Object, List<String>> ids = relationIds.get(relationName);
+            if (ids == null) {
+                Optional<FilterExpression> filterExpression =
+                        requestScope.getExpressionForRelation(this, relationName);
+                return toIdentifiers(getRelationCheckedFiltered(relationName, filterExpression,
+                        Optional.empty(), Optional.empty()));
+            }
+
+            if (!checkRelation(relationName)) {
+                return Collections.emptyList();
+            }
+
+            String relationType = dictionary.getJsonAliasFor(dictionary.getParameterizedType(obj, relationName));
+            return ids.getOrDefault(obj, Collections.emptyList()).stream()
+                    .map(id -> new ResourceIdentifier(relationType, id))
+                    .collect(Collectors.toList());
+        });
+    }
+
     /**
      * Get relationship mappings.
      *
@@ -1245,32 +1538,84 @@ public class PersistentResource<T> implements com.yahoo.elide.security.Persisten
      */
     protected Map<String, Relationship> getRelationshipsWithRelationshipFunction(
             final Function<String, Set<PersistentResource>> relationshipFunction) {
+        return getRelationshipsWithLinkageFunction((relationName) -> RelationshipLinkage.FULL,
+                relationshipFunction.andThen(PersistentResource::toIdentifiers));
+    }
+
+    /**
+     * Get relationship mappings.
+     *
+     * @param linkageModeFunction a function to choose how the linkage of a relationship is rendered.
+     * @param linkageFunction a function to load the linkage of a relationship. Takes a string of the relationship
+     * name and returns the identifiers of the relationship's members.
+     * @return Relationship mapping
+     */
+    private Map<String, Relationship> getRelationshipsWithLinkageFunction(
+            final Function<String, RelationshipLinkage> linkageModeFunction,
+            final Function<String, Collection<ResourceIdentifier>> linkageFunction) {
         final Map<String, Relationship> relationshipMap = new LinkedHashMap<>();
         final Set<String> relationshipFields = filterFields(dictionary.getRelationships(obj));
 
         for (String field : relationshipFields) {
-            TreeMap<String, Resource> orderedById = new TreeMap<>(lengthFirstComparator);
-            for (PersistentResource relationship : relationshipFunction.apply(field)) {
-                orderedById.put(relationship.getId(),
-                        new ResourceIdentifier(relationship.getType(), relationship.getId()).castToResource());
+            RelationshipLinkage linkage = linkageModeFunction.apply(field);
+            if (linkage.getMode() == Linkage.Mode.LINKS) {
+                relationshipMap.put(field, new Relationship(getRelationshipLinks(field), null));
+                continue;
+            }
 
+            TreeMap<String, Resource> orderedById = new TreeMap<>(lengthFirstComparator);
+            for (ResourceIdentifier identifier : linkageFunction.apply(field)) {
+                orderedById.put(identifier.getId(), identifier.castToResource());
             }
             Collection<Resource> resources = orderedById.values();
 
             Data<Resource> data;
+            Map<String, String> links = null;
+            Meta meta = null;
             RelationshipType relationshipType = getRelationshipType(field);
             if (relationshipType.isToOne()) {
                 data = resources.isEmpty() ? new Data<>((Resource) null) : new Data<>(resources.iterator().next());
+            } else if (linkage.getMode() == Linkage.Mode.CAPPED) {
+                // Identify the first members only, and tell the client how many there are and where to find them
+                Map<String, Object> count = new LinkedHashMap<>();
+                count.put("count", resources.size());
+                data = new Data<>(resources.stream().limit(linkage.getLimit()).collect(Collectors.toList()));
+                links = getRelationshipLinks(field);
+                meta = new Meta(count);
             } else {
                 data = new Data<>(resources);
             }
-            // TODO - links
-            relationshipMap.put(field, new Relationship(null, data));
+            relationshipMap.put(field, new Relationship(links, data, meta));
         }
 
         return relationshipMap;
     }
 
+    /**
+     * Get the links of a relationship of a resource in a collection response.
+     *
+     * @param relationName the relationship
+     * @return the self and related links
+     */
+    private Map<String, String> getRelationshipLinks(String relationName) {
+        ElideSettings settings = requestScope.getElideSettings();
+        String baseUrl = settings == null || settings.getBaseUrl() == null ? "" : settings.getBaseUrl();
+        String resourceUrl = baseUrl + "/" + type + "/" + getId();
+
+        Map<String, String> links = new LinkedHashMap<>();
+        links.put("self", resourceUrl + "/relationships/" + relationName);
+        links.put("related", resourceUrl + "/" + relationName);
+        return links;
+    }
+
+    private static Collection<ResourceIdentifier> toIdentifiers(Set<PersistentResource> resources) {
+        List<ResourceIdentifier> identifiers = new ArrayList<>();
+        for (PersistentResource resource : resources) {
+            identifiers.add(new ResourceIdentifier(resource.getType(), resource.getId()));
+        }
+        return identifiers;
+    }
+
     /**
      * Get attributes mapping from entity.
      *
@@ -1561,19 +1906,8 @@ public class PersistentResource<T> implements com.yahoo.elide.security.Persisten
                                                     Set<PersistentResource> resources) {
         Set<PersistentResource> filteredSet = new LinkedHashSet<>();
         for (PersistentResource resource : resources) {
-            try {
-                // NOTE: This is for avoiding filtering on _newly created_ objects within this transaction.
-                // Namely-- in a JSONPATCH request or GraphQL request-- we need to read all newly created
-                // resources /regardless/ of whether or not we actually have permission to do so; this is to
-                // retrieve the object id to return to the caller. If no fields on the object are readable by the caller
-                // then they will be filtered out and only the id is returned. Similarly, all future requests to this
-                // object will behave as expected.
-                if (!resource.getRequestScope().getNewResources().contains(resource)) {
-                    resource.checkFieldAwarePermissions(permission);
-                }
+            if (isPermitted(permission, resource)) {
                 filteredSet.add(resource);
-            } catch (ForbiddenAccessException e) {
-                // Do nothing. Filter from set.
             }
         }
         // keep original SingleElementSet
@@ -1583,6 +1917,31 @@ public class PersistentResource<T> implements com.yahoo.elide.security.Persisten
         return filteredSet;
     }
 
+    /**
+     * Check whether a resource passes a permission and should be kept when filtering.
+     *
+     * @param permission the permission
+     * @param resource the resource
+     * @return true if the resource is visible, false if it should be filtered out
+     */
+    private static boolean isPermitted(Class<? extends Annotation> permission, PersistentResource resource) {
+        try {
+            // NOTE: This is for avoiding filtering on _newly created_ objects within this transaction.
+            // Namely-- in a JSONPATCH request or GraphQL request-- we need to read all newly created
+            // resources /regardless/ of whether or not we actually have permission to do so; this is to
+            // retrieve the object id to return to the caller. If no fields on the object are readable by the caller
+            // then they will be filtered out and only the id is returned. Similarly, all future requests to this
+            // object will behave as expected.
+            if (!resource.getRequestScope().getNewResources().contains(resource)) {
+                resource.checkFieldAwarePermissions(permission);
+            }
+            return true;
+        } catch (ForbiddenAccessException e) {
+            // Do nothing. Filter from set.
+            return false;
+        }
+    }
+
     /**
      * Filter a set of fields.
      *
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.core;
+
+import com.yahoo.elide.annotation.Linkage;
+import com.yahoo.elide.core.exceptions.InvalidValueException;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * How the linkage of a to-many relationship is rendered in a collection response.
+ * <p>
+ * It is chosen with the {@link Linkage} annotation on the relationship, or per request with the
+ * {@code linkage[type]} and {@code linkage[type.relationship]} query parameters.  Their value is {@code full},
+ * {@code links} or the maximum number of members to identify.
+ */
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class RelationshipLinkage {
+    public static final RelationshipLinkage FULL = new RelationshipLinkage(Linkage.Mode.FULL, 0);
+    public static final RelationshipLinkage LINKS = new RelationshipLinkage(Linkage.Mode.LINKS, 0);
+
+    @Getter private final Linkage.Mode mode;
+    @Getter private final int limit;
+
+    /**
+     * Get the linkage configured by an annotation.
+     *
+     * @param linkage the annotation, possibly null
+     * @return the linkage, FULL if there is no annotation
+     */
+    public static RelationshipLinkage fromAnnotation(Linkage linkage) {
+        if (linkage == null) {
+            return FULL;
+        }
+        return new RelationshipLinkage(linkage.mode(), linkage.limit());
+    }
+
+    /**
+     * Parse the value of a linkage query parameter.
+     *
+     * @param value full, links or a positive number
+     * @return the linkage
+     * @throws InvalidValueException if the value is not recognized
+     */
+    public static RelationshipLinkage parse(String value) {
+        if ("full".equalsIgnoreCase(value)) {
+            return FULL;
+        }
+        if ("links".equalsIgnoreCase(value)) {
+            return LINKS;
+        }
+
+        int limit;
+        try {
+            limit = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidValueException(value, "Linkage must be full, links or a number.");
+        }
+        if (limit <= 0) {
+            throw new InvalidValueException(value, "Linkage limits must be positive.");
+        }
+        return new RelationshipLinkage(Linkage.Mode.CAPPED, limit);
+    }
+}
@@ -39,6 +39,7 @@ import io.reactivex.Observable;
 import io.reactivex.subjects.PublishSubject;
 import io.reactivex.subjects.ReplaySubject;
 import lombok.Getter;
+import lombok.Setter;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -65,6 +66,7 @@ public class RequestScope implements com.yahoo.elide.security.RequestScope {
     @Getter private final AuditLogger auditLogger;
     @Getter private final Optional<MultivaluedMap<String, String>> queryParams;
     @Getter private final Map<String, Set<String>> sparseFields;
+    private final Map<String, RelationshipLinkage> linkage;
     @Getter private final Pagination pagination;
     @Getter private final Sorting sorting;
     @Getter private final PermissionExecutor permissionExecutor;
@@ -87,6 +89,12 @@ public class RequestScope implements com.yahoo.elide.security.RequestScope {
     /* Used to filter across heterogeneous types during the first load */
     private FilterExpression globalFilterExpression;
 
+    /**
+     * Whether the records being loaded are read once, in order, while the response is written.  Stores may then
+     * let go of the records already read.
+     */
+    @Getter @Setter private boolean streamingResults;
+
     /**
      * Create a new RequestScope with specified update status code.
      *
@@ -176,10 +184,12 @@ public class RequestScope implements com.yahoo.elide.security.RequestScope {
             }
 
             this.sparseFields = parseSparseFields(queryParams);
+            this.linkage = parseLinkage(queryParams);
             this.sorting = Sorting.parseQueryParams(queryParams);
             this.pagination = Pagination.parseQueryParams(queryParams, this.getElideSettings());
         } else {
             this.sparseFields = Collections.emptyMap();
+            this.linkage = Collections.emptyMap();
             this.sorting = Sorting.getDefaultEmptyInstance();
             this.pagination = Pagination.getDefaultPagination(this.getElideSettings());
         }
@@ -202,6 +212,7 @@ public class RequestScope implements com.yahoo.elide.security.RequestScope {
         this.auditLogger = outerRequestScope.auditLogger;
         this.queryParams = Optional.empty();
         this.sparseFields = Collections.emptyMap();
+        this.linkage = Collections.emptyMap();
         this.sorting = Sorting.getDefaultEmptyInstance();
         this.pagination = Pagination.getDefaultPagination(outerRequestScope.getElideSettings());
         this.objectEntityCache = outerRequestScope.objectEntityCache;
@@ -255,6 +266,35 @@ public class RequestScope implements com.yahoo.elide.security.RequestScope {
         return result;
     }
 
+    /**
+     * Parses queryParams and produces the linkage map, keyed by type or by type and relationship.
+     * @param queryParams The request query parameters
+     * @return Parsed linkage map
+     */
+    private static Map<String, RelationshipLinkage> parseLinkage(MultivaluedMap<String, String> queryParams) {
+        Map<String, RelationshipLinkage> result = new HashMap<>();
+
+        for (Map.Entry<String, List<String>> kv : queryParams.entrySet()) {
+            String key = kv.getKey();
+            if (key.startsWith("linkage[") && key.endsWith("]") && !kv.getValue().isEmpty()) {
+                result.put(key.substring(8, key.length() - 1), RelationshipLinkage.parse(kv.getValue().get(0)));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the linkage requested for a relationship.
+     * @param type The name of the type which owns the relationship
+     * @param relationName The relationship name
+     * @return The linkage requested for the relationship, or else for the type
+     */
+    public Optional<RelationshipLinkage> getLinkage(String type, String relationName) {
+        RelationshipLinkage relationLinkage = linkage.get(type + "." + relationName);
+        return Optional.ofNullable(relationLinkage != null ? relationLinkage : linkage.get(type));
+    }
+
     /**
      * Get filter expression for a specific collection type.
      * @param type The name of the type
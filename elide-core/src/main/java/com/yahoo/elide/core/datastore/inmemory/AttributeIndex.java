@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.core.datastore.inmemory;
+
+import com.yahoo.elide.core.filter.Operator;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * The ids of the records of a table by the value of one attribute.
+ */
+class AttributeIndex {
+    private final HashMapDataStore.IndexType indexType;
+    private final Map<Object, Set<String>> ids;
+    private final Map<String, Object> values;
+    private final Set<String> nullIds;
+
+    AttributeIndex(HashMapDataStore.IndexType indexType) {
+        this.indexType = indexType;
+        this.ids = indexType == HashMapDataStore.IndexType.SORTED ? new TreeMap<>() : new HashMap<>();
+        this.values = new HashMap<>();
+        this.nullIds = new HashSet<>();
+    }
+
+    private AttributeIndex(AttributeIndex copy) {
+        this(copy.indexType);
+        copy.ids.forEach((value, valueIds) -> ids.put(value, new HashSet<>(valueIds)));
+        values.putAll(copy.values);
+        nullIds.addAll(copy.nullIds);
+    }
+
+    /**
+     * @return a copy of the index which can be modified without changing this one
+     */
+    AttributeIndex copy() {
+        return new AttributeIndex(this);
+    }
+
+    HashMapDataStore.IndexType getIndexType() {
+        return indexType;
+    }
+
+    void put(String id, Object value) {
+        // Records are modified in place, so the value they were indexed by is kept to find them
+        remove(id);
+        if (value == null) {
+            nullIds.add(id);
+        } else {
+            values.put(id, value);
+            ids.computeIfAbsent(value, key -> new HashSet<>()).add(id);
+        }
+    }
+
+    void remove(String id) {
+        if (nullIds.remove(id) || !values.containsKey(id)) {
+            return;
+        }
+
+        Object value = values.remove(id);
+        Set<String> valueIds = ids.get(value);
+        valueIds.remove(id);
+        if (valueIds.isEmpty()) {
+            ids.remove(value);
+        }
+    }
+
+    Object getValue(String id) {
+        return values.get(id);
+    }
+
+    Set<String> getIds(Object value) {
+        return ids.getOrDefault(value, Collections.emptySet());
+    }
+
+    Set<String> getNullIds() {
+        return nullIds;
+    }
+
+    Set<String> getNonNullIds() {
+        return values.keySet();
+    }
+
+    /**
+     * @param operator GT, GE, LT or LE
+     * @param value the value to compare with
+     * @return the ids of the records whose value compares as the operator requires
+     */
+    Set<String> getIds(Operator operator, Object value) {
+        NavigableMap<Object, Set<String>> sorted = (NavigableMap<Object, Set<String>>) ids;
+        NavigableMap<Object, Set<String>> range;
+        switch (operator) {
+            case GT:
+                range = sorted.tailMap(value, false);
+                break;
+            case GE:
+                range = sorted.tailMap(value, true);
+                break;
+            case LT:
+                range = sorted.headMap(value, false);
+                break;
+            case LE:
+                range = sorted.headMap(value, true);
+                break;
+            default:
+                throw new IllegalArgumentException("Cannot look up " + operator + " in an index");
+        }
+
+        Set<String> result = new HashSet<>();
+        range.values().forEach(result::addAll);
+        return result;
+    }
+
+    /**
+     * Orders all the ids by value, with null values lowest as in-memory sorting does.
+     *
+     * @param ascending the sort order
+     * @param ties orders the ids of equal values
+     * @return the ordered ids
+     */
+    Stream<String> getSortedIds(boolean ascending, Comparator<String> ties) {
+        NavigableMap<Object, Set<String>> sorted = (NavigableMap<Object, Set<String>>) ids;
+        Stream<String> nonNull = (ascending ? sorted : sorted.descendingMap()).values().stream()
+                .flatMap(valueIds -> valueIds.stream().sorted(ties));
+        Stream<String> nulls = nullIds.stream().sorted(ties);
+        return ascending ? Stream.concat(nulls, nonNull) : Stream.concat(nonNull, nulls);
+    }
+}
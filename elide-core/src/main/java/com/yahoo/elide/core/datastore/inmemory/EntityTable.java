@@ -0,0 +1,364 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.core.datastore.inmemory;
+
+import com.yahoo.elide.core.DataStoreTransaction.FeatureSupport;
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.Path;
+import com.yahoo.elide.core.exceptions.TransactionException;
+import com.yahoo.elide.core.filter.FilterPredicate;
+import com.yahoo.elide.core.filter.Operator;
+import com.yahoo.elide.core.filter.expression.AndFilterExpression;
+import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.core.filter.expression.FilterExpressionVisitor;
+import com.yahoo.elide.core.filter.expression.NotFilterExpression;
+import com.yahoo.elide.core.filter.expression.OrFilterExpression;
+import com.yahoo.elide.core.sort.Sorting;
+import com.yahoo.elide.utils.coerce.CoerceUtil;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The records of one entity type and their attribute indexes.
+ * <p>
+ * Tables are copied on write: a commit applies its operations to a copy which then replaces the table, so readers
+ * never lock and never see part of a commit's records.
+ * <p>
+ * The records are the instances Elide changes in place, before they are committed, so the indexes can be behind
+ * their current values.  Index lookups only narrow down the records, which are then filtered on those values.
+ */
+class EntityTable {
+    private final Class<?> entityClass;
+    private final Map<String, Object> records;
+    private final Map<String, Long> positions;
+    private final Map<String, AttributeIndex> indexes;
+    private long nextPosition;
+    private long maxId;
+
+    EntityTable(Class<?> entityClass) {
+        this.entityClass = entityClass;
+        this.records = new LinkedHashMap<>();
+        this.positions = new HashMap<>();
+        this.indexes = new HashMap<>();
+    }
+
+    private EntityTable(EntityTable copy) {
+        this(copy.entityClass);
+        records.putAll(copy.records);
+        positions.putAll(copy.positions);
+        copy.indexes.forEach((attribute, index) -> indexes.put(attribute, index.copy()));
+        nextPosition = copy.nextPosition;
+        maxId = copy.maxId;
+    }
+
+    /**
+     * @return a table with the same indexes and no records
+     */
+    EntityTable clear() {
+        EntityTable table = new EntityTable(entityClass);
+        indexes.forEach((attribute, index) -> table.indexes.put(attribute, new AttributeIndex(index.getIndexType())));
+        return table;
+    }
+
+    /**
+     * @param attribute the attribute to index
+     * @param indexType the index type
+     * @param dictionary the entity dictionary
+     * @return a copy of the table with the attribute indexed
+     */
+    EntityTable withIndex(String attribute, HashMapDataStore.IndexType indexType, EntityDictionary dictionary) {
+        EntityTable table = new EntityTable(this);
+        AttributeIndex index = new AttributeIndex(indexType);
+        records.forEach((id, record) -> index.put(id, dictionary.getValue(record, attribute, null)));
+        table.indexes.put(attribute, index);
+        return table;
+    }
+
+    /**
+     * @param operations the committed operations on records of this type
+     * @param dictionary the entity dictionary
+     * @return a copy of the table with the operations applied
+     */
+    EntityTable apply(List<Operation> operations, EntityDictionary dictionary) {
+        EntityTable table = new EntityTable(this);
+        for (Operation op : operations) {
+            if (op.getOpType() == Operation.OpType.DELETE) {
+                table.remove(op.getId());
+            } else {
+                if (op.getOpType() == Operation.OpType.CREATE && table.records.get(op.getId()) != null) {
+                    throw new TransactionException(new IllegalStateException("Duplicate key"));
+                }
+                table.put(op.getId(), op.getInstance(), dictionary);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * @param ids the ids of records which may have been changed in place without being committed
+     * @param dictionary the entity dictionary
+     * @return a copy of the table with those records indexed by their current values
+     */
+    EntityTable reindex(Collection<String> ids, EntityDictionary dictionary) {
+        EntityTable table = new EntityTable(this);
+        ids.stream()
+                .filter(records::containsKey)
+                .forEach(id -> table.put(id, records.get(id), dictionary));
+        return table;
+    }
+
+    private void put(String id, Object record, EntityDictionary dictionary) {
+        records.put(id, record);
+        if (!positions.containsKey(id)) {
+            positions.put(id, nextPosition++);
+        }
+        maxId = Math.max(maxId, NumberUtils.toLong(id));
+        indexes.forEach((attribute, index) -> index.put(id, dictionary.getValue(record, attribute, null)));
+    }
+
+    private void remove(String id) {
+        records.remove(id);
+        positions.remove(id);
+        indexes.values().forEach(index -> index.remove(id));
+    }
+
+    Object get(String id) {
+        return records.get(id);
+    }
+
+    Collection<Object> values() {
+        return Collections.unmodifiableCollection(records.values());
+    }
+
+    Map<String, Object> getRecords() {
+        return Collections.unmodifiableMap(records);
+    }
+
+    /**
+     * @return the largest numeric id ever stored, or 0
+     */
+    long getMaxId() {
+        return maxId;
+    }
+
+    /**
+     * Attribute indexes may be behind records changed in place, so only ids, which never change, answer a filter.
+     *
+     * @param expression the filter expression
+     * @param dictionary the entity dictionary
+     * @return FULL if the id index answers the expression, PARTIAL if the indexes narrow it down
+     */
+    FeatureSupport supportsFiltering(FilterExpression expression, EntityDictionary dictionary) {
+        return expression.accept(new FilterExpressionVisitor<FeatureSupport>() {
+            @Override
+            public FeatureSupport visitPredicate(FilterPredicate filterPredicate) {
+                if (!isIndexed(filterPredicate, dictionary)) {
+                    return FeatureSupport.NONE;
+                }
+                return filterPredicate.getField().equals(dictionary.getIdFieldName(entityClass))
+                        ? FeatureSupport.FULL
+                        : FeatureSupport.PARTIAL;
+            }
+
+            @Override
+            public FeatureSupport visitAndExpression(AndFilterExpression expression) {
+                FeatureSupport left = expression.getLeft().accept(this);
+                FeatureSupport right = expression.getRight().accept(this);
+                if (left == FeatureSupport.FULL && right == FeatureSupport.FULL) {
+                    return FeatureSupport.FULL;
+                }
+                return left == FeatureSupport.NONE && right == FeatureSupport.NONE
+                        ? FeatureSupport.NONE
+                        : FeatureSupport.PARTIAL;
+            }
+
+            @Override
+            public FeatureSupport visitOrExpression(OrFilterExpression expression) {
+                FeatureSupport left = expression.getLeft().accept(this);
+                FeatureSupport right = expression.getRight().accept(this);
+                if (left == FeatureSupport.NONE || right == FeatureSupport.NONE) {
+                    return FeatureSupport.NONE;
+                }
+                return left == FeatureSupport.FULL && right == FeatureSupport.FULL
+                        ? FeatureSupport.FULL
+                        : FeatureSupport.PARTIAL;
+            }
+
+            @Override
+            public FeatureSupport visitNotExpression(NotFilterExpression expression) {
+                return FeatureSupport.NONE;
+            }
+        });
+    }
+
+    /**
+     * @param sortRules the valid sorting rules
+     * @return true if the rules sort by one attribute with a sorted index
+     */
+    boolean supportsSorting(Map<Path, Sorting.SortOrder> sortRules) {
+        if (sortRules.size() != 1) {
+            return false;
+        }
+        Path path = sortRules.keySet().iterator().next();
+        AttributeIndex index = indexes.get(path.getFieldPath());
+        return path.getPathElements().size() == 1
+                && index != null
+                && index.getIndexType() == HashMapDataStore.IndexType.SORTED;
+    }
+
+    /**
+     * Finds records using the indexes.
+     * <p>
+     * The parts of the filter expression that are not indexed are ignored, so the records may still need to be
+     * filtered.  Records are returned in insertion order unless they are sorted.
+     *
+     * @param filterExpression the filter expression
+     * @param sortRules the valid sorting rules, applied if supported
+     * @param dictionary the entity dictionary
+     * @return the records
+     */
+    Collection<Object> find(Optional<FilterExpression> filterExpression,
+                            Map<Path, Sorting.SortOrder> sortRules,
+                            EntityDictionary dictionary) {
+        Set<String> ids = filterExpression.map(fe -> fe.accept(new IndexLookup(dictionary))).orElse(null);
+        Comparator<String> byPosition = Comparator.comparing(positions::get);
+
+        Stream<String> result;
+        if (supportsSorting(sortRules)) {
+            Map.Entry<Path, Sorting.SortOrder> rule = sortRules.entrySet().iterator().next();
+            AttributeIndex index = indexes.get(rule.getKey().getFieldPath());
+            boolean ascending = rule.getValue() == Sorting.SortOrder.asc;
+
+            if (ids == null) {
+                result = index.getSortedIds(ascending, byPosition);
+            } else {
+                Comparator<String> byValue = Comparator.comparing(index::getValue,
+                        Comparator.nullsFirst((left, right) -> ((Comparable) left).compareTo(right)));
+                result = ids.stream().sorted((ascending ? byValue : byValue.reversed()).thenComparing(byPosition));
+            }
+        } else {
+            if (ids == null) {
+                return values();
+            }
+            result = ids.stream().sorted(byPosition);
+        }
+        return result.map(records::get).collect(Collectors.toList());
+    }
+
+    private boolean isIndexed(FilterPredicate predicate, EntityDictionary dictionary) {
+        List<Path.PathElement> pathElements = predicate.getPath().getPathElements();
+        if (pathElements.size() != 1 || !pathElements.get(0).getType().isAssignableFrom(entityClass)) {
+            return false;
+        }
+
+        if (predicate.getField().equals(dictionary.getIdFieldName(entityClass))) {
+            return predicate.getOperator() == Operator.IN;
+        }
+
+        AttributeIndex index = indexes.get(predicate.getField());
+        if (index == null) {
+            return false;
+        }
+
+        switch (predicate.getOperator()) {
+            case IN:
+            case ISNULL:
+            case NOTNULL:
+                return true;
+            case GT:
+            case GE:
+            case LT:
+            case LE:
+                return index.getIndexType() == HashMapDataStore.IndexType.SORTED && !predicate.getValues().isEmpty();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Looks up the ids of the records which may match an expression, or null if they all may.
+     */
+    private class IndexLookup implements FilterExpressionVisitor<Set<String>> {
+        private final EntityDictionary dictionary;
+
+        IndexLookup(EntityDictionary dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public Set<String> visitPredicate(FilterPredicate filterPredicate) {
+            if (!isIndexed(filterPredicate, dictionary)) {
+                return null;
+            }
+
+            Class<?> fieldType = filterPredicate.getPath().lastElement().get().getFieldType();
+            Stream<Object> values = filterPredicate.getValues().stream().map(v -> CoerceUtil.coerce(v, fieldType));
+
+            if (filterPredicate.getField().equals(dictionary.getIdFieldName(entityClass))) {
+                return values.map(String::valueOf).filter(records::containsKey).collect(Collectors.toSet());
+            }
+
+            AttributeIndex index = indexes.get(filterPredicate.getField());
+            switch (filterPredicate.getOperator()) {
+                case IN:
+                    return union(values.map(index::getIds));
+                case ISNULL:
+                    return index.getNullIds();
+                case NOTNULL:
+                    return index.getNonNullIds();
+                default:
+                    return union(values.map(value -> index.getIds(filterPredicate.getOperator(), value)));
+            }
+        }
+
+        @Override
+        public Set<String> visitAndExpression(AndFilterExpression expression) {
+            Set<String> left = expression.getLeft().accept(this);
+            Set<String> right = expression.getRight().accept(this);
+            if (left == null || right == null) {
+                return left == null ? right : left;
+            }
+
+            Set<String> smaller = left.size() <= right.size() ? left : right;
+            Set<String> larger = smaller == left ? right : left;
+            return smaller.stream().filter(larger::contains).collect(Collectors.toSet());
+        }
+
+        @Override
+        public Set<String> visitOrExpression(OrFilterExpression expression) {
+            Set<String> left = expression.getLeft().accept(this);
+            Set<String> right = expression.getRight().accept(this);
+            if (left == null || right == null) {
+                return null;
+            }
+            return union(Stream.of(left, right));
+        }
+
+        @Override
+        public Set<String> visitNotExpression(NotFilterExpression expression) {
+            return null;
+        }
+
+        private Set<String> union(Stream<Set<String>> sets) {
+            Set<String> result = new HashSet<>();
+            sets.forEach(result::addAll);
+            return result;
+        }
+    }
+}
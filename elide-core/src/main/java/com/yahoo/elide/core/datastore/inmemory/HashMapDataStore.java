@@ -18,16 +18,35 @@ import lombok.Getter;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * Simple in-memory only database.
+ * <p>
+ * Each entity type is stored in a table which commits copy and replace, so reads never lock.  A commit publishes
+ * the tables of all the types it changed in one snapshot, so readers never see part of it.  Attributes can be
+ * indexed to filter and sort without scanning the records.
  */
 public class HashMapDataStore implements DataStore, DataStoreTestHarness {
-    private final Map<Class<?>, Map<String, Object>> dataStore = Collections.synchronizedMap(new HashMap<>());
+
+    /**
+     * Attribute index types.
+     */
+    public enum IndexType {
+        /** Finds records by value: IN, ISNULL and NOTNULL filters. */
+        HASH,
+        /** Also finds records by range (GT, GE, LT and LE filters) and sorts by the attribute. */
+        SORTED
+    }
+
+    /* Immutable snapshot of the tables, replaced as a whole under the commit lock */
+    private volatile Map<Class<?>, EntityTable> dataStore;
+    private final Object commitLock = new Object();
     @Getter private EntityDictionary dictionary;
     @Getter private final Set<Package> beanPackages;
     @Getter private final ConcurrentHashMap<Class<?>, AtomicLong> typeIds = new ConcurrentHashMap<>();
@@ -39,13 +58,15 @@ public class HashMapDataStore implements DataStore, DataStoreTestHarness {
     public HashMapDataStore(Set<Package> beanPackages) {
         this.beanPackages = beanPackages;
 
+        Map<Class<?>, EntityTable> tables = new HashMap<>();
         for (Package beanPackage : beanPackages) {
             ClassScanner.getAnnotatedClasses(beanPackage, Include.class).stream().forEach(modelClass -> {
                 if (modelClass.getName().startsWith(beanPackage.getName())) {
-                    dataStore.put(modelClass, Collections.synchronizedMap(new LinkedHashMap<>()));
+                    tables.put(modelClass, new EntityTable(modelClass));
                 }
             });
         }
+        this.dataStore = Collections.unmodifiableMap(tables);
     }
 
     @Override
@@ -57,9 +78,69 @@ public class HashMapDataStore implements DataStore, DataStoreTestHarness {
         this.dictionary = dictionary;
     }
 
+    /**
+     * Indexes an attribute of an entity type.  Sorted indexes need attribute values which are Comparable.
+     *
+     * @param entityClass the entity type
+     * @param attribute the attribute, which must not be computed
+     * @param indexType the index type
+     */
+    public void addIndex(Class<?> entityClass, String attribute, IndexType indexType) {
+        synchronized (commitLock) {
+            EntityTable table = dataStore.get(entityClass);
+            if (table == null) {
+                throw new IllegalArgumentException(entityClass + " is not stored");
+            }
+            Map<Class<?>, EntityTable> tables = new HashMap<>(dataStore);
+            tables.put(entityClass, table.withIndex(attribute, indexType, dictionary));
+            dataStore = Collections.unmodifiableMap(tables);
+        }
+    }
+
     @Override
     public DataStoreTransaction beginTransaction() {
-        return new HashMapStoreTransaction(dataStore, dictionary, typeIds);
+        return new HashMapStoreTransaction(this, dictionary, typeIds);
+    }
+
+    EntityTable getTable(Class<?> entityClass) {
+        return dataStore.get(entityClass);
+    }
+
+    /**
+     * Applies the operations of a transaction.  Either all of them are applied or, if one fails, none are.
+     *
+     * @param operations the operations
+     */
+    void commit(List<Operation> operations) {
+        Map<Class<?>, List<Operation>> operationsByType = operations.stream()
+                .filter(op -> op.getInstance() != null)
+                .collect(Collectors.groupingBy(Operation::getType, LinkedHashMap::new, Collectors.toList()));
+
+        synchronized (commitLock) {
+            Map<Class<?>, EntityTable> tables = new HashMap<>(dataStore);
+            operationsByType.forEach((type, typeOperations) ->
+                    tables.put(type, tables.get(type).apply(typeOperations, dictionary)));
+            dataStore = Collections.unmodifiableMap(tables);
+        }
+    }
+
+    /**
+     * Refreshes the index entries of the records of a transaction which did not commit.  Elide changes records in
+     * place, so they keep the changes the transaction made to them.
+     *
+     * @param operations the operations which were not applied
+     */
+    void reindex(List<Operation> operations) {
+        Map<Class<?>, List<String>> idsByType = operations.stream()
+                .filter(op -> op.getInstance() != null)
+                .collect(Collectors.groupingBy(Operation::getType,
+                        Collectors.mapping(Operation::getId, Collectors.toList())));
+
+        synchronized (commitLock) {
+            Map<Class<?>, EntityTable> tables = new HashMap<>(dataStore);
+            idsByType.forEach((type, ids) -> tables.put(type, tables.get(type).reindex(ids, dictionary)));
+            dataStore = Collections.unmodifiableMap(tables);
+        }
     }
 
     @Override
@@ -68,7 +149,7 @@ public class HashMapDataStore implements DataStore, DataStoreTestHarness {
         sb.append("Data store contents ");
         for (Class<?> cls : dataStore.keySet()) {
             sb.append("\n Table ").append(cls).append(" contents \n");
-            Map<String, Object> data = dataStore.get(cls);
+            Map<String, Object> data = dataStore.get(cls).getRecords();
             for (Map.Entry<String, Object> e : data.entrySet()) {
                 sb.append(" Id: ").append(e.getKey()).append(" Value: ").append(e.getValue());
             }
@@ -83,9 +164,11 @@ public class HashMapDataStore implements DataStore, DataStoreTestHarness {
 
     @Override
     public void cleanseTestData() {
-        for (Map<String, Object> objects : dataStore.values()) {
-            objects.clear();
+        synchronized (commitLock) {
+            Map<Class<?>, EntityTable> tables = new HashMap<>(dataStore);
+            tables.replaceAll((cls, table) -> table.clear());
+            dataStore = Collections.unmodifiableMap(tables);
+            typeIds.clear();
         }
-        typeIds.clear();
     }
 }
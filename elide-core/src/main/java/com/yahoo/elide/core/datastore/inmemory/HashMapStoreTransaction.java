@@ -7,9 +7,11 @@ package com.yahoo.elide.core.datastore.inmemory;
 
 import com.yahoo.elide.core.DataStoreTransaction;
 import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.Path;
 import com.yahoo.elide.core.RequestScope;
 import com.yahoo.elide.core.exceptions.TransactionException;
 import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.core.filter.expression.InMemoryFilterExecutor;
 import com.yahoo.elide.core.pagination.Pagination;
 import com.yahoo.elide.core.sort.Sorting;
 
@@ -18,10 +20,16 @@ import lombok.extern.slf4j.Slf4j;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.persistence.GeneratedValue;
 
@@ -30,12 +38,12 @@ import javax.persistence.GeneratedValue;
  */
 @Slf4j
 public class HashMapStoreTransaction implements DataStoreTransaction {
-    private final Map<Class<?>, Map<String, Object>> dataStore;
+    private final HashMapDataStore dataStore;
     private final List<Operation> operations;
     private final EntityDictionary dictionary;
     private final Map<Class<?>, AtomicLong> typeIds;
 
-    public HashMapStoreTransaction(Map<Class<?>, Map<String, Object>> dataStore,
+    public HashMapStoreTransaction(HashMapDataStore dataStore,
                                    EntityDictionary dictionary, Map<Class<?>, AtomicLong> typeIds) {
         this.dataStore = dataStore;
         this.dictionary = dictionary;
@@ -73,24 +81,8 @@ public class HashMapStoreTransaction implements DataStoreTransaction {
 
     @Override
     public void commit(RequestScope scope) {
-        synchronized (dataStore) {
-            operations.stream()
-                    .filter(op -> op.getInstance() != null)
-                    .forEach(op -> {
-                        Object instance = op.getInstance();
-                        String id = op.getId();
-                        Map<String, Object> data = dataStore.get(op.getType());
-                        if (op.getOpType() == Operation.OpType.DELETE) {
-                            data.remove(id);
-                        } else {
-                            if (op.getOpType() == Operation.OpType.CREATE && data.get(id) != null) {
-                                throw new TransactionException(new IllegalStateException("Duplicate key"));
-                            }
-                            data.put(id, instance);
-                        }
-                    });
-            operations.clear();
-        }
+        dataStore.commit(operations);
+        operations.clear();
     }
 
     @Override
@@ -107,17 +99,8 @@ public class HashMapStoreTransaction implements DataStoreTransaction {
         //GeneratedValue means the DB needs to assign the ID.
         if (dictionary.getAttributeOrRelationAnnotation(entityClass, GeneratedValue.class, idFieldName) != null) {
             // TODO: Id's are not necessarily numeric.
-            AtomicLong nextId;
-            synchronized (dataStore) {
-                nextId = typeIds.computeIfAbsent(entityClass,
-                        (key) -> {
-                            long maxId = dataStore.get(key).keySet().stream()
-                                    .mapToLong(Long::parseLong)
-                                    .max()
-                                    .orElse(0);
-                            return new AtomicLong(maxId + 1);
-                        });
-            }
+            AtomicLong nextId = typeIds.computeIfAbsent(entityClass,
+                    (key) -> new AtomicLong(dataStore.getTable(key).getMaxId() + 1));
             id = String.valueOf(nextId.getAndIncrement());
             setId(entity, id);
         } else {
@@ -139,17 +122,40 @@ public class HashMapStoreTransaction implements DataStoreTransaction {
                               Optional<Sorting> sorting,
                               Optional<Pagination> pagination,
                               RequestScope scope) {
-        return dictionary.getValue(entity, relationName, scope);
+        Object relation = dictionary.getValue(entity, relationName, scope);
+        if (!(relation instanceof Collection) || (!filterExpression.isPresent() && !sorting.isPresent())) {
+            return relation;
+        }
+
+        // Relationships are not indexed, so filters and sorts pushed down for their type are applied here
+        Stream<Object> records = ((Collection<Object>) relation).stream();
+        if (filterExpression.isPresent()) {
+            Predicate predicate = filterExpression.get().accept(new InMemoryFilterExecutor(scope));
+            records = records.filter(predicate::test);
+        }
+
+        Class<?> relationClass = dictionary.getParameterizedType(entity, relationName);
+        Map<Path, Sorting.SortOrder> sortRules = sorting
+                .map(s -> s.getValidSortingRules(relationClass, dictionary))
+                .orElse(Collections.emptyMap());
+        if (isSortedByIndex(relationClass, sortRules)) {
+            Map.Entry<Path, Sorting.SortOrder> rule = sortRules.entrySet().iterator().next();
+            Comparator<Object> comparator = Comparator.comparing(
+                    record -> (Comparable) dictionary.getValue(record, rule.getKey().getFieldPath(), scope),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            records = records.sorted(rule.getValue() == Sorting.SortOrder.asc ? comparator : comparator.reversed());
+        }
+        return records.collect(Collectors.toList());
     }
 
     @Override
     public Iterable<Object> loadObjects(Class<?> entityClass, Optional<FilterExpression> filterExpression,
                                         Optional<Sorting> sorting, Optional<Pagination> pagination,
                                         RequestScope scope) {
-        synchronized (dataStore) {
-            Map<String, Object> data = dataStore.get(entityClass);
-            return data.values();
-        }
+        Map<Path, Sorting.SortOrder> sortRules = sorting
+                .map(s -> s.getValidSortingRules(entityClass, dictionary))
+                .orElse(Collections.emptyMap());
+        return dataStore.getTable(entityClass).find(filterExpression, sortRules, dictionary);
     }
 
     @Override
@@ -157,28 +163,37 @@ public class HashMapStoreTransaction implements DataStoreTransaction {
                              Optional<FilterExpression> filterExpression,
                              RequestScope scope) {
 
-        synchronized (dataStore) {
-            Map<String, Object> data = dataStore.get(entityClass);
-            if (data == null) {
-                return null;
-            }
-            return data.get(id.toString());
+        EntityTable table = dataStore.getTable(entityClass);
+        Object record = table == null ? null : table.get(id.toString());
+        if (record == null || !filterExpression.isPresent()) {
+            return record;
         }
+        return filterExpression.get().accept(new InMemoryFilterExecutor(scope)).test(record) ? record : null;
     }
 
     @Override
     public void close() throws IOException {
-        operations.clear();
+        // Operations left here were rolled back or failed to commit
+        if (!operations.isEmpty()) {
+            dataStore.reindex(operations);
+            operations.clear();
+        }
     }
 
     @Override
     public FeatureSupport supportsFiltering(Class<?> entityClass, FilterExpression expression) {
-        return FeatureSupport.NONE;
+        EntityTable table = dataStore.getTable(entityClass);
+        return table == null ? FeatureSupport.NONE : table.supportsFiltering(expression, dictionary);
     }
 
     @Override
     public boolean supportsSorting(Class<?> entityClass, Sorting sorting) {
-        return false;
+        return isSortedByIndex(entityClass, sorting.getValidSortingRules(entityClass, dictionary));
+    }
+
+    private boolean isSortedByIndex(Class<?> entityClass, Map<Path, Sorting.SortOrder> sortRules) {
+        EntityTable table = dataStore.getTable(entityClass);
+        return table != null && table.supportsSorting(sortRules);
     }
 
     @Override
@@ -187,6 +202,7 @@ public class HashMapStoreTransaction implements DataStoreTransaction {
     }
 
     private boolean containsObject(Object obj) {
-        return dataStore.get(obj.getClass()).containsValue(obj);
+        Object record = dataStore.getTable(obj.getClass()).get(dictionary.getId(obj));
+        return record != null && record.equals(obj);
     }
 }
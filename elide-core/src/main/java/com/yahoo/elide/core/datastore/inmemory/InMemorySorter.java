@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.core.datastore.inmemory;
+
+import com.yahoo.elide.core.Path;
+import com.yahoo.elide.core.PersistentResource;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.core.pagination.Pagination;
+import com.yahoo.elide.core.sort.Sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Sorts records in memory by the values of their sort fields.
+ * <p>
+ * The values are read once per record rather than on every comparison, and ties keep the order the records were
+ * read in.  A page only keeps the records which may be on it, so it needs memory for offset + limit records
+ * rather than for all of them.
+ */
+class InMemorySorter {
+    /**
+     * Inputs at least this large are sorted in parallel.
+     */
+    static final int PARALLEL_THRESHOLD = 10_000;
+
+    private static final Comparator<Object> NULL_SAFE_COMPARE = (a, b) -> {
+        if (a == null && b == null) {
+            return 0;
+        } else if (a == null) {
+            return -1;
+        } else if (b == null) {
+            return 1;
+        } else if (a instanceof Comparable) {
+            return ((Comparable) a).compareTo(b);
+        } else {
+            throw new IllegalStateException("Trying to comparing non-comparable types!");
+        }
+    };
+
+    private final List<Path> paths;
+    private final Comparator<SortKeys> comparator;
+    private final RequestScope scope;
+    private final int parallelThreshold;
+
+    /**
+     * Constructor.
+     *
+     * @param sortRules the sort fields and their orders
+     * @param scope the request scope
+     */
+    InMemorySorter(Map<Path, Sorting.SortOrder> sortRules, RequestScope scope) {
+        this(sortRules, scope, PARALLEL_THRESHOLD);
+    }
+
+    InMemorySorter(Map<Path, Sorting.SortOrder> sortRules, RequestScope scope, int parallelThreshold) {
+        this.paths = new ArrayList<>(sortRules.keySet());
+        this.scope = scope;
+        this.parallelThreshold = parallelThreshold;
+
+        Comparator<SortKeys> byKeys = (left, right) -> 0;
+        int index = 0;
+        for (Sorting.SortOrder order : sortRules.values()) {
+            int key = index++;
+            Comparator<Object> byValue = order == Sorting.SortOrder.asc
+                    ? NULL_SAFE_COMPARE
+                    : NULL_SAFE_COMPARE.reversed();
+            byKeys = byKeys.thenComparing(keys -> keys.values[key], byValue);
+        }
+        this.comparator = byKeys.thenComparingLong(keys -> keys.sequence);
+    }
+
+    /**
+     * @param records the records to sort
+     * @return all the records sorted
+     */
+    List<Object> sort(Stream<Object> records) {
+        SortKeys[] sorted = decorate(records);
+        if (sorted.length >= parallelThreshold) {
+            // Comparisons only read the extracted values, so they are safe to run outside the request thread
+            Arrays.parallelSort(sorted, comparator);
+        } else {
+            Arrays.sort(sorted, comparator);
+        }
+        return undecorate(Arrays.stream(sorted));
+    }
+
+    /**
+     * Sorts and paginates records in one pass, counting the page totals if requested.
+     *
+     * @param records the records to sort
+     * @param onPage whether a record may be on a page, e.g. it is after the cursor of a keyset paginated page
+     * @param pagination the pagination
+     * @return the records of the page sorted
+     */
+    List<Object> sortAndPaginate(Stream<Object> records, Predicate<Object> onPage, Pagination pagination) {
+        int offset = pagination.getOffset();
+        long pageEnd = (long) offset + pagination.getLimit();
+        if (offset < 0 || pageEnd <= 0) {
+            return Collections.emptyList();
+        }
+
+        // The largest record kept is at the head, to be dropped once a smaller one is found
+        PriorityQueue<SortKeys> heap = new PriorityQueue<>(comparator.reversed());
+        long total = 0;
+        long sequence = 0;
+        for (Iterator<Object> iterator = records.iterator(); iterator.hasNext(); total++) {
+            Object record = iterator.next();
+            if (!onPage.test(record)) {
+                continue;
+            }
+
+            heap.add(decorate(record, sequence++));
+            if (heap.size() > pageEnd) {
+                heap.poll();
+            }
+        }
+
+        if (pagination.isGenerateTotals()) {
+            pagination.setPageTotals(total);
+        }
+
+        if (offset >= heap.size()) {
+            return Collections.emptyList();
+        }
+
+        SortKeys[] sorted = heap.toArray(new SortKeys[0]);
+        Arrays.sort(sorted, comparator);
+        return undecorate(Arrays.stream(sorted).skip(offset));
+    }
+
+    private SortKeys[] decorate(Stream<Object> records) {
+        List<SortKeys> decorated = new ArrayList<>();
+        Iterator<Object> iterator = records.iterator();
+        for (long sequence = 0; iterator.hasNext(); sequence++) {
+            decorated.add(decorate(iterator.next(), sequence));
+        }
+        return decorated.toArray(new SortKeys[0]);
+    }
+
+    private SortKeys decorate(Object record, long sequence) {
+        Object[] values = new Object[paths.size()];
+        for (int index = 0; index < values.length; index++) {
+            Object value = record;
+            for (Path.PathElement pathElement : paths.get(index).getPathElements()) {
+                value = value == null ? null : PersistentResource.getValue(value, pathElement.getFieldName(), scope);
+            }
+            values[index] = value;
+        }
+        return new SortKeys(record, values, sequence);
+    }
+
+    private static List<Object> undecorate(Stream<SortKeys> sorted) {
+        return sorted.map(keys -> keys.record).collect(Collectors.toList());
+    }
+
+    /**
+     * A record with the values of its sort fields and the position it was read at.
+     */
+    private static final class SortKeys {
+        private final Object record;
+        private final Object[] values;
+        private final long sequence;
+
+        private SortKeys(Object record, Object[] values, long sequence) {
+            this.record = record;
+            this.values = values;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -9,12 +9,12 @@ package com.yahoo.elide.core.datastore.inmemory;
 import com.yahoo.elide.core.DataStoreTransaction;
 import com.yahoo.elide.core.EntityDictionary;
 import com.yahoo.elide.core.Path;
-import com.yahoo.elide.core.PersistentResource;
 import com.yahoo.elide.core.RequestScope;
 import com.yahoo.elide.core.filter.expression.FilterExpression;
 import com.yahoo.elide.core.filter.expression.FilterPredicatePushdownExtractor;
 import com.yahoo.elide.core.filter.expression.InMemoryExecutionVerifier;
 import com.yahoo.elide.core.filter.expression.InMemoryFilterExecutor;
+import com.yahoo.elide.core.pagination.Keyset;
 import com.yahoo.elide.core.pagination.Pagination;
 import com.yahoo.elide.core.sort.Sorting;
 import com.yahoo.elide.security.User;
@@ -22,15 +22,18 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
@@ -39,20 +42,6 @@ import java.util.stream.StreamSupport;
  */
 public class InMemoryStoreTransaction implements DataStoreTransaction {
 
-    private static final Comparator<Object> NULL_SAFE_COMPARE = (a, b) -> {
-        if (a == null && b == null) {
-            return 0;
-        } else if (a == null) {
-            return -1;
-        } else if (b == null) {
-            return 1;
-        } else if (a instanceof Comparable) {
-            return ((Comparable) a).compareTo(b);
-        } else {
-            throw new IllegalStateException("Trying to comparing non-comparable types!");
-        }
-    };
-
     private DataStoreTransaction tx;
 
     /**
@@ -128,6 +117,57 @@ public class InMemoryStoreTransaction implements DataStoreTransaction {
         return fetchData(fetcher, relationClass, filterExpression, sorting, pagination, filterInMemory, scope);
     }
 
+    @Override
+    public Map<Object, Object> getRelations(DataStoreTransaction relationTx,
+                                            Collection<?> entities,
+                                            String relationName,
+                                            Optional<FilterExpression> filterExpression,
+                                            RequestScope scope) {
+        if (entities.isEmpty()) {
+            return tx.getRelations(relationTx, entities, relationName, filterExpression, scope);
+        }
+
+        Class<?> relationClass = scope.getDictionary().getParameterizedType(entities.iterator().next(), relationName);
+
+        boolean filterInMemory = scope.getNewPersistentResources().size() > 0;
+        Pair<Optional<FilterExpression>, Optional<FilterExpression>> expressionSplit = splitFilterExpression(
+                relationClass, filterExpression, filterInMemory, scope);
+
+        Map<Object, Object> relations = tx.getRelations(relationTx, entities, relationName,
+                expressionSplit.getLeft(), scope);
+
+        if (expressionSplit.getRight().isPresent()) {
+            relations.replaceAll((entity, relation) -> relation instanceof Iterable
+                    ? filterLoadedData((Iterable<Object>) relation, filterExpression, scope)
+                    : relation);
+        }
+        return relations;
+    }
+
+    @Override
+    public Map<Object, List<String>> getRelationIds(DataStoreTransaction relationTx,
+                                                    Collection<?> entities,
+                                                    String relationName,
+                                                    Optional<FilterExpression> filterExpression,
+                                                    RequestScope scope) {
+        if (entities.isEmpty()) {
+            return tx.getRelationIds(relationTx, entities, relationName, filterExpression, scope);
+        }
+
+        Class<?> relationClass = scope.getDictionary().getParameterizedType(entities.iterator().next(), relationName);
+
+        boolean filterInMemory = scope.getNewPersistentResources().size() > 0;
+        Pair<Optional<FilterExpression>, Optional<FilterExpression>> expressionSplit = splitFilterExpression(
+                relationClass, filterExpression, filterInMemory, scope);
+
+        // Relations filtered in memory are loaded to be filtered before their ids are read
+        if (expressionSplit.getRight().isPresent()) {
+            return DataStoreTransaction.super.getRelationIds(relationTx, entities, relationName,
+                    filterExpression, scope);
+        }
+        return tx.getRelationIds(relationTx, entities, relationName, expressionSplit.getLeft(), scope);
+    }
+
     @Override
     public void updateToManyRelation(DataStoreTransaction relationTx,
                                      Object entity,
@@ -219,11 +259,19 @@ public class InMemoryStoreTransaction implements DataStoreTransaction {
             return loadedRecords;
         }
 
-        Predicate predicate = filterExpression.get().accept(new InMemoryFilterExecutor(scope));
+        return streamLoadedData(loadedRecords, filterExpression, scope).collect(Collectors.toList());
+    }
 
-        return StreamSupport.stream(loadedRecords.spliterator(), false)
-                            .filter(predicate::test)
-                            .collect(Collectors.toList());
+    private Stream<Object> streamLoadedData(Iterable<Object> loadedRecords,
+                                            Optional<FilterExpression> filterExpression,
+                                            RequestScope scope) {
+        Stream<Object> records = StreamSupport.stream(loadedRecords.spliterator(), false);
+        if (! filterExpression.isPresent()) {
+            return records;
+        }
+
+        Predicate predicate = filterExpression.get().accept(new InMemoryFilterExecutor(scope));
+        return records.filter(predicate::test);
     }
 
     private Object fetchData(DataFetcher fetcher,
@@ -234,6 +282,18 @@ public class InMemoryStoreTransaction implements DataStoreTransaction {
                                boolean filterInMemory,
                                RequestScope scope) {
 
+        Optional<Keyset> keyset = pagination.isPresent() && pagination.get().isKeyset()
+                ? Optional.of(new Keyset(entityClass, sorting, scope.getDictionary()))
+                : Optional.empty();
+
+        /*
+         * Stores which support keyset pagination apply the cursor when they filter, sort and paginate the whole
+         * request.  Otherwise, the records are sorted by the keys and paginated in memory.
+         */
+        boolean paginateKeysetInMemory = keyset.isPresent() && !(tx.supportsKeysetPagination(entityClass)
+                && isPaginatedByStore(entityClass, filterExpression, sorting, filterInMemory, scope));
+        Optional<Sorting> keysetSorting = paginateKeysetInMemory ? Optional.of(keyset.get().getSorting()) : sorting;
+
         Pair<Optional<FilterExpression>, Optional<FilterExpression>> expressionSplit = splitFilterExpression(
                 entityClass, filterExpression, filterInMemory, scope);
 
@@ -241,19 +301,28 @@ public class InMemoryStoreTransaction implements DataStoreTransaction {
         Optional<FilterExpression> inMemoryFilter = expressionSplit.getRight();
 
         Pair<Optional<Sorting>, Optional<Sorting>> sortSplit = splitSorting(entityClass,
-                sorting, inMemoryFilter.isPresent());
+                keysetSorting, inMemoryFilter.isPresent());
 
         Optional<Sorting> dataStoreSort = sortSplit.getLeft();
         Optional<Sorting> inMemorySort = sortSplit.getRight();
 
-        Pair<Optional<Pagination>, Optional<Pagination>> paginationSplit = splitPagination(entityClass,
-                pagination, inMemoryFilter.isPresent(), inMemorySort.isPresent());
+        Pair<Optional<Pagination>, Optional<Pagination>> paginationSplit = paginateKeysetInMemory
+                ? Pair.of(Optional.empty(), pagination)
+                : splitPagination(entityClass, pagination, inMemoryFilter.isPresent(), inMemorySort.isPresent());
 
 
         Optional<Pagination> dataStorePagination = paginationSplit.getLeft();
         Optional<Pagination> inMemoryPagination = paginationSplit.getRight();
 
-        Object result = fetcher.fetch(dataStoreFilter, dataStoreSort, dataStorePagination, scope);
+        /* Records sorted in memory are read again after they are all loaded */
+        boolean isStreaming = scope.isStreamingResults();
+        scope.setStreamingResults(isStreaming && !inMemorySort.isPresent());
+        Object result;
+        try {
+            result = fetcher.fetch(dataStoreFilter, dataStoreSort, dataStorePagination, scope);
+        } finally {
+            scope.setStreamingResults(isStreaming);
+        }
 
         if (! (result instanceof Iterable)) {
             return result;
@@ -261,29 +330,73 @@ public class InMemoryStoreTransaction implements DataStoreTransaction {
 
         Iterable<Object> loadedRecords = (Iterable<Object>) result;
 
-        if (inMemoryFilter.isPresent()) {
-            loadedRecords = filterLoadedData(loadedRecords, filterExpression, scope);
-        }
-
-
-        return sortAndPaginateLoadedData(
+        Iterable<Object> page = sortAndPaginateLoadedData(
                     loadedRecords,
+                    inMemoryFilter,
                     entityClass,
                     inMemorySort,
                     inMemoryPagination,
+                    paginateKeysetInMemory ? keyset : Optional.empty(),
                     scope);
+
+        if (keyset.isPresent()) {
+            return setNextCursor(page, keyset.get(), pagination.get(), scope);
+        }
+        return page;
+    }
+
+    /**
+     * Whether the store filters, sorts and paginates a request, i.e. none of it is done in memory.
+     * @param entityClass The class to fetch
+     * @param filterExpression The filter expression
+     * @param sorting The sorting object
+     * @param filterInMemory Whether or not the transaction requires in memory filtering.
+     * @param scope The request context
+     * @return true if the store paginates the request
+     */
+    private boolean isPaginatedByStore(Class<?> entityClass,
+                                       Optional<FilterExpression> filterExpression,
+                                       Optional<Sorting> sorting,
+                                       boolean filterInMemory,
+                                       RequestScope scope) {
+        boolean filteredInMemory = splitFilterExpression(entityClass, filterExpression, filterInMemory, scope)
+                .getRight().isPresent();
+        boolean sortedInMemory = splitSorting(entityClass, sorting, filteredInMemory).getRight().isPresent();
+        return tx.supportsPagination(entityClass) && !filteredInMemory && !sortedInMemory;
+    }
+
+    /**
+     * Sets the cursor of the next page from the last record of a full keyset paginated page.
+     * @param page The records of the page
+     * @param keyset The keys of the records
+     * @param pagination The keyset pagination
+     * @param scope The request context
+     * @return The records of the page
+     */
+    private Iterable<Object> setNextCursor(Iterable<Object> page,
+                                           Keyset keyset,
+                                           Pagination pagination,
+                                           RequestScope scope) {
+        //Pages hold at most limit records, so they can be copied to find the last one.
+        List<Object> records = StreamSupport.stream(page.spliterator(), false).collect(Collectors.toList());
+
+        pagination.setNextCursor(records.isEmpty() || records.size() < pagination.getLimit() ? null
+                : keyset.getCursor(records.get(records.size() - 1), scope));
+        return records;
     }
 
 
     private Iterable<Object> sortAndPaginateLoadedData(Iterable<Object> loadedRecords,
+                                                         Optional<FilterExpression> filterExpression,
                                                          Class<?> entityClass,
                                                          Optional<Sorting> sorting,
                                                          Optional<Pagination> pagination,
+                                                         Optional<Keyset> keyset,
                                                          RequestScope scope) {
 
         //Try to skip the data copy if possible
         if (! sorting.isPresent() && ! pagination.isPresent()) {
-            return loadedRecords;
+            return filterLoadedData(loadedRecords, filterExpression, scope);
         }
 
         EntityDictionary dictionary = scope.getDictionary();
@@ -294,79 +407,52 @@ public class InMemoryStoreTransaction implements DataStoreTransaction {
 
         // No sorting required for this type & no pagination.
         if (sortRules.isEmpty() && ! pagination.isPresent()) {
-            return loadedRecords;
+            return filterLoadedData(loadedRecords, filterExpression, scope);
         }
-        //We need an in memory copy to sort or paginate.
-        List<Object> results = StreamSupport.stream(loadedRecords.spliterator(), false).collect(Collectors.toList());
 
-        if (! sortRules.isEmpty()) {
-            results = sortInMemory(results, sortRules, scope);
+        Stream<Object> records = streamLoadedData(loadedRecords, filterExpression, scope);
+
+        // Unsorted records are filtered only until the page is full, unless the totals count all of them.
+        if (sortRules.isEmpty()) {
+            return paginateLazily(records, pagination.get());
         }
 
-        if (pagination.isPresent()) {
-            results = paginateInMemory(results, pagination.get());
+        InMemorySorter sorter = new InMemorySorter(sortRules, scope);
+        if (! pagination.isPresent()) {
+            return sorter.sort(records);
         }
 
-        return results;
+        // The records are sorted by the keys, so a keyset paginated page starts at the first one after the cursor
+        Optional<FilterExpression> after = keyset.flatMap(k -> k.withFilterExpression(Optional.empty(),
+                pagination.get().getAfter()));
+        Predicate<Object> onPage = after.isPresent()
+                ? after.get().accept(new InMemoryFilterExecutor(scope))
+                : record -> true;
+
+        return sorter.sortAndPaginate(records, onPage, pagination.get());
     }
 
-    private List<Object> paginateInMemory(List<Object> records, Pagination pagination) {
+    private List<Object> paginateLazily(Stream<Object> records, Pagination pagination) {
         int offset = pagination.getOffset();
         int limit = pagination.getLimit();
-        if (offset < 0 || offset >= records.size()) {
+        if (offset < 0) {
             return Collections.emptyList();
         }
 
-        int endIdx = offset + limit;
-        if (endIdx > records.size()) {
-            endIdx = records.size();
+        if (! pagination.isGenerateTotals()) {
+            return records.skip(offset).limit(limit).collect(Collectors.toList());
         }
 
-        if (pagination.isGenerateTotals()) {
-            pagination.setPageTotals(records.size());
-        }
-        return records.subList(offset, endIdx);
-    }
-
-    private List<Object> sortInMemory(List<Object> records,
-                                        Map<Path, Sorting.SortOrder> sortRules,
-                                        RequestScope scope) {
-        //Build a comparator that handles multiple comparison rules.
-        Comparator<Object> noSort = (left, right) -> 0;
-
-        Comparator<Object> comp = sortRules.entrySet().stream()
-            .map(entry -> getComparator(entry.getKey(), entry.getValue(), scope))
-            .reduce(noSort, (comparator1, comparator2) -> (left, right) -> {
-                int comparison = comparator1.compare(left, right);
-                if (comparison == 0) {
-                    return comparator2.compare(left, right);
-                }
-                return comparison;
-            });
-
-        records.sort(comp);
-        return records;
-    }
-
-    private Comparator<Object> getComparator(Path path, Sorting.SortOrder order, RequestScope requestScope) {
-        return (left, right) -> {
-            Object leftCompare = left;
-            Object rightCompare = right;
-
-            // Drill down into path to find value for comparison
-            for (Path.PathElement pathElement : path.getPathElements()) {
-                leftCompare = (leftCompare == null ? null
-                        : PersistentResource.getValue(leftCompare, pathElement.getFieldName(), requestScope));
-                rightCompare = (rightCompare == null ? null
-                        : PersistentResource.getValue(rightCompare, pathElement.getFieldName(), requestScope));
-            }
-
-            if (order == Sorting.SortOrder.asc) {
-                return NULL_SAFE_COMPARE.compare(leftCompare, rightCompare);
-            } else {
-                return NULL_SAFE_COMPARE.compare(rightCompare, leftCompare);
+        List<Object> page = new ArrayList<>();
+        long total = 0;
+        for (Iterator<Object> iterator = records.iterator(); iterator.hasNext(); total++) {
+            Object record = iterator.next();
+            if (total >= offset && total < (long) offset + limit) {
+                page.add(record);
             }
-        };
+        }
+        pagination.setPageTotals(total);
+        return page;
     }
 
     /**
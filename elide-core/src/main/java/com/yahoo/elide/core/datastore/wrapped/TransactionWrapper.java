@@ -17,6 +17,9 @@ import lombok.Data;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -56,6 +59,20 @@ public abstract class TransactionWrapper implements DataStoreTransaction {
         return tx.getRelation(relationTx, entity, relationName, filterExpression, sorting, pagination, scope);
     }
 
+    @Override
+    public Map<Object, Object> getRelations(DataStoreTransaction relationTx, Collection<?> entities,
+                                            String relationName, Optional<FilterExpression> filterExpression,
+                                            RequestScope scope) {
+        return tx.getRelations(relationTx, entities, relationName, filterExpression, scope);
+    }
+
+    @Override
+    public Map<Object, List<String>> getRelationIds(DataStoreTransaction relationTx, Collection<?> entities,
+                                                    String relationName, Optional<FilterExpression> filterExpression,
+                                                    RequestScope scope) {
+        return tx.getRelationIds(relationTx, entities, relationName, filterExpression, scope);
+    }
+
     @Override
     public void updateToManyRelation(DataStoreTransaction relationTx, Object entity, String relationName,
                                      Set<Object> newRelationships, Set<Object> deletedRelationships,
@@ -95,6 +112,11 @@ public abstract class TransactionWrapper implements DataStoreTransaction {
         return tx.supportsPagination(entityClass);
     }
 
+    @Override
+    public boolean supportsKeysetPagination(Class<?> entityClass) {
+        return tx.supportsKeysetPagination(entityClass);
+    }
+
     @Override
     public void save(Object o, RequestScope requestScope) {
         tx.save(o, requestScope);
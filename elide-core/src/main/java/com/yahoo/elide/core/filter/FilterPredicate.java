@@ -24,7 +24,9 @@ import lombok.Getter;
 import lombok.NonNull;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -38,6 +40,8 @@ public class FilterPredicate implements FilterExpression, Function<RequestScope,
     private static final String UNDERSCORE = "_";
     private static final String PERIOD = ".";
     private static final PathElement[] ELEMENT_ARRAY = new PathElement[0];
+    private static final Set<Operator> IN_LIST_OPERATORS =
+            EnumSet.of(Operator.IN, Operator.IN_INSENSITIVE, Operator.NOT, Operator.NOT_INSENSITIVE);
 
     @Getter @NonNull private Path path;
     @Getter @NonNull private Operator operator;
@@ -72,18 +76,47 @@ public class FilterPredicate implements FilterExpression, Function<RequestScope,
     }
 
     /**
-     * Compute the parameter value/name pairings.
+     * Compute the parameter value/name pairings of this predicate used on its own.
      * @return the filter parameters for this predicate
      */
     public List<FilterParameter> getParameters() {
-        String baseName = String.format("%s_%s_",
+        return getParameters(0);
+    }
+
+    /**
+     * Compute the parameter value/name pairings.  Names are derived from the field path and the position of
+     * the predicate in its filter expression rather than from the values, so that filters of the same shape
+     * produce the same query text.
+     * @param position the position of this predicate in its filter expression
+     * @return the filter parameters for this predicate
+     */
+    public List<FilterParameter> getParameters(int position) {
+        return getParameters(position, false);
+    }
+
+    /**
+     * Compute the parameter value/name pairings, optionally padding IN lists.  A padded IN list is rounded up
+     * to the next power of two by repeating its last value, so that lists of different sizes share a handful of
+     * query texts and database statements.  Padding does not change which records match.
+     * @param position the position of this predicate in its filter expression
+     * @param padInList whether to pad the values of IN and NOT IN predicates
+     * @return the filter parameters for this predicate
+     */
+    public List<FilterParameter> getParameters(int position, boolean padInList) {
+        String baseName = String.format("%s_%d_",
                 getFieldPath().replace(PERIOD, UNDERSCORE),
-                Integer.toHexString(hashCode()));
-        return IntStream.range(0, values.size())
-                .mapToObj(idx -> new FilterParameter(String.format("%s%d", baseName, idx), values.get(idx)))
+                position);
+        int size = padInList && IN_LIST_OPERATORS.contains(operator) ? paddedSize(values.size()) : values.size();
+        return IntStream.range(0, size)
+                .mapToObj(idx -> new FilterParameter(String.format("%s%d", baseName, idx),
+                        values.get(Math.min(idx, values.size() - 1))))
                 .collect(Collectors.toList());
     }
 
+    private static int paddedSize(int size) {
+        return size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+    }
+
     /**
      * Create a copy of this filter that is scoped by scope. This is used in calculating page totals, we need to
      * scope this filter in the context of it's parent.
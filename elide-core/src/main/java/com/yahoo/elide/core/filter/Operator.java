@@ -5,19 +5,31 @@
  */
 package com.yahoo.elide.core.filter;
 
-import com.yahoo.elide.core.PersistentResource;
 import com.yahoo.elide.core.RequestScope;
 import com.yahoo.elide.core.exceptions.InvalidOperatorNegationException;
 import com.yahoo.elide.core.exceptions.InvalidPredicateException;
 import com.yahoo.elide.utils.coerce.CoerceUtil;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import org.apache.commons.lang3.tuple.Pair;
+
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Operator enum for predicates.
@@ -41,14 +53,14 @@ public enum Operator {
     NOT("not", true) {
         @Override
         public <T> Predicate<T> contextualize(String field, List<Object> values, RequestScope requestScope) {
-            return (T entity) -> !in(field, values, requestScope).test(entity);
+            return Operator.<T>in(field, values, requestScope).negate();
         }
     },
 
     NOT_INSENSITIVE("noti", true) {
         @Override
         public <T> Predicate<T> contextualize(String field, List<Object> values, RequestScope requestScope) {
-            return (T entity) -> !in(field, values, requestScope, FOLD_CASE).test(entity);
+            return Operator.<T>in(field, values, requestScope, FOLD_CASE).negate();
         }
     },
 
@@ -104,7 +116,7 @@ public enum Operator {
     NOTNULL("notnull", false) {
         @Override
         public <T> Predicate<T> contextualize(String field, List<Object> values, RequestScope requestScope) {
-            return (val) -> !isNull(field, requestScope).test(val);
+            return Operator.<T>isNull(field, requestScope).negate();
         }
     },
 
@@ -194,16 +206,22 @@ public enum Operator {
     //
     // Predicate generation
     //
+    // Predicates are built once and tested against many entities, so the field path is resolved and the values
+    // are coerced when the predicate is built or on first use rather than for every entity.
+    //
 
     //
     // In with strict equality
     private static <T> Predicate<T> in(String field, List<Object> values, RequestScope requestScope) {
+        Function<Object, Object> fieldValue = getFieldValue(field, requestScope);
+        Function<Class<?>, Set<Object>> coercedValues = perValueType(type -> values.stream()
+                .map(v -> CoerceUtil.coerce(v, type))
+                .collect(Collectors.toSet()));
+
         return (T entity) -> {
-            Object val = getFieldValue(entity, field, requestScope);
+            Object val = fieldValue.apply(entity);
 
-            return val != null && values.stream()
-                    .map(v -> CoerceUtil.coerce(v, val.getClass()))
-                    .anyMatch(val::equals);
+            return val != null && coercedValues.apply(val.getClass()).contains(val);
         };
     }
 
@@ -211,21 +229,24 @@ public enum Operator {
     // String-like In with optional transformation
     private static <T> Predicate<T> in(String field, List<Object> values,
                                        RequestScope requestScope, Function<String, String> transform) {
+        Function<Object, Object> fieldValue = getFieldValue(field, requestScope);
+        Supplier<Set<String>> transformedValues = Suppliers.memoize(() -> values.stream()
+                .map(v -> transform.apply(CoerceUtil.coerce(v, String.class)))
+                .collect(Collectors.toSet()));
+
         return (T entity) -> {
-            Object fieldValue = getFieldValue(entity, field, requestScope);
+            Object value = fieldValue.apply(entity);
 
-            if (fieldValue == null) {
+            if (value == null) {
                 return false;
             }
 
-            if (!fieldValue.getClass().isAssignableFrom(String.class)) {
+            if (!value.getClass().isAssignableFrom(String.class)) {
                 throw new IllegalStateException("Cannot case insensitive compare non-string values");
             }
 
-            String val = transform.apply((String) fieldValue);
-            return val != null && values.stream()
-                    .map(v -> transform.apply(CoerceUtil.coerce(v, String.class)))
-                    .anyMatch(val::equals);
+            String val = transform.apply((String) value);
+            return val != null && transformedValues.get().contains(val);
         };
     }
 
@@ -233,63 +254,50 @@ public enum Operator {
     // String-like prefix matching with optional transformation
     private static <T> Predicate<T> prefix(String field, List<Object> values,
                                            RequestScope requestScope, Function<String, String> transform) {
-        return (T entity) -> {
-            if (values.size() != 1) {
-                throw new InvalidPredicateException("PREFIX can only take one argument");
-            }
-
-            Object val = getFieldValue(entity, field, requestScope);
-            String valStr = CoerceUtil.coerce(val, String.class);
-            String filterStr = CoerceUtil.coerce(values.get(0), String.class);
-
-            return valStr != null
-                    && filterStr != null
-                    && transform.apply(valStr).startsWith(transform.apply(filterStr));
-        };
+        return matching(field, values, requestScope, transform, "PREFIX", String::startsWith);
     }
 
     //
     // String-like postfix matching with optional transformation
     private static <T> Predicate<T> postfix(String field, List<Object> values,
                                             RequestScope requestScope, Function<String, String> transform) {
-        return (T entity) -> {
-            if (values.size() != 1) {
-                throw new InvalidPredicateException("POSTFIX can only take one argument");
-            }
-
-            Object val = getFieldValue(entity, field, requestScope);
-            String valStr = CoerceUtil.coerce(val, String.class);
-            String filterStr = CoerceUtil.coerce(values.get(0), String.class);
-
-            return valStr != null
-                    && filterStr != null
-                    && transform.apply(valStr).endsWith(transform.apply(filterStr));
-        };
+        return matching(field, values, requestScope, transform, "POSTFIX", String::endsWith);
     }
 
     //
     // String-like infix matching with optional transformation
     private static <T> Predicate<T> infix(String field, List<Object> values,
                                           RequestScope requestScope, Function<String, String> transform) {
+        return matching(field, values, requestScope, transform, "INFIX", String::contains);
+    }
+
+    private static <T> Predicate<T> matching(String field, List<Object> values, RequestScope requestScope,
+                                             Function<String, String> transform, String operator,
+                                             BiPredicate<String, String> matches) {
+        Function<Object, Object> fieldValue = getFieldValue(field, requestScope);
+        Supplier<Optional<String>> filterValue = Suppliers.memoize(() -> Optional
+                .ofNullable(CoerceUtil.coerce(values.get(0), String.class))
+                .map(transform));
+
         return (T entity) -> {
             if (values.size() != 1) {
-                throw new InvalidPredicateException("INFIX can only take one argument");
+                throw new InvalidPredicateException(operator + " can only take one argument");
             }
 
-            Object val = getFieldValue(entity, field, requestScope);
-            String valStr = CoerceUtil.coerce(val, String.class);
-            String filterStr = CoerceUtil.coerce(values.get(0), String.class);
+            String valStr = CoerceUtil.coerce(fieldValue.apply(entity), String.class);
+            Optional<String> filterStr = filterValue.get();
 
             return valStr != null
-                    && filterStr != null
-                    && transform.apply(valStr).contains(transform.apply(filterStr));
+                    && filterStr.isPresent()
+                    && matches.test(transform.apply(valStr), filterStr.get());
         };
     }
 
     //
     // Null checking
     private static <T> Predicate<T> isNull(String field, RequestScope requestScope) {
-        return (T entity) -> getFieldValue(entity, field, requestScope) == null;
+        Function<Object, Object> fieldValue = getFieldValue(field, requestScope);
+        return (T entity) -> fieldValue.apply(entity) == null;
     }
 
     private static <T> Predicate<T> lt(String field, List<Object> values, RequestScope requestScope) {
@@ -317,48 +325,91 @@ public enum Operator {
     }
 
     /**
-     * Return value of field/path for given entity.  For example this.book.author
+     * Resolve a field/path once to read its value from many entities.  For example this.book.author
      *
-     * @param <T> the type of entity to retrieve a value from
-     * @param entity Entity bean
      * @param fieldPath field value/path
      * @param requestScope Request scope
-     * @return the value of the field
+     * @return a function returning the value of the field of an entity
      */
-    private static <T> Object getFieldValue(T entity, String fieldPath, RequestScope requestScope) {
-        Object val = entity;
-        for (String field : fieldPath.split("\\.")) {
-            if ("this".equals(field)) {
-                continue;
-            }
-            if (val == null) {
-                break;
+    private static Function<Object, Object> getFieldValue(String fieldPath, RequestScope requestScope) {
+        List<FieldReader> readers = Arrays.stream(fieldPath.split("\\."))
+                .filter(field -> !"this".equals(field))
+                .map(field -> new FieldReader(field, requestScope))
+                .collect(Collectors.toList());
+
+        return entity -> {
+            Object val = entity;
+            for (FieldReader reader : readers) {
+                if (val == null) {
+                    break;
+                }
+                val = reader.read(val);
             }
-            val = PersistentResource.getValue(val, field, requestScope);
-        }
-        return val;
+            return val;
+        };
     }
 
     private static <T> Predicate<T> getComparator(String field, List<Object> values,
-                                                  RequestScope requestScope, Predicate<Integer> condition) {
+                                                  RequestScope requestScope, IntPredicate condition) {
+        Function<Object, Object> fieldValue = getFieldValue(field, requestScope);
+        Function<Class<?>, List<Comparable>> coercedValues = perValueType(type -> values.stream()
+                .map(v -> CoerceUtil.coerce(CoerceUtil.coerce(v, type), Comparable.class))
+                .collect(Collectors.toList()));
+
         return (T entity) -> {
             if (values.size() == 0) {
                 throw new InvalidPredicateException("No value to compare");
             }
-            Object fieldVal = getFieldValue(entity, field, requestScope);
-            return fieldVal != null
-                    && values.stream()
-                    .anyMatch(testVal -> condition.test(compare(fieldVal, testVal)));
+            Object fieldVal = fieldValue.apply(entity);
+            if (fieldVal == null) {
+                return false;
+            }
+
+            Comparable fieldComp = CoerceUtil.coerce(fieldVal, Comparable.class);
+            for (Comparable testComp : coercedValues.apply(fieldVal.getClass())) {
+                if (condition.test(fieldComp.compareTo(testComp))) {
+                    return true;
+                }
+            }
+            return false;
         };
+    }
 
+    /**
+     * Values are coerced to the type of the field values they are compared with, which is only known from the
+     * entities.  Fields hold values of a single type in practice, so each coercion is done once.
+     *
+     * @param coerce coerces the values to a type
+     * @param <V> the coerced values
+     * @return coerces the values to a type once for each type
+     */
+    private static <V> Function<Class<?>, V> perValueType(Function<Class<?>, V> coerce) {
+        Map<Class<?>, V> coerced = new ConcurrentHashMap<>();
+        return type -> coerced.computeIfAbsent(type, coerce);
     }
 
-    private static int compare(Object fieldValue, Object rawTestValue) {
-        Object testValue = CoerceUtil.coerce(rawTestValue, fieldValue.getClass());
-        Comparable testComp = CoerceUtil.coerce(testValue, Comparable.class);
-        Comparable fieldComp = CoerceUtil.coerce(fieldValue, Comparable.class);
+    /**
+     * Reads a field, resolving its accessor once for the class it is read from.
+     */
+    private static final class FieldReader {
+        private final String fieldName;
+        private final RequestScope requestScope;
+        private volatile Pair<Class<?>, BiFunction<Object, RequestScope, Object>> accessor;
+
+        private FieldReader(String fieldName, RequestScope requestScope) {
+            this.fieldName = fieldName;
+            this.requestScope = requestScope;
+        }
 
-        return fieldComp.compareTo(testComp);
+        private Object read(Object target) {
+            Pair<Class<?>, BiFunction<Object, RequestScope, Object>> current = accessor;
+            if (current == null || current.getLeft() != target.getClass()) {
+                current = Pair.of(target.getClass(),
+                        requestScope.getDictionary().getAccessor(target.getClass(), fieldName));
+                accessor = current;
+            }
+            return current.getRight().apply(target, requestScope);
+        }
     }
 
     public Operator negate() {
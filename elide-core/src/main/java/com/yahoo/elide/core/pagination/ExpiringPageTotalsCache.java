@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.core.pagination;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A bounded LRU cache of page totals whose entries expire a fixed time after they were counted.
+ */
+public class ExpiringPageTotalsCache implements PageTotalsCache {
+    private final Map<Object, long[]> totals;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize the maximum number of totals kept
+     * @param ttl how long totals are reused after they were counted
+     */
+    public ExpiringPageTotalsCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    ExpiringPageTotalsCache(int maxSize, Duration ttl, LongSupplier clock) {
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.totals = Collections.synchronizedMap(new LinkedHashMap<Object, long[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, long[]> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    @Override
+    public long getTotals(Object key, Supplier<Long> count) {
+        // Each entry holds the total and the time it expires
+        long[] entry = totals.get(key);
+        if (entry != null && entry[1] - clock.getAsLong() > 0) {
+            return entry[0];
+        }
+
+        long total = count.get();
+        totals.put(key, new long[] {total, clock.getAsLong() + ttlNanos});
+        return total;
+    }
+}
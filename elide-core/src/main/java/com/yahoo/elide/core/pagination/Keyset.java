@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.core.pagination;
+
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.Path;
+import com.yahoo.elide.core.PersistentResource;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.core.exceptions.InvalidValueException;
+import com.yahoo.elide.core.filter.FilterPredicate;
+import com.yahoo.elide.core.filter.Operator;
+import com.yahoo.elide.core.filter.expression.AndFilterExpression;
+import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.core.filter.expression.OrFilterExpression;
+import com.yahoo.elide.core.sort.Sorting;
+import com.yahoo.elide.utils.coerce.CoerceUtil;
+import com.yahoo.elide.utils.coerce.converters.Serde;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The sort keys of a keyset paginated collection: the requested sort order followed by the id, which makes every
+ * row's keys unique.
+ * <p>
+ * A page starts after the row whose keys are encoded in the cursor of the previous page, so stores seek to it
+ * instead of skipping offset rows.  Null keys are ordered before any other value, as in-memory sorting does.
+ */
+public class Keyset {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    private static final TypeReference<List<Object>> VALUES = new TypeReference<List<Object>>() { };
+
+    private final Map<Path, Sorting.SortOrder> keys;
+
+    /**
+     * Constructor.
+     *
+     * @param entityClass the paginated entity type
+     * @param sorting the requested sorting
+     * @param dictionary the entity dictionary
+     */
+    public Keyset(Class<?> entityClass, Optional<Sorting> sorting, EntityDictionary dictionary) {
+        keys = new LinkedHashMap<>(sorting
+                .map(s -> s.getValidSortingRules(entityClass, dictionary))
+                .orElse(Collections.emptyMap()));
+
+        Path id = new Path(entityClass, dictionary, dictionary.getIdFieldName(entityClass));
+        keys.putIfAbsent(id, Sorting.SortOrder.asc);
+    }
+
+    /**
+     * @return the sorting by all the keys
+     */
+    public Sorting getSorting() {
+        Map<String, Sorting.SortOrder> rules = new LinkedHashMap<>();
+        keys.forEach((path, order) -> rules.put(path.getFieldPath(), order));
+        return new Sorting(rules);
+    }
+
+    /**
+     * Adds the predicate of the rows after a cursor to a filter expression.
+     *
+     * @param filterExpression the filter expression of the collection
+     * @param cursor the cursor to start after or null or empty to start at the first row
+     * @return the filter expression of the page
+     */
+    public Optional<FilterExpression> withFilterExpression(Optional<FilterExpression> filterExpression,
+                                                          String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return filterExpression;
+        }
+
+        FilterExpression after = getFilterExpression(decode(cursor));
+        return Optional.of(filterExpression.<FilterExpression>map(fe -> new AndFilterExpression(fe, after))
+                .orElse(after));
+    }
+
+    /**
+     * Encodes the keys of a row as the cursor of the page starting after it.
+     *
+     * @param record the row
+     * @param scope the request scope
+     * @return the cursor
+     */
+    public String getCursor(Object record, RequestScope scope) {
+        List<Object> values = new ArrayList<>();
+        for (Path path : keys.keySet()) {
+            Object value = record;
+            for (Path.PathElement pathElement : path.getPathElements()) {
+                value = value == null ? null : PersistentResource.getValue(value, pathElement.getFieldName(), scope);
+            }
+
+            // Types with a serde, e.g. dates, are written the way their values are read back
+            Serde<Object, Object> serde = value == null ? null : CoerceUtil.lookup((Class<Object>) value.getClass());
+            values.add(serde == null ? value : serde.serialize(value));
+        }
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(values));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot encode the keys of " + record, e);
+        }
+    }
+
+    /**
+     * @param value a page offset or cursor
+     * @return true if the value is empty, i.e. the cursor of the first page, or encodes keys
+     */
+    public static boolean isCursor(String value) {
+        return value.isEmpty() || read(value).isPresent();
+    }
+
+    private static Optional<List<Object>> read(String cursor) {
+        try {
+            return Optional.of(MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), VALUES));
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private List<Object> decode(String cursor) {
+        List<Object> values = read(cursor)
+                .orElseThrow(() -> new InvalidValueException("Invalid page cursor " + cursor));
+
+        if (values.size() != keys.size()) {
+            throw new InvalidValueException("Page cursor " + cursor + " does not match the sorting");
+        }
+        return values;
+    }
+
+    /**
+     * Builds (k1 after v1) OR (k1 = v1 AND k2 after v2) OR ... where after depends on the sort order.
+     *
+     * @param values the key values of the row to start after
+     * @return the filter expression of the rows after it
+     */
+    private FilterExpression getFilterExpression(List<Object> values) {
+        FilterExpression result = null;
+        FilterExpression equalKeys = null;
+
+        int index = 0;
+        for (Map.Entry<Path, Sorting.SortOrder> key : keys.entrySet()) {
+            Path path = key.getKey();
+            Object value = CoerceUtil.coerce(values.get(index++), path.lastElement().get().getFieldType());
+
+            FilterExpression after = after(path, key.getValue(), value);
+            if (equalKeys != null) {
+                after = new AndFilterExpression(equalKeys, after);
+            }
+            result = result == null ? after : new OrFilterExpression(result, after);
+
+            FilterExpression equal = value == null
+                    ? new FilterPredicate(path, Operator.ISNULL, Collections.emptyList())
+                    : new FilterPredicate(path, Operator.IN, Collections.singletonList(value));
+            equalKeys = equalKeys == null ? equal : new AndFilterExpression(equalKeys, equal);
+        }
+        return result;
+    }
+
+    private static FilterExpression after(Path path, Sorting.SortOrder order, Object value) {
+        if (order == Sorting.SortOrder.asc) {
+            return value == null
+                    ? new FilterPredicate(path, Operator.NOTNULL, Collections.emptyList())
+                    : new FilterPredicate(path, Operator.GT, Collections.singletonList(value));
+        }
+        return value == null
+                ? new FilterPredicate(path, Operator.FALSE, Collections.emptyList())
+                : new OrFilterExpression(
+                        new FilterPredicate(path, Operator.LT, Collections.singletonList(value)),
+                        new FilterPredicate(path, Operator.ISNULL, Collections.emptyList()));
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.core.pagination;
+
+import java.util.function.Supplier;
+
+/**
+ * Caches the total number of records of paginated queries.
+ * <p>
+ * Data stores key totals on everything the count depends on, such as the entity or relationship and the filter
+ * expression, which includes the user's permission filters.
+ */
+@FunctionalInterface
+public interface PageTotalsCache {
+
+    /**
+     * Get the cached total of a query or count it.
+     *
+     * @param key identifies the query
+     * @param count counts the records of the query
+     * @return the total number of records
+     */
+    long getTotals(Object key, Supplier<Long> count);
+}
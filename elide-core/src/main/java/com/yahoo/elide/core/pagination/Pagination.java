@@ -7,11 +7,16 @@ package com.yahoo.elide.core.pagination;
 
 import com.yahoo.elide.ElideSettings;
 import com.yahoo.elide.annotation.Paginate;
+import com.yahoo.elide.core.EntityDictionary;
 import com.yahoo.elide.core.exceptions.InvalidValueException;
+import com.yahoo.elide.core.filter.FilterPredicate;
+import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.core.filter.expression.PredicateExtractionVisitor;
 
 import com.google.common.collect.ImmutableMap;
 
 import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 
 import java.util.HashMap;
@@ -30,7 +35,7 @@ public class Pagination {
     /**
      * Denotes the internal field names for paging.
      */
-    public enum PaginationKey { offset, number, size, limit, totals }
+    public enum PaginationKey { offset, number, size, limit, totals, after }
 
     public static final int DEFAULT_OFFSET = 0;
     public static final int DEFAULT_PAGE_LIMIT = 500;
@@ -51,6 +56,9 @@ public class Pagination {
     // For requesting total pages/records be included in the response page meta data
     public static final String PAGE_TOTALS_KEY = "page[totals]";
 
+    // For requesting the page after a cursor rather than at an offset
+    public static final String PAGE_AFTER_KEY = "page[after]";
+
     public static final Map<String, PaginationKey> PAGE_KEYS = new HashMap<>();
     static {
         PAGE_KEYS.put(PAGE_NUMBER_KEY, PaginationKey.number);
@@ -58,6 +66,7 @@ public class Pagination {
         PAGE_KEYS.put(PAGE_OFFSET_KEY, PaginationKey.offset);
         PAGE_KEYS.put(PAGE_LIMIT_KEY, PaginationKey.limit);
         PAGE_KEYS.put(PAGE_TOTALS_KEY, PaginationKey.totals);
+        PAGE_KEYS.put(PAGE_AFTER_KEY, PaginationKey.after);
     }
 
     private long pageTotals = 0;
@@ -76,6 +85,18 @@ public class Pagination {
     @Getter
     private boolean generateTotals;
 
+    /**
+     * The cursor of a keyset paginated page, null or empty for the first page.
+     */
+    @Getter
+    private String after;
+
+    /**
+     * The cursor of the page after this one, null if this page is the last one.
+     */
+    @Getter @Setter
+    private String nextCursor;
+
     private final int defaultMaxPageSize;
     private final int defaultPageSize;
 
@@ -114,10 +135,11 @@ public class Pagination {
     }
 
     /**
-     * Given an offset and first parameter from GraphQL, generate page and pageSize values.
+     * Given an offset and first parameter from GraphQL, generate page and pageSize values.  The offset may
+     * also be a keyset cursor (see {@link Keyset#isCursor(String)}).
      *
      * @param firstOpt Provided first string
-     * @param offsetOpt Provided offset string
+     * @param offsetOpt Provided offset string or cursor
      * @param generatePageTotals True if page totals should be generated, false otherwise
      * @param elideSettings Elide settings object containing default pagination values
      * @return The new Pagination object.
@@ -126,12 +148,13 @@ public class Pagination {
                                                           Optional<String> offsetOpt,
                                                           boolean generatePageTotals,
                                                           ElideSettings elideSettings) {
-        return firstOpt.map(firstString -> {
+        Optional<String> cursorOpt = offsetOpt.filter(Keyset::isCursor);
+        Optional<Pagination> result = firstOpt.map(firstString -> {
             int offset;
             int first;
 
             try {
-                offset = offsetOpt.map(Integer::parseInt).orElse(0);
+                offset = offsetOpt.filter(o -> !cursorOpt.isPresent()).map(Integer::parseInt).orElse(0);
                 first = Integer.parseInt(firstString);
             } catch (NumberFormatException e) {
                 throw new InvalidValueException("Offset and first must be numeric values.");
@@ -144,7 +167,7 @@ public class Pagination {
             }
 
             ImmutableMap.Builder<PaginationKey, Integer> pageData = ImmutableMap.<PaginationKey, Integer>builder()
-                    .put(PAGE_KEYS.get(PAGE_OFFSET_KEY), offset)
+                    .put(PAGE_KEYS.get(cursorOpt.isPresent() ? PAGE_AFTER_KEY : PAGE_OFFSET_KEY), offset)
                     .put(PAGE_KEYS.get(PAGE_LIMIT_KEY), first);
             if (generatePageTotals) {
                 pageData.put(PAGE_KEYS.get(PAGE_TOTALS_KEY), 1);
@@ -152,15 +175,22 @@ public class Pagination {
 
             return Optional.of(getPagination(pageData.build(), elideSettings));
         }).orElseGet(() -> {
-            if (generatePageTotals) {
+            if (generatePageTotals || cursorOpt.isPresent()) {
                 Pagination pagination = getDefaultPagination(elideSettings);
-                pagination.pageData.put(PAGE_KEYS.get(PAGE_TOTALS_KEY), 1);
+                if (generatePageTotals) {
+                    pagination.pageData.put(PAGE_KEYS.get(PAGE_TOTALS_KEY), 1);
+                }
+                cursorOpt.ifPresent(cursor -> pagination.pageData.put(PAGE_KEYS.get(PAGE_AFTER_KEY), 0));
                 return Optional.of(pagination);
             }
             return Optional.empty();
         });
+
+        result.ifPresent(pagination -> pagination.after = cursorOpt.orElse(null));
+        return result;
     }
 
+
     /**
      * Given json-api paging params, generate page and pageSize values from query params.
      *
@@ -178,9 +208,9 @@ public class Pagination {
                     final String queryParamKey = paramEntry.getKey();
                     if (PAGE_KEYS.containsKey(queryParamKey)) {
                         PaginationKey paginationKey = PAGE_KEYS.get(queryParamKey);
-                        if (paginationKey.equals(PaginationKey.totals)) {
-                            // page[totals] is a valueless parameter, use value of 0 just so that its presence can
-                            // be recorded in the map
+                        if (paginationKey.equals(PaginationKey.totals) || paginationKey.equals(PaginationKey.after)) {
+                            // page[totals] is a valueless parameter and page[after] is not an integer, use value of 0
+                            // just so that their presence can be recorded in the map
                             pageData.put(paginationKey, 0);
                         } else {
                             final String value = paramEntry.getValue().get(0);
@@ -196,7 +226,12 @@ public class Pagination {
                                 + PAGE_KEYS_CSV);
                     }
                 });
-        return getPagination(pageData, elideSettings);
+
+        Pagination result = getPagination(pageData, elideSettings);
+        if (pageData.containsKey(PaginationKey.after)) {
+            result.after = queryParams.getFirst(PAGE_AFTER_KEY);
+        }
+        return result;
     }
 
     /**
@@ -215,6 +250,44 @@ public class Pagination {
         return pageTotals;
     }
 
+    /**
+     * Infers the total number of records from the number of records fetched for this page.  A page which is not
+     * full is the last one, unless it is empty past the first page, where the records may end anywhere before it.
+     * Keyset paginated pages past the first one do not know how many records precede them.
+     *
+     * @param fetched the number of records fetched for this page
+     * @return the total number of records if the page is the last one
+     */
+    public Optional<Long> inferPageTotals(int fetched) {
+        if (isKeyset() && after != null && !after.isEmpty()) {
+            return Optional.empty();
+        }
+        if (fetched < limit && (fetched > 0 || offset == 0)) {
+            return Optional.of((long) offset + fetched);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Infers the total number of records from the number of rows fetched for this page.  Filters on to-many
+     * relationships join one row per matching child, and then the number of rows does not tell how many records
+     * there are.
+     *
+     * @param fetched the number of rows fetched for this page
+     * @param filterExpression the filter of the fetched rows
+     * @param dictionary the entity dictionary
+     * @return the total number of records if the page is the last one and no filter joins a to-many relationship
+     */
+    public Optional<Long> inferPageTotals(int fetched, Optional<FilterExpression> filterExpression,
+                                          EntityDictionary dictionary) {
+        boolean isJoiningToMany = filterExpression
+                .map(fe -> fe.accept(new PredicateExtractionVisitor()))
+                .map(predicates -> predicates.stream()
+                        .anyMatch(predicate -> FilterPredicate.toManyInPath(dictionary, predicate.getPath())))
+                .orElse(false);
+        return isJoiningToMany ? Optional.empty() : inferPageTotals(fetched);
+    }
+
     /**
      * Construct a pagination object from page data and elide settings.
      *
@@ -257,8 +330,10 @@ public class Pagination {
     }
 
     private boolean hasInvalidCombination(Map<PaginationKey, Integer> pageData) {
-        return (pageData.containsKey(PaginationKey.size) || pageData.containsKey(PaginationKey.number))
-                && (pageData.containsKey(PaginationKey.limit) || pageData.containsKey(PaginationKey.offset));
+        return ((pageData.containsKey(PaginationKey.size) || pageData.containsKey(PaginationKey.number))
+                && (pageData.containsKey(PaginationKey.limit) || pageData.containsKey(PaginationKey.offset)))
+                || (pageData.containsKey(PaginationKey.after)
+                && (pageData.containsKey(PaginationKey.number) || pageData.containsKey(PaginationKey.offset)));
     }
 
     private void pageByOffset(int defaultLimit, int maxLimit) {
@@ -314,6 +389,14 @@ public class Pagination {
         return this;
     }
 
+    /**
+     * Whether pages start after the cursor of the previous page rather than at an offset.
+     * @return true if this is a keyset pagination
+     */
+    public boolean isKeyset() {
+        return pageData.containsKey(PaginationKey.after);
+    }
+
     /**
      * Know if this is the default instance.
      * @return The default pagination values.
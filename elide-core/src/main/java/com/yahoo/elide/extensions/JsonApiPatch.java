@@ -57,13 +57,13 @@ public class JsonApiPatch {
             this.cause = null;
         }
 
-        public void postProcess(PatchRequestScope requestScope) {
+        public void postProcess(PatchRequestScope requestScope, JsonApiParser parser) {
             if (isPostProcessing) {
                 try {
                     // Only update relationships
                     clearAllExceptRelationships(doc);
                     PatchVisitor visitor = new PatchVisitor(new PatchRequestScope(path, doc, requestScope));
-                    visitor.visit(JsonApiParser.parse(path));
+                    visitor.visit(parser.parsePath(path));
                 } catch (HttpStatusException e) {
                     cause = e;
                     throw e;
@@ -75,6 +75,9 @@ public class JsonApiPatch {
     private final List<PatchAction> actions;
     private final String rootUri;
 
+    /* The operations of a patch document often share path shapes */
+    private final JsonApiParser parser = new JsonApiParser();
+
     private static final ObjectNode ERR_NODE_ERR_IN_SUBSEQUENT_OPERATION;
     private static final ObjectNode ERR_NODE_OPERATION_NOT_RUN;
 
@@ -210,7 +213,7 @@ public class JsonApiPatch {
                 action.isPostProcessing = true;
             }
             PostVisitor visitor = new PostVisitor(new PatchRequestScope(path, value, requestScope));
-            return visitor.visit(JsonApiParser.parse(path));
+            return visitor.visit(parser.parsePath(path));
         } catch (HttpStatusException e) {
             action.cause = e;
             throw e;
@@ -228,7 +231,7 @@ public class JsonApiPatch {
             JsonApiDocument value = requestScope.getMapper().readJsonApiPatchExtValue(patchVal);
             // Defer relationship updating until the end
             PatchVisitor visitor = new PatchVisitor(new PatchRequestScope(path, value, requestScope));
-            return visitor.visit(JsonApiParser.parse(path));
+            return visitor.visit(parser.parsePath(path));
         } catch (IOException e) {
             throw new InvalidEntityBodyException("Could not parse patch extension value: " + patchVal);
         }
@@ -257,7 +260,7 @@ public class JsonApiPatch {
             }
             DeleteVisitor visitor = new DeleteVisitor(
                 new PatchRequestScope(path, value, requestScope));
-            return visitor.visit(JsonApiParser.parse(fullPath));
+            return visitor.visit(parser.parsePath(fullPath));
         } catch (IOException e) {
             throw new InvalidEntityBodyException("Could not parse patch extension value: " + patchValue);
         }
@@ -274,7 +277,7 @@ public class JsonApiPatch {
      * @param requestScope request scope
      */
     private void postProcessRelationships(PatchRequestScope requestScope) {
-        actions.forEach(action -> action.postProcess(requestScope));
+        actions.forEach(action -> action.postProcess(requestScope, parser));
     }
 
     /**
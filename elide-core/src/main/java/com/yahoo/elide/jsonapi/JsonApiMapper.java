@@ -22,6 +22,7 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Date;
 import java.util.List;
 
@@ -119,6 +120,21 @@ public class JsonApiMapper {
         return mapper.writeValueAsString(node);
     }
 
+    /**
+     * Write json api document directly to an output stream without buffering it as a string.
+     * The output stream is flushed but not closed.
+     *
+     * @param node the node
+     * @param outputStream the stream to write to
+     * @throws IOException the iO exception
+     */
+    public void writeJsonApiDocument(JsonNode node, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            mapper.writeTree(generator, node);
+        }
+    }
+
     /**
      * Read json api document.
      *
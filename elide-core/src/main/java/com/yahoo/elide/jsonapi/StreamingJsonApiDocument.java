@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.jsonapi;
+
+import com.yahoo.elide.core.PersistentResource;
+import com.yahoo.elide.jsonapi.document.processors.DocumentProcessor;
+import com.yahoo.elide.jsonapi.document.processors.IncludedProcessor;
+import com.yahoo.elide.jsonapi.models.JsonApiDocument;
+import com.yahoo.elide.jsonapi.models.Meta;
+import com.yahoo.elide.jsonapi.models.Resource;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * A JSON API collection document that is rendered while it is written.
+ * <p>
+ * Primary resources are converted and written in small batches as they are pulled from the data store, so that the
+ * linkage of each batch can be fetched together. Included
+ * resources are resolved after the primary data has been written. Neither a {@link JsonApiDocument} holding every
+ * resource nor an intermediate JSON tree is ever built, so the transaction that loaded the resources must still be
+ * open when this document is serialized.
+ */
+public class StreamingJsonApiDocument extends JsonSerializable.Base {
+    private static final String INCLUDE = "include";
+    private static final int BATCH_SIZE = 100;
+
+    private final Iterable<PersistentResource> resources;
+    private final Optional<MultivaluedMap<String, String>> queryParams;
+    private final Meta meta;
+    private final Map<String, String> links;
+
+    /**
+     * Constructor.
+     *
+     * @param resources the primary resources (traversed once)
+     * @param queryParams the request query parameters
+     * @param meta the document meta block or null
+     * @param links the document links
+     */
+    public StreamingJsonApiDocument(Iterable<PersistentResource> resources,
+                                    Optional<MultivaluedMap<String, String>> queryParams,
+                                    Meta meta,
+                                    Map<String, String> links) {
+        this.resources = resources;
+        this.queryParams = queryParams;
+        this.meta = meta;
+        this.links = links;
+    }
+
+    @Override
+    public void serialize(JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+        boolean hasIncludes = queryParams.map(params -> params.get(INCLUDE) != null).orElse(false);
+        Set<PersistentResource> written = new LinkedHashSet<>();
+
+        jsonGenerator.writeStartObject();
+
+        jsonGenerator.writeArrayFieldStart("data");
+        List<PersistentResource> batch = new ArrayList<>(BATCH_SIZE);
+        for (PersistentResource resource : resources) {
+            batch.add(resource);
+            if (batch.size() == BATCH_SIZE) {
+                writeResources(batch, jsonGenerator, serializerProvider);
+                batch.clear();
+            }
+
+            // Only hold on to the written resources when they are needed to resolve includes
+            if (hasIncludes) {
+                written.add(resource);
+            }
+        }
+        writeResources(batch, jsonGenerator, serializerProvider);
+        jsonGenerator.writeEndArray();
+
+        if (meta != null) {
+            serializerProvider.defaultSerializeField("meta", meta, jsonGenerator);
+        }
+
+        if (!links.isEmpty()) {
+            serializerProvider.defaultSerializeField("links", links, jsonGenerator);
+        }
+
+        if (!written.isEmpty()) {
+            JsonApiDocument includedDocument = new JsonApiDocument();
+            DocumentProcessor includedProcessor = new IncludedProcessor();
+            includedProcessor.execute(includedDocument, written, queryParams);
+
+            List<Resource> included = includedDocument.getIncluded();
+            if (included != null) {
+                serializerProvider.defaultSerializeField("included", included, jsonGenerator);
+            }
+        }
+
+        jsonGenerator.writeEndObject();
+    }
+
+    private static void writeResources(List<PersistentResource> batch, JsonGenerator jsonGenerator,
+                                       SerializerProvider serializerProvider) throws IOException {
+        for (Resource resource : PersistentResource.toResources(batch)) {
+            serializerProvider.defaultSerializeValue(resource, jsonGenerator);
+        }
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator jsonGenerator, SerializerProvider serializerProvider,
+                                  TypeSerializer typeSerializer) throws IOException {
+        serialize(jsonGenerator, serializerProvider);
+    }
+}
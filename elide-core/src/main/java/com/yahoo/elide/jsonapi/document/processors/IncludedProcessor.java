@@ -6,17 +6,20 @@
 package com.yahoo.elide.jsonapi.document.processors;
 
 import com.yahoo.elide.core.PersistentResource;
-import com.yahoo.elide.core.exceptions.ForbiddenAccessException;
 import com.yahoo.elide.core.filter.expression.FilterExpression;
 import com.yahoo.elide.jsonapi.models.JsonApiDocument;
 
 import com.google.common.collect.Lists;
 
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.ws.rs.core.MultivaluedMap;
 
@@ -36,7 +39,7 @@ public class IncludedProcessor implements DocumentProcessor {
     public void execute(JsonApiDocument jsonApiDocument, PersistentResource resource,
                         Optional<MultivaluedMap<String, String>> queryParams) {
         if (isPresent(queryParams, INCLUDE)) {
-            addIncludedResources(jsonApiDocument, resource, queryParams.get().get(INCLUDE));
+            addIncludedResources(jsonApiDocument, Collections.singleton(resource), queryParams.get().get(INCLUDE));
         }
     }
 
@@ -48,56 +51,70 @@ public class IncludedProcessor implements DocumentProcessor {
     public void execute(JsonApiDocument jsonApiDocument, Set<PersistentResource> resources,
                         Optional<MultivaluedMap<String, String>> queryParams) {
         if (isPresent(queryParams, INCLUDE)) {
-
-            // Process include for each resource
-            resources.forEach(resource ->
-                    addIncludedResources(jsonApiDocument, resource, queryParams.get().get(INCLUDE)));
+            addIncludedResources(jsonApiDocument, resources, queryParams.get().get(INCLUDE));
         }
     }
 
     /**
      * Adds the requested relation resources to the included block of the JsonApiDocument.
      */
-    private void addIncludedResources(JsonApiDocument jsonApiDocument, PersistentResource rec,
+    private void addIncludedResources(JsonApiDocument jsonApiDocument, Set<PersistentResource> records,
             List<String> requestedRelationPaths) {
         // Process each include relation path
-        requestedRelationPaths.forEach(pathParam -> {
-            List<String> pathList = Arrays.asList(pathParam.split(RELATION_PATH_SEPARATOR));
+        getRelationPaths(requestedRelationPaths)
+                .forEach(relationPath -> addResourcesForPath(jsonApiDocument, records, relationPath));
+    }
 
-            pathList.forEach(requestedRelationPath -> {
-                List<String> relationPath = Lists.newArrayList(requestedRelationPath.split(RELATION_PATH_DELIMITER));
-                addResourcesForPath(jsonApiDocument, rec, relationPath);
-            });
-        });
+    /**
+     * Splits the values of the include query param into relation paths.
+     *
+     * @param requestedRelationPaths the values of the include query param
+     * @return the relation paths, each a list of relation names
+     */
+    public static List<List<String>> getRelationPaths(List<String> requestedRelationPaths) {
+        return requestedRelationPaths.stream()
+                .flatMap(pathParam -> Arrays.stream(pathParam.split(RELATION_PATH_SEPARATOR)))
+                .map(requestedRelationPath -> Lists.newArrayList(requestedRelationPath.split(RELATION_PATH_DELIMITER)))
+                .collect(Collectors.toList());
     }
 
     /**
      * Adds all the relation resources for a given relation path to the included block of the
-     * JsonApiDocument.
+     * JsonApiDocument.  The path is walked one level at a time so that the relation of every resource
+     * at a given depth is fetched from the data store together.
      */
-    private void addResourcesForPath(JsonApiDocument jsonApiDocument, PersistentResource<?> rec,
+    private void addResourcesForPath(JsonApiDocument jsonApiDocument, Set<PersistentResource> records,
                                      List<String> relationPath) {
+        Set<PersistentResource> parents = records;
+
+        for (String relation : relationPath) {
+            Set<PersistentResource> children = new LinkedHashSet<>();
+
+            // Resources of different types may expose different filters for the same relation name
+            Map<Class<?>, List<PersistentResource>> parentsByType = parents.stream()
+                    .collect(Collectors.groupingBy(PersistentResource::getResourceClass,
+                            LinkedHashMap::new, Collectors.toList()));
+
+            parentsByType.values().forEach(sameTypeParents -> {
+                PersistentResource<?> first = sameTypeParents.get(0);
+                Optional<FilterExpression> filterExpression =
+                        first.getRequestScope().getExpressionForRelation(first, relation);
+
+                PersistentResource.getRelationsCheckedFiltered(sameTypeParents, relation, filterExpression)
+                        .values()
+                        .forEach(collection -> collection.forEach(resource -> {
+                            jsonApiDocument.addIncluded(resource.toResource());
+                            children.add(resource);
+                        }));
+            });
 
-        //Pop off a relation of relation path
-        String relation = relationPath.remove(0);
+            if (children.isEmpty()) {
+                return;
+            }
 
-        Optional<FilterExpression> filterExpression = rec.getRequestScope().getExpressionForRelation(rec, relation);
-        Set<PersistentResource> collection;
-        try {
-            collection = rec.getRelationCheckedFiltered(relation, filterExpression, Optional.empty(), Optional.empty());
-        } catch (ForbiddenAccessException e) {
-            return;
+            //Process a level deeper
+            parents = children;
         }
-
-        collection.forEach(resource -> {
-            jsonApiDocument.addIncluded(resource.toResource());
-
-            //If more relations left in the path, process a level deeper
-            if (!relationPath.isEmpty()) {
-                //Use a copy of the relationPath to preserve the path for remaining branches of the relationship tree
-                addResourcesForPath(jsonApiDocument, resource, new ArrayList<>(relationPath));
-            }
-        });
     }
 
     private static boolean isPresent(Optional<MultivaluedMap<String, String>> queryParams, String key) {
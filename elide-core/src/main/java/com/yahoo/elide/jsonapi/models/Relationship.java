@@ -26,13 +26,19 @@ import java.util.stream.Collectors;
 public class Relationship {
     private final Map<String, String> links;
     private final Data<Resource> data; // NOTE: Our serializer handles resources so that's what we store
+    private final Meta meta;
     @JsonIgnore private final Data<ResourceIdentifier> idData;
 
     // NOTE: We take in a Resource instead of ResourceIdentifier here due to a deserialization conflict
     public Relationship(@JsonProperty("links") Map<String, String> links,
                         @JsonProperty("data") Data<Resource> data) {
+        this(links, data, null);
+    }
+
+    public Relationship(Map<String, String> links, Data<Resource> data, Meta meta) {
         this.links = links;
         this.data = data;
+        this.meta = meta;
         if (data != null) {
             if (data.isToOne()) {
                 Resource resource = data.getSingleValue();
@@ -59,6 +65,11 @@ public class Relationship {
         return data;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Meta getMeta() {
+        return meta;
+    }
+
     @JsonIgnore
     public Data<ResourceIdentifier> getResourceIdentifierData() {
         return idData;
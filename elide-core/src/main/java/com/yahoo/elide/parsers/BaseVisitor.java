@@ -44,6 +44,17 @@ public abstract class BaseVisitor extends CoreBaseVisitor<Supplier<Pair<Integer,
         return state;
     }
 
+    /**
+     * Visit a parsed path, binding its ids to the state.
+     *
+     * @param path the parsed path
+     * @return the response supplier
+     */
+    public Supplier<Pair<Integer, JsonNode>> visit(ParsedPath path) {
+        state.setPath(path);
+        return visit(path.getParseTree());
+    }
+
     @Override
     public Supplier<Pair<Integer, JsonNode>> visitStart(StartContext ctx) {
         return super.visitStart(ctx);
@@ -7,6 +7,7 @@ package com.yahoo.elide.parsers;
 
 import com.yahoo.elide.generated.parsers.CoreLexer;
 import com.yahoo.elide.generated.parsers.CoreParser;
+import com.yahoo.elide.generated.parsers.CoreParser.IdContext;
 
 import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.BaseErrorListener;
@@ -18,6 +19,12 @@ import org.antlr.v4.runtime.Recognizer;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.antlr.v4.runtime.tree.ParseTree;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 /**
@@ -27,6 +34,58 @@ public class JsonApiParser {
 
     private final static Pattern DUPLICATE_SEPARATOR_PATTERN = Pattern.compile("/+");
 
+    private static final String SEPARATOR = "/";
+    private static final String RELATIONSHIPS = "relationships";
+    private static final String ID_PLACEHOLDER = "_";
+    public static final int DEFAULT_MAX_CACHED_SHAPES = 1024;
+
+    private final Map<String, Shape> shapes;
+
+    /**
+     * The parse tree of a path shape along with the position of each id node.
+     */
+    private static class Shape {
+        private final ParseTree parseTree;
+        private final Map<IdContext, Integer> idIndexes;
+
+        private Shape(ParseTree parseTree) {
+            this.parseTree = parseTree;
+            this.idIndexes = new IdentityHashMap<>();
+            collectIds(parseTree);
+        }
+
+        private void collectIds(ParseTree node) {
+            if (node instanceof IdContext) {
+                idIndexes.put((IdContext) node, idIndexes.size());
+                return;
+            }
+            for (int i = 0; i < node.getChildCount(); i++) {
+                collectIds(node.getChild(i));
+            }
+        }
+    }
+
+    /**
+     * Constructor with a cache of {@link #DEFAULT_MAX_CACHED_SHAPES} path shapes.
+     */
+    public JsonApiParser() {
+        this(DEFAULT_MAX_CACHED_SHAPES);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxCachedShapes the number of path shapes to keep the parse tree of
+     */
+    public JsonApiParser(int maxCachedShapes) {
+        this.shapes = Collections.synchronizedMap(new LinkedHashMap<String, Shape>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Shape> eldest) {
+                return size() > maxCachedShapes;
+            }
+        });
+    }
+
     /**
      * Normalize request path
      *
@@ -54,8 +113,79 @@ public class JsonApiParser {
      * @return AST parse tree
      */
     public static ParseTree parse(String path) {
+        return parseNormalized(normalizePath(path));
+    }
+
+    /**
+     * Compile request to AST, reusing the parse tree of previous requests with the same shape.
+     * <p>
+     * A path is canonicalized by replacing each id with a placeholder. Paths such as {@code book/1/authors/2}
+     * and {@code book/3/authors/4} therefore share one parse tree, which is kept in the bounded LRU cache of this
+     * parser, and only differ by the ids bound to the returned {@link ParsedPath}.
+     *
+     * @param path request
+     * @return the parsed path
+     */
+    public ParsedPath parsePath(String path) {
         String normalizedPath = normalizePath(path);
+        String[] segments = normalizedPath.split(SEPARATOR);
+        List<String> ids = new ArrayList<>();
+        StringBuilder shapeKey = new StringBuilder(normalizedPath.length());
+
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (!isPathSegment(segment)) {
+                // Let the parser report the error
+                return new ParsedPath(parseNormalized(normalizedPath), Collections.emptyMap(), ids);
+            }
+
+            // Collections and ids alternate, and a relationship keyword is followed by a relationship name
+            boolean isId = i % 2 == 1 && !RELATIONSHIPS.equals(segments[i - 1]);
+            if (isId && RELATIONSHIPS.equals(segment)) {
+                return new ParsedPath(parseNormalized(normalizedPath), Collections.emptyMap(), ids);
+            }
+
+            if (i > 0) {
+                shapeKey.append(SEPARATOR);
+            }
+            if (isId) {
+                ids.add(segment);
+                shapeKey.append(ID_PLACEHOLDER);
+            } else {
+                shapeKey.append(segment);
+            }
+        }
+
+        String key = shapeKey.toString();
+        Shape shape = shapes.get(key);
+        if (shape == null) {
+            try {
+                shape = new Shape(parseNormalized(key));
+            } catch (ParseCancellationException e) {
+                // Report the error against the requested path rather than its shape
+                return new ParsedPath(parseNormalized(normalizedPath), Collections.emptyMap(), ids);
+            }
+            shapes.put(key, shape);
+        }
+
+        return new ParsedPath(shape.parseTree, shape.idIndexes, ids);
+    }
+
+    private static boolean isPathSegment(String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            boolean isAlphaNum = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+            if (!isAlphaNum && "-_.!~*'()".indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
 
+    private static ParseTree parseNormalized(String normalizedPath) {
         CharStream is = CharStreams.fromString(normalizedPath);
         CoreLexer lexer = new CoreLexer(is);
         lexer.removeErrorListeners();
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.parsers;
+
+import com.yahoo.elide.generated.parsers.CoreParser.IdContext;
+
+import org.antlr.v4.runtime.tree.ParseTree;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A request path parsed by {@link JsonApiParser#parsePath(String)}.
+ * <p>
+ * The parse tree is shared by every path with the same shape, i.e. the same collections and relationships
+ * but possibly different ids.  The ids of this particular path are bound separately and must be read through
+ * {@link #getId(IdContext)} rather than from the tree itself.
+ */
+public class ParsedPath {
+    private final ParseTree parseTree;
+    private final Map<IdContext, Integer> idIndexes;
+    private final List<String> ids;
+
+    ParsedPath(ParseTree parseTree, Map<IdContext, Integer> idIndexes, List<String> ids) {
+        this.parseTree = parseTree;
+        this.idIndexes = idIndexes;
+        this.ids = ids;
+    }
+
+    public ParseTree getParseTree() {
+        return parseTree;
+    }
+
+    /**
+     * Get the id bound to an id node of the parse tree.
+     *
+     * @param ctx id node of {@link #getParseTree()}
+     * @return the id of this path
+     */
+    public String getId(IdContext ctx) {
+        Integer index = idIndexes.get(ctx);
+        return index == null ? ctx.getText() : ids.get(index);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+
+package com.yahoo.elide.parsers.expression;
+
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.generated.parsers.ExpressionBaseVisitor;
+import com.yahoo.elide.generated.parsers.ExpressionParser;
+import com.yahoo.elide.security.permissions.PermissionPlan;
+
+/**
+ * Compiles a permission parse tree into a reusable {@link PermissionPlan}.
+ */
+public class PermissionPlanVisitor extends ExpressionBaseVisitor<PermissionPlan> {
+    private final EntityDictionary dictionary;
+
+    public PermissionPlanVisitor(EntityDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public PermissionPlan visitNOT(ExpressionParser.NOTContext ctx) {
+        return PermissionPlan.not(visit(ctx.expression()));
+    }
+
+    @Override
+    public PermissionPlan visitOR(ExpressionParser.ORContext ctx) {
+        return PermissionPlan.or(visit(ctx.left), visit(ctx.right));
+    }
+
+    @Override
+    public PermissionPlan visitAND(ExpressionParser.ANDContext ctx) {
+        return PermissionPlan.and(visit(ctx.left), visit(ctx.right));
+    }
+
+    @Override
+    public PermissionPlan visitPAREN(ExpressionParser.PARENContext ctx) {
+        return visit(ctx.expression());
+    }
+
+    @Override
+    public PermissionPlan visitPermissionClass(ExpressionParser.PermissionClassContext ctx) {
+        return PermissionPlan.check(dictionary, ctx.getText());
+    }
+}
@@ -91,7 +91,36 @@ public class PermissionToFilterExpressionVisitor extends ExpressionBaseVisitor<F
 
     @Override
     public FilterExpression visitNOT(ExpressionParser.NOTContext ctx) {
-        FilterExpression expression = visit(ctx.expression());
+        return negate(visit(ctx.expression()));
+    }
+
+    @Override
+    public FilterExpression visitOR(ExpressionParser.ORContext ctx) {
+        return or(visit(ctx.left), visit(ctx.right));
+    }
+
+    @Override
+    public FilterExpression visitAND(ExpressionParser.ANDContext ctx) {
+        return and(visit(ctx.left), visit(ctx.right));
+    }
+
+    @Override
+    public FilterExpression visitPermissionClass(ExpressionParser.PermissionClassContext ctx) {
+        return fromCheck(getCheck(dictionary, ctx.getText()), entityClass, requestScope);
+    }
+
+    @Override
+    public FilterExpression visitPAREN(ExpressionParser.PARENContext ctx) {
+        return visit(ctx.expression());
+    }
+
+    /**
+     * Negates a filter expression extracted from a permission.
+     *
+     * @param expression the expression to negate
+     * @return the negated expression
+     */
+    public static FilterExpression negate(FilterExpression expression) {
         if (Objects.equals(expression, TRUE_USER_CHECK_EXPRESSION)) {
             return FALSE_USER_CHECK_EXPRESSION;
         } else if (Objects.equals(expression, FALSE_USER_CHECK_EXPRESSION)) {
@@ -102,11 +131,14 @@ public class PermissionToFilterExpressionVisitor extends ExpressionBaseVisitor<F
         return new NotFilterExpression(expression);
     }
 
-    @Override
-    public FilterExpression visitOR(ExpressionParser.ORContext ctx) {
-        FilterExpression left = visit(ctx.left);
-        FilterExpression right = visit(ctx.right);
-
+    /**
+     * Combines the filter expressions extracted from both sides of an OR permission.
+     *
+     * @param left the left expression
+     * @param right the right expression
+     * @return the combined expression
+     */
+    public static FilterExpression or(FilterExpression left, FilterExpression right) {
         if (expressionWillNotFilter(left)) {
             return left;
         }
@@ -130,11 +162,14 @@ public class PermissionToFilterExpressionVisitor extends ExpressionBaseVisitor<F
         return new OrFilterExpression(left, right);
     }
 
-    @Override
-    public FilterExpression visitAND(ExpressionParser.ANDContext ctx) {
-        FilterExpression left = visit(ctx.left);
-        FilterExpression right = visit(ctx.right);
-
+    /**
+     * Combines the filter expressions extracted from both sides of an AND permission.
+     *
+     * @param left the left expression
+     * @param right the right expression
+     * @return the combined expression
+     */
+    public static FilterExpression and(FilterExpression left, FilterExpression right) {
         // (FALSE_USER_CHECK_EXPRESSION AND FilterExpression) => FALSE_USER_CHECK_EXPRESSION
         // (FALSE_USER_CHECK_EXPRESSION AND NO_EVALUATION_EXPRESSION) => FALSE_USER_CHECK_EXPRESSION
         if (expressionWillFail(left) || expressionWillFail(right)) {
@@ -152,19 +187,15 @@ public class PermissionToFilterExpressionVisitor extends ExpressionBaseVisitor<F
         return new AndFilterExpression(left, right);
     }
 
-    private boolean expressionWillFail(FilterExpression expression) {
-        return Objects.equals(expression, FALSE_USER_CHECK_EXPRESSION) || operator(expression) == Operator.FALSE;
-    }
-
-    private boolean expressionWillNotFilter(FilterExpression expression) {
-        return Objects.equals(expression, NO_EVALUATION_EXPRESSION)
-                || Objects.equals(expression, TRUE_USER_CHECK_EXPRESSION)
-                || operator(expression) == Operator.TRUE;
-    }
-
-    @Override
-    public FilterExpression visitPermissionClass(ExpressionParser.PermissionClassContext ctx) {
-        Check check = getCheck(dictionary, ctx.getText());
+    /**
+     * Extracts the filter expression for a single check.
+     *
+     * @param check the check
+     * @param entityClass the entity being filtered
+     * @param requestScope the request scope
+     * @return the filter expression of a filter check, or a constant for any other kind of check
+     */
+    public static FilterExpression fromCheck(Check check, Class entityClass, RequestScope requestScope) {
         if (check instanceof FilterExpressionCheck) {
             FilterExpressionCheck filterCheck = (FilterExpressionCheck) check;
             FilterExpression filterExpression = filterCheck.getFilterExpression(entityClass, requestScope);
@@ -184,14 +215,19 @@ public class PermissionToFilterExpressionVisitor extends ExpressionBaseVisitor<F
         return NO_EVALUATION_EXPRESSION;
     }
 
-    private Operator operator(FilterExpression expression) {
+    private static boolean expressionWillFail(FilterExpression expression) {
+        return Objects.equals(expression, FALSE_USER_CHECK_EXPRESSION) || operator(expression) == Operator.FALSE;
+    }
+
+    private static boolean expressionWillNotFilter(FilterExpression expression) {
+        return Objects.equals(expression, NO_EVALUATION_EXPRESSION)
+                || Objects.equals(expression, TRUE_USER_CHECK_EXPRESSION)
+                || operator(expression) == Operator.TRUE;
+    }
+
+    private static Operator operator(FilterExpression expression) {
         return expression instanceof FilterPredicate
                 ? ((FilterPredicate) expression).getOperator()
                 : null;
     }
-
-    @Override
-    public FilterExpression visitPAREN(ExpressionParser.PARENContext ctx) {
-        return visit(ctx.expression());
-    }
 }
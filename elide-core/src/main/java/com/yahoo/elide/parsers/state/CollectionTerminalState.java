@@ -18,6 +18,7 @@ import com.yahoo.elide.core.filter.expression.FilterExpression;
 import com.yahoo.elide.core.pagination.Pagination;
 import com.yahoo.elide.core.sort.Sorting;
 import com.yahoo.elide.jsonapi.JsonApiMapper;
+import com.yahoo.elide.jsonapi.StreamingJsonApiDocument;
 import com.yahoo.elide.jsonapi.document.processors.DocumentProcessor;
 import com.yahoo.elide.jsonapi.document.processors.IncludedProcessor;
 import com.yahoo.elide.jsonapi.models.Data;
@@ -28,14 +29,19 @@ import com.yahoo.elide.jsonapi.models.Resource;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.google.common.base.Preconditions;
 
 import org.apache.commons.lang3.tuple.Pair;
 
 import lombok.ToString;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,6 +50,7 @@ import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 
 /**
@@ -65,10 +72,28 @@ public class CollectionTerminalState extends BaseState {
 
     @Override
     public Supplier<Pair<Integer, JsonNode>> handleGet(StateContext state) {
-        JsonApiDocument jsonApiDocument = new JsonApiDocument();
         RequestScope requestScope = state.getRequestScope();
         Optional<MultivaluedMap<String, String>> queryParams = requestScope.getQueryParams();
 
+        if (requestScope.getElideSettings().isStreamingResponses()) {
+            // Resources are converted as they are written rather than collected into a document up front
+            Iterable<PersistentResource> collection;
+            boolean hasIncludes = queryParams.map(params -> params.containsKey("include")).orElse(false);
+            requestScope.setStreamingResults(!hasIncludes);
+            try {
+                collection = getLazyResourceCollection(requestScope);
+            } finally {
+                requestScope.setStreamingResults(false);
+            }
+            StreamingJsonApiDocument streamingDocument = new StreamingJsonApiDocument(collection, queryParams,
+                    getPaginationMeta(requestScope), getPaginationLinks(requestScope));
+            JsonNode responseBody = JsonNodeFactory.instance.pojoNode(streamingDocument);
+
+            return () -> Pair.of(HttpStatus.SC_OK, responseBody);
+        }
+
+        JsonApiDocument jsonApiDocument = new JsonApiDocument();
+
         Set<PersistentResource> collection = getResourceCollection(requestScope);
         // Set data
         jsonApiDocument.setData(getData(collection));
@@ -78,27 +103,11 @@ public class CollectionTerminalState extends BaseState {
         includedProcessor.execute(jsonApiDocument, collection, queryParams);
 
         // Add pagination meta data
-        Pagination pagination = requestScope.getPagination();
-        if (!pagination.isEmpty()) {
-
-            Map<String, Number> pageMetaData = new HashMap<>();
-            pageMetaData.put("number", (pagination.getOffset() / pagination.getLimit()) + 1);
-            pageMetaData.put("limit", pagination.getLimit());
-
-            // Get total records if it has been requested and add to the page meta data
-            if (pagination.isGenerateTotals()) {
-                Long totalRecords = pagination.getPageTotals();
-                pageMetaData.put("totalPages", totalRecords / pagination.getLimit()
-                        + ((totalRecords % pagination.getLimit()) > 0 ? 1 : 0));
-                pageMetaData.put("totalRecords", totalRecords);
-            }
-
-            Map<String, Object> allMetaData = new HashMap<>();
-            allMetaData.put("page", pageMetaData);
-
-            Meta meta = new Meta(allMetaData);
+        Meta meta = getPaginationMeta(requestScope);
+        if (meta != null) {
             jsonApiDocument.setMeta(meta);
         }
+        getPaginationLinks(requestScope).forEach(jsonApiDocument::addLink);
 
         JsonNode responseBody = requestScope.getMapper().toJsonObject(jsonApiDocument);
 
@@ -152,9 +161,82 @@ public class CollectionTerminalState extends BaseState {
         return collection;
     }
 
+    private Iterable<PersistentResource> getLazyResourceCollection(RequestScope requestScope) {
+        if (parent.isPresent()) {
+            return getResourceCollection(requestScope);
+        }
+
+        Optional<Pagination> pagination = Optional.ofNullable(requestScope.getPagination());
+        Optional<Sorting> sorting = Optional.ofNullable(requestScope.getSorting());
+        Optional<FilterExpression> filterExpression = requestScope.getLoadFilterExpression(entityClass);
+
+        return PersistentResource.loadRecordsLazily(
+                entityClass,
+                filterExpression,
+                sorting,
+                pagination,
+                requestScope);
+    }
+
+    private Meta getPaginationMeta(RequestScope requestScope) {
+        Pagination pagination = requestScope.getPagination();
+        if (pagination.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Number> pageMetaData = new HashMap<>();
+        if (!pagination.isKeyset()) {
+            pageMetaData.put("number", (pagination.getOffset() / pagination.getLimit()) + 1);
+        }
+        pageMetaData.put("limit", pagination.getLimit());
+
+        // Get total records if it has been requested and add to the page meta data
+        if (pagination.isGenerateTotals()) {
+            Long totalRecords = pagination.getPageTotals();
+            pageMetaData.put("totalPages", totalRecords / pagination.getLimit()
+                    + ((totalRecords % pagination.getLimit()) > 0 ? 1 : 0));
+            pageMetaData.put("totalRecords", totalRecords);
+        }
+
+        Map<String, Object> allMetaData = new HashMap<>();
+        allMetaData.put("page", pageMetaData);
+
+        return new Meta(allMetaData);
+    }
+
+    /**
+     * Links the next page of a keyset paginated collection, i.e. this request starting after the cursor of the
+     * last record.
+     * @param requestScope the request scope
+     * @return the links of the document
+     */
+    private Map<String, String> getPaginationLinks(RequestScope requestScope) {
+        Pagination pagination = requestScope.getPagination();
+        if (!pagination.isKeyset() || pagination.getNextCursor() == null) {
+            return Collections.emptyMap();
+        }
+
+        MultivaluedMap<String, String> queryParams = new MultivaluedHashMap<>();
+        requestScope.getQueryParams().ifPresent(queryParams::putAll);
+        queryParams.putSingle(Pagination.PAGE_AFTER_KEY, pagination.getNextCursor());
+
+        String query = queryParams.entrySet().stream()
+                .flatMap(param -> param.getValue().stream().map(value -> param.getKey() + "=" + encode(value)))
+                .collect(Collectors.joining("&"));
+        return Collections.singletonMap("next", requestScope.getPath() + "?" + query);
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new InternalServerErrorException(e);
+        }
+    }
+
     private Data getData(Set<PersistentResource> collection) {
         Preconditions.checkNotNull(collection);
-        List<Resource> resources = collection.stream().map(PersistentResource::toResource).collect(Collectors.toList());
+        List<Resource> resources = PersistentResource.toResources(collection);
         return new Data<>(resources);
     }
 
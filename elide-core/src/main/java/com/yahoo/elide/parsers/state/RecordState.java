@@ -80,7 +80,7 @@ public class RecordState extends BaseState {
 
     @Override
     public void handle(StateContext state, SubCollectionReadEntityContext ctx) {
-        String id = ctx.entity().id().getText();
+        String id = state.getId(ctx.entity().id());
         String subCollection = ctx.entity().term().getText();
 
         try {
@@ -93,7 +93,7 @@ public class RecordState extends BaseState {
 
     @Override
     public void handle(StateContext state, SubCollectionSubCollectionContext ctx) {
-        String id = ctx.entity().id().getText();
+        String id = state.getId(ctx.entity().id());
         String subCollection = ctx.entity().term().getText();
         try {
             state.setState(new RecordState(resource.getRelation(subCollection, id)));
@@ -104,7 +104,7 @@ public class RecordState extends BaseState {
 
     @Override
     public void handle(StateContext state, SubCollectionRelationshipContext ctx) {
-        String id = ctx.entity().id().getText();
+        String id = state.getId(ctx.entity().id());
         String subCollection = ctx.entity().term().getText();
 
         PersistentResource childRecord;
@@ -68,7 +68,7 @@ public class StartState extends BaseState {
 
     private PersistentResource<?> entityRecord(StateContext state, EntityContext entity) {
         String entityName = entity.term().getText();
-        String id = entity.id().getText();
+        String id = state.getId(entity.id());
         EntityDictionary dictionary = state.getRequestScope().getDictionary();
         Class<?> entityClass = dictionary.getEntityClass(entityName);
         if (entityClass == null || !dictionary.isRoot(entityClass)) {
@@ -6,6 +6,7 @@
 package com.yahoo.elide.parsers.state;
 
 import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.generated.parsers.CoreParser.IdContext;
 import com.yahoo.elide.generated.parsers.CoreParser.RootCollectionLoadEntitiesContext;
 import com.yahoo.elide.generated.parsers.CoreParser.RootCollectionLoadEntityContext;
 import com.yahoo.elide.generated.parsers.CoreParser.RootCollectionRelationshipContext;
@@ -15,6 +16,7 @@ import com.yahoo.elide.generated.parsers.CoreParser.SubCollectionReadEntityConte
 import com.yahoo.elide.generated.parsers.CoreParser.SubCollectionRelationshipContext;
 import com.yahoo.elide.generated.parsers.CoreParser.SubCollectionSubCollectionContext;
 import com.yahoo.elide.jsonapi.models.JsonApiDocument;
+import com.yahoo.elide.parsers.ParsedPath;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
@@ -31,6 +33,7 @@ import java.util.function.Supplier;
 public class StateContext {
     private BaseState currentState;
     private final RequestScope requestScope;
+    private ParsedPath path;
 
     public StateContext(BaseState initialState, RequestScope requestScope) {
         currentState = initialState;
@@ -46,6 +49,20 @@ public class StateContext {
         return requestScope;
     }
 
+    public void setPath(ParsedPath path) {
+        this.path = path;
+    }
+
+    /**
+     * Get the id of an id node, as bound to the parsed path being visited.
+     *
+     * @param ctx the id node
+     * @return the id
+     */
+    public String getId(IdContext ctx) {
+        return path == null ? ctx.getText() : path.getId(ctx);
+    }
+
     void setState(BaseState nextState) {
         log.debug("State Transition - Current State: {} New State: {}", currentState, nextState);
         currentState = nextState;
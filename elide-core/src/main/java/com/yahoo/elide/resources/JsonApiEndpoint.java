@@ -17,6 +17,7 @@ import javax.inject.Singleton;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.HEAD;
 import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
@@ -26,6 +27,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 /**
@@ -83,6 +85,26 @@ public class JsonApiEndpoint {
         return build(elide.get(path, queryParams, getUser.apply(securityContext)));
     }
 
+    /**
+     * Read handler for HEAD requests, which never write the body.
+     *
+     * @param path request path
+     * @param uriInfo URI info
+     * @param securityContext security context
+     * @return response without a body
+     */
+    @HEAD
+    @Path("{path:.*}")
+    public Response head(
+        @PathParam("path") String path,
+        @Context UriInfo uriInfo,
+        @Context SecurityContext securityContext) {
+        MultivaluedMap<String, String> queryParams = uriInfo.getQueryParameters();
+        ElideResponse response = elide.get(path, queryParams, getUser.apply(securityContext));
+        response.complete();
+        return Response.status(response.getResponseCode()).build();
+    }
+
     /**
      * Update handler.
      *
@@ -124,6 +146,17 @@ public class JsonApiEndpoint {
     }
 
     private static Response build(ElideResponse response) {
-        return Response.status(response.getResponseCode()).entity(response.getBody()).build();
+        if (!response.isStreaming()) {
+            return Response.status(response.getResponseCode()).entity(response.getBody()).build();
+        }
+
+        StreamingOutput entity = outputStream -> {
+            try {
+                response.getStreamingBody().write(outputStream);
+            } finally {
+                response.complete();
+            }
+        };
+        return Response.status(response.getResponseCode()).entity(entity).build();
     }
 }
@@ -17,8 +17,6 @@ import com.yahoo.elide.core.RequestScope;
 import com.yahoo.elide.core.filter.expression.FilterExpression;
 import com.yahoo.elide.core.filter.expression.OrFilterExpression;
 import com.yahoo.elide.parsers.expression.FilterExpressionNormalizationVisitor;
-import com.yahoo.elide.parsers.expression.PermissionExpressionVisitor;
-import com.yahoo.elide.parsers.expression.PermissionToFilterExpressionVisitor;
 import com.yahoo.elide.security.ChangeSpec;
 import com.yahoo.elide.security.PersistentResource;
 import com.yahoo.elide.security.checks.Check;
@@ -28,8 +26,6 @@ import com.yahoo.elide.security.permissions.expressions.Expression;
 import com.yahoo.elide.security.permissions.expressions.OrExpression;
 import com.yahoo.elide.security.permissions.expressions.SpecificFieldExpression;
 
-import org.antlr.v4.runtime.tree.ParseTree;
-
 import java.lang.annotation.Annotation;
 import java.util.List;
 import java.util.Set;
@@ -177,12 +173,13 @@ public class PermissionExpressionBuilder implements CheckInstantiator {
         Class<? extends Annotation> annotationClass = condition.getPermission();
         String field = condition.getField().isPresent() ? condition.getField().get() : null;
 
-        ParseTree classPermissions = entityDictionary.getPermissionsForClass(resourceClass, annotationClass);
-        ParseTree fieldPermissions = entityDictionary.getPermissionsForField(resourceClass, field, annotationClass);
+        PermissionPlan classPermissions = entityDictionary.getPermissionPlanForClass(resourceClass, annotationClass);
+        PermissionPlan fieldPermissions =
+                entityDictionary.getPermissionPlanForField(resourceClass, field, annotationClass);
 
         return new SpecificFieldExpression(condition,
-                expressionFromParseTree(classPermissions, checkFn),
-                expressionFromParseTree(fieldPermissions, checkFn)
+                expressionFromPlan(classPermissions, checkFn),
+                expressionFromPlan(fieldPermissions, checkFn)
         );
     }
 
@@ -201,8 +198,8 @@ public class PermissionExpressionBuilder implements CheckInstantiator {
         Class<?> resourceClass = condition.getEntityClass();
         Class<? extends Annotation> annotationClass = condition.getPermission();
 
-        ParseTree classPermissions = entityDictionary.getPermissionsForClass(resourceClass, annotationClass);
-        Expression entityExpression = expressionFromParseTree(classPermissions, checkFn);
+        PermissionPlan classPermissions = entityDictionary.getPermissionPlanForClass(resourceClass, annotationClass);
+        Expression entityExpression = expressionFromPlan(classPermissions, checkFn);
 
         OrExpression allFieldsExpression = new OrExpression(FAILURE, null);
         List<String> fields = entityDictionary.getAllFields(resourceClass);
@@ -214,8 +211,9 @@ public class PermissionExpressionBuilder implements CheckInstantiator {
                 continue;
             }
 
-            ParseTree fieldPermissions = entityDictionary.getPermissionsForField(resourceClass, field, annotationClass);
-            Expression fieldExpression = expressionFromParseTree(fieldPermissions, checkFn);
+            PermissionPlan fieldPermissions =
+                    entityDictionary.getPermissionPlanForField(resourceClass, field, annotationClass);
+            Expression fieldExpression = expressionFromPlan(fieldPermissions, checkFn);
 
             allFieldsExpression = new OrExpression(allFieldsExpression, fieldExpression);
         }
@@ -233,8 +231,8 @@ public class PermissionExpressionBuilder implements CheckInstantiator {
     public FilterExpression buildAnyFieldFilterExpression(Class<?> forType, RequestScope requestScope) {
 
         Class<? extends Annotation> annotationClass = ReadPermission.class;
-        ParseTree classPermissions = entityDictionary.getPermissionsForClass(forType, annotationClass);
-        FilterExpression entityFilter = filterExpressionFromParseTree(classPermissions, forType, requestScope);
+        PermissionPlan classPermissions = entityDictionary.getPermissionPlanForClass(forType, annotationClass);
+        FilterExpression entityFilter = filterExpressionFromPlan(classPermissions, forType, requestScope);
 
         //case where the permissions does not have ANY filterExpressionCheck
         if (entityFilter == FALSE_USER_CHECK_EXPRESSION
@@ -250,8 +248,9 @@ public class PermissionExpressionBuilder implements CheckInstantiator {
                 .collect(Collectors.toList());
 
         for (String field : fields) {
-            ParseTree fieldPermissions = entityDictionary.getPermissionsForField(forType, field, annotationClass);
-            FilterExpression fieldExpression = filterExpressionFromParseTree(fieldPermissions, forType, requestScope);
+            PermissionPlan fieldPermissions =
+                    entityDictionary.getPermissionPlanForField(forType, field, annotationClass);
+            FilterExpression fieldExpression = filterExpressionFromPlan(fieldPermissions, forType, requestScope);
 
             if (fieldExpression == null && entityFilter == null) {
                 // When the class FilterExpression and the field FilterExpression are null because at least
@@ -282,21 +281,20 @@ public class PermissionExpressionBuilder implements CheckInstantiator {
         return allFieldsFilterExpression;
     }
 
-    private Expression expressionFromParseTree(ParseTree permissions, Function<Check, Expression> checkFn) {
+    private Expression expressionFromPlan(PermissionPlan permissions, Function<Check, Expression> checkFn) {
         if (permissions == null) {
             return null;
         }
 
-        return new PermissionExpressionVisitor(entityDictionary, checkFn).visit(permissions);
+        return permissions.toExpression(checkFn);
     }
 
-    private FilterExpression filterExpressionFromParseTree(ParseTree permissions, Class type, RequestScope scope) {
+    private FilterExpression filterExpressionFromPlan(PermissionPlan permissions, Class type, RequestScope scope) {
         if (permissions == null) {
             return null;
         }
 
-        FilterExpression expression = new PermissionToFilterExpressionVisitor(entityDictionary, scope, type)
-                .visit(permissions);
+        FilterExpression expression = permissions.toFilterExpression(type, scope);
         return expression.accept(new FilterExpressionNormalizationVisitor());
     }
 
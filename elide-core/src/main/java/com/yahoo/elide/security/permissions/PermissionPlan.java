@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.security.permissions;
+
+import com.yahoo.elide.core.CheckInstantiator;
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.parsers.expression.PermissionToFilterExpressionVisitor;
+import com.yahoo.elide.security.RequestScope;
+import com.yahoo.elide.security.checks.Check;
+import com.yahoo.elide.security.permissions.expressions.AndExpression;
+import com.yahoo.elide.security.permissions.expressions.Expression;
+import com.yahoo.elide.security.permissions.expressions.NotExpression;
+import com.yahoo.elide.security.permissions.expressions.OrExpression;
+
+import java.util.function.Function;
+
+/**
+ * A permission expression compiled once from its parse tree.
+ * <p>
+ * Plans are request independent and are shared by every request.  Turning a plan into an {@link Expression}
+ * or a {@link FilterExpression} only binds the checks to the current user and resource, without walking the
+ * parse tree or resolving check names again.  Checks may hold state, so each use gets a new instance.
+ */
+public abstract class PermissionPlan {
+
+    /**
+     * Build the expression for this plan.
+     *
+     * @param checkFn builds the leaf expression of each check
+     * @return the expression
+     */
+    public abstract Expression toExpression(Function<Check, Expression> checkFn);
+
+    /**
+     * Build the (unnormalized) filter expression for this plan.
+     *
+     * @param entityClass the entity being filtered
+     * @param requestScope the request scope
+     * @return the filter expression
+     * @see PermissionToFilterExpressionVisitor
+     */
+    public abstract FilterExpression toFilterExpression(Class<?> entityClass, RequestScope requestScope);
+
+    public static PermissionPlan and(PermissionPlan left, PermissionPlan right) {
+        return new AndPlan(left, right);
+    }
+
+    public static PermissionPlan or(PermissionPlan left, PermissionPlan right) {
+        return new OrPlan(left, right);
+    }
+
+    public static PermissionPlan not(PermissionPlan plan) {
+        return new NotPlan(plan);
+    }
+
+    public static PermissionPlan check(EntityDictionary dictionary, String checkName) {
+        return new CheckPlan(dictionary, checkName);
+    }
+
+    private static class AndPlan extends PermissionPlan {
+        private final PermissionPlan left;
+        private final PermissionPlan right;
+
+        private AndPlan(PermissionPlan left, PermissionPlan right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Expression toExpression(Function<Check, Expression> checkFn) {
+            return new AndExpression(left.toExpression(checkFn), right.toExpression(checkFn));
+        }
+
+        @Override
+        public FilterExpression toFilterExpression(Class<?> entityClass, RequestScope requestScope) {
+            return PermissionToFilterExpressionVisitor.and(
+                    left.toFilterExpression(entityClass, requestScope),
+                    right.toFilterExpression(entityClass, requestScope));
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " AND " + right + ")";
+        }
+    }
+
+    private static class OrPlan extends PermissionPlan {
+        private final PermissionPlan left;
+        private final PermissionPlan right;
+
+        private OrPlan(PermissionPlan left, PermissionPlan right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Expression toExpression(Function<Check, Expression> checkFn) {
+            return new OrExpression(left.toExpression(checkFn), right.toExpression(checkFn));
+        }
+
+        @Override
+        public FilterExpression toFilterExpression(Class<?> entityClass, RequestScope requestScope) {
+            return PermissionToFilterExpressionVisitor.or(
+                    left.toFilterExpression(entityClass, requestScope),
+                    right.toFilterExpression(entityClass, requestScope));
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " OR " + right + ")";
+        }
+    }
+
+    private static class NotPlan extends PermissionPlan {
+        private final PermissionPlan plan;
+
+        private NotPlan(PermissionPlan plan) {
+            this.plan = plan;
+        }
+
+        @Override
+        public Expression toExpression(Function<Check, Expression> checkFn) {
+            return new NotExpression(plan.toExpression(checkFn));
+        }
+
+        @Override
+        public FilterExpression toFilterExpression(Class<?> entityClass, RequestScope requestScope) {
+            return PermissionToFilterExpressionVisitor.negate(plan.toFilterExpression(entityClass, requestScope));
+        }
+
+        @Override
+        public String toString() {
+            return "NOT " + plan;
+        }
+    }
+
+    /**
+     * A single check.  The check class is resolved the first time the plan is used, and instantiated every time.
+     */
+    private static class CheckPlan extends PermissionPlan implements CheckInstantiator {
+        private final EntityDictionary dictionary;
+        private final String checkName;
+        private volatile Class<? extends Check> checkClass;
+
+        private CheckPlan(EntityDictionary dictionary, String checkName) {
+            this.dictionary = dictionary;
+            this.checkName = checkName;
+        }
+
+        private Check getCheck() {
+            Class<? extends Check> cls = checkClass;
+            if (cls == null) {
+                cls = dictionary.getCheck(checkName);
+                checkClass = cls;
+            }
+            return instantiateCheck(cls);
+        }
+
+        @Override
+        public Expression toExpression(Function<Check, Expression> checkFn) {
+            return checkFn.apply(getCheck());
+        }
+
+        @Override
+        public FilterExpression toFilterExpression(Class<?> entityClass, RequestScope requestScope) {
+            return PermissionToFilterExpressionVisitor.fromCheck(getCheck(), entityClass, requestScope);
+        }
+
+        @Override
+        public String toString() {
+            return checkName;
+        }
+    }
+}
@@ -19,6 +19,8 @@ import com.yahoo.elide.annotation.MappedInterface;
 import com.yahoo.elide.annotation.OnUpdatePreSecurity;
 import com.yahoo.elide.annotation.ReadPermission;
 import com.yahoo.elide.annotation.SecurityCheck;
+import com.yahoo.elide.core.exceptions.ForbiddenAccessException;
+import com.yahoo.elide.core.exceptions.InternalServerErrorException;
 import com.yahoo.elide.functions.LifeCycleHook;
 import com.yahoo.elide.models.generics.Employee;
 import com.yahoo.elide.models.generics.Manager;
@@ -357,6 +359,24 @@ public class EntityDictionaryTest extends EntityDictionary {
                 "getIdAnnotations returns an empty collection if there is no ID field for given class");
     }
 
+    @Test
+    public void testGetId() {
+        class UserProxy extends User { }
+
+        User user = new User();
+        user.setId(5);
+        UserProxy proxy = new UserProxy();
+        proxy.setId(6);
+
+        assertEquals("5", getId(user));
+        assertEquals("6", getId(proxy));
+        assertEquals("6", getId(proxy));
+        assertEquals(getEntityBinding(User.class), idBindings.get(UserProxy.class));
+
+        assertNull(getId(new NoId()));
+        assertNull(getId(null));
+    }
+
     @Include
     class NoId {
 
@@ -679,4 +699,87 @@ public class EntityDictionaryTest extends EntityDictionary {
         assertThrows(IllegalArgumentException.class, () -> lookupEntityClass(null));
         assertThrows(IllegalArgumentException.class, () -> lookupEntityClass(Object.class));
     }
+
+    @Test
+    public void testFieldAccessors() {
+        @Entity
+        @Include
+        class Accessors {
+            @Id
+            private long id;
+
+            private String noSetter;
+
+            private int withSetter;
+
+            @Exclude
+            private int setterCalls;
+
+            public void setWithSetter(int withSetter) {
+                this.withSetter = withSetter;
+                setterCalls++;
+            }
+
+            @ComputedAttribute
+            public String getScoped(com.yahoo.elide.security.RequestScope scope) {
+                return scope == null ? "unscoped" : "scoped";
+            }
+
+            @ComputedAttribute
+            public String getBroken() {
+                throw new IllegalStateException();
+            }
+
+            @ComputedAttribute
+            public String getForbidden() {
+                throw new ForbiddenAccessException("Not allowed");
+            }
+
+            @ComputedAttribute
+            public String getFailing() {
+                throw new AssertionError();
+            }
+
+            public void setFailing(String failing) {
+                throw new AssertionError();
+            }
+        }
+        bindEntity(Accessors.class);
+
+        assertTrue(getEntityBinding(Accessors.class).fieldsToGetters.keySet()
+                .containsAll(Arrays.asList("id", "noSetter", "withSetter", "scoped", "broken", "forbidden",
+                        "failing")));
+        assertTrue(getEntityBinding(Accessors.class).fieldsToSetters.keySet()
+                .containsAll(Arrays.asList("id", "noSetter", "withSetter")));
+
+        Accessors accessors = new Accessors();
+
+        setValue(accessors, "id", "3");
+        assertEquals(3L, getValue(accessors, "id", null));
+
+        setValue(accessors, "noSetter", "value");
+        assertEquals("value", getValue(accessors, "noSetter", null));
+
+        setValue(accessors, "withSetter", 4);
+        assertEquals(4, getValue(accessors, "withSetter", null));
+        assertEquals(1, accessors.setterCalls);
+
+        assertEquals("unscoped", getValue(accessors, "scoped", null));
+        assertEquals("scoped", getValue(accessors, "scoped", mock(RequestScope.class)));
+
+        assertThrows(InternalServerErrorException.class, () -> getValue(accessors, "broken", null));
+        assertThrows(ForbiddenAccessException.class, () -> getValue(accessors, "forbidden", null));
+        assertThrows(AssertionError.class, () -> getValue(accessors, "failing", null));
+        assertThrows(AssertionError.class, () -> setValue(accessors, "failing", "value"));
+
+        /* Without handles, the accessors are invoked reflectively */
+        getEntityBinding(Accessors.class).fieldsToGetters.clear();
+        getEntityBinding(Accessors.class).fieldsToSetters.clear();
+
+        setValue(accessors, "withSetter", 5);
+        assertEquals(5, getValue(accessors, "withSetter", null));
+        assertThrows(InternalServerErrorException.class, () -> getValue(accessors, "broken", null));
+        assertThrows(AssertionError.class, () -> getValue(accessors, "failing", null));
+        assertThrows(AssertionError.class, () -> setValue(accessors, "failing", "value"));
+    }
 }
@@ -14,10 +14,17 @@ import com.yahoo.elide.ElideSettings;
 import com.yahoo.elide.ElideSettingsBuilder;
 import com.yahoo.elide.annotation.Paginate;
 import com.yahoo.elide.core.exceptions.InvalidValueException;
+import com.yahoo.elide.core.filter.InPredicate;
+import com.yahoo.elide.core.filter.expression.AndFilterExpression;
+import com.yahoo.elide.core.filter.expression.FilterExpression;
 import com.yahoo.elide.core.pagination.Pagination;
+import example.Author;
+import example.Book;
+import example.Publisher;
 import org.glassfish.jersey.internal.util.collection.MultivaluedStringMap;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
 import java.util.Optional;
 
 import javax.ws.rs.core.MultivaluedMap;
@@ -235,4 +242,58 @@ public class PaginationLogicTest {
         assertEquals(0, pageData.getOffset());
         assertEquals(10, result.getLimit());
     }
+
+    @Test
+    public void testInferPageTotalsFromShortPage() {
+        Pagination firstPage = Pagination.fromOffsetAndLimit(10, 0, true);
+        assertEquals(Optional.of(3L), firstPage.inferPageTotals(3));
+        assertEquals(Optional.of(0L), firstPage.inferPageTotals(0));
+        assertEquals(Optional.empty(), firstPage.inferPageTotals(10));
+
+        Pagination laterPage = Pagination.fromOffsetAndLimit(10, 20, true);
+        assertEquals(Optional.of(25L), laterPage.inferPageTotals(5));
+        assertEquals(Optional.empty(), laterPage.inferPageTotals(10));
+
+        // An empty page past the end does not tell how many records there are
+        assertEquals(Optional.empty(), laterPage.inferPageTotals(0));
+
+        // A filter on a to-many relationship may fetch a record once per matching child
+        EntityDictionary dictionary = new EntityDictionary(new HashMap<>());
+        dictionary.bindEntity(Book.class);
+        dictionary.bindEntity(Author.class);
+        dictionary.bindEntity(Publisher.class);
+        FilterExpression byPublisher = new InPredicate(
+                new Path(Book.class, dictionary, "publisher.name"), "Foo");
+        FilterExpression byAuthor = new InPredicate(
+                new Path(Book.class, dictionary, "authors.name"), "Foo");
+        assertEquals(Optional.of(3L), firstPage.inferPageTotals(3, Optional.of(byPublisher), dictionary));
+        assertEquals(Optional.empty(), firstPage.inferPageTotals(3, Optional.of(byAuthor), dictionary));
+        assertEquals(Optional.empty(), firstPage.inferPageTotals(3,
+                Optional.of(new AndFilterExpression(byPublisher, byAuthor)), dictionary));
+    }
+
+    @Test
+    public void shouldParseQueryParamsForCursorAndPageSize() {
+        MultivaluedMap<String, String> queryParams = new MultivaluedStringMap();
+        queryParams.add("page[size]", "10");
+        queryParams.add("page[after]", "WzNd");
+
+        Pagination pageData = Pagination.parseQueryParams(queryParams, elideSettings)
+                .evaluate(PaginationLogicTest.class);
+        assertTrue(pageData.isKeyset());
+        assertEquals("WzNd", pageData.getAfter());
+        assertEquals(0, pageData.getOffset());
+        assertEquals(10, pageData.getLimit());
+        assertEquals(Optional.empty(), pageData.inferPageTotals(3));
+    }
+
+    @Test
+    public void shouldThrowExceptionForCursorAndOffset() {
+        MultivaluedMap<String, String> queryParams = new MultivaluedStringMap();
+        queryParams.add("page[offset]", "10");
+        queryParams.add("page[after]", "WzNd");
+
+        Pagination pageData = Pagination.parseQueryParams(queryParams, elideSettings);
+        assertThrows(InvalidValueException.class, () -> pageData.evaluate(PaginationLogicTest.class));
+    }
 }
@@ -14,6 +14,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -320,6 +321,132 @@ public class PersistentResourceTest extends PersistenceResourceTestSetup {
         assertEquals(0, relationships.size(), "All relationships should be filtered out");
     }
 
+    @Test
+    public void testToResourcesFetchesLinkageIds() {
+        Invoice invoice1 = new Invoice();
+        invoice1.setId(1L);
+        Invoice invoice2 = new Invoice();
+        invoice2.setId(2L);
+
+        DataStoreTransaction tx = mock(DataStoreTransaction.class);
+        RequestScope goodScope = new RequestScope(null, null, tx, new User(1), null, elideSettings);
+
+        Map<Object, List<String>> itemIds = new HashMap<>();
+        itemIds.put(invoice1, Arrays.asList("10", "2"));
+        itemIds.put(invoice2, Collections.emptyList());
+        when(tx.getRelationIds(any(), any(), eq("items"), any(), any())).thenReturn(itemIds);
+
+        List<Resource> resources = PersistentResource.toResources(Arrays.asList(
+                new PersistentResource<>(invoice1, null, "1", goodScope),
+                new PersistentResource<>(invoice2, null, "2", goodScope)));
+
+        verify(tx, times(1)).getRelationIds(any(), argThat(entities -> entities.size() == 2), eq("items"),
+                any(), any());
+        verify(tx, never()).getRelation(any(), any(), eq("items"), any(), any(), any(), any());
+
+        String itemType = dictionary.getJsonAliasFor(LineItem.class);
+        assertEquals(2, resources.size());
+        assertEquals(Arrays.asList(new Resource(itemType, "2"), new Resource(itemType, "10")),
+                new ArrayList<>(resources.get(0).getRelationships().get("items").getData().get()));
+        assertTrue(resources.get(1).getRelationships().get("items").getData().get().isEmpty());
+    }
+
+    @Test
+    public void testToResourcesLoadsIncludedRelationships() {
+        Invoice invoice = new Invoice();
+        invoice.setId(1L);
+
+        MultivaluedMap<String, String> queryParams = new MultivaluedHashMap<>();
+        queryParams.add("include", "items.invoice");
+
+        DataStoreTransaction tx = mock(DataStoreTransaction.class);
+        RequestScope goodScope = new RequestScope(null, null, tx, new User(1), queryParams, elideSettings);
+
+        PersistentResource.toResources(Collections.singletonList(
+                new PersistentResource<>(invoice, null, "1", goodScope)));
+
+        verify(tx, never()).getRelationIds(any(), any(), any(), any(), any());
+        verify(tx, times(1)).getRelation(any(), eq(invoice), eq("items"), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testToResourcesSkipsLinkageLeftOutBySparseFields() {
+        Invoice invoice = new Invoice();
+        invoice.setId(1L);
+
+        MultivaluedMap<String, String> queryParams = new MultivaluedHashMap<>();
+        queryParams.add("fields[invoice]", "id");
+
+        DataStoreTransaction tx = mock(DataStoreTransaction.class);
+        RequestScope goodScope = new RequestScope(null, null, tx, new User(1), queryParams, elideSettings);
+
+        PersistentResource.toResources(Collections.singletonList(
+                new PersistentResource<>(invoice, null, "1", goodScope)));
+
+        verify(tx, never()).getRelationIds(any(), any(), any(), any(), any());
+        verify(tx, never()).getRelation(any(), any(), eq("items"), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testToResourcesRendersLinksOnlyLinkage() {
+        Invoice invoice = new Invoice();
+        invoice.setId(1L);
+
+        MultivaluedMap<String, String> queryParams = new MultivaluedHashMap<>();
+        queryParams.add("linkage[invoice.items]", "links");
+
+        // The links name the resource itself, whichever path it was reached through
+        DataStoreTransaction tx = mock(DataStoreTransaction.class);
+        RequestScope goodScope = new RequestScope("/customer/5/invoices", null, tx, new User(1), queryParams,
+                elideSettings);
+
+        List<Resource> resources = PersistentResource.toResources(Collections.singletonList(
+                new PersistentResource<>(invoice, null, "1", goodScope)));
+
+        verify(tx, never()).getRelationIds(any(), any(), eq("items"), any(), any());
+        verify(tx, never()).getRelation(any(), any(), eq("items"), any(), any(), any(), any());
+
+        Relationship items = resources.get(0).getRelationships().get("items");
+        assertNull(items.getData());
+        assertEquals("/invoice/1/relationships/items", items.getLinks().get("self"));
+        assertEquals("/invoice/1/items", items.getLinks().get("related"));
+    }
+
+    @Test
+    public void testToResourcesRendersCappedLinkage() {
+        Invoice invoice = new Invoice();
+        invoice.setId(1L);
+
+        MultivaluedMap<String, String> queryParams = new MultivaluedHashMap<>();
+        queryParams.add("linkage[invoice]", "2");
+
+        DataStoreTransaction tx = mock(DataStoreTransaction.class);
+        RequestScope goodScope = new RequestScope("/invoice", null, tx, new User(1), queryParams, elideSettings);
+
+        Map<Object, List<String>> itemIds = new HashMap<>();
+        itemIds.put(invoice, Arrays.asList("3", "1", "2"));
+        when(tx.getRelationIds(any(), any(), eq("items"), any(), any())).thenReturn(itemIds);
+
+        List<Resource> resources = PersistentResource.toResources(Collections.singletonList(
+                new PersistentResource<>(invoice, null, "1", goodScope)));
+
+        String itemType = dictionary.getJsonAliasFor(LineItem.class);
+        Relationship items = resources.get(0).getRelationships().get("items");
+        assertEquals(Arrays.asList(new Resource(itemType, "1"), new Resource(itemType, "2")),
+                new ArrayList<>(items.getData().get()));
+        assertEquals(3, items.getMeta().getMetaMap().get("count"));
+        assertEquals("/invoice/1/items", items.getLinks().get("related"));
+    }
+
+    @Test
+    public void testInvalidLinkage() {
+        MultivaluedMap<String, String> queryParams = new MultivaluedHashMap<>();
+        queryParams.add("linkage[invoice]", "none");
+
+        assertThrows(InvalidValueException.class, () -> new RequestScope("/invoice", null,
+                mock(DataStoreTransaction.class), new User(1), queryParams, elideSettings));
+    }
+
     @Test
     public void testNoCreate() {
         assertNotNull(dictionary);
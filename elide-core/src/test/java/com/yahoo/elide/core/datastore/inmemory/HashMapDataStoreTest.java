@@ -0,0 +1,207 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.core.datastore.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.yahoo.elide.core.DataStoreTransaction;
+import com.yahoo.elide.core.DataStoreTransaction.FeatureSupport;
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.Path;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.core.exceptions.TransactionException;
+import com.yahoo.elide.core.filter.GTPredicate;
+import com.yahoo.elide.core.filter.InPredicate;
+import com.yahoo.elide.core.filter.IsNullPredicate;
+import com.yahoo.elide.core.filter.expression.AndFilterExpression;
+import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.core.sort.Sorting;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import example.Author;
+import example.Book;
+import example.StringId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+
+public class HashMapDataStoreTest {
+    private HashMapDataStore dataStore;
+    private EntityDictionary dictionary;
+    private RequestScope scope;
+    private Book book1;
+    private Book book2;
+    private Book book3;
+    private Book book4;
+
+    @BeforeEach
+    public void setup() {
+        dictionary = new EntityDictionary(new HashMap<>());
+        dataStore = new HashMapDataStore(Book.class.getPackage());
+        dataStore.populateEntityDictionary(dictionary);
+        dataStore.addIndex(Book.class, "genre", HashMapDataStore.IndexType.HASH);
+        dataStore.addIndex(Book.class, "publishDate", HashMapDataStore.IndexType.SORTED);
+
+        scope = mock(RequestScope.class);
+        when(scope.getDictionary()).thenReturn(dictionary);
+
+        book1 = new Book(0, "Book 1", "Literary Fiction", "English", 30, null, null);
+        book2 = new Book(0, "Book 2", "Science Fiction", "English", 10, null, null);
+        book3 = new Book(0, "Book 3", "Literary Fiction", "English", 20, null, null);
+        book4 = new Book(0, "Book 4", null, "English", 40, null, null);
+        create(book1, book2, book3, book4);
+    }
+
+    private void create(Object... objects) {
+        DataStoreTransaction tx = dataStore.beginTransaction();
+        for (Object object : objects) {
+            tx.createObject(object, scope);
+        }
+        tx.commit(scope);
+    }
+
+    private List<Object> load(FilterExpression filterExpression, Sorting sorting) {
+        DataStoreTransaction tx = dataStore.beginTransaction();
+        return Lists.newArrayList(tx.loadObjects(Book.class, Optional.ofNullable(filterExpression),
+                Optional.ofNullable(sorting), Optional.empty(), scope));
+    }
+
+    private FeatureSupport supportsFiltering(FilterExpression filterExpression) {
+        return dataStore.beginTransaction().supportsFiltering(Book.class, filterExpression);
+    }
+
+    @Test
+    public void testIndexedFiltering() {
+        FilterExpression literary = new InPredicate(new Path(Book.class, dictionary, "genre"), "Literary Fiction");
+        FilterExpression recent = new GTPredicate(new Path(Book.class, dictionary, "publishDate"), 15L);
+        FilterExpression noGenre = new IsNullPredicate(new Path(Book.class, dictionary, "genre"));
+        FilterExpression byTitle = new InPredicate(new Path(Book.class, dictionary, "title"), "Book 1");
+
+        // Records change in place before they are committed, so attribute indexes only narrow them down
+        assertEquals(FeatureSupport.PARTIAL, supportsFiltering(literary));
+        assertEquals(FeatureSupport.PARTIAL, supportsFiltering(new AndFilterExpression(literary, recent)));
+        assertEquals(FeatureSupport.PARTIAL, supportsFiltering(new AndFilterExpression(literary, byTitle)));
+        assertEquals(FeatureSupport.NONE, supportsFiltering(byTitle));
+        assertEquals(FeatureSupport.NONE,
+                supportsFiltering(new GTPredicate(new Path(Book.class, dictionary, "genre"), "A")));
+
+        assertEquals(Lists.newArrayList(book1, book3), load(literary, null));
+        assertEquals(Lists.newArrayList(book1, book3, book4), load(recent, null));
+        assertEquals(Lists.newArrayList(book4), load(noGenre, null));
+
+        // Unindexed predicates are left to in-memory filtering
+        assertEquals(Lists.newArrayList(book1, book3), load(new AndFilterExpression(literary, byTitle), null));
+    }
+
+    @Test
+    public void testIndexedSorting() {
+        DataStoreTransaction tx = dataStore.beginTransaction();
+        assertTrue(tx.supportsSorting(Book.class, new Sorting(ImmutableMap.of("publishDate", Sorting.SortOrder.asc))));
+        assertFalse(tx.supportsSorting(Book.class, new Sorting(ImmutableMap.of("genre", Sorting.SortOrder.asc))));
+        assertFalse(tx.supportsSorting(Book.class, new Sorting(ImmutableMap.of("title", Sorting.SortOrder.asc))));
+
+        Sorting byDateDesc = new Sorting(ImmutableMap.of("publishDate", Sorting.SortOrder.desc));
+        assertEquals(Lists.newArrayList(book4, book1, book3, book2), load(null, byDateDesc));
+
+        FilterExpression literary = new InPredicate(new Path(Book.class, dictionary, "genre"), "Literary Fiction");
+        Sorting byDateAsc = new Sorting(ImmutableMap.of("publishDate", Sorting.SortOrder.asc));
+        assertEquals(Lists.newArrayList(book3, book1), load(literary, byDateAsc));
+    }
+
+    @Test
+    public void testIndexesFollowUpdatesAndDeletes() {
+        FilterExpression science = new InPredicate(new Path(Book.class, dictionary, "genre"), "Science Fiction");
+
+        DataStoreTransaction tx = dataStore.beginTransaction();
+        book1.setGenre("Science Fiction");
+        tx.save(book1, scope);
+        tx.delete(book2, scope);
+        tx.commit(scope);
+
+        assertEquals(Lists.newArrayList(book1), load(science, null));
+    }
+
+    @Test
+    public void testIndexesFollowUncommittedChanges() throws Exception {
+        FilterExpression science = new InPredicate(new Path(Book.class, dictionary, "genre"), "Science Fiction");
+        FilterExpression literary = new InPredicate(new Path(Book.class, dictionary, "genre"), "Literary Fiction");
+
+        DataStoreTransaction tx = dataStore.beginTransaction();
+        book1.setGenre("Science Fiction");
+        tx.save(book1, scope);
+        tx.close();
+
+        assertEquals(Lists.newArrayList(book1, book2), load(science, null));
+        assertEquals(Lists.newArrayList(book3), load(literary, null));
+    }
+
+    @Test
+    public void testRelationshipsAreFilteredAndSorted() {
+        Author author = new Author();
+        author.setBooks(Lists.newArrayList(book1, book2, book3, book4));
+
+        DataStoreTransaction tx = dataStore.beginTransaction();
+        FilterExpression literary = new InPredicate(new Path(Book.class, dictionary, "genre"), "Literary Fiction");
+        Sorting byDateAsc = new Sorting(ImmutableMap.of("publishDate", Sorting.SortOrder.asc));
+
+        assertEquals(Lists.newArrayList(book3, book1), tx.getRelation(tx, author, "books",
+                Optional.of(literary), Optional.of(byDateAsc), Optional.empty(), scope));
+    }
+
+    @Test
+    public void testLoadObjectById() {
+        DataStoreTransaction tx = dataStore.beginTransaction();
+        FilterExpression literary = new InPredicate(new Path(Book.class, dictionary, "genre"), "Literary Fiction");
+        FilterExpression byId = new InPredicate(new Path(Book.class, dictionary, "id"), book3.getId());
+
+        assertEquals(FeatureSupport.FULL, supportsFiltering(byId));
+        assertEquals(Lists.newArrayList(book3), load(byId, null));
+        assertSame(book1, tx.loadObject(Book.class, book1.getId(), Optional.of(literary), scope));
+        assertNull(tx.loadObject(Book.class, book2.getId(), Optional.of(literary), scope));
+    }
+
+    @Test
+    public void testReadsAreNotChangedByLaterCommits() {
+        List<Object> before = Lists.newArrayList(load(null, null));
+        Iterable<Object> snapshot = dataStore.beginTransaction().loadObjects(Book.class,
+                Optional.empty(), Optional.empty(), Optional.empty(), scope);
+
+        Book book5 = new Book(0, "Book 5", "Poetry", "English", 50, null, null);
+        create(book5);
+
+        assertEquals(before, Lists.newArrayList(snapshot));
+        assertEquals(5, load(null, null).size());
+        assertEquals(5, book5.getId());
+    }
+
+    @Test
+    public void testFailedCommitAppliesNothing() {
+        StringId first = new StringId();
+        first.setSurrogateKey("a");
+        create(first);
+
+        StringId duplicate = new StringId();
+        duplicate.setSurrogateKey("a");
+        Book book5 = new Book(0, "Book 5", "Poetry", "English", 50, null, null);
+
+        assertThrows(TransactionException.class, () -> create(book5, duplicate));
+        assertEquals(4, load(null, null).size());
+        assertEquals(Collections.singletonList(first), Lists.newArrayList(dataStore.beginTransaction()
+                .loadObjects(StringId.class, Optional.empty(), Optional.empty(), Optional.empty(), scope)));
+    }
+}
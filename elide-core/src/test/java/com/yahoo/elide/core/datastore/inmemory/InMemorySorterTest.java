@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.core.datastore.inmemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.Path;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.core.pagination.Pagination;
+import com.yahoo.elide.core.sort.Sorting;
+
+import com.google.common.collect.Lists;
+import example.Author;
+import example.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class InMemorySorterTest {
+    private EntityDictionary dictionary;
+    private RequestScope scope;
+    private Book book1;
+    private Book book2;
+    private Book book3;
+    private Book book4;
+
+    @BeforeEach
+    public void setup() {
+        dictionary = new EntityDictionary(new HashMap<>());
+        dictionary.bindEntity(Book.class);
+        dictionary.bindEntity(Author.class);
+
+        scope = mock(RequestScope.class);
+        when(scope.getDictionary()).thenReturn(dictionary);
+
+        book1 = new Book(1, "Book 1", "Literary Fiction", "English", 30, null, null);
+        book2 = new Book(2, "Book 2", "Science Fiction", "English", 10, null, null);
+        book3 = new Book(3, "Book 3", "Literary Fiction", "English", 20, null, null);
+        book4 = new Book(4, "Book 4", null, "English", 40, null, null);
+    }
+
+    private Map<Path, Sorting.SortOrder> sortRules(Object... fieldsAndOrders) {
+        Map<Path, Sorting.SortOrder> rules = new LinkedHashMap<>();
+        for (int i = 0; i < fieldsAndOrders.length; i += 2) {
+            rules.put(new Path(Book.class, dictionary, (String) fieldsAndOrders[i]),
+                    (Sorting.SortOrder) fieldsAndOrders[i + 1]);
+        }
+        return rules;
+    }
+
+    @Test
+    public void testSortKeepsTiesInOrder() {
+        InMemorySorter sorter = new InMemorySorter(sortRules("genre", Sorting.SortOrder.asc), scope);
+
+        assertEquals(Lists.newArrayList(book4, book1, book3, book2),
+                sorter.sort(Lists.<Object>newArrayList(book1, book2, book3, book4).stream()));
+        assertEquals(Lists.newArrayList(book4, book3, book1, book2),
+                sorter.sort(Lists.<Object>newArrayList(book3, book2, book1, book4).stream()));
+    }
+
+    @Test
+    public void testSortByMultipleFields() {
+        InMemorySorter sorter = new InMemorySorter(
+                sortRules("genre", Sorting.SortOrder.desc, "publishDate", Sorting.SortOrder.asc), scope);
+
+        assertEquals(Lists.newArrayList(book2, book3, book1, book4),
+                sorter.sort(Lists.<Object>newArrayList(book1, book2, book3, book4).stream()));
+    }
+
+    @Test
+    public void testSortAndPaginateKeepsOnlyThePage() {
+        InMemorySorter sorter = new InMemorySorter(sortRules("publishDate", Sorting.SortOrder.desc), scope);
+        Pagination pagination = Pagination.fromOffsetAndLimit(2, 1, true);
+
+        assertEquals(Lists.newArrayList(book1, book3), sorter.sortAndPaginate(
+                Lists.<Object>newArrayList(book1, book2, book3, book4).stream(), record -> true, pagination));
+        assertEquals(4, pagination.getPageTotals());
+
+        // Records off the page still count towards the totals
+        assertEquals(Lists.newArrayList(book3, book2), sorter.sortAndPaginate(
+                Lists.<Object>newArrayList(book1, book2, book3, book4).stream(), record -> record != book4,
+                pagination));
+        assertEquals(4, pagination.getPageTotals());
+
+        assertTrue(sorter.sortAndPaginate(Lists.<Object>newArrayList(book1, book2).stream(), record -> true,
+                Pagination.fromOffsetAndLimit(2, 2, false)).isEmpty());
+    }
+
+    @Test
+    public void testParallelSortMatchesSequentialSort() {
+        List<Object> books = IntStream.range(0, 1000)
+                .mapToObj(i -> new Book(i, "Book " + i, "Genre " + (i % 7), "English", i % 13, null, null))
+                .collect(Collectors.toList());
+        Map<Path, Sorting.SortOrder> rules = sortRules("genre", Sorting.SortOrder.asc,
+                "publishDate", Sorting.SortOrder.desc);
+
+        List<Object> sequential = new InMemorySorter(rules, scope, Integer.MAX_VALUE).sort(books.stream());
+        List<Object> parallel = new InMemorySorter(rules, scope, 1).sort(books.stream());
+        List<Object> page = new InMemorySorter(rules, scope).sortAndPaginate(books.stream(), record -> true,
+                Pagination.fromOffsetAndLimit(50, 100, false));
+
+        assertEquals(sequential, parallel);
+        assertEquals(sequential.subList(100, 150), page);
+    }
+}
@@ -6,9 +6,12 @@
 package com.yahoo.elide.core.datastore.inmemory;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
@@ -25,9 +28,12 @@ import com.yahoo.elide.core.RequestScope;
 import com.yahoo.elide.core.filter.InPredicate;
 import com.yahoo.elide.core.filter.expression.AndFilterExpression;
 import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.core.filter.expression.InMemoryFilterExecutor;
+import com.yahoo.elide.core.pagination.Keyset;
 import com.yahoo.elide.core.pagination.Pagination;
 import com.yahoo.elide.core.sort.Sorting;
 
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import example.Author;
@@ -36,11 +42,14 @@ import example.Editor;
 import example.Publisher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -344,6 +353,33 @@ public class InMemoryStoreTransactionTest {
         assertEquals(bookTitles, Lists.newArrayList("Book 1", "Book 2", "Book 3"));
     }
 
+    @Test
+    public void testInMemorySortingIsNotStreamed() {
+        Sorting sorting = Sorting.parseSortRule("title");
+
+        when(scope.isStreamingResults()).thenReturn(true);
+        when(wrappedTransaction.supportsFiltering(eq(Book.class),
+                any())).thenReturn(DataStoreTransaction.FeatureSupport.FULL);
+        when(wrappedTransaction.supportsSorting(eq(Book.class),
+                any())).thenReturn(false);
+
+        when(wrappedTransaction.loadObjects(eq(Book.class), eq(Optional.empty()),
+                eq(Optional.empty()), eq(Optional.empty()), eq(scope))).thenReturn((Set) books);
+
+        inMemoryStoreTransaction.loadObjects(
+                Book.class,
+                Optional.empty(),
+                Optional.of(sorting),
+                Optional.empty(),
+                scope);
+
+        InOrder inOrder = inOrder(scope, wrappedTransaction);
+        inOrder.verify(scope).setStreamingResults(false);
+        inOrder.verify(wrappedTransaction).loadObjects(eq(Book.class), eq(Optional.empty()),
+                eq(Optional.empty()), eq(Optional.empty()), eq(scope));
+        inOrder.verify(scope).setStreamingResults(true);
+    }
+
     @Test
     public void testFilteringRequiresInMemorySorting() {
         FilterExpression expression =
@@ -474,6 +510,43 @@ public class InMemoryStoreTransactionTest {
         assertTrue(loaded.contains(book3));
     }
 
+    @Test
+    public void testInMemoryPaginationStopsFilteringWhenPageIsFull() {
+        FilterExpression expression =
+                new InPredicate(new Path(Book.class, dictionary, "genre"), "Literary Fiction");
+
+        Pagination pagination = Pagination.fromOffsetAndLimit(2, 0, false);
+
+        // Records after the page must not be read
+        Iterable<Object> records = () -> Iterators.concat(
+                Arrays.<Object>asList(book1, book2, book3).iterator(),
+                new Iterator<Object>() {
+                    @Override
+                    public boolean hasNext() {
+                        throw new IllegalStateException("Read past the page");
+                    }
+
+                    @Override
+                    public Object next() {
+                        throw new IllegalStateException("Read past the page");
+                    }
+                });
+
+        when(wrappedTransaction.supportsFiltering(eq(Book.class),
+                any())).thenReturn(DataStoreTransaction.FeatureSupport.NONE);
+        when(wrappedTransaction.loadObjects(eq(Book.class), eq(Optional.empty()),
+                eq(Optional.empty()), eq(Optional.empty()), eq(scope))).thenReturn(records);
+
+        Collection<Object> loaded = (Collection<Object>) inMemoryStoreTransaction.loadObjects(
+                Book.class,
+                Optional.of(expression),
+                Optional.empty(),
+                Optional.of(pagination),
+                scope);
+
+        assertEquals(Lists.newArrayList(book1, book3), loaded);
+    }
+
     @Test
     public void testSortingRequiresInMemoryPagination() {
         Pagination pagination = Pagination.getDefaultPagination(elideSettings);
@@ -511,4 +584,74 @@ public class InMemoryStoreTransactionTest {
         assertTrue(loaded.contains(book2));
         assertTrue(loaded.contains(book3));
     }
+
+    @Test
+    public void testKeysetPaginationInMemory() {
+        Sorting sorting = Sorting.parseSortRule("genre");
+
+        when(wrappedTransaction.loadObjects(eq(Book.class), eq(Optional.empty()),
+                eq(Optional.empty()), eq(Optional.empty()), eq(scope))).thenReturn((Set) books);
+
+        Pagination firstPage = Pagination.fromOffsetAndFirst(Optional.of("2"), Optional.of(""), true, elideSettings)
+                .get().evaluate(Book.class);
+        List<Object> loaded = Lists.newArrayList(inMemoryStoreTransaction.loadObjects(
+                Book.class,
+                Optional.empty(),
+                Optional.of(sorting),
+                Optional.of(firstPage),
+                scope));
+
+        assertEquals(Lists.newArrayList(book1, book3), loaded);
+        assertEquals(3, firstPage.getPageTotals());
+        assertNotNull(firstPage.getNextCursor());
+
+        Pagination secondPage = Pagination.fromOffsetAndFirst(Optional.of("2"),
+                Optional.of(firstPage.getNextCursor()), true, elideSettings).get().evaluate(Book.class);
+        loaded = Lists.newArrayList(inMemoryStoreTransaction.loadObjects(
+                Book.class,
+                Optional.empty(),
+                Optional.of(sorting),
+                Optional.of(secondPage),
+                scope));
+
+        assertEquals(Lists.newArrayList(book2), loaded);
+        assertEquals(3, secondPage.getPageTotals());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    public void testKeysetPaginationPushDown() {
+        Sorting sorting = Sorting.parseSortRule("genre");
+        Pagination pagination = Pagination.fromOffsetAndFirst(Optional.of("2"), Optional.of(""), false,
+                elideSettings).get().evaluate(Book.class);
+
+        when(wrappedTransaction.supportsSorting(eq(Book.class), any())).thenReturn(true);
+        when(wrappedTransaction.supportsPagination(eq(Book.class))).thenReturn(true);
+        when(wrappedTransaction.supportsKeysetPagination(eq(Book.class))).thenReturn(true);
+
+        when(wrappedTransaction.loadObjects(eq(Book.class), eq(Optional.empty()),
+                eq(Optional.of(sorting)), eq(Optional.of(pagination)), eq(scope)))
+                .thenReturn(Lists.newArrayList(book1, book3));
+
+        inMemoryStoreTransaction.loadObjects(
+                Book.class,
+                Optional.empty(),
+                Optional.of(sorting),
+                Optional.of(pagination),
+                scope);
+
+        verify(wrappedTransaction, times(1)).loadObjects(
+                eq(Book.class),
+                eq(Optional.empty()),
+                eq(Optional.of(sorting)),
+                eq(Optional.of(pagination)),
+                eq(scope));
+
+        // The next page starts after the last book of this one, i.e. (genre, id) > ("Literary Fiction", 3)
+        FilterExpression after = new Keyset(Book.class, Optional.of(sorting), dictionary)
+                .withFilterExpression(Optional.empty(), pagination.getNextCursor()).get();
+        assertEquals(Lists.newArrayList(book2), books.stream()
+                .filter(after.accept(new InMemoryFilterExecutor(scope))::test)
+                .collect(Collectors.toList()));
+    }
 }
@@ -14,6 +14,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.Path;
 import com.yahoo.elide.core.RelationshipType;
 import com.yahoo.elide.core.exceptions.InvalidPredicateException;
 import com.yahoo.elide.core.filter.dialect.DefaultFilterDialect;
@@ -32,6 +33,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 
@@ -244,4 +246,24 @@ public class FilterPredicateTest {
         assertEquals(Operator.IN, predicate.getOperator());
         assertEquals(Arrays.asList(1, 2, 3), predicate.getValues());
     }
+
+    @Test
+    void testInListPadding() {
+        Path.PathElement idPath = new Path.PathElement(Book.class, Integer.class, "id");
+
+        FilterPredicate in = new FilterPredicate(idPath, Operator.IN, Arrays.asList(1, 2, 3));
+        assertEquals(Arrays.asList(1, 2, 3, 3), in.getParameters(0, true).stream()
+                .map(FilterPredicate.FilterParameter::getValue).collect(Collectors.toList()));
+        assertEquals("id_0_3", in.getParameters(0, true).get(3).getName());
+        assertEquals(3, in.getParameters(0, false).size());
+
+        FilterPredicate notIn = new FilterPredicate(idPath, Operator.NOT, Arrays.asList(1, 2, 3, 4, 5));
+        assertEquals(8, notIn.getParameters(0, true).size());
+
+        FilterPredicate single = new FilterPredicate(idPath, Operator.IN, Collections.singletonList(1));
+        assertEquals(1, single.getParameters(0, true).size());
+
+        FilterPredicate between = new FilterPredicate(idPath, Operator.GT, Arrays.asList(1, 2, 3));
+        assertEquals(3, between.getParameters(0, true).size());
+    }
 }
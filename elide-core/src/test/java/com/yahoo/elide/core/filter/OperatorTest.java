@@ -23,6 +23,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class OperatorTest {
     public class TestEntityDictionary extends EntityDictionary {
@@ -95,6 +97,37 @@ public class OperatorTest {
         assertTrue(fn.test(author));
     }
 
+    @Test
+    public void predicatesAreReusedAcrossEntitiesTest() throws Exception {
+        Author first = new Author();
+        first.setId(500L);
+        first.setName("First Author");
+        Author second = new Author();
+        second.setId(1001L);
+        second.setName("Second Author");
+
+        // Values are coerced once and large lists are looked up rather than scanned
+        Predicate<Author> in = Operator.IN.contextualize("id",
+                IntStream.rangeClosed(1, 1000).boxed().collect(Collectors.toList()), requestScope);
+        assertTrue(in.test(first));
+        assertFalse(in.test(second));
+        assertTrue(in.test(first));
+
+        Predicate<Author> gt = Operator.GT.contextualize("id", Collections.singletonList("1000"), requestScope);
+        assertFalse(gt.test(first));
+        assertTrue(gt.test(second));
+
+        Predicate<Author> prefix = Operator.PREFIX_CASE_INSENSITIVE.contextualize("name",
+                Collections.singletonList("FIRST"), requestScope);
+        assertTrue(prefix.test(first));
+        assertFalse(prefix.test(second));
+
+        Predicate<Author> notNull = Operator.NOTNULL.contextualize("this.name", null, requestScope);
+        second.setName(null);
+        assertTrue(notNull.test(first));
+        assertFalse(notNull.test(second));
+    }
+
     @Test
     public void isnullAndNotnullTest() throws Exception {
         author = new Author();
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.core.pagination;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ExpiringPageTotalsCacheTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger counts = new AtomicInteger();
+
+    private long count(long total) {
+        counts.incrementAndGet();
+        return total;
+    }
+
+    @Test
+    public void testTotalsAreReusedUntilTheyExpire() {
+        ExpiringPageTotalsCache cache = new ExpiringPageTotalsCache(10, Duration.ofSeconds(1), clock::get);
+
+        assertEquals(5, cache.getTotals("books", () -> count(5)));
+        clock.addAndGet(Duration.ofMillis(999).toNanos());
+        assertEquals(5, cache.getTotals("books", () -> count(6)));
+        assertEquals(1, counts.get());
+
+        clock.addAndGet(Duration.ofMillis(1).toNanos());
+        assertEquals(6, cache.getTotals("books", () -> count(6)));
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedTotalsAreEvicted() {
+        ExpiringPageTotalsCache cache = new ExpiringPageTotalsCache(2, Duration.ofMinutes(1), clock::get);
+
+        cache.getTotals("books", () -> count(1));
+        cache.getTotals("authors", () -> count(2));
+        cache.getTotals("books", () -> count(1));
+        cache.getTotals("publishers", () -> count(3));
+        assertEquals(3, counts.get());
+
+        assertEquals(1, cache.getTotals("books", () -> count(1)));
+        assertEquals(3, counts.get());
+        assertEquals(2, cache.getTotals("authors", () -> count(2)));
+        assertEquals(4, counts.get());
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.jsonapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yahoo.elide.Elide;
+import com.yahoo.elide.ElideResponse;
+import com.yahoo.elide.ElideSettingsBuilder;
+import com.yahoo.elide.audit.AuditLogger;
+import com.yahoo.elide.audit.TestAuditLogger;
+import com.yahoo.elide.core.DataStore;
+import com.yahoo.elide.core.DataStoreTransaction;
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.HttpStatus;
+import com.yahoo.elide.core.datastore.inmemory.HashMapDataStore;
+import com.yahoo.elide.core.exceptions.TransactionException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import example.Book;
+import example.TestCheckMappings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * Verifies that streamed collection responses match the buffered responses.
+ */
+public class StreamingJsonApiDocumentTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private HashMapDataStore dataStore;
+    private EntityDictionary dictionary;
+    private Elide bufferedElide;
+    private Elide streamingElide;
+
+    @BeforeEach
+    public void setup() {
+        dataStore = new HashMapDataStore(Book.class.getPackage());
+        dictionary = new EntityDictionary(TestCheckMappings.MAPPINGS);
+
+        bufferedElide = new Elide(new ElideSettingsBuilder(dataStore)
+                .withEntityDictionary(dictionary)
+                .build());
+        streamingElide = new Elide(new ElideSettingsBuilder(dataStore)
+                .withEntityDictionary(dictionary)
+                .withStreamingResponses(true)
+                .build());
+
+        bufferedElide.post("/author",
+                "{\"data\":{\"type\":\"author\",\"id\":\"1\",\"attributes\":{\"name\":\"Ernest Hemingway\"}}}", null);
+        bufferedElide.post("/author",
+                "{\"data\":{\"type\":\"author\",\"id\":\"2\",\"attributes\":{\"name\":\"Orson Scott Card\"}}}", null);
+        bufferedElide.post("/book",
+                "{\"data\":{\"type\":\"book\",\"id\":\"1\",\"attributes\":{\"title\":\"The Old Man and the Sea\"},"
+                        + "\"relationships\":{\"authors\":{\"data\":[{\"type\":\"author\",\"id\":\"1\"}]}}}}", null);
+        bufferedElide.post("/book",
+                "{\"data\":{\"type\":\"book\",\"id\":\"2\",\"attributes\":{\"title\":\"Ender's Game\"},"
+                        + "\"relationships\":{\"authors\":{\"data\":[{\"type\":\"author\",\"id\":\"2\"}]}}}}", null);
+    }
+
+    @Test
+    public void testStreamedCollectionMatchesBuffered() throws Exception {
+        assertSameResponse("/book", new MultivaluedHashMap<>());
+    }
+
+    @Test
+    public void testStreamedCollectionWithIncludesMatchesBuffered() throws Exception {
+        MultivaluedMap<String, String> queryParams = new MultivaluedHashMap<>();
+        queryParams.putSingle("include", "authors");
+        assertSameResponse("/book", queryParams);
+    }
+
+    @Test
+    public void testStreamedCollectionWithPaginationMatchesBuffered() throws Exception {
+        MultivaluedMap<String, String> queryParams = new MultivaluedHashMap<>();
+        queryParams.putSingle("page[size]", "1");
+        queryParams.putSingle("page[totals]", "");
+        assertSameResponse("/book", queryParams);
+    }
+
+    @Test
+    public void testStreamedSubCollectionMatchesBuffered() throws Exception {
+        assertSameResponse("/author/1/books", new MultivaluedHashMap<>());
+    }
+
+    @Test
+    public void testStreamedSingleResourceMatchesBuffered() throws Exception {
+        assertSameResponse("/book/1", new MultivaluedHashMap<>());
+    }
+
+    @Test
+    public void testErrorsAreNotStreamed() {
+        ElideResponse response = streamingElide.get("/book/100", new MultivaluedHashMap<>(), null);
+
+        assertEquals(HttpStatus.SC_NOT_FOUND, response.getResponseCode());
+        assertFalse(response.isStreaming());
+    }
+
+    @Test
+    public void testUnwrittenBodyClosesTransactionOnCompletion() throws Exception {
+        DataStoreTransaction tx = spy(dataStore.beginReadTransaction());
+        Elide elide = streamingElide(tx);
+
+        ElideResponse response = elide.get("/book", new MultivaluedHashMap<>(), null);
+        verify(tx, never()).close();
+
+        response.complete();
+        response.complete();
+        verify(tx, never()).commit(any());
+        verify(tx, times(1)).close();
+    }
+
+    @Test
+    public void testWrittenBodyClosesTransactionOnce() throws Exception {
+        DataStoreTransaction tx = spy(dataStore.beginReadTransaction());
+        Elide elide = streamingElide(tx);
+
+        ElideResponse response = elide.get("/book", new MultivaluedHashMap<>(), null);
+        response.getStreamingBody().write(new ByteArrayOutputStream());
+        response.complete();
+
+        verify(tx, times(1)).commit(any());
+        verify(tx, times(1)).close();
+    }
+
+    @Test
+    public void testAuditLogIsCommittedAfterTransaction() throws Exception {
+        DataStoreTransaction tx = spy(dataStore.beginReadTransaction());
+        AuditLogger auditLogger = spy(new TestAuditLogger());
+        Elide elide = streamingElide(tx, auditLogger);
+
+        ElideResponse response = elide.get("/book", new MultivaluedHashMap<>(), null);
+        verify(auditLogger, never()).commit(any());
+
+        response.getStreamingBody().write(new ByteArrayOutputStream());
+
+        InOrder inOrder = inOrder(tx, auditLogger);
+        inOrder.verify(tx).commit(any());
+        inOrder.verify(auditLogger).commit(any());
+    }
+
+    @Test
+    public void testFailedCommitIsNotAudited() throws Exception {
+        DataStoreTransaction tx = spy(dataStore.beginReadTransaction());
+        doThrow(new TransactionException(new IOException("commit failed"))).when(tx).commit(any());
+        AuditLogger auditLogger = spy(new TestAuditLogger());
+        Elide elide = streamingElide(tx, auditLogger);
+
+        ElideResponse response = elide.get("/book", new MultivaluedHashMap<>(), null);
+        assertThrows(TransactionException.class,
+                () -> response.getStreamingBody().write(new ByteArrayOutputStream()));
+
+        verify(auditLogger, never()).commit(any());
+        verify(tx, times(1)).close();
+    }
+
+    private Elide streamingElide(DataStoreTransaction tx) {
+        return streamingElide(tx, new TestAuditLogger());
+    }
+
+    private Elide streamingElide(DataStoreTransaction tx, AuditLogger auditLogger) {
+        DataStore store = mock(DataStore.class);
+        when(store.beginReadTransaction()).thenReturn(tx);
+
+        return new Elide(new ElideSettingsBuilder(store)
+                .withEntityDictionary(dictionary)
+                .withAuditLogger(auditLogger)
+                .withStreamingResponses(true)
+                .build());
+    }
+
+    private void assertSameResponse(String path, MultivaluedMap<String, String> queryParams) throws Exception {
+        ElideResponse buffered = bufferedElide.get(path, queryParams, null);
+        ElideResponse streamed = streamingElide.get(path, queryParams, null);
+
+        assertFalse(buffered.isStreaming());
+        assertTrue(streamed.isStreaming());
+        assertNull(streamed.getBody());
+        assertEquals(buffered.getResponseCode(), streamed.getResponseCode());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        streamed.getStreamingBody().write(outputStream);
+
+        JsonNode expected = MAPPER.readTree(buffered.getBody());
+        JsonNode actual = MAPPER.readTree(outputStream.toByteArray());
+        assertEquals(expected, actual);
+    }
+}
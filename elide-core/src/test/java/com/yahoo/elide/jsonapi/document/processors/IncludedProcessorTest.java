@@ -7,7 +7,12 @@ package com.yahoo.elide.jsonapi.document.processors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.yahoo.elide.ElideSettings;
 import com.yahoo.elide.ElideSettingsBuilder;
@@ -32,6 +37,7 @@ import org.mockito.Answers;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -55,6 +61,8 @@ public class IncludedProcessorTest {
 
     private PersistentResource<FunWithPermissions> funWithPermissionsRecord;
 
+    private DataStoreTransaction goodUserTransaction;
+
     @BeforeEach
     public void setUp() throws Exception {
         includedProcessor = new IncludedProcessor();
@@ -69,8 +77,9 @@ public class IncludedProcessorTest {
                 .withEntityDictionary(dictionary)
                 .build();
 
+        goodUserTransaction = mock(DataStoreTransaction.class, Answers.CALLS_REAL_METHODS);
         RequestScope goodUserScope = new RequestScope(null,
-                new JsonApiDocument(), mock(DataStoreTransaction.class, Answers.CALLS_REAL_METHODS),
+                new JsonApiDocument(), goodUserTransaction,
                 new User(1), null,
                 elideSettings);
 
@@ -201,6 +210,37 @@ public class IncludedProcessorTest {
                 "Included Processor added multiple nested requested resource collections from 'include' query param");
     }
 
+    @Test
+    public void testExecuteNestedRelationOnCollectionIsBatched() throws Exception {
+        JsonApiDocument jsonApiDocument = new JsonApiDocument();
+
+        Set<PersistentResource> parents = new LinkedHashSet<>();
+        parents.add(parentRecord1);
+        parents.add(parentRecord3);
+
+        MultivaluedMap<String, String> queryParams = new MultivaluedHashMap<>();
+        queryParams.put(INCLUDE, Collections.singletonList("children.friends"));
+        includedProcessor.execute(jsonApiDocument, parents, Optional.of(queryParams));
+
+        Set<Resource> expectedIncluded =
+                Sets.newHashSet(
+                        childRecord1.toResource(),
+                        childRecord2.toResource(),
+                        childRecord3.toResource(),
+                        childRecord4.toResource()
+                );
+        Set<Resource> actualIncluded = new HashSet<>(jsonApiDocument.getIncluded());
+
+        assertEquals(expectedIncluded, actualIncluded,
+                "Included Processor added nested requested resources from all records");
+
+        // One fetch of 'children' for both parents, one fetch of 'friends' for all three children
+        verify(goodUserTransaction, times(1)).getRelations(any(), argThat(entities -> entities.size() == 2),
+                eq("children"), any(), any());
+        verify(goodUserTransaction, times(1)).getRelations(any(), argThat(entities -> entities.size() == 3),
+                eq("friends"), any(), any());
+    }
+
     @Test
     public void testIncludeForbiddenRelationship() {
         JsonApiDocument jsonApiDocument = new JsonApiDocument();
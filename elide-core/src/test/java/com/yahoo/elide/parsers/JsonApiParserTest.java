@@ -6,7 +6,17 @@
 package com.yahoo.elide.parsers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.yahoo.elide.generated.parsers.CoreParser.EntityContext;
+import com.yahoo.elide.generated.parsers.CoreParser.RootCollectionLoadEntityContext;
+import com.yahoo.elide.generated.parsers.CoreParser.RootCollectionSubCollectionContext;
+import com.yahoo.elide.generated.parsers.CoreParser.StartContext;
+import com.yahoo.elide.generated.parsers.CoreParser.SubCollectionReadEntityContext;
+
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.junit.jupiter.api.Test;
 
 public class JsonApiParserTest {
@@ -28,4 +38,61 @@ public class JsonApiParserTest {
         normalizedPath = JsonApiParser.normalizePath("///books///1///author////");
         assertEquals("books/1/author", normalizedPath,  "it deduplicates path separators");
     }
+
+    @Test
+    public void testParsePathSharesShape() {
+        JsonApiParser parser = new JsonApiParser();
+
+        ParsedPath first = parser.parsePath("/book/1/authors/2");
+        ParsedPath second = parser.parsePath("book/3/authors/4/");
+
+        assertSame(first.getParseTree(), second.getParseTree());
+
+        RootCollectionSubCollectionContext root = (RootCollectionSubCollectionContext)
+                ((StartContext) second.getParseTree()).rootCollection();
+        EntityContext book = root.entity();
+        EntityContext author = ((SubCollectionReadEntityContext) root.subCollection()).entity();
+
+        assertEquals("1", first.getId(book.id()));
+        assertEquals("2", first.getId(author.id()));
+        assertEquals("3", second.getId(book.id()));
+        assertEquals("4", second.getId(author.id()));
+
+        assertNotSame(first.getParseTree(), parser.parsePath("book/1/relationships/authors").getParseTree());
+        assertNotSame(first.getParseTree(), parser.parsePath("book/1/authors").getParseTree());
+    }
+
+    @Test
+    public void testParsersDoNotShareShapes() {
+        ParsedPath first = new JsonApiParser().parsePath("book/1/authors/2");
+        ParsedPath second = new JsonApiParser().parsePath("book/1/authors/2");
+
+        assertNotSame(first.getParseTree(), second.getParseTree());
+    }
+
+    @Test
+    public void testParsePathEvictsLeastRecentlyUsedShape() {
+        JsonApiParser parser = new JsonApiParser(1);
+
+        ParsedPath books = parser.parsePath("book/1");
+        assertSame(books.getParseTree(), parser.parsePath("book/2").getParseTree());
+
+        parser.parsePath("author/1");
+        ParsedPath evicted = parser.parsePath("book/3");
+
+        assertNotSame(books.getParseTree(), evicted.getParseTree());
+        RootCollectionLoadEntityContext root = (RootCollectionLoadEntityContext)
+                ((StartContext) evicted.getParseTree()).rootCollection();
+        assertEquals("3", evicted.getId(root.entity().id()));
+    }
+
+    @Test
+    public void testParsePathFailures() {
+        JsonApiParser parser = new JsonApiParser();
+
+        assertThrows(ParseCancellationException.class, () -> parser.parsePath("book/1/relationships"));
+        assertThrows(ParseCancellationException.class, () -> parser.parsePath("book/relationships"));
+        assertThrows(ParseCancellationException.class, () -> parser.parsePath("book/1|authors/2"));
+        assertThrows(ParseCancellationException.class, () -> parser.parsePath(""));
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yahoo.elide.Elide;
+import com.yahoo.elide.ElideResponse;
+import com.yahoo.elide.core.HttpStatus;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
+
+public class JsonApiEndpointTest {
+    private Elide elide;
+    private UriInfo uriInfo;
+    private Runnable onCompletion;
+    private JsonApiEndpoint endpoint;
+
+    @BeforeEach
+    public void setup() {
+        elide = mock(Elide.class);
+        uriInfo = mock(UriInfo.class);
+        onCompletion = mock(Runnable.class);
+        when(uriInfo.getQueryParameters()).thenReturn(new MultivaluedHashMap<>());
+        endpoint = new JsonApiEndpoint(elide, null);
+    }
+
+    @Test
+    public void testHeadCompletesWithoutWritingBody() throws IOException {
+        StreamingOutput body = mock(StreamingOutput.class);
+        when(elide.get(eq("book"), any(), any()))
+                .thenReturn(new ElideResponse(HttpStatus.SC_OK, null, body, onCompletion));
+
+        Response response = endpoint.head("book", uriInfo, null);
+
+        assertEquals(HttpStatus.SC_OK, response.getStatus());
+        assertFalse(response.hasEntity());
+        verify(body, never()).write(any());
+        verify(onCompletion, times(1)).run();
+    }
+
+    @Test
+    public void testGetCompletesOnceBodyIsWritten() throws IOException {
+        when(elide.get(eq("book"), any(), any()))
+                .thenReturn(new ElideResponse(HttpStatus.SC_OK, null, outputStream -> { }, onCompletion));
+
+        Response response = endpoint.get("book", uriInfo, null);
+        verify(onCompletion, never()).run();
+
+        ((StreamingOutput) response.getEntity()).write(new ByteArrayOutputStream());
+        verify(onCompletion, times(1)).run();
+    }
+
+    @Test
+    public void testGetCompletesWhenWritingFails() {
+        StreamingOutput body = (OutputStream outputStream) -> {
+            throw new IOException("client went away");
+        };
+        when(elide.get(eq("book"), any(), any()))
+                .thenReturn(new ElideResponse(HttpStatus.SC_OK, null, body, onCompletion));
+
+        Response response = endpoint.get("book", uriInfo, null);
+
+        assertThrows(IOException.class,
+                () -> ((StreamingOutput) response.getEntity()).write(new ByteArrayOutputStream()));
+        verify(onCompletion, times(1)).run();
+    }
+}
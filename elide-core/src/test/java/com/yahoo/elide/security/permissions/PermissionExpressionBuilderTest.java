@@ -6,6 +6,8 @@
 package com.yahoo.elide.security.permissions;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import com.yahoo.elide.ElideSettings;
 import com.yahoo.elide.ElideSettingsBuilder;
@@ -19,10 +21,13 @@ import com.yahoo.elide.security.ChangeSpec;
 import com.yahoo.elide.security.checks.Check;
 import com.yahoo.elide.security.checks.prefab.Role;
 import com.yahoo.elide.security.permissions.expressions.Expression;
+import com.yahoo.elide.security.permissions.expressions.OrExpression;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.persistence.Entity;
@@ -126,6 +131,40 @@ public class PermissionExpressionBuilderTest {
 
      }
 
+    @Test
+    public void testPermissionPlanIsReused() {
+        @Entity
+        @Include
+        @UpdatePermission(expression = "user has all access AND (user has no access OR NOT user has all access)")
+        class Model { }
+        dictionary.bindEntity(Model.class);
+
+        PermissionPlan plan = dictionary.getPermissionPlanForClass(Model.class, UpdatePermission.class);
+        assertSame(plan, dictionary.getPermissionPlanForClass(Model.class, UpdatePermission.class));
+        assertEquals(
+                "(user has all access AND (user has no access OR NOT user has all access))",
+                plan.toString());
+
+        List<Check> firstChecks = new ArrayList<>();
+        plan.toExpression(check -> {
+            firstChecks.add(check);
+            return OrExpression.SUCCESSFUL_EXPRESSION;
+        });
+
+        List<Check> secondChecks = new ArrayList<>();
+        plan.toExpression(check -> {
+            secondChecks.add(check);
+            return OrExpression.SUCCESSFUL_EXPRESSION;
+        });
+
+        // Checks may hold state, so every use gets new instances of the same checks
+        assertEquals(3, firstChecks.size());
+        for (int idx = 0; idx < firstChecks.size(); idx++) {
+            assertNotSame(firstChecks.get(idx), secondChecks.get(idx));
+            assertEquals(firstChecks.get(idx).getClass(), secondChecks.get(idx).getClass());
+        }
+    }
+
     public <T> PersistentResource newResource(T obj, Class<T> cls) {
         RequestScope requestScope = new RequestScope(null, null, null, null, null, elideSettings);
         return new PersistentResource<>(obj, null, requestScope.getUUIDFor(obj), requestScope);
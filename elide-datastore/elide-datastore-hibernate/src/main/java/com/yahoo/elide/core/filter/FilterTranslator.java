@@ -32,6 +32,7 @@ import com.yahoo.elide.core.filter.expression.FilterExpression;
 import com.yahoo.elide.core.filter.expression.FilterExpressionVisitor;
 import com.yahoo.elide.core.filter.expression.NotFilterExpression;
 import com.yahoo.elide.core.filter.expression.OrFilterExpression;
+import com.yahoo.elide.core.filter.expression.PredicateExtractionVisitor;
 
 import com.google.common.base.Preconditions;
 import org.apache.commons.lang3.tuple.Triple;
@@ -50,6 +51,8 @@ public class FilterTranslator implements FilterOperation<String> {
     private static Map<Operator, JPQLPredicateGenerator> operatorGenerators;
     private static Map<Triple<Operator, Class<?>, String>, JPQLPredicateGenerator> predicateOverrides;
 
+    private final boolean padInLists;
+
     static {
         predicateOverrides = new HashMap<>();
 
@@ -161,6 +164,19 @@ public class FilterTranslator implements FilterOperation<String> {
         });
     }
 
+    public FilterTranslator() {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     * @param padInLists Whether to pad the parameters of IN lists (see {@link FilterPredicate#getParameters(int,
+     *                   boolean)})
+     */
+    public FilterTranslator(boolean padInLists) {
+        this.padInLists = padInLists;
+    }
+
     /**
      * Overrides the default JPQL generator for a given operator.
      * @param op The filter predicate operator
@@ -225,6 +241,10 @@ public class FilterTranslator implements FilterOperation<String> {
      * @return The hql query fragment.
      */
     protected String apply(FilterPredicate filterPredicate, boolean prefixWithAlias) {
+        return apply(filterPredicate, prefixWithAlias, filterPredicate.getParameters(0, padInLists));
+    }
+
+    private String apply(FilterPredicate filterPredicate, boolean prefixWithAlias, List<FilterParameter> params) {
         String fieldPath = filterPredicate.getFieldPath();
 
         if (prefixWithAlias) {
@@ -236,8 +256,6 @@ public class FilterTranslator implements FilterOperation<String> {
         //JPQL doesn't support 'this', but it does support aliases.
         fieldPath = fieldPath.replaceAll("\\.this", "");
 
-        List<FilterParameter> params = filterPredicate.getParameters();
-
         Operator op = filterPredicate.getOperator();
         JPQLPredicateGenerator generator = lookupJPQLGenerator(op, last.getType(), last.getFieldName());
 
@@ -264,6 +282,13 @@ public class FilterTranslator implements FilterOperation<String> {
                 .collect(Collectors.joining(COMMA)));
     }
 
+    /**
+     * Translates a filter expression into a JPQL WHERE clause.  Parameters are named after the position of their
+     * predicate in the expression, in the order {@link PredicateExtractionVisitor} extracts them.
+     * @param filterExpression The expression to translate
+     * @param prefixWithAlias Whether or not to prefix the fields with the alias of their entity.
+     * @return The JPQL WHERE clause
+     */
     public String apply(FilterExpression filterExpression, boolean prefixWithAlias) {
         JPQLQueryVisitor visitor = new JPQLQueryVisitor(prefixWithAlias);
         return "WHERE " + filterExpression.accept(visitor);
@@ -274,6 +299,7 @@ public class FilterTranslator implements FilterOperation<String> {
      */
     public class JPQLQueryVisitor implements FilterExpressionVisitor<String> {
         private boolean prefixWithAlias;
+        private int position;
 
         public JPQLQueryVisitor(boolean prefixWithAlias) {
             this.prefixWithAlias = prefixWithAlias;
@@ -281,7 +307,7 @@ public class FilterTranslator implements FilterOperation<String> {
 
         @Override
         public String visitPredicate(FilterPredicate filterPredicate) {
-            return apply(filterPredicate, prefixWithAlias);
+            return apply(filterPredicate, prefixWithAlias, filterPredicate.getParameters(position++, padInLists));
         }
 
         @Override
@@ -6,6 +6,7 @@
 package com.yahoo.elide.core.hibernate;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Interface that represents a Hibernate query but has no dependencies on a specific version of Hibernate.
@@ -15,4 +16,6 @@ public interface Query {
     public Query setMaxResults(int num);
     public Query setParameter(String name, Object value);
     public Query setParameterList(String name, Collection<?> values);
+    public List<?> list();
+    public Object uniqueResult();
 }
@@ -5,26 +5,38 @@
  */
 package com.yahoo.elide.core.hibernate.hql;
 
+import com.yahoo.elide.ElideSettings;
 import com.yahoo.elide.core.EntityDictionary;
 import com.yahoo.elide.core.Path;
 import com.yahoo.elide.core.RelationshipType;
+import com.yahoo.elide.core.RequestScope;
 import com.yahoo.elide.core.filter.FilterPredicate;
+import com.yahoo.elide.core.filter.FilterTranslator;
+import com.yahoo.elide.core.filter.expression.AndFilterExpression;
 import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.core.filter.expression.FilterExpressionVisitor;
+import com.yahoo.elide.core.filter.expression.NotFilterExpression;
+import com.yahoo.elide.core.filter.expression.OrFilterExpression;
 import com.yahoo.elide.core.filter.expression.PredicateExtractionVisitor;
 import com.yahoo.elide.core.hibernate.Query;
 import com.yahoo.elide.core.hibernate.Session;
+import com.yahoo.elide.core.pagination.Keyset;
 import com.yahoo.elide.core.pagination.Pagination;
 import com.yahoo.elide.core.sort.Sorting;
 
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.persistence.OneToOne;
@@ -39,6 +51,8 @@ public abstract class AbstractHQLQueryBuilder {
     protected Optional<Sorting> sorting;
     protected Optional<Pagination> pagination;
     protected Optional<FilterExpression> filterExpression;
+    protected boolean inListPadding;
+    protected boolean orderNullsLowest;
     protected static final String SPACE = " ";
     protected static final String UNDERSCORE = "_";
     protected static final String PERIOD = ".";
@@ -53,6 +67,15 @@ public abstract class AbstractHQLQueryBuilder {
     protected static final boolean USE_ALIAS = true;
     protected static final boolean NO_ALIAS = false;
 
+    private static final int QUERY_TEXT_CACHE_SIZE = 1024;
+    private static final Map<List<Object>, String> QUERY_TEXT_CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<List<Object>, String>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Object>, String> eldest) {
+                    return size() > QUERY_TEXT_CACHE_SIZE;
+                }
+            });
+
     /**
      * Represents a relationship between two entities.
      */
@@ -94,22 +117,117 @@ public abstract class AbstractHQLQueryBuilder {
         return this;
     }
 
+    public AbstractHQLQueryBuilder withInListPadding(boolean inListPadding) {
+        this.inListPadding = inListPadding;
+        return this;
+    }
+
     /**
-     * Given a collection of filter predicates and a Hibernate query, populates the named parameters in the
+     * Pads IN lists if the settings of the request ask for it.
+     *
+     * @param scope the request scope
+     * @return this builder
+     */
+    public AbstractHQLQueryBuilder withInListPadding(RequestScope scope) {
+        ElideSettings settings = scope.getElideSettings();
+        return withInListPadding(settings != null && settings.isInListPadding());
+    }
+
+    /**
+     * @return A filter translator which pads IN lists if this builder does
+     */
+    protected FilterTranslator getFilterTranslator() {
+        return new FilterTranslator(inListPadding);
+    }
+
+    /**
+     * Given a filter expression and a Hibernate query built from it, populates the named parameters in the
      * Hibernate query.
      *
      * @param query The HQL query
-     * @param predicates The predicates to extract named parameter values from
+     * @param filterExpression The filter expression translated by {@link FilterTranslator} into the query
      */
-    protected void supplyFilterQueryParameters(Query query, Collection<FilterPredicate> predicates) {
+    protected void supplyFilterQueryParameters(Query query, FilterExpression filterExpression) {
+        PredicateExtractionVisitor visitor = new PredicateExtractionVisitor(new ArrayList<>());
+        Collection<FilterPredicate> predicates = filterExpression.accept(visitor);
+
+        int position = 0;
         for (FilterPredicate filterPredicate : predicates) {
             if (filterPredicate.getOperator().isParameterized()) {
                 boolean shouldEscape = filterPredicate.isMatchingOperator();
-                filterPredicate.getParameters().forEach(param -> {
+                filterPredicate.getParameters(position, inListPadding).forEach(param -> {
                     query.setParameter(param.getName(), shouldEscape ? param.escapeMatching() : param.getValue());
                 });
             }
+            position++;
+        }
+    }
+
+    /**
+     * Returns the text of a query, building it only the first time a query of the same shape is seen.
+     * <p>
+     * The shape must capture everything the text depends on other than the dictionary, e.g. the queried types,
+     * the filter shape (see {@link #getFilterShape(FilterExpression)}) and the sorting.  Parameter values are
+     * not part of the text, so identical shapes also share Hibernate's query plan.  Custom JPQL generators
+     * must be registered with {@link FilterTranslator} before queries are built.
+     *
+     * @param shape Identifies the text of the query
+     * @param queryText Builds the text of the query
+     * @return The text of the query
+     */
+    protected String getCachedQueryText(String shape, Supplier<String> queryText) {
+        List<Object> key = Arrays.asList(dictionary, getClass(), shape);
+        String text = QUERY_TEXT_CACHE.get(key);
+        if (text == null) {
+            text = queryText.get();
+            QUERY_TEXT_CACHE.put(key, text);
         }
+        return text;
+    }
+
+    /**
+     * Describes a filter expression without its values, i.e. the fields, operators and number of (padded)
+     * parameters of its predicates and how they are combined.
+     *
+     * @param filterExpression The filter expression to describe
+     * @return The shape of the filter expression
+     */
+    protected String getFilterShape(FilterExpression filterExpression) {
+        return filterExpression.accept(new FilterExpressionVisitor<String>() {
+            @Override
+            public String visitPredicate(FilterPredicate predicate) {
+                return getPathShape(predicate.getPath()) + SPACE + predicate.getOperator()
+                        + SPACE + predicate.getParameters(0, inListPadding).size();
+            }
+
+            @Override
+            public String visitAndExpression(AndFilterExpression expression) {
+                return "(" + expression.getLeft().accept(this) + " AND " + expression.getRight().accept(this) + ")";
+            }
+
+            @Override
+            public String visitOrExpression(OrFilterExpression expression) {
+                return "(" + expression.getLeft().accept(this) + " OR " + expression.getRight().accept(this) + ")";
+            }
+
+            @Override
+            public String visitNotExpression(NotFilterExpression expression) {
+                return "NOT (" + expression.getNegated().accept(this) + ")";
+            }
+        });
+    }
+
+    /**
+     * Describes a path by the fully qualified names of its types, as entities in different packages may share a
+     * simple name.
+     *
+     * @param path The path to describe
+     * @return The shape of the path
+     */
+    private static String getPathShape(Path path) {
+        return path.getPathElements().stream()
+                .map(element -> element.getType().getName() + PERIOD + element.getFieldName())
+                .collect(Collectors.joining("/"));
     }
 
     /**
@@ -128,6 +246,29 @@ public abstract class AbstractHQLQueryBuilder {
             .collect(Collectors.joining(SPACE));
     }
 
+    /**
+     * Turns a keyset pagination into a filter for the rows after its cursor and a sort order by its keys, so that
+     * the query seeks to the page rather than skipping offset rows.  The filter expects null keys to sort lowest,
+     * so the sort order says so rather than leaving it to the database.
+     * @param entityClass The paginated entity type
+     */
+    protected void addKeysetToFilterAndSorting(Class<?> entityClass) {
+        pagination.filter(Pagination::isKeyset).ifPresent(p -> {
+            Keyset keyset = new Keyset(entityClass, sorting, dictionary);
+            filterExpression = keyset.withFilterExpression(filterExpression, p.getAfter());
+            sorting = Optional.of(keyset.getSorting());
+            orderNullsLowest = true;
+        });
+    }
+
+    /**
+     * Describes the sort order of the query, for its shape.
+     * @return The sorting and how nulls are ordered
+     */
+    protected String getSortingShape() {
+        return sorting.map(Sorting::toString).orElse("") + (orderNullsLowest ? " nulls lowest" : "");
+    }
+
     /**
      * Modifies the HQL query to add OFFSET and LIMIT.
      * @param query The HQL query object
@@ -232,8 +373,12 @@ public abstract class AbstractHQLQueryBuilder {
 
                         String prefix = (prefixWithAlias) ? Path.getTypeAlias(sortClass) + PERIOD : "";
 
+                        boolean isDescending = entry.getValue().equals(Sorting.SortOrder.desc);
+                        String nullOrdering = !orderNullsLowest ? ""
+                                : isDescending ? " nulls last" : " nulls first";
+
                         ordering.add(prefix + path.getFieldPath() + SPACE
-                                + (entry.getValue().equals(Sorting.SortOrder.desc) ? "desc" : "asc"));
+                                + (isDescending ? "desc" : "asc") + nullOrdering);
                     }
                 );
                 sortingRules = " order by " + StringUtils.join(ordering, COMMA);
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.core.hibernate.hql;
+
+import com.yahoo.elide.ElideSettings;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.core.hibernate.Session;
+import com.yahoo.elide.core.pagination.PageTotalsCache;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Counts the records of a page, with the page totals cache of the settings if there is one.
+ */
+public class PageTotalsCounter {
+
+    private final Session session;
+
+    public PageTotalsCounter(Session session) {
+        this.session = session;
+    }
+
+    /**
+     * Returns the total record count for a root entity and an optional filter expression.
+     * @param entityClass The entity type to count
+     * @param filterExpression optional security and request filters
+     * @param scope the request scope
+     * @param <T> The type of entity
+     * @return The total row count.
+     */
+    public <T> Long getTotalRecords(Class<T> entityClass,
+                                    Optional<FilterExpression> filterExpression,
+                                    RequestScope scope) {
+
+        return countTotals(Arrays.asList(entityClass, filterExpression.orElse(null)), () ->
+                (Long) new RootCollectionPageTotalsQueryBuilder(entityClass, scope.getDictionary(), session)
+                        .withPossibleFilterExpression(filterExpression)
+                        .withInListPadding(scope)
+                        .build()
+                        .uniqueResult(), scope);
+    }
+
+    /**
+     * Returns the total record count for a entity relationship.
+     * @param relationship The relationship
+     * @param filterExpression optional security and request filters
+     * @param scope the request scope
+     * @return The total row count.
+     */
+    public Long getTotalRecords(AbstractHQLQueryBuilder.Relationship relationship,
+                                Optional<FilterExpression> filterExpression,
+                                RequestScope scope) {
+
+        Object key = Arrays.asList(relationship.getParentType(), scope.getDictionary().getId(relationship.getParent()),
+                relationship.getRelationshipName(), filterExpression.orElse(null));
+        return countTotals(key, () ->
+                (Long) new SubCollectionPageTotalsQueryBuilder(relationship, scope.getDictionary(), session)
+                        .withPossibleFilterExpression(filterExpression)
+                        .withInListPadding(scope)
+                        .build()
+                        .uniqueResult(), scope);
+    }
+
+    /**
+     * Counts with the page totals cache of the settings, if any.
+     * @param key identifies the count
+     * @param count runs the count query
+     * @param scope the request scope
+     * @return The total row count.
+     */
+    private static Long countTotals(Object key, Supplier<Long> count, RequestScope scope) {
+        ElideSettings settings = scope.getElideSettings();
+        PageTotalsCache cache = settings == null ? null : settings.getPageTotalsCache();
+        return cache == null ? count.get() : cache.getTotals(key, count);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.core.hibernate.hql;
+
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.PersistentResource;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.core.hibernate.Session;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fetches a relationship of many parents with a few queries rather than with one query per parent.
+ * <p>
+ * Only collections which the ORM would still have to load, or which must be filtered, are fetched this way.
+ * Their parents are bound into the IN list of a query at most {@link #MAX_PARENTS_PER_QUERY} at a time.  Stores
+ * supply the session and tell how their ORM holds a collection.
+ */
+public class RelationshipBatchFetcher {
+
+    /**
+     * The most parents bound into one query.  Oracle accepts at most 1000 elements in an IN list and SQL Server at
+     * most 2100 parameters in a statement, which leaves room for the parameters of the filter.
+     */
+    public static final int MAX_PARENTS_PER_QUERY = 500;
+
+    private final Session session;
+    private final CollectionLoadState loadState;
+    private final int maxParentsPerQuery;
+
+    /**
+     * Tells how the ORM holds the value of a relationship.
+     */
+    public interface CollectionLoadState {
+
+        /**
+         * @param value the value of a relationship
+         * @return whether the value is a collection managed by the ORM
+         */
+        boolean isPersistentCollection(Object value);
+
+        /**
+         * @param entity the parent
+         * @param relationName the name of the relationship
+         * @param value the value of the relationship, a collection managed by the ORM
+         * @return whether the members of the collection have been loaded
+         */
+        boolean isLoaded(Object entity, String relationName, Object value);
+    }
+
+    public RelationshipBatchFetcher(Session session, CollectionLoadState loadState) {
+        this(session, loadState, MAX_PARENTS_PER_QUERY);
+    }
+
+    public RelationshipBatchFetcher(Session session, CollectionLoadState loadState, int maxParentsPerQuery) {
+        Preconditions.checkArgument(maxParentsPerQuery > 0);
+        this.session = session;
+        this.loadState = loadState;
+        this.maxParentsPerQuery = maxParentsPerQuery;
+    }
+
+    /**
+     * Fetches the members of a relationship of many parents.
+     *
+     * @param entities the parents
+     * @param relationName the name of the relationship
+     * @param filterExpression filters the members of the relationship
+     * @param scope the request scope
+     * @param getRelation fetches the relationship of a parent whose members are not fetched in a batch
+     * @return the members of the relationship of each parent
+     */
+    public Map<Object, Object> getRelations(Collection<?> entities,
+                                            String relationName,
+                                            Optional<FilterExpression> filterExpression,
+                                            RequestScope scope,
+                                            Function<Object, Object> getRelation) {
+        EntityDictionary dictionary = scope.getDictionary();
+        Map<Object, Object> relations = new IdentityHashMap<>();
+        List<Object> batchedEntities = new ArrayList<>();
+
+        for (Object entity : entities) {
+            if (isBatched(entity, relationName, filterExpression, scope)) {
+                relations.put(entity, new ArrayList<>());
+                batchedEntities.add(entity);
+            } else {
+                relations.put(entity, getRelation.apply(entity));
+            }
+        }
+
+        fetchInBatches(batchedEntities, filterExpression, scope, parents -> new SubCollectionBatchFetchQueryBuilder(
+                parents.get(0).getClass(),
+                dictionary.getParameterizedType(parents.get(0), relationName),
+                relationName,
+                parents,
+                dictionary,
+                session),
+                parentAndChild -> ((List<Object>) relations.get(parentAndChild[0])).add(parentAndChild[1]));
+        return relations;
+    }
+
+    /**
+     * Fetches the ids of the members of a relationship of many parents without loading the members.
+     *
+     * @param entities the parents
+     * @param relationName the name of the relationship
+     * @param filterExpression filters the members of the relationship
+     * @param scope the request scope
+     * @param getRelationIds fetches the ids for the parents whose members are not fetched in a batch
+     * @return the ids of the members of the relationship of each parent
+     */
+    public Map<Object, List<String>> getRelationIds(Collection<?> entities,
+                                                    String relationName,
+                                                    Optional<FilterExpression> filterExpression,
+                                                    RequestScope scope,
+                                                    Function<List<Object>, Map<Object, List<String>>> getRelationIds) {
+        EntityDictionary dictionary = scope.getDictionary();
+        Map<Object, List<String>> ids = new IdentityHashMap<>();
+        List<Object> batchedEntities = new ArrayList<>();
+        List<Object> otherEntities = new ArrayList<>();
+
+        for (Object entity : entities) {
+            if (isBatched(entity, relationName, filterExpression, scope)) {
+                ids.put(entity, new ArrayList<>());
+                batchedEntities.add(entity);
+            } else {
+                otherEntities.add(entity);
+            }
+        }
+
+        if (!otherEntities.isEmpty()) {
+            ids.putAll(getRelationIds.apply(otherEntities));
+        }
+
+        fetchInBatches(batchedEntities, filterExpression, scope, parents -> new SubCollectionIdBatchFetchQueryBuilder(
+                parents.get(0).getClass(),
+                dictionary.getParameterizedType(parents.get(0), relationName),
+                relationName,
+                parents,
+                dictionary,
+                session),
+                parentAndChildId -> ids.get(parentAndChildId[0]).add(String.valueOf(parentAndChildId[1])));
+        return ids;
+    }
+
+    /**
+     * Whether the members of a relationship still require a trip to the database.  Everything else is either
+     * already in memory or not managed by the ORM.
+     */
+    private boolean isBatched(Object entity,
+                              String relationName,
+                              Optional<FilterExpression> filterExpression,
+                              RequestScope scope) {
+        Object value = PersistentResource.getValue(entity, relationName, scope);
+        return loadState.isPersistentCollection(value)
+                && (filterExpression.isPresent() || !loadState.isLoaded(entity, relationName, value));
+    }
+
+    /**
+     * Runs a query for every chunk of parents and hands over each row of the results.
+     *
+     * @param parents the parents to fetch the relationship of
+     * @param filterExpression filters the members of the relationship
+     * @param scope the request scope
+     * @param builder creates the query builder for a chunk of parents
+     * @param rowConsumer receives the rows, whose first column is the parent
+     */
+    private void fetchInBatches(List<Object> parents,
+                                Optional<FilterExpression> filterExpression,
+                                RequestScope scope,
+                                Function<List<Object>, AbstractHQLQueryBuilder> builder,
+                                Consumer<Object[]> rowConsumer) {
+        for (List<Object> chunk : Lists.partition(parents, maxParentsPerQuery)) {
+            List<?> rows = builder.apply(chunk)
+                    .withPossibleFilterExpression(filterExpression)
+                    .withInListPadding(scope)
+                    .build()
+                    .list();
+
+            // The session returns the same parent instances that were passed in
+            rows.forEach(row -> rowConsumer.accept((Object[]) row));
+        }
+    }
+}
@@ -7,12 +7,9 @@ package com.yahoo.elide.core.hibernate.hql;
 
 import com.yahoo.elide.core.EntityDictionary;
 import com.yahoo.elide.core.filter.FilterPredicate;
-import com.yahoo.elide.core.filter.FilterTranslator;
-import com.yahoo.elide.core.filter.expression.PredicateExtractionVisitor;
 import com.yahoo.elide.core.hibernate.Query;
 import com.yahoo.elide.core.hibernate.Session;
-
-import java.util.Collection;
+import com.yahoo.elide.core.sort.Sorting;
 
 /**
  * Constructs a HQL query to fetch a root collection.
@@ -35,52 +32,56 @@ public class RootCollectionFetchQueryBuilder extends AbstractHQLQueryBuilder {
      */
     @Override
     public Query build() {
+        addKeysetToFilterAndSorting(entityClass);
+
+        String shape = entityClass.getName()
+                + SPACE + filterExpression.map(this::getFilterShape).orElse("")
+                + SPACE + getSortingShape();
+
+        Query query = session.createQuery(getCachedQueryText(shape, this::buildQueryText));
+
+        //Fill in the query parameters
+        filterExpression.ifPresent(fe -> supplyFilterQueryParameters(query, fe));
+
+        addPaginationToQuery(query);
+        return query;
+    }
+
+    private String buildQueryText() {
         String entityName = entityClass.getCanonicalName();
         String entityAlias = FilterPredicate.getTypeAlias(entityClass);
 
-        Query query;
         if (filterExpression.isPresent()) {
-            PredicateExtractionVisitor extractor = new PredicateExtractionVisitor();
-            Collection<FilterPredicate> predicates = filterExpression.get().accept(extractor);
-
             //Build the WHERE clause
-            String filterClause = new FilterTranslator().apply(filterExpression.get(), USE_ALIAS);
+            String filterClause = getFilterTranslator().apply(filterExpression.get(), USE_ALIAS);
 
             //Build the JOIN clause
             String joinClause =  getJoinClauseFromFilters(filterExpression.get())
                     + extractToOneMergeJoins(entityClass, entityAlias);
 
-            query = session.createQuery(
-                    SELECT
-                        + entityAlias
-                        + FROM
-                        + entityName
-                        + AS
-                        + entityAlias
-                        + SPACE
-                        + joinClause
-                        + SPACE
-                        + filterClause
-                        + SPACE
-                        + getSortClause(sorting, entityClass, USE_ALIAS)
-            );
-
-            //Fill in the query parameters
-            supplyFilterQueryParameters(query, predicates);
-        } else {
-            query = session.createQuery(SELECT
+            return SELECT
                     + entityAlias
                     + FROM
                     + entityName
                     + AS
                     + entityAlias
                     + SPACE
-                    + extractToOneMergeJoins(entityClass, entityAlias)
+                    + joinClause
                     + SPACE
-                    + getSortClause(sorting, entityClass, USE_ALIAS));
+                    + filterClause
+                    + SPACE
+                    + getSortClause(sorting, entityClass, USE_ALIAS);
         }
 
-        addPaginationToQuery(query);
-        return query;
+        return SELECT
+                + entityAlias
+                + FROM
+                + entityName
+                + AS
+                + entityAlias
+                + SPACE
+                + extractToOneMergeJoins(entityClass, entityAlias)
+                + SPACE
+                + getSortClause(sorting, entityClass, USE_ALIAS);
     }
 }
@@ -7,15 +7,11 @@ package com.yahoo.elide.core.hibernate.hql;
 
 import com.yahoo.elide.core.EntityDictionary;
 import com.yahoo.elide.core.filter.FilterPredicate;
-import com.yahoo.elide.core.filter.FilterTranslator;
-import com.yahoo.elide.core.filter.expression.PredicateExtractionVisitor;
 import com.yahoo.elide.core.hibernate.Query;
 import com.yahoo.elide.core.hibernate.Session;
 import com.yahoo.elide.core.pagination.Pagination;
 import com.yahoo.elide.core.sort.Sorting;
 
-import java.util.Collection;
-import java.util.HashSet;
 import java.util.Optional;
 
 /**
@@ -57,23 +53,17 @@ public class RootCollectionPageTotalsQueryBuilder extends AbstractHQLQueryBuilde
         String entityName = entityClass.getCanonicalName();
         String entityAlias = FilterPredicate.getTypeAlias(entityClass);
 
-        Collection<FilterPredicate> predicates;
-
         String filterClause;
         String joinClause;
 
         if (filterExpression.isPresent()) {
-            PredicateExtractionVisitor extractor = new PredicateExtractionVisitor();
-            predicates = filterExpression.get().accept(extractor);
-
             //Build the WHERE clause
-            filterClause = new FilterTranslator().apply(filterExpression.get(), USE_ALIAS);
+            filterClause = getFilterTranslator().apply(filterExpression.get(), USE_ALIAS);
 
             //Build the JOIN clause
             joinClause =  getJoinClauseFromFilters(filterExpression.get());
 
         } else {
-            predicates = new HashSet<>();
             filterClause = "";
             joinClause = "";
         }
@@ -90,7 +80,7 @@ public class RootCollectionPageTotalsQueryBuilder extends AbstractHQLQueryBuilde
                 + SPACE
                 + filterClause
         );
-        supplyFilterQueryParameters(query, predicates);
+        filterExpression.ifPresent(fe -> supplyFilterQueryParameters(query, fe));
         return query;
     }
 }
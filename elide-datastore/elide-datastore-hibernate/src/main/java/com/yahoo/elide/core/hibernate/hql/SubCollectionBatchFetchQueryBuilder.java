@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.core.hibernate.hql;
+
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.filter.FilterPredicate;
+import com.yahoo.elide.core.hibernate.Query;
+import com.yahoo.elide.core.hibernate.Session;
+
+import java.util.Collection;
+
+/**
+ * Constructs a HQL query to fetch the members of a relationship for many parents at once.
+ * Every row of the query result is a pair of (parent, child).  Sorting and pagination are not supported.
+ */
+public class SubCollectionBatchFetchQueryBuilder extends AbstractHQLQueryBuilder {
+
+    private final Class<?> parentType;
+    protected final Class<?> childType;
+    private final String relationshipName;
+    private final Collection<?> parents;
+
+    public SubCollectionBatchFetchQueryBuilder(Class<?> parentType,
+                                               Class<?> childType,
+                                               String relationshipName,
+                                               Collection<?> parents,
+                                               EntityDictionary dictionary,
+                                               Session session) {
+        super(dictionary, session);
+        this.parentType = dictionary.lookupEntityClass(parentType);
+        this.childType = childType;
+        this.relationshipName = relationshipName;
+        this.parents = parents;
+    }
+
+    /**
+     * Constructs a query that returns the members of a relationship for every parent.
+     *
+     * @return the constructed query
+     */
+    @Override
+    public Query build() {
+        String childAlias = FilterPredicate.getTypeAlias(childType);
+        String parentAlias = FilterPredicate.getTypeAlias(parentType) + "__fetch";
+        String parentName = parentType.getCanonicalName();
+
+        //SELECT parent, parent_children from Parent parent JOIN parent.children parent_children
+        String selectClause = SELECT
+                + parentAlias + COMMA + SPACE + getChildSelection(childAlias)
+                + FROM
+                + parentName + SPACE + parentAlias
+                + JOIN
+                + parentAlias + PERIOD + relationshipName + SPACE + childAlias;
+
+        String parentClause = parentAlias + " IN (:" + parentAlias + ")";
+
+        Query query = filterExpression.map(fe -> {
+            String filterClause = getFilterTranslator().apply(fe, USE_ALIAS);
+
+            String joinClause = getJoinClauseFromFilters(fe)
+                    + getFetchJoins(childAlias);
+
+            Query q = session.createQuery(selectClause
+                    + joinClause
+                    + SPACE
+                    + filterClause
+                    + " AND " + parentClause
+            );
+
+            supplyFilterQueryParameters(q, fe);
+            return q;
+        }).orElseGet(() -> session.createQuery(selectClause
+                + getFetchJoins(childAlias)
+                + " WHERE " + parentClause
+        ));
+
+        query.setParameterList(parentAlias, parents);
+        return query;
+    }
+
+    /**
+     * @param childAlias the alias of the members of the relationship
+     * @return what each row selects of a member of the relationship
+     */
+    protected String getChildSelection(String childAlias) {
+        return childAlias;
+    }
+
+    /**
+     * @param childAlias the alias of the members of the relationship
+     * @return the joins which load the to-one relationships of the members along with them
+     */
+    protected String getFetchJoins(String childAlias) {
+        return extractToOneMergeJoins(childType, childAlias);
+    }
+}
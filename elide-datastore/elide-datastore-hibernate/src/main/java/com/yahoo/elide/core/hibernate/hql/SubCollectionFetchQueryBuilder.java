@@ -7,12 +7,9 @@ package com.yahoo.elide.core.hibernate.hql;
 
 import com.yahoo.elide.core.EntityDictionary;
 import com.yahoo.elide.core.filter.FilterPredicate;
-import com.yahoo.elide.core.filter.FilterTranslator;
-import com.yahoo.elide.core.filter.expression.PredicateExtractionVisitor;
 import com.yahoo.elide.core.hibernate.Query;
 import com.yahoo.elide.core.hibernate.Session;
-
-import java.util.Collection;
+import com.yahoo.elide.core.sort.Sorting;
 
 /**
  * Constructs a HQL query to fetch a hibernate collection proxy.
@@ -42,50 +39,55 @@ public class SubCollectionFetchQueryBuilder extends AbstractHQLQueryBuilder {
             return null;
         }
 
-        String childAlias = FilterPredicate.getTypeAlias(relationship.getChildType());
+        addKeysetToFilterAndSorting(relationship.getChildType());
+
         String parentAlias = FilterPredicate.getTypeAlias(relationship.getParentType()) + "__fetch";
+        String shape = relationship.getParentType().getName()
+                + PERIOD + relationship.getRelationshipName()
+                + SPACE + filterExpression.map(this::getFilterShape).orElse("")
+                + SPACE + getSortingShape();
+
+        Query query = session.createQuery(getCachedQueryText(shape, () -> buildQueryText(parentAlias)));
+
+        filterExpression.ifPresent(fe -> supplyFilterQueryParameters(query, fe));
+        query.setParameter(parentAlias, relationship.getParent());
+
+        addPaginationToQuery(query);
+        return query;
+    }
+
+    private String buildQueryText(String parentAlias) {
+        String childAlias = FilterPredicate.getTypeAlias(relationship.getChildType());
         String parentName = relationship.getParentType().getCanonicalName();
         String relationshipName = relationship.getRelationshipName();
 
-        Query query = filterExpression.map(fe -> {
-            PredicateExtractionVisitor extractor = new PredicateExtractionVisitor();
-            Collection<FilterPredicate> predicates = fe.accept(extractor);
-            String filterClause = new FilterTranslator().apply(fe, USE_ALIAS);
+        return filterExpression.map(fe -> {
+            String filterClause = getFilterTranslator().apply(fe, USE_ALIAS);
 
             String joinClause =  getJoinClauseFromFilters(filterExpression.get())
                     + extractToOneMergeJoins(relationship.getChildType(), childAlias);
 
             //SELECT parent_children from Parent parent JOIN parent.children parent_children
-            Query q = session.createQuery(SELECT
-                            + childAlias
-                            + FROM
-                            + parentName + SPACE + parentAlias
-                            + JOIN
-                            + parentAlias + PERIOD + relationshipName + SPACE + childAlias
-                            + joinClause
-                            + SPACE
-                            + filterClause
-                            + " AND " + parentAlias + "=:" + parentAlias
-                            + SPACE
-                            + getSortClause(sorting, relationship.getChildType(), USE_ALIAS)
-            );
-
-            supplyFilterQueryParameters(q, predicates);
-            return q;
-        }).orElse(session.createQuery(SELECT
-                            + childAlias
-                            + FROM
-                            + parentName + SPACE + parentAlias
-                            + JOIN
-                            + parentAlias + PERIOD + relationshipName + SPACE + childAlias
-                            + extractToOneMergeJoins(relationship.getChildType(), childAlias)
-                            + " WHERE " + parentAlias + "=:" + parentAlias
-                            + getSortClause(sorting, relationship.getChildType(), USE_ALIAS)
-        ));
-
-        query.setParameter(parentAlias, relationship.getParent());
-
-        addPaginationToQuery(query);
-        return query;
+            return SELECT
+                    + childAlias
+                    + FROM
+                    + parentName + SPACE + parentAlias
+                    + JOIN
+                    + parentAlias + PERIOD + relationshipName + SPACE + childAlias
+                    + joinClause
+                    + SPACE
+                    + filterClause
+                    + " AND " + parentAlias + "=:" + parentAlias
+                    + SPACE
+                    + getSortClause(sorting, relationship.getChildType(), USE_ALIAS);
+        }).orElseGet(() -> SELECT
+                + childAlias
+                + FROM
+                + parentName + SPACE + parentAlias
+                + JOIN
+                + parentAlias + PERIOD + relationshipName + SPACE + childAlias
+                + extractToOneMergeJoins(relationship.getChildType(), childAlias)
+                + " WHERE " + parentAlias + "=:" + parentAlias
+                + getSortClause(sorting, relationship.getChildType(), USE_ALIAS));
     }
 }
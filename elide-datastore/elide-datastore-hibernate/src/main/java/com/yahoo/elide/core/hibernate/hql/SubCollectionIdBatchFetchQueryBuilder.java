@@ -0,0 +1,39 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.core.hibernate.hql;
+
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.hibernate.Session;
+
+import java.util.Collection;
+
+/**
+ * Constructs a HQL query to fetch the ids of the members of a relationship for many parents at once.
+ * Every row of the query result is a pair of (parent, child id).  The children themselves are never loaded.
+ * Sorting and pagination are not supported.
+ */
+public class SubCollectionIdBatchFetchQueryBuilder extends SubCollectionBatchFetchQueryBuilder {
+
+    public SubCollectionIdBatchFetchQueryBuilder(Class<?> parentType,
+                                                 Class<?> childType,
+                                                 String relationshipName,
+                                                 Collection<?> parents,
+                                                 EntityDictionary dictionary,
+                                                 Session session) {
+        super(parentType, childType, relationshipName, parents, dictionary, session);
+    }
+
+    @Override
+    protected String getChildSelection(String childAlias) {
+        return childAlias + PERIOD + dictionary.getIdFieldName(childType);
+    }
+
+    @Override
+    protected String getFetchJoins(String childAlias) {
+        // The children are not selected, so there is nothing to fetch into
+        return "";
+    }
+}
@@ -60,17 +60,31 @@ public class FilterTranslatorTest {
         FilterTranslator filterOp = new FilterTranslator();
         String query = filterOp.apply(not, false);
 
-        String p1Params = p1.getParameters().stream()
+        // Parameters are named after the position of their predicate in the expression
+        String p1Params = p1.getParameters(2).stream()
                 .map(FilterPredicate.FilterParameter::getPlaceholder).collect(Collectors.joining(", "));
-        String p2Params = p2.getParameters().stream()
+        String p2Params = p2.getParameters(0).stream()
                 .map(FilterPredicate.FilterParameter::getPlaceholder).collect(Collectors.joining(", "));
-        String p3Params = p3.getParameters().stream()
+        String p3Params = p3.getParameters(1).stream()
                 .map(FilterPredicate.FilterParameter::getPlaceholder).collect(Collectors.joining(", "));
         String expected = "WHERE NOT (((name IN (" + p2Params + ") OR genre IN (" + p3Params + ")) "
                 + "AND authors.name IN (" + p1Params + ")))";
         assertEquals(expected, query);
     }
 
+    @Test
+    public void testInListPadding() throws Exception {
+        FilterPredicate in = new InPredicate(new Path.PathElement(Book.class, String.class, "name"),
+                "foo", "bar", "baz");
+        FilterPredicate notIn = new FilterPredicate(new Path.PathElement(Book.class, String.class, "genre"),
+                Operator.NOT, Arrays.asList("scifi", "poetry"));
+
+        String query = new FilterTranslator(true).apply(new AndFilterExpression(in, notIn), false);
+
+        assertEquals("WHERE (name IN (:name_0_0, :name_0_1, :name_0_2, :name_0_3) "
+                + "AND genre NOT IN (:genre_1_0, :genre_1_1))", query);
+    }
+
     @Test
     public void testEmptyFieldOnPrefix() throws Exception {
         FilterPredicate pred = new FilterPredicate(new Path.PathElement(Book.class, String.class, ""),
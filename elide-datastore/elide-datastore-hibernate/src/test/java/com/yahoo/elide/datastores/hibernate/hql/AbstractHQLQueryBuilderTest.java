@@ -161,13 +161,13 @@ public class AbstractHQLQueryBuilderTest extends AbstractHQLQueryBuilder {
 
         Query query = mock(Query.class);
         FilterPredicate predicate = new InPredicate(idPath, ABC, DEF);
-        supplyFilterQueryParameters(query, Arrays.asList(predicate));
+        supplyFilterQueryParameters(query, predicate);
 
         verify(query, times(2)).setParameter(anyString(), any());
 
         query = mock(Query.class);
         predicate = new InfixPredicate(idPath, ABC);
-        supplyFilterQueryParameters(query, Arrays.asList(predicate));
+        supplyFilterQueryParameters(query, predicate);
 
         verify(query, times(1)).setParameter(anyString(), any());
     }
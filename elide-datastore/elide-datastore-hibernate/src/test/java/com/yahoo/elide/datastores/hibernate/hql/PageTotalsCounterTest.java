@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.datastores.hibernate.hql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yahoo.elide.ElideSettings;
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.core.hibernate.Query;
+import com.yahoo.elide.core.hibernate.Session;
+import com.yahoo.elide.core.hibernate.hql.PageTotalsCounter;
+import com.yahoo.elide.core.pagination.ExpiringPageTotalsCache;
+
+import example.Author;
+import example.Book;
+import example.Chapter;
+import example.Publisher;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Optional;
+
+public class PageTotalsCounterTest {
+
+    private Session session;
+    private RequestScope scope;
+    private ElideSettings settings;
+
+    @BeforeEach
+    public void setup() {
+        EntityDictionary dictionary = new EntityDictionary(new HashMap<>());
+        dictionary.bindEntity(Book.class);
+        dictionary.bindEntity(Author.class);
+        dictionary.bindEntity(Publisher.class);
+        dictionary.bindEntity(Chapter.class);
+
+        settings = mock(ElideSettings.class);
+        scope = mock(RequestScope.class);
+        when(scope.getDictionary()).thenReturn(dictionary);
+
+        Query query = mock(Query.class, RETURNS_SELF);
+        when(query.uniqueResult()).thenReturn(3L);
+        session = mock(Session.class);
+        when(session.createQuery(anyString())).thenReturn(query);
+    }
+
+    @Test
+    public void testCountsWithoutCache() {
+        PageTotalsCounter counter = new PageTotalsCounter(session);
+
+        assertEquals(3L, (long) counter.getTotalRecords(Book.class, Optional.empty(), scope));
+        assertEquals(3L, (long) counter.getTotalRecords(Book.class, Optional.empty(), scope));
+        verify(session, times(2)).createQuery(anyString());
+    }
+
+    @Test
+    public void testCountsOnceWithCache() {
+        when(scope.getElideSettings()).thenReturn(settings);
+        when(settings.getPageTotalsCache()).thenReturn(new ExpiringPageTotalsCache(100, Duration.ofMinutes(1)));
+        PageTotalsCounter counter = new PageTotalsCounter(session);
+
+        assertEquals(3L, (long) counter.getTotalRecords(Book.class, Optional.empty(), scope));
+        assertEquals(3L, (long) counter.getTotalRecords(Book.class, Optional.empty(), scope));
+        verify(session, times(1)).createQuery(anyString());
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.datastores.hibernate.hql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.core.hibernate.Query;
+import com.yahoo.elide.core.hibernate.Session;
+import com.yahoo.elide.core.hibernate.hql.RelationshipBatchFetcher;
+import com.yahoo.elide.core.hibernate.hql.RelationshipBatchFetcher.CollectionLoadState;
+
+import example.Author;
+import example.Book;
+import example.Chapter;
+import example.Publisher;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class RelationshipBatchFetcherTest {
+
+    private static final String BOOKS = "books";
+    private static final String PARENTS = "example_Author__fetch";
+
+    private Session session;
+    private Query query;
+    private RequestScope scope;
+    private Author loadedAuthor;
+    private CollectionLoadState loadState;
+
+    @BeforeEach
+    public void setup() {
+        EntityDictionary dictionary = new EntityDictionary(new HashMap<>());
+        dictionary.bindEntity(Book.class);
+        dictionary.bindEntity(Author.class);
+        dictionary.bindEntity(Publisher.class);
+        dictionary.bindEntity(Chapter.class);
+
+        scope = mock(RequestScope.class);
+        when(scope.getDictionary()).thenReturn(dictionary);
+
+        query = mock(Query.class, RETURNS_SELF);
+        session = mock(Session.class);
+        when(session.createQuery(anyString())).thenReturn(query);
+
+        loadedAuthor = author(4L);
+        loadState = new CollectionLoadState() {
+            @Override
+            public boolean isPersistentCollection(Object value) {
+                return value instanceof Collection;
+            }
+
+            @Override
+            public boolean isLoaded(Object entity, String relationName, Object value) {
+                return entity == loadedAuthor;
+            }
+        };
+    }
+
+    @Test
+    public void testParentsAreFetchedInChunks() {
+        Author author1 = author(1L);
+        Author author2 = author(2L);
+        Author author3 = author(3L);
+        Book book1 = new Book();
+        Book book2 = new Book();
+        Book book3 = new Book();
+
+        when(query.list()).thenReturn(
+                Arrays.asList(new Object[] {author1, book1}, new Object[] {author1, book2}),
+                Collections.singletonList(new Object[] {author3, book3}));
+
+        RelationshipBatchFetcher fetcher = new RelationshipBatchFetcher(session, loadState, 2);
+        Map<Object, Object> relations = fetcher.getRelations(Arrays.asList(author1, author2, author3), BOOKS,
+                Optional.empty(), scope, entity -> null);
+
+        verify(session, times(2)).createQuery(anyString());
+        verify(query).setParameterList(PARENTS, Arrays.asList(author1, author2));
+        verify(query).setParameterList(PARENTS, Collections.singletonList(author3));
+
+        assertEquals(Arrays.asList(book1, book2), relations.get(author1));
+        assertEquals(Collections.emptyList(), relations.get(author2));
+        assertEquals(Collections.singletonList(book3), relations.get(author3));
+    }
+
+    @Test
+    public void testLoadedCollectionsAreNotFetched() {
+        List<Object> loadedBooks = Collections.singletonList(new Book());
+
+        RelationshipBatchFetcher fetcher = new RelationshipBatchFetcher(session, loadState);
+        Map<Object, Object> relations = fetcher.getRelations(Collections.singletonList(loadedAuthor), BOOKS,
+                Optional.empty(), scope, entity -> loadedBooks);
+
+        verify(session, never()).createQuery(anyString());
+        assertEquals(loadedBooks, relations.get(loadedAuthor));
+    }
+
+    @Test
+    public void testRelationIdsAreFetchedInChunks() {
+        Author author1 = author(1L);
+        Author author2 = author(2L);
+
+        when(query.list()).thenReturn(
+                Collections.singletonList(new Object[] {author1, 10L}),
+                Collections.singletonList(new Object[] {author2, 20L}));
+
+        RelationshipBatchFetcher fetcher = new RelationshipBatchFetcher(session, loadState, 1);
+        Map<Object, List<String>> ids = fetcher.getRelationIds(Arrays.asList(author1, author2, loadedAuthor),
+                BOOKS, Optional.empty(), scope,
+                otherEntities -> Collections.singletonMap(otherEntities.get(0), Collections.singletonList("40")));
+
+        verify(session, times(2)).createQuery(anyString());
+        assertEquals(Collections.singletonList("10"), ids.get(author1));
+        assertEquals(Collections.singletonList("20"), ids.get(author2));
+        assertEquals(Collections.singletonList("40"), ids.get(loadedAuthor));
+    }
+
+    private static Author author(long id) {
+        Author author = new Author();
+        author.setId(id);
+        author.setBooks(new ArrayList<>());
+        return author;
+    }
+}
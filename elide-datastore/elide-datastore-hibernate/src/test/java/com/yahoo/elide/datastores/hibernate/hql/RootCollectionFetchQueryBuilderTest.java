@@ -6,13 +6,20 @@
 package com.yahoo.elide.datastores.hibernate.hql;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import com.yahoo.elide.ElideSettingsBuilder;
 import com.yahoo.elide.core.EntityDictionary;
 import com.yahoo.elide.core.Path;
+import com.yahoo.elide.core.RequestScope;
 import com.yahoo.elide.core.filter.FilterPredicate;
 import com.yahoo.elide.core.filter.InPredicate;
 import com.yahoo.elide.core.filter.expression.OrFilterExpression;
 import com.yahoo.elide.core.hibernate.hql.RootCollectionFetchQueryBuilder;
+import com.yahoo.elide.core.pagination.Pagination;
 import com.yahoo.elide.core.sort.Sorting;
 
 import example.Author;
@@ -115,13 +122,10 @@ public class RootCollectionFetchQueryBuilderTest {
                 + "LEFT JOIN example_Author.books example_Author_books  "
                 + "LEFT JOIN example_Author_books.chapters example_Book_chapters   "
                 + "LEFT JOIN example_Author_books.publisher example_Book_publisher  "
-                + "WHERE (example_Book_chapters.title IN (:books_chapters_title_XXX, :books_chapters_title_XXX) "
-                + "OR example_Book_publisher.name IN (:books_publisher_name_XXX)) ";
+                + "WHERE (example_Book_chapters.title IN (:books_chapters_title_0_0, :books_chapters_title_0_1) "
+                + "OR example_Book_publisher.name IN (:books_publisher_name_1_0)) ";
 
         String actual = query.getQueryText();
-        actual = actual.replaceFirst(":books_chapters_title_\\w\\w\\w\\w+", ":books_chapters_title_XXX");
-        actual = actual.replaceFirst(":books_chapters_title_\\w\\w\\w\\w+", ":books_chapters_title_XXX");
-        actual = actual.replaceFirst(":books_publisher_name_\\w\\w\\w\\w+", ":books_publisher_name_XXX");
 
         assertEquals(expected, actual);
     }
@@ -153,4 +157,104 @@ public class RootCollectionFetchQueryBuilderTest {
 
         assertEquals(expected, actual);
     }
+
+    @Test
+    public void testRootFetchWithKeysetPagination() {
+        // The cursor of the page ending with the book titled "ABC" and id 7
+        Pagination pagination = Pagination.fromOffsetAndFirst(Optional.of("10"), Optional.of("WyJBQkMiLDdd"),
+                false, new ElideSettingsBuilder(null).build()).get().evaluate(Book.class);
+
+        TestQueryWrapper query = (TestQueryWrapper) new RootCollectionFetchQueryBuilder(
+                Book.class, dictionary, new TestSessionWrapper())
+                .withPossibleSorting(Optional.of(Sorting.parseSortRule(TITLE)))
+                .withPossiblePagination(Optional.of(pagination))
+                .build();
+
+        String expected = "SELECT example_Book FROM example.Book AS example_Book    "
+                + "WHERE (example_Book.title > :title_0_0 OR "
+                + "(example_Book.title IN (:title_1_0) AND example_Book.id > :id_2_0))  "
+                + "order by example_Book.title asc nulls first,example_Book.id asc nulls first";
+
+        assertEquals(expected, query.getQueryText());
+        assertEquals("ABC", query.getParameters().get("title_0_0"));
+        assertEquals(7L, query.getParameters().get("id_2_0"));
+    }
+
+    @Test
+    public void testRootFetchWithSameShapeReusesQueryText() {
+        Path.PathElement titlePath = new Path.PathElement(Book.class, String.class, TITLE);
+
+        TestQueryWrapper first = (TestQueryWrapper) new RootCollectionFetchQueryBuilder(
+                Book.class, dictionary, new TestSessionWrapper())
+                .withPossibleFilterExpression(Optional.of(new InPredicate(titlePath, "ABC")))
+                .build();
+
+        TestQueryWrapper second = (TestQueryWrapper) new RootCollectionFetchQueryBuilder(
+                Book.class, dictionary, new TestSessionWrapper())
+                .withPossibleFilterExpression(Optional.of(new InPredicate(titlePath, "DEF")))
+                .build();
+
+        assertSame(first.getQueryText(), second.getQueryText());
+        assertEquals("ABC", first.getParameters().get("title_0_0"));
+        assertEquals("DEF", second.getParameters().get("title_0_0"));
+    }
+
+    @Test
+    public void testRootFetchWithSameSimpleNameDoesNotShareQueryText() {
+        Path.PathElement titlePath = new Path.PathElement(Book.class, String.class, TITLE);
+        Path.PathElement otherTitlePath = new Path.PathElement(OtherPackage.Book.class, String.class, TITLE);
+
+        TestQueryWrapper first = (TestQueryWrapper) new RootCollectionFetchQueryBuilder(
+                Book.class, dictionary, new TestSessionWrapper())
+                .withPossibleFilterExpression(Optional.of(new InPredicate(titlePath, "ABC")))
+                .build();
+
+        TestQueryWrapper second = (TestQueryWrapper) new RootCollectionFetchQueryBuilder(
+                Book.class, dictionary, new TestSessionWrapper())
+                .withPossibleFilterExpression(Optional.of(new InPredicate(otherTitlePath, "ABC")))
+                .build();
+
+        assertNotEquals(first.getQueryText(), second.getQueryText());
+    }
+
+    @Test
+    public void testRootFetchWithInListPadding() {
+        Path.PathElement titlePath = new Path.PathElement(Book.class, String.class, TITLE);
+
+        TestQueryWrapper query = (TestQueryWrapper) new RootCollectionFetchQueryBuilder(
+                Book.class, dictionary, new TestSessionWrapper())
+                .withPossibleFilterExpression(Optional.of(new InPredicate(titlePath, "A", "B", "C")))
+                .withInListPadding(true)
+                .build();
+
+        String expected = "SELECT example_Book FROM example.Book AS example_Book  "
+                + "WHERE example_Book.title IN (:title_0_0, :title_0_1, :title_0_2, :title_0_3) ";
+
+        assertEquals(expected, query.getQueryText());
+        assertEquals("C", query.getParameters().get("title_0_3"));
+    }
+
+    @Test
+    public void testRootFetchWithInListPaddingFromSettings() {
+        Path.PathElement titlePath = new Path.PathElement(Book.class, String.class, TITLE);
+        RequestScope scope = mock(RequestScope.class);
+        when(scope.getElideSettings()).thenReturn(new ElideSettingsBuilder(null).withInListPadding(true).build());
+
+        TestQueryWrapper query = (TestQueryWrapper) new RootCollectionFetchQueryBuilder(
+                Book.class, dictionary, new TestSessionWrapper())
+                .withPossibleFilterExpression(Optional.of(new InPredicate(titlePath, "A", "B", "C")))
+                .withInListPadding(scope)
+                .build();
+
+        assertEquals("C", query.getParameters().get("title_0_3"));
+    }
+
+    /**
+     * Stands in for an entity of the same simple name in another package.
+     */
+    private static class OtherPackage {
+        private static class Book {
+            private String title;
+        }
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.datastores.hibernate.hql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.Path;
+import com.yahoo.elide.core.filter.FilterPredicate;
+import com.yahoo.elide.core.filter.InPredicate;
+import com.yahoo.elide.core.hibernate.hql.SubCollectionBatchFetchQueryBuilder;
+import com.yahoo.elide.core.hibernate.hql.SubCollectionIdBatchFetchQueryBuilder;
+
+import example.Author;
+import example.Book;
+import example.Chapter;
+import example.Publisher;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SubCollectionBatchFetchQueryBuilderTest {
+
+    private EntityDictionary dictionary;
+
+    private static final String BOOKS = "books";
+    private static final String NAME = "name";
+    private static final String PUBLISHER = "publisher";
+    private static final String PUB1 = "Pub1";
+
+    @BeforeAll
+    public void initialize() {
+        dictionary = new EntityDictionary(new HashMap<>());
+        dictionary.bindEntity(Book.class);
+        dictionary.bindEntity(Author.class);
+        dictionary.bindEntity(Publisher.class);
+        dictionary.bindEntity(Chapter.class);
+    }
+
+    @Test
+    public void testSubCollectionBatchFetch() {
+        Author author1 = new Author();
+        author1.setId(1L);
+
+        Author author2 = new Author();
+        author2.setId(2L);
+
+        SubCollectionBatchFetchQueryBuilder builder = new SubCollectionBatchFetchQueryBuilder(
+                Author.class, Book.class, BOOKS, Arrays.asList(author1, author2),
+                dictionary, new TestSessionWrapper());
+
+        TestQueryWrapper query = (TestQueryWrapper) builder.build();
+
+        String expected = "SELECT example_Author__fetch, example_Book FROM example.Author example_Author__fetch "
+                + "JOIN example_Author__fetch.books example_Book "
+                + "WHERE example_Author__fetch IN (:example_Author__fetch)";
+        String actual = query.getQueryText();
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testSubCollectionBatchFetchWithJoinFilter() {
+        Author author1 = new Author();
+        author1.setId(1L);
+
+        Author author2 = new Author();
+        author2.setId(2L);
+
+        List<Path.PathElement>  publisherNamePath = Arrays.asList(
+                new Path.PathElement(Book.class, Publisher.class, PUBLISHER),
+                new Path.PathElement(Publisher.class, String.class, NAME)
+        );
+
+        FilterPredicate publisherNamePredicate = new InPredicate(
+                new Path(publisherNamePath),
+                PUB1);
+
+        SubCollectionBatchFetchQueryBuilder builder = new SubCollectionBatchFetchQueryBuilder(
+                Author.class, Book.class, BOOKS, Arrays.asList(author1, author2),
+                dictionary, new TestSessionWrapper());
+
+        TestQueryWrapper query = (TestQueryWrapper) builder
+                .withPossibleFilterExpression(Optional.of(publisherNamePredicate))
+                .build();
+
+        String expected = "SELECT example_Author__fetch, example_Book FROM example.Author example_Author__fetch "
+                + "JOIN example_Author__fetch.books example_Book "
+                + "LEFT JOIN example_Book.publisher example_Book_publisher  "
+                + "WHERE example_Book_publisher.name IN (:publisher_name_XXX) "
+                + "AND example_Author__fetch IN (:example_Author__fetch)";
+        String actual = query.getQueryText();
+        actual = actual.replaceFirst(":publisher_name_\\w+", ":publisher_name_XXX");
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testSubCollectionIdBatchFetch() {
+        Author author1 = new Author();
+        author1.setId(1L);
+
+        Author author2 = new Author();
+        author2.setId(2L);
+
+        SubCollectionBatchFetchQueryBuilder builder = new SubCollectionIdBatchFetchQueryBuilder(
+                Author.class, Book.class, BOOKS, Arrays.asList(author1, author2),
+                dictionary, new TestSessionWrapper());
+
+        TestQueryWrapper query = (TestQueryWrapper) builder.build();
+
+        String expected = "SELECT example_Author__fetch, example_Book.id FROM example.Author example_Author__fetch "
+                + "JOIN example_Author__fetch.books example_Book "
+                + "WHERE example_Author__fetch IN (:example_Author__fetch)";
+        String actual = query.getQueryText();
+
+        assertEquals(expected, actual);
+    }
+}
@@ -10,12 +10,19 @@ import com.yahoo.elide.core.hibernate.Query;
 import lombok.Getter;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class TestQueryWrapper implements Query {
 
     @Getter
     private String queryText;
 
+    @Getter
+    private Map<String, Object> parameters = new HashMap<>();
+
     public TestQueryWrapper(String queryText) {
         this.queryText = queryText;
     }
@@ -32,7 +39,7 @@ public class TestQueryWrapper implements Query {
 
     @Override
     public Query setParameter(String name, Object value) {
-
+        parameters.put(name, value);
         return this;
     }
 
@@ -40,4 +47,14 @@ public class TestQueryWrapper implements Query {
     public Query setParameterList(String name, Collection<?> values) {
         return this;
     }
+
+    @Override
+    public List<?> list() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Object uniqueResult() {
+        return null;
+    }
 }
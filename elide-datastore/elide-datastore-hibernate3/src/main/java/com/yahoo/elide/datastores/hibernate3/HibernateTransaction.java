@@ -15,12 +15,12 @@ import com.yahoo.elide.core.filter.FilterPredicate;
 import com.yahoo.elide.core.filter.InPredicate;
 import com.yahoo.elide.core.filter.expression.AndFilterExpression;
 import com.yahoo.elide.core.filter.expression.FilterExpression;
-import com.yahoo.elide.core.hibernate.hql.AbstractHQLQueryBuilder;
+import com.yahoo.elide.core.hibernate.hql.PageTotalsCounter;
+import com.yahoo.elide.core.hibernate.hql.RelationshipBatchFetcher;
+import com.yahoo.elide.core.hibernate.hql.RelationshipBatchFetcher.CollectionLoadState;
 import com.yahoo.elide.core.hibernate.hql.RelationshipImpl;
 import com.yahoo.elide.core.hibernate.hql.RootCollectionFetchQueryBuilder;
-import com.yahoo.elide.core.hibernate.hql.RootCollectionPageTotalsQueryBuilder;
 import com.yahoo.elide.core.hibernate.hql.SubCollectionFetchQueryBuilder;
-import com.yahoo.elide.core.hibernate.hql.SubCollectionPageTotalsQueryBuilder;
 import com.yahoo.elide.core.pagination.Pagination;
 import com.yahoo.elide.core.sort.Sorting;
 import com.yahoo.elide.datastores.hibernate3.porting.QueryWrapper;
@@ -40,6 +40,8 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -49,10 +51,26 @@ import java.util.Optional;
 @Slf4j
 public class HibernateTransaction implements DataStoreTransaction {
 
+    /* Hibernate collections know whether they have been loaded */
+    private static final CollectionLoadState HIBERNATE_COLLECTIONS = new CollectionLoadState() {
+        @Override
+        public boolean isPersistentCollection(Object value) {
+            return value instanceof AbstractPersistentCollection;
+        }
+
+        @Override
+        public boolean isLoaded(Object entity, String relationName, Object value) {
+            return ((AbstractPersistentCollection) value).wasInitialized();
+        }
+    };
+
     private final Session session;
     private final SessionWrapper sessionWrapper;
+    private final RelationshipBatchFetcher batchFetcher;
+    private final PageTotalsCounter pageTotalsCounter;
     private final LinkedHashSet<Runnable> deferredTasks = new LinkedHashSet<>();
     private final boolean isScrollEnabled;
+    private final ScrollMode scrollMode;
 
     /**
      * Constructor.
@@ -64,7 +82,10 @@ public class HibernateTransaction implements DataStoreTransaction {
     protected HibernateTransaction(Session session, boolean isScrollEnabled, ScrollMode scrollMode) {
         this.session = session;
         this.sessionWrapper = new SessionWrapper(session);
+        this.pageTotalsCounter = new PageTotalsCounter(sessionWrapper);
+        this.batchFetcher = new RelationshipBatchFetcher(sessionWrapper, HIBERNATE_COLLECTIONS);
         this.isScrollEnabled = isScrollEnabled;
+        this.scrollMode = scrollMode;
     }
 
     @Override
@@ -146,6 +167,7 @@ public class HibernateTransaction implements DataStoreTransaction {
             QueryWrapper query =
                     (QueryWrapper) new RootCollectionFetchQueryBuilder(entityClass, dictionary, sessionWrapper)
                     .withPossibleFilterExpression(Optional.of(joinedExpression))
+                    .withInListPadding(scope)
                     .build();
 
             return query.getQuery().uniqueResult();
@@ -162,23 +184,26 @@ public class HibernateTransaction implements DataStoreTransaction {
             Optional<Pagination> pagination,
             RequestScope scope) {
 
-        pagination.ifPresent(p -> {
-            if (p.isGenerateTotals()) {
-                p.setPageTotals(getTotalRecords(entityClass, filterExpression, scope.getDictionary()));
-            }
-        });
-
         final QueryWrapper query =
                 (QueryWrapper) new RootCollectionFetchQueryBuilder(entityClass, scope.getDictionary(), sessionWrapper)
                         .withPossibleFilterExpression(filterExpression)
+                        .withInListPadding(scope)
                         .withPossibleSorting(sorting)
                         .withPossiblePagination(pagination)
                         .build();
 
         if (isScrollEnabled) {
-            return new ScrollableIterator<>(query.getQuery().scroll());
+            pagination.filter(Pagination::isGenerateTotals).ifPresent(p ->
+                    p.setPageTotals(pageTotalsCounter.getTotalRecords(entityClass, filterExpression, scope)));
+            org.hibernate.Query hibernateQuery = query.getQuery();
+            return new ScrollableIterator<>(scrollMode == null ? hibernateQuery.scroll()
+                    : hibernateQuery.scroll(scrollMode));
         }
-        return query.getQuery().list();
+        List<Object> results = query.getQuery().list();
+        pagination.filter(Pagination::isGenerateTotals).ifPresent(p -> p.setPageTotals(
+                p.inferPageTotals(results.size(), filterExpression, scope.getDictionary())
+                        .orElseGet(() -> pageTotalsCounter.getTotalRecords(entityClass, filterExpression, scope))));
+        return results;
     }
 
     @Override
@@ -215,63 +240,51 @@ public class HibernateTransaction implements DataStoreTransaction {
                         entity,
                         filteredVal);
 
-                pagination.ifPresent(p -> {
-                    if (p.isGenerateTotals()) {
-                        p.setPageTotals(getTotalRecords(relationship, filterExpression, dictionary));
-                    }
-                });
-
                 final QueryWrapper query =
                     (QueryWrapper) new SubCollectionFetchQueryBuilder(relationship, dictionary, sessionWrapper)
                                 .withPossibleFilterExpression(filterExpression)
+                                .withInListPadding(scope)
                                 .withPossibleSorting(sorting)
                                 .withPossiblePagination(pagination)
                                 .build();
 
                 if (query != null) {
-                    return query.getQuery().list();
+                    List<Object> results = query.getQuery().list();
+                    pagination.filter(Pagination::isGenerateTotals).ifPresent(p -> p.setPageTotals(
+                            p.inferPageTotals(results.size(), filterExpression, scope.getDictionary())
+                                    .orElseGet(() ->
+                                            pageTotalsCounter.getTotalRecords(relationship, filterExpression, scope))));
+                    return results;
                 }
             }
         }
         return val;
     }
 
-    /**
-     * Returns the total record count for a root entity and an optional filter expression.
-     * @param entityClass The entity type to count
-     * @param filterExpression optional security and request filters
-     * @param <T> The type of entity
-     * @return The total row count.
-     */
-    private <T> Long getTotalRecords(Class<T> entityClass,
-                                     Optional<FilterExpression> filterExpression,
-                                     EntityDictionary dictionary) {
-
-        QueryWrapper query =
-                (QueryWrapper) new RootCollectionPageTotalsQueryBuilder(entityClass, dictionary, sessionWrapper)
-                        .withPossibleFilterExpression(filterExpression)
-                        .build();
+    @Override
+    public Map<Object, Object> getRelations(
+            DataStoreTransaction relationTx,
+            Collection<?> entities,
+            String relationName,
+            Optional<FilterExpression> filterExpression,
+            RequestScope scope) {
 
-        return (Long) query.getQuery().uniqueResult();
+        return batchFetcher.getRelations(entities, relationName, filterExpression, scope, entity ->
+                getRelation(relationTx, entity, relationName, filterExpression, Optional.empty(), Optional.empty(),
+                        scope));
     }
 
-    /**
-     * Returns the total record count for a entity relationship
-     * @param relationship The relationship to count
-     * @param filterExpression optional security and request filters
-     * @param <T> The type of entity
-     * @return The total row count.
-     */
-    private <T> Long getTotalRecords(AbstractHQLQueryBuilder.Relationship relationship,
-                                     Optional<FilterExpression> filterExpression,
-                                     EntityDictionary dictionary) {
-
-        QueryWrapper query =
-                (QueryWrapper) new SubCollectionPageTotalsQueryBuilder(relationship, dictionary, sessionWrapper)
-                        .withPossibleFilterExpression(filterExpression)
-                        .build();
+    @Override
+    public Map<Object, List<String>> getRelationIds(
+            DataStoreTransaction relationTx,
+            Collection<?> entities,
+            String relationName,
+            Optional<FilterExpression> filterExpression,
+            RequestScope scope) {
 
-        return (Long) query.getQuery().uniqueResult();
+        return batchFetcher.getRelationIds(entities, relationName, filterExpression, scope, otherEntities ->
+                DataStoreTransaction.super.getRelationIds(relationTx, otherEntities, relationName,
+                        filterExpression, scope));
     }
 
     @Override
@@ -282,6 +295,12 @@ public class HibernateTransaction implements DataStoreTransaction {
         }
     }
 
+    @Override
+    public boolean supportsKeysetPagination(Class<?> entityClass) {
+        // Hibernate 3 HQL cannot order nulls explicitly, which the keyset filter relies upon.
+        return false;
+    }
+
     @Override
     public User accessUser(Object opaqueUser) {
         return new User(opaqueUser);
@@ -10,6 +10,7 @@ import com.yahoo.elide.core.hibernate.Query;
 import lombok.Getter;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Wraps a Hibernate 3 Query allowing most data store logic
@@ -46,4 +47,14 @@ public class QueryWrapper implements Query {
         this.query = query.setParameterList(name, values);
         return this;
     }
+
+    @Override
+    public List<?> list() {
+        return query.list();
+    }
+
+    @Override
+    public Object uniqueResult() {
+        return query.uniqueResult();
+    }
 }
@@ -37,6 +37,35 @@ public abstract class AbstractHibernateStore implements JPQLDataStore {
         this(aSessionFactory, isScrollEnabled, scrollMode, HibernateTransaction::new);
     }
 
+    /**
+     * Constructor.
+     *
+     * @param aSessionFactory Session factory
+     * @param isScrollEnabled Whether or not scrolling is enabled on driver
+     * @param scrollMode Scroll mode to use for scrolling driver
+     * @param scrollFetchSize JDBC fetch size for scrolled queries or 0 for the driver default
+     * @param isScrollEvictionEnabled Whether or not to evict scrolled rows from the session once returned
+     */
+    protected AbstractHibernateStore(SessionFactory aSessionFactory,
+                                     boolean isScrollEnabled,
+                                     ScrollMode scrollMode,
+                                     int scrollFetchSize,
+                                     boolean isScrollEvictionEnabled) {
+        this(aSessionFactory, isScrollEnabled, scrollMode, new HibernateTransactionSupplier() {
+            @Override
+            public HibernateTransaction get(Session session, boolean isScrollEnabled, ScrollMode scrollMode) {
+                return get(session, isScrollEnabled, scrollMode, false);
+            }
+
+            @Override
+            public HibernateTransaction get(Session session, boolean isScrollEnabled, ScrollMode scrollMode,
+                                            boolean isReadOnly) {
+                return new HibernateTransaction(session, isScrollEnabled, scrollMode, isReadOnly,
+                        scrollFetchSize, isScrollEvictionEnabled);
+            }
+        });
+    }
+
     /**
      * Constructor.
      *
@@ -64,8 +93,12 @@ public abstract class AbstractHibernateStore implements JPQLDataStore {
     public static class Builder {
         private final SessionFactory sessionFactory;
         private final EntityManager entityManager;
+        private SessionFactory readSessionFactory;
+        private EntityManager readEntityManager;
         private boolean isScrollEnabled;
         private ScrollMode scrollMode;
+        private int scrollFetchSize;
+        private boolean isScrollEvictionEnabled;
 
         public Builder(final SessionFactory sessionFactory) {
             this.sessionFactory = sessionFactory;
@@ -99,11 +132,65 @@ public abstract class AbstractHibernateStore implements JPQLDataStore {
             return this;
         }
 
+        /**
+         * Sets the JDBC fetch size of scrolled queries, which bounds the rows a streaming driver buffers.
+         *
+         * @param scrollFetchSize the fetch size or 0 for the driver default
+         * @return the builder
+         */
+        public Builder withScrollFetchSize(final int scrollFetchSize) {
+            this.scrollFetchSize = scrollFetchSize;
+            return this;
+        }
+
+        /**
+         * Evicts scrolled rows from the session once a streamed response has written them, in batches of the
+         * scroll fetch size (at least 1000), so a session holds a bounded number of scrolled rows rather than the
+         * whole result.  Rows are only evicted from collections which are written as they are read, without
+         * includes or sorting in memory.  Evicted rows are detached, so this only suits readers which do not
+         * navigate uninitialized lazy associations.
+         *
+         * @param isScrollEvictionEnabled whether or not to evict scrolled rows
+         * @return the builder
+         */
+        public Builder withScrollEviction(final boolean isScrollEvictionEnabled) {
+            this.isScrollEvictionEnabled = isScrollEvictionEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the session factory read transactions are started from, such as one for a read replica.
+         * Only used by stores built from a session factory.
+         *
+         * @param readSessionFactory the session factory for read transactions
+         * @return the builder
+         */
+        public Builder withReadSessionFactory(final SessionFactory readSessionFactory) {
+            this.readSessionFactory = readSessionFactory;
+            return this;
+        }
+
+        /**
+         * Sets the entity manager read transactions are started from, such as one for a read replica.
+         * Only used by stores built from an entity manager.
+         *
+         * @param readEntityManager the entity manager for read transactions
+         * @return the builder
+         */
+        public Builder withReadEntityManager(final EntityManager readEntityManager) {
+            this.readEntityManager = readEntityManager;
+            return this;
+        }
+
         public AbstractHibernateStore build() {
             if (sessionFactory != null) {
-                return new HibernateSessionFactoryStore(sessionFactory, isScrollEnabled, scrollMode);
+                return new HibernateSessionFactoryStore(sessionFactory,
+                        readSessionFactory == null ? sessionFactory : readSessionFactory,
+                        isScrollEnabled, scrollMode, scrollFetchSize, isScrollEvictionEnabled);
             } else if (entityManager != null) {
-                return new HibernateEntityManagerStore(entityManager, isScrollEnabled, scrollMode);
+                return new HibernateEntityManagerStore(entityManager,
+                        readEntityManager == null ? entityManager : readEntityManager,
+                        isScrollEnabled, scrollMode, scrollFetchSize, isScrollEvictionEnabled);
             }
             throw new IllegalStateException("Either an EntityManager or SessionFactory is required!");
         }
@@ -144,5 +231,22 @@ public abstract class AbstractHibernateStore implements JPQLDataStore {
     @FunctionalInterface
     public interface HibernateTransactionSupplier {
         HibernateTransaction get(Session session, boolean isScrollEnabled, ScrollMode scrollMode);
+
+        /**
+         * Supply a transaction which is either a read or a read/write transaction.
+         * <p>
+         * Suppliers which only implement {@link #get(Session, boolean, ScrollMode)} start read/write
+         * transactions for reads as well.
+         *
+         * @param session Hibernate session
+         * @param isScrollEnabled Whether or not scrolling is enabled
+         * @param scrollMode Scroll mode to use if scrolling enabled
+         * @param isReadOnly Whether or not the transaction only reads
+         * @return transaction
+         */
+        default HibernateTransaction get(Session session, boolean isScrollEnabled, ScrollMode scrollMode,
+                                         boolean isReadOnly) {
+            return get(session, isScrollEnabled, scrollMode);
+        }
     }
 }
@@ -20,6 +20,7 @@ import javax.persistence.metamodel.EntityType;
  */
 public class HibernateEntityManagerStore extends AbstractHibernateStore {
     protected final EntityManager entityManager;
+    protected final EntityManager readEntityManager;
 
     @Deprecated
     public HibernateEntityManagerStore(HibernateEntityManager entityManager,
@@ -27,6 +28,7 @@ public class HibernateEntityManagerStore extends AbstractHibernateStore {
                                        ScrollMode scrollMode) {
         super(null, isScrollEnabled, scrollMode);
         this.entityManager = entityManager;
+        this.readEntityManager = entityManager;
     }
 
     public HibernateEntityManagerStore(EntityManager entityManager,
@@ -34,6 +36,28 @@ public class HibernateEntityManagerStore extends AbstractHibernateStore {
                                        ScrollMode scrollMode) {
         super(null, isScrollEnabled, scrollMode);
         this.entityManager = entityManager;
+        this.readEntityManager = entityManager;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param entityManager Entity manager
+     * @param readEntityManager Entity manager for read transactions, such as one for a read replica
+     * @param isScrollEnabled Whether or not scrolling is enabled on driver
+     * @param scrollMode Scroll mode to use for scrolling driver
+     * @param scrollFetchSize JDBC fetch size for scrolled queries or 0 for the driver default
+     * @param isScrollEvictionEnabled Whether or not to evict scrolled rows from the session once returned
+     */
+    public HibernateEntityManagerStore(EntityManager entityManager,
+                                       EntityManager readEntityManager,
+                                       boolean isScrollEnabled,
+                                       ScrollMode scrollMode,
+                                       int scrollFetchSize,
+                                       boolean isScrollEvictionEnabled) {
+        super(null, isScrollEnabled, scrollMode, scrollFetchSize, isScrollEvictionEnabled);
+        this.entityManager = entityManager;
+        this.readEntityManager = readEntityManager;
     }
 
     /**
@@ -57,7 +81,16 @@ public class HibernateEntityManagerStore extends AbstractHibernateStore {
         Session session = getSession();
         session.beginTransaction();
         session.clear();
-        return transactionSupplier.get(session, isScrollEnabled, scrollMode);
+        return transactionSupplier.get(session, isScrollEnabled, scrollMode, false);
+    }
+
+    @Override
+    @SuppressWarnings("resource")
+    public DataStoreTransaction beginReadTransaction() {
+        Session session = readEntityManager.unwrap(Session.class);
+        session.beginTransaction();
+        session.clear();
+        return transactionSupplier.get(session, isScrollEnabled, scrollMode, true);
     }
 
     @Override
@@ -20,11 +20,33 @@ import javax.persistence.PersistenceException;
  * Implementation for HibernateStore supporting SessionFactory.
  */
 public class HibernateSessionFactoryStore extends AbstractHibernateStore {
+    protected final SessionFactory readSessionFactory;
 
     public HibernateSessionFactoryStore(SessionFactory aSessionFactory,
                                            boolean isScrollEnabled,
                                            ScrollMode scrollMode) {
         super(aSessionFactory, isScrollEnabled, scrollMode);
+        this.readSessionFactory = aSessionFactory;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param aSessionFactory Session factory
+     * @param readSessionFactory Session factory for read transactions, such as one for a read replica
+     * @param isScrollEnabled Whether or not scrolling is enabled on driver
+     * @param scrollMode Scroll mode to use for scrolling driver
+     * @param scrollFetchSize JDBC fetch size for scrolled queries or 0 for the driver default
+     * @param isScrollEvictionEnabled Whether or not to evict scrolled rows from the session once returned
+     */
+    public HibernateSessionFactoryStore(SessionFactory aSessionFactory,
+                                        SessionFactory readSessionFactory,
+                                        boolean isScrollEnabled,
+                                        ScrollMode scrollMode,
+                                        int scrollFetchSize,
+                                        boolean isScrollEvictionEnabled) {
+        super(aSessionFactory, isScrollEnabled, scrollMode, scrollFetchSize, isScrollEvictionEnabled);
+        this.readSessionFactory = readSessionFactory;
     }
 
     /**
@@ -54,6 +76,14 @@ public class HibernateSessionFactoryStore extends AbstractHibernateStore {
         Session session = sessionFactory.getCurrentSession();
         Preconditions.checkNotNull(session);
         session.beginTransaction();
-        return transactionSupplier.get(session, isScrollEnabled, scrollMode);
+        return transactionSupplier.get(session, isScrollEnabled, scrollMode, false);
+    }
+
+    @Override
+    public DataStoreTransaction beginReadTransaction() {
+        Session session = readSessionFactory.getCurrentSession();
+        Preconditions.checkNotNull(session);
+        session.beginTransaction();
+        return transactionSupplier.get(session, isScrollEnabled, scrollMode, true);
     }
 }
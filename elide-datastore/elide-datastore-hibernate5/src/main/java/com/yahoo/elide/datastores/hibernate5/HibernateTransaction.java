@@ -15,12 +15,12 @@ import com.yahoo.elide.core.filter.FilterPredicate;
 import com.yahoo.elide.core.filter.InPredicate;
 import com.yahoo.elide.core.filter.expression.AndFilterExpression;
 import com.yahoo.elide.core.filter.expression.FilterExpression;
-import com.yahoo.elide.core.hibernate.hql.AbstractHQLQueryBuilder;
+import com.yahoo.elide.core.hibernate.hql.PageTotalsCounter;
+import com.yahoo.elide.core.hibernate.hql.RelationshipBatchFetcher;
+import com.yahoo.elide.core.hibernate.hql.RelationshipBatchFetcher.CollectionLoadState;
 import com.yahoo.elide.core.hibernate.hql.RelationshipImpl;
 import com.yahoo.elide.core.hibernate.hql.RootCollectionFetchQueryBuilder;
-import com.yahoo.elide.core.hibernate.hql.RootCollectionPageTotalsQueryBuilder;
 import com.yahoo.elide.core.hibernate.hql.SubCollectionFetchQueryBuilder;
-import com.yahoo.elide.core.hibernate.hql.SubCollectionPageTotalsQueryBuilder;
 import com.yahoo.elide.core.pagination.Pagination;
 import com.yahoo.elide.core.sort.Sorting;
 import com.yahoo.elide.datastores.hibernate5.porting.QueryWrapper;
@@ -30,6 +30,7 @@ import com.yahoo.elide.security.User;
 import org.hibernate.FlushMode;
 import org.hibernate.ObjectNotFoundException;
 import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.collection.internal.AbstractPersistentCollection;
 
@@ -39,6 +40,8 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import javax.persistence.PersistenceException;
@@ -49,10 +52,34 @@ import javax.persistence.PersistenceException;
 @Slf4j
 public class HibernateTransaction implements DataStoreTransaction {
 
+    /* Rows a response writer may still read after the scroll moved past them, such as a batch being written */
+    private static final int MIN_EVICTION_INTERVAL = 1000;
+
+    /* Hibernate collections know whether they have been loaded */
+    private static final CollectionLoadState HIBERNATE_COLLECTIONS = new CollectionLoadState() {
+        @Override
+        public boolean isPersistentCollection(Object value) {
+            return value instanceof AbstractPersistentCollection;
+        }
+
+        @Override
+        public boolean isLoaded(Object entity, String relationName, Object value) {
+            return ((AbstractPersistentCollection) value).wasInitialized();
+        }
+    };
+
     private final Session session;
     private final SessionWrapper sessionWrapper;
+    private final RelationshipBatchFetcher batchFetcher;
+    private final PageTotalsCounter pageTotalsCounter;
     private final LinkedHashSet<Runnable> deferredTasks = new LinkedHashSet<>();
     private final boolean isScrollEnabled;
+    private final ScrollMode scrollMode;
+    private final int scrollFetchSize;
+    private final boolean isScrollEvictionEnabled;
+    private final boolean isReadOnly;
+    private final FlushMode originalFlushMode;
+    private final boolean originalDefaultReadOnly;
 
     /**
      * Constructor.
@@ -62,14 +89,43 @@ public class HibernateTransaction implements DataStoreTransaction {
      * @param scrollMode Scroll mode to use if scrolling enabled
      */
     protected HibernateTransaction(Session session, boolean isScrollEnabled, ScrollMode scrollMode) {
+        this(session, isScrollEnabled, scrollMode, false, 0, false);
+    }
+
+    /**
+     * Constructor.
+     * <p>
+     * A read transaction loads entities read only, never flushes and skips the deferred writes.  The session's
+     * flush mode and read only default are restored when the transaction ends.
+     *
+     * @param session Hibernate session
+     * @param isScrollEnabled Whether or not scrolling is enabled
+     * @param scrollMode Scroll mode to use if scrolling enabled
+     * @param isReadOnly Whether or not this is a read transaction
+     * @param scrollFetchSize JDBC fetch size for scrolled queries or 0 for the driver default
+     * @param isScrollEvictionEnabled Whether or not to evict scrolled rows from the session once streamed
+     */
+    protected HibernateTransaction(Session session, boolean isScrollEnabled, ScrollMode scrollMode,
+                                   boolean isReadOnly, int scrollFetchSize, boolean isScrollEvictionEnabled) {
         this.session = session;
-        // Elide must not flush until all beans are ready
-        FlushMode flushMode = session.getHibernateFlushMode();
-        if (flushMode != FlushMode.COMMIT && flushMode != FlushMode.MANUAL) {
+        this.isReadOnly = isReadOnly;
+        this.originalFlushMode = session.getHibernateFlushMode();
+        this.originalDefaultReadOnly = session.isDefaultReadOnly();
+        if (isReadOnly) {
+            // Read only entities are never dirty, so there is nothing to flush
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+        } else if (originalFlushMode != FlushMode.COMMIT && originalFlushMode != FlushMode.MANUAL) {
+            // Elide must not flush until all beans are ready
             session.setHibernateFlushMode(FlushMode.COMMIT);
         }
         this.sessionWrapper = new SessionWrapper(session);
+        this.pageTotalsCounter = new PageTotalsCounter(sessionWrapper);
+        this.batchFetcher = new RelationshipBatchFetcher(sessionWrapper, HIBERNATE_COLLECTIONS);
         this.isScrollEnabled = isScrollEnabled;
+        this.scrollMode = scrollMode;
+        this.scrollFetchSize = scrollFetchSize;
+        this.isScrollEvictionEnabled = isScrollEvictionEnabled;
     }
 
     @Override
@@ -84,6 +140,9 @@ public class HibernateTransaction implements DataStoreTransaction {
 
     @Override
     public void flush(RequestScope requestScope) {
+        if (isReadOnly) {
+            return;
+        }
         try {
             deferredTasks.forEach(Runnable::run);
             deferredTasks.clear();
@@ -108,6 +167,18 @@ public class HibernateTransaction implements DataStoreTransaction {
             this.session.getTransaction().commit();
         } catch (PersistenceException e) {
             throw new TransactionException(e);
+        } finally {
+            restoreReadOnlySession();
+        }
+    }
+
+    /**
+     * Undo the settings of a read transaction on sessions which outlive it.
+     */
+    private void restoreReadOnlySession() {
+        if (isReadOnly && session.isOpen()) {
+            session.setDefaultReadOnly(originalDefaultReadOnly);
+            session.setHibernateFlushMode(originalFlushMode);
         }
     }
 
@@ -151,6 +222,7 @@ public class HibernateTransaction implements DataStoreTransaction {
             QueryWrapper query =
                     (QueryWrapper) new RootCollectionFetchQueryBuilder(entityClass, dictionary, sessionWrapper)
                     .withPossibleFilterExpression(Optional.of(joinedExpression))
+                    .withInListPadding(scope)
                     .build();
 
             return query.getQuery().uniqueResult();
@@ -167,24 +239,35 @@ public class HibernateTransaction implements DataStoreTransaction {
             Optional<Pagination> pagination,
             RequestScope scope) {
 
-        pagination.ifPresent(p -> {
-            if (p.isGenerateTotals()) {
-                p.setPageTotals(getTotalRecords(entityClass, filterExpression, scope.getDictionary()));
-            }
-        });
-
         final QueryWrapper query =
                 (QueryWrapper) new RootCollectionFetchQueryBuilder(entityClass, scope.getDictionary(), sessionWrapper)
                         .withPossibleFilterExpression(filterExpression)
+                        .withInListPadding(scope)
                         .withPossibleSorting(sorting)
                         .withPossiblePagination(pagination)
                         .build();
 
-
         if (isScrollEnabled) {
-            return new ScrollableIterator<>(query.getQuery().scroll());
+            pagination.filter(Pagination::isGenerateTotals).ifPresent(p ->
+                    p.setPageTotals(pageTotalsCounter.getTotalRecords(entityClass, filterExpression, scope)));
+            return scroll(query.getQuery(), isScrollEvictionEnabled && scope.isStreamingResults());
         }
-        return (Iterable) query.getQuery().list();
+        List<Object> results = (List) query.getQuery().list();
+        pagination.filter(Pagination::isGenerateTotals).ifPresent(p -> p.setPageTotals(
+                p.inferPageTotals(results.size(), filterExpression, scope.getDictionary())
+                        .orElseGet(() -> pageTotalsCounter.getTotalRecords(entityClass, filterExpression, scope))));
+        return results;
+    }
+
+    private <T> Iterable<T> scroll(org.hibernate.Query<?> query, boolean isEvicting) {
+        if (scrollFetchSize > 0) {
+            query.setFetchSize(scrollFetchSize);
+        }
+        ScrollableResults results = scrollMode == null ? query.scroll() : query.scroll(scrollMode);
+        if (isEvicting) {
+            return new ScrollableIterator<>(results, session, Math.max(scrollFetchSize, MIN_EVICTION_INTERVAL));
+        }
+        return new ScrollableIterator<>(results);
     }
 
     @Override
@@ -221,76 +304,67 @@ public class HibernateTransaction implements DataStoreTransaction {
                         entity,
                         filteredVal);
 
-                pagination.ifPresent(p -> {
-                    if (p.isGenerateTotals()) {
-                        p.setPageTotals(getTotalRecords(relationship, filterExpression, dictionary));
-                    }
-                });
-
                 final QueryWrapper query = (QueryWrapper)
                         new SubCollectionFetchQueryBuilder(relationship, dictionary, sessionWrapper)
                                 .withPossibleFilterExpression(filterExpression)
+                                .withInListPadding(scope)
                                 .withPossibleSorting(sorting)
                                 .withPossiblePagination(pagination)
                                 .build();
 
                 if (query != null) {
-                    return query.getQuery().list();
+                    List<Object> results = (List) query.getQuery().list();
+                    pagination.filter(Pagination::isGenerateTotals).ifPresent(p -> p.setPageTotals(
+                            p.inferPageTotals(results.size(), filterExpression, scope.getDictionary())
+                                    .orElseGet(() ->
+                                            pageTotalsCounter.getTotalRecords(relationship, filterExpression, scope))));
+                    return results;
                 }
             }
         }
         return val;
     }
 
-    /**
-     * Returns the total record count for a root entity and an optional filter expression.
-     * @param entityClass The entity type to count
-     * @param filterExpression optional security and request filters
-     * @param dictionary the entity dictionary
-     * @param <T> The type of entity
-     * @return The total row count.
-     */
-    private <T> Long getTotalRecords(Class<T> entityClass,
-                                     Optional<FilterExpression> filterExpression,
-                                     EntityDictionary dictionary) {
-
-
-        QueryWrapper query = (QueryWrapper)
-                new RootCollectionPageTotalsQueryBuilder(entityClass, dictionary, sessionWrapper)
-                .withPossibleFilterExpression(filterExpression)
-                .build();
+    @Override
+    public Map<Object, Object> getRelations(
+            DataStoreTransaction relationTx,
+            Collection<?> entities,
+            String relationName,
+            Optional<FilterExpression> filterExpression,
+            RequestScope scope) {
 
-        return (Long) query.getQuery().uniqueResult();
+        return batchFetcher.getRelations(entities, relationName, filterExpression, scope, entity ->
+                getRelation(relationTx, entity, relationName, filterExpression, Optional.empty(), Optional.empty(),
+                        scope));
     }
 
-    /**
-     * Returns the total record count for a entity relationship
-     * @param relationship The relationship
-     * @param filterExpression optional security and request filters
-     * @param dictionary the entity dictionary
-     * @param <T> The type of entity
-     * @return The total row count.
-     */
-    private <T> Long getTotalRecords(AbstractHQLQueryBuilder.Relationship relationship,
-                                     Optional<FilterExpression> filterExpression,
-                                     EntityDictionary dictionary) {
-
-        QueryWrapper query = (QueryWrapper)
-                new SubCollectionPageTotalsQueryBuilder(relationship, dictionary, sessionWrapper)
-                .withPossibleFilterExpression(filterExpression)
-                .build();
+    @Override
+    public Map<Object, List<String>> getRelationIds(
+            DataStoreTransaction relationTx,
+            Collection<?> entities,
+            String relationName,
+            Optional<FilterExpression> filterExpression,
+            RequestScope scope) {
 
-        return (Long) query.getQuery().uniqueResult();
+        return batchFetcher.getRelationIds(entities, relationName, filterExpression, scope, otherEntities ->
+                DataStoreTransaction.super.getRelationIds(relationTx, otherEntities, relationName,
+                        filterExpression, scope));
     }
 
     @Override
     public void close() throws IOException {
         if (session.isOpen() && session.getTransaction().getStatus().canRollback()) {
             session.getTransaction().rollback();
+            restoreReadOnlySession();
             throw new IOException("Transaction not closed");
         }
     }
 
+    @Override
+    public boolean supportsKeysetPagination(Class<?> entityClass) {
+        return true;
+    }
+
     @Override
     public User accessUser(Object opaqueUser) {
         return new User(opaqueUser);
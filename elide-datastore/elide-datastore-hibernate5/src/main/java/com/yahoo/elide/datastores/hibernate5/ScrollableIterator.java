@@ -9,26 +9,53 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterators;
 
 import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 
 import lombok.NonNull;
 
+import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Wraps ScrollableResult as Iterator.
+ * <p>
+ * When given a session to evict from, rows already returned are evicted from it in batches.  The last
+ * {@code evictionInterval} rows returned always stay attached, and the session holds at most twice as many scrolled
+ * rows at a time.  Evicted rows are detached: lazy associations which were not initialized before eviction can no
+ * longer be loaded.
  *
  * @param <T> type of return object
  */
 public class ScrollableIterator<T> implements Iterable<T>, Iterator<T> {
     private final ScrollableResults scroll;
+    private final Session evictionSession;
+    private final int evictionInterval;
+    private final List<T> attached;
     private boolean inUse = false;
     private boolean hasNext = false;
 
     public ScrollableIterator(ScrollableResults scroll) {
+        this(scroll, null, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param scroll the results to iterate
+     * @param evictionSession the session to evict returned rows from or null to keep them attached
+     * @param evictionInterval the number of last returned rows which stay attached
+     */
+    public ScrollableIterator(ScrollableResults scroll, Session evictionSession, int evictionInterval) {
+        Preconditions.checkArgument(evictionSession == null || evictionInterval > 0);
+
         this.scroll = scroll;
+        this.evictionSession = evictionSession;
+        this.evictionInterval = evictionInterval;
+        this.attached = new ArrayList<>();
 
-        hasNext = scroll.next();
+        advance();
     }
 
     @Override
@@ -51,7 +78,23 @@ public class ScrollableIterator<T> implements Iterable<T>, Iterator<T> {
         @SuppressWarnings("unchecked")
         @NonNull T row = (T) scroll.get()[0];
         Preconditions.checkNotNull(row);
-        hasNext = scroll.next();
+        if (evictionSession != null) {
+            attached.add(row);
+            if (attached.size() >= 2 * evictionInterval) {
+                List<T> evicted = attached.subList(0, evictionInterval);
+                evicted.forEach(evictionSession::evict);
+                evicted.clear();
+            }
+        }
+        advance();
         return row;
     }
+
+    private void advance() {
+        hasNext = scroll.next();
+        if (!hasNext) {
+            // Release the cursor as soon as the results are exhausted
+            scroll.close();
+        }
+    }
 }
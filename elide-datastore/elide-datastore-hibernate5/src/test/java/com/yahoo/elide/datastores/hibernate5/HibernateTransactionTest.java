@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.datastores.hibernate5;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hibernate.FlushMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.junit.jupiter.api.Test;
+
+public class HibernateTransactionTest {
+
+    @Test
+    public void testReadOnlySessionNeverFlushes() {
+        Session session = mock(Session.class);
+        Transaction transaction = mock(Transaction.class);
+        when(session.isOpen()).thenReturn(true);
+        when(session.getHibernateFlushMode()).thenReturn(FlushMode.AUTO);
+        when(session.getTransaction()).thenReturn(transaction);
+
+        HibernateTransaction tx = new HibernateTransaction(session, false, ScrollMode.FORWARD_ONLY, true, 0, false);
+        verify(session).setDefaultReadOnly(true);
+        verify(session).setHibernateFlushMode(FlushMode.MANUAL);
+
+        tx.save(new Object(), null);
+        tx.commit(null);
+
+        verify(session, never()).saveOrUpdate(any());
+        verify(session, never()).flush();
+        verify(transaction).commit();
+        verify(session).setDefaultReadOnly(false);
+        verify(session).setHibernateFlushMode(FlushMode.AUTO);
+    }
+
+    @Test
+    public void testReadOnlyByDefaultSessionStaysReadOnly() {
+        Session session = mock(Session.class);
+        Transaction transaction = mock(Transaction.class);
+        when(session.isOpen()).thenReturn(true);
+        when(session.isDefaultReadOnly()).thenReturn(true);
+        when(session.getHibernateFlushMode()).thenReturn(FlushMode.COMMIT);
+        when(session.getTransaction()).thenReturn(transaction);
+
+        HibernateTransaction tx = new HibernateTransaction(session, false, ScrollMode.FORWARD_ONLY, true, 0, false);
+        tx.commit(null);
+
+        verify(session, times(2)).setDefaultReadOnly(true);
+        verify(session, never()).setDefaultReadOnly(false);
+        verify(session).setHibernateFlushMode(FlushMode.COMMIT);
+    }
+
+    @Test
+    public void testWriteSessionFlushesOnCommit() {
+        Session session = mock(Session.class);
+        Transaction transaction = mock(Transaction.class);
+        when(session.getHibernateFlushMode()).thenReturn(FlushMode.COMMIT);
+        when(session.getTransaction()).thenReturn(transaction);
+
+        HibernateTransaction tx = new HibernateTransaction(session, false, ScrollMode.FORWARD_ONLY);
+        Object object = new Object();
+        tx.save(object, null);
+        tx.commit(null);
+
+        verify(session).saveOrUpdate(object);
+        verify(session).flush();
+        verify(transaction).commit();
+        verify(session, never()).setDefaultReadOnly(false);
+    }
+
+    @Test
+    public void testReadOnlyByDefaultSessionStillWrites() {
+        Session session = mock(Session.class);
+        Transaction transaction = mock(Transaction.class);
+        when(session.isDefaultReadOnly()).thenReturn(true);
+        when(session.getHibernateFlushMode()).thenReturn(FlushMode.COMMIT);
+        when(session.getTransaction()).thenReturn(transaction);
+
+        HibernateTransaction tx = new HibernateTransaction(session, false, ScrollMode.FORWARD_ONLY);
+        Object object = new Object();
+        tx.save(object, null);
+        tx.commit(null);
+
+        verify(session).saveOrUpdate(object);
+        verify(session).flush();
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.datastores.hibernate5;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.yahoo.elide.Elide;
+import com.yahoo.elide.ElideResponse;
+import com.yahoo.elide.ElideSettings;
+import com.yahoo.elide.ElideSettingsBuilder;
+import com.yahoo.elide.core.DataStore;
+import com.yahoo.elide.core.DataStoreTransaction;
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.HttpStatus;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.models.generics.Manager;
+import com.yahoo.elide.models.triggers.Invoice;
+import com.yahoo.elide.security.User;
+import com.yahoo.elide.utils.ClassScanner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import example.Author;
+import example.TestCheckMappings;
+import org.hibernate.ScrollMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.Environment;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.Entity;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * Verifies against a real session that scrolled rows are evicted only while a streamed response writes them.
+ */
+public class ScrollEvictionTest {
+
+    /* Enough rows for the scroll to evict at least one batch at the minimum eviction interval */
+    private static final int ROWS = 3000;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static SessionFactory sessionFactory;
+    private static DataStore store;
+    private static ElideSettings settings;
+    private static Elide elide;
+
+    @BeforeAll
+    public static void setup() {
+        MetadataSources metadataSources = new MetadataSources(
+                new StandardServiceRegistryBuilder()
+                        .configure("hibernate.cfg.xml")
+                        .applySetting(Environment.CURRENT_SESSION_CONTEXT_CLASS, "thread")
+                        .applySetting(Environment.DIALECT, "org.hibernate.dialect.H2Dialect")
+                        .applySetting(Environment.URL, "jdbc:h2:mem:scrollEviction;IGNORECASE=TRUE")
+                        .applySetting(Environment.USER, "root")
+                        .applySetting(Environment.PASS, "root")
+                        .applySetting(Environment.HBM2DDL_AUTO, "create-drop")
+                        .build());
+        ClassScanner.getAnnotatedClasses(Author.class.getPackage(), Entity.class)
+                .forEach(metadataSources::addAnnotatedClass);
+        ClassScanner.getAnnotatedClasses(Manager.class.getPackage(), Entity.class)
+                .forEach(metadataSources::addAnnotatedClass);
+        ClassScanner.getAnnotatedClasses(Invoice.class.getPackage(), Entity.class)
+                .forEach(metadataSources::addAnnotatedClass);
+        sessionFactory = metadataSources.buildMetadata().buildSessionFactory();
+
+        Session session = sessionFactory.getCurrentSession();
+        session.beginTransaction();
+        for (int i = 0; i < ROWS; i++) {
+            Author author = new Author();
+            author.setName("Author " + i);
+            session.save(author);
+        }
+        session.getTransaction().commit();
+
+        store = new AbstractHibernateStore.Builder(sessionFactory)
+                .withScrollEnabled(true)
+                .withScrollMode(ScrollMode.FORWARD_ONLY)
+                .withScrollEviction(true)
+                .build();
+        settings = new ElideSettingsBuilder(store)
+                .withEntityDictionary(new EntityDictionary(TestCheckMappings.MAPPINGS))
+                .withStreamingResponses(true)
+                .withDefaultPageSize(ROWS)
+                .withDefaultMaxPageSize(ROWS)
+                .build();
+        elide = new Elide(settings);
+    }
+
+    @AfterAll
+    public static void teardown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    public void testRowsAreEvictedWhileStreaming() throws Exception {
+        SessionProbe probe = get(new MultivaluedHashMap<>());
+
+        assertEquals(ROWS, MAPPER.readTree(probe.toByteArray()).get("data").size());
+        assertTrue(probe.getMaxManagedEntities() < ROWS,
+                "Streamed rows should be evicted, but " + probe.getMaxManagedEntities() + " were managed");
+    }
+
+    @Test
+    public void testRowsStayManagedWithIncludes() throws Exception {
+        MultivaluedMap<String, String> queryParams = new MultivaluedHashMap<>();
+        queryParams.putSingle("include", "books");
+        SessionProbe probe = get(queryParams);
+
+        JsonNode body = MAPPER.readTree(probe.toByteArray());
+        assertEquals(ROWS, body.get("data").size());
+        assertTrue(probe.getMaxManagedEntities() >= ROWS,
+                "Rows of a response with includes should stay managed, but only "
+                        + probe.getMaxManagedEntities() + " were");
+    }
+
+    @Test
+    public void testRowsStayManagedWhenNotStreaming() throws Exception {
+        DataStoreTransaction tx = store.beginReadTransaction();
+        RequestScope scope = new RequestScope("/author", null, tx, new User(null), null, settings);
+
+        List<Object> authors = new ArrayList<>();
+        tx.loadObjects(Author.class, Optional.empty(), Optional.empty(), Optional.empty(), scope)
+                .forEach(authors::add);
+
+        Session session = sessionFactory.getCurrentSession();
+        boolean isManaged = authors.stream().allMatch(session::contains);
+        tx.commit(scope);
+        tx.close();
+
+        assertEquals(ROWS, authors.size());
+        assertTrue(isManaged, "Rows which are not streamed should stay managed");
+    }
+
+    /**
+     * Writes the body of a streamed GET of every author and samples the session while it is written.
+     */
+    private static SessionProbe get(MultivaluedMap<String, String> queryParams) throws Exception {
+        ElideResponse response = elide.get("/author", queryParams, null);
+        assertEquals(HttpStatus.SC_OK, response.getResponseCode());
+        assertTrue(response.isStreaming());
+
+        SessionProbe probe = new SessionProbe(sessionFactory);
+        response.getStreamingBody().write(probe);
+        return probe;
+    }
+
+    /**
+     * Collects the body and records the most entities the session managed whenever the writer flushed.
+     */
+    private static class SessionProbe extends ByteArrayOutputStream {
+        private final SessionFactory sessionFactory;
+        private int maxManagedEntities;
+
+        SessionProbe(SessionFactory sessionFactory) {
+            this.sessionFactory = sessionFactory;
+        }
+
+        int getMaxManagedEntities() {
+            return maxManagedEntities;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            sample();
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            sample();
+            super.write(b, off, len);
+        }
+
+        private void sample() {
+            // The transaction of the response is bound to the writing thread until the body has been written
+            Session session = sessionFactory.getCurrentSession();
+            maxManagedEntities = Math.max(maxManagedEntities, session.getStatistics().getEntityCount());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.datastores.hibernate5;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ScrollableIteratorTest {
+
+    @Test
+    public void testLastRowsStayAttached() {
+        ScrollableResults scroll = mock(ScrollableResults.class);
+        Session session = mock(Session.class);
+        when(scroll.next()).thenReturn(true, true, true, true, true, false);
+        when(scroll.get()).thenReturn(new Object[] {"a"}, new Object[] {"b"}, new Object[] {"c"},
+                new Object[] {"d"}, new Object[] {"e"});
+
+        List<String> rows = new ArrayList<>();
+        for (String row : new ScrollableIterator<String>(scroll, session, 2)) {
+            rows.add(row);
+            if (row.equals("c")) {
+                verify(session, never()).evict("a");
+            }
+        }
+
+        assertEquals(5, rows.size());
+        verify(session).evict("a");
+        verify(session).evict("b");
+        verify(session, never()).evict("c");
+        verify(session, never()).evict("d");
+        verify(session, never()).evict("e");
+        verify(scroll, times(1)).close();
+    }
+
+    @Test
+    public void testRowsStayAttachedWithoutEvictionSession() {
+        ScrollableResults scroll = mock(ScrollableResults.class);
+        when(scroll.next()).thenReturn(true, false);
+        when(scroll.get()).thenReturn(new Object[] {"a"});
+
+        List<String> rows = new ArrayList<>();
+        new ScrollableIterator<String>(scroll).forEach(rows::add);
+
+        assertEquals(1, rows.size());
+        verify(scroll).close();
+    }
+}
@@ -22,13 +22,34 @@ import javax.persistence.metamodel.EntityType;
 public class JpaDataStore implements JPQLDataStore {
     protected final EntityManagerSupplier entityManagerSupplier;
     protected final JpaTransactionSupplier transactionSupplier;
+    protected final EntityManagerSupplier readEntityManagerSupplier;
+    protected final JpaTransactionSupplier readTransactionSupplier;
     protected final Set<Class<?>> modelsToBind;
 
     public JpaDataStore(EntityManagerSupplier entityManagerSupplier,
                         JpaTransactionSupplier transactionSupplier,
                         Class<?> ... models) {
+        this(entityManagerSupplier, transactionSupplier, entityManagerSupplier, transactionSupplier, models);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param entityManagerSupplier supplies entity managers for write transactions
+     * @param transactionSupplier supplies write transactions
+     * @param readEntityManagerSupplier supplies entity managers for read transactions, such as ones for a read replica
+     * @param readTransactionSupplier supplies read transactions, for instance read only NonJtaTransactions
+     * @param models the models to bind or none to bind every entity of the entity manager
+     */
+    public JpaDataStore(EntityManagerSupplier entityManagerSupplier,
+                        JpaTransactionSupplier transactionSupplier,
+                        EntityManagerSupplier readEntityManagerSupplier,
+                        JpaTransactionSupplier readTransactionSupplier,
+                        Class<?> ... models) {
         this.entityManagerSupplier = entityManagerSupplier;
         this.transactionSupplier = transactionSupplier;
+        this.readEntityManagerSupplier = readEntityManagerSupplier;
+        this.readTransactionSupplier = readTransactionSupplier;
         this.modelsToBind = new HashSet<>();
         for (Class<?> model : models) {
             modelsToBind.add(model);
@@ -68,6 +89,14 @@ public class JpaDataStore implements JPQLDataStore {
         return transaction;
     }
 
+    @Override
+    public DataStoreTransaction beginReadTransaction() {
+        EntityManager entityManager = readEntityManagerSupplier.get();
+        JpaTransaction transaction = readTransactionSupplier.get(entityManager);
+        transaction.begin();
+        return transaction;
+    }
+
     /**
      * Functional interface for describing a method to supply EntityManager.
      */
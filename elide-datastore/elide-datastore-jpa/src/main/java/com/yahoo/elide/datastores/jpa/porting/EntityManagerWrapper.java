@@ -18,10 +18,25 @@ import javax.persistence.EntityManager;
  */
 @Slf4j
 public class EntityManagerWrapper implements Session {
+    private static final String HIBERNATE_READ_ONLY_HINT = "org.hibernate.readOnly";
+    private static final String ECLIPSELINK_READ_ONLY_HINT = "eclipselink.read-only";
+
     private EntityManager entityManager;
+    private boolean readOnly;
 
     public EntityManagerWrapper(EntityManager entityManager) {
+        this(entityManager, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param entityManager the entity manager to create queries with
+     * @param readOnly whether or not to hint the provider that query results will not be modified
+     */
+    public EntityManagerWrapper(EntityManager entityManager, boolean readOnly) {
         this.entityManager = entityManager;
+        this.readOnly = readOnly;
     }
 
     private static void logQuery(String queryText) {
@@ -31,6 +46,12 @@ public class EntityManagerWrapper implements Session {
     @Override
     public Query createQuery(String queryText) {
         logQuery(queryText);
-        return new QueryWrapper(entityManager.createQuery(queryText));
+        javax.persistence.Query query = entityManager.createQuery(queryText);
+        if (readOnly) {
+            // Providers ignore hints they do not recognize
+            query.setHint(HIBERNATE_READ_ONLY_HINT, true);
+            query.setHint(ECLIPSELINK_READ_ONLY_HINT, true);
+        }
+        return new QueryWrapper(query);
     }
 }
@@ -14,12 +14,12 @@ import com.yahoo.elide.core.filter.FilterPredicate;
 import com.yahoo.elide.core.filter.Operator;
 import com.yahoo.elide.core.filter.expression.AndFilterExpression;
 import com.yahoo.elide.core.filter.expression.FilterExpression;
-import com.yahoo.elide.core.hibernate.hql.AbstractHQLQueryBuilder;
+import com.yahoo.elide.core.hibernate.hql.PageTotalsCounter;
+import com.yahoo.elide.core.hibernate.hql.RelationshipBatchFetcher;
+import com.yahoo.elide.core.hibernate.hql.RelationshipBatchFetcher.CollectionLoadState;
 import com.yahoo.elide.core.hibernate.hql.RelationshipImpl;
 import com.yahoo.elide.core.hibernate.hql.RootCollectionFetchQueryBuilder;
-import com.yahoo.elide.core.hibernate.hql.RootCollectionPageTotalsQueryBuilder;
 import com.yahoo.elide.core.hibernate.hql.SubCollectionFetchQueryBuilder;
-import com.yahoo.elide.core.hibernate.hql.SubCollectionPageTotalsQueryBuilder;
 import com.yahoo.elide.core.pagination.Pagination;
 import com.yahoo.elide.core.sort.Sorting;
 import com.yahoo.elide.datastores.jpa.porting.EntityManagerWrapper;
@@ -34,6 +34,8 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -51,12 +53,45 @@ public abstract class AbstractJpaTransaction implements JpaTransaction {
             new PersistentCollectionChecker();
 
     protected final EntityManager em;
+    protected final boolean readOnly;
     private final EntityManagerWrapper emWrapper;
+    private final RelationshipBatchFetcher batchFetcher;
+    private final PageTotalsCounter pageTotalsCounter;
     private final LinkedHashSet<Runnable> deferredTasks = new LinkedHashSet<>();
 
     protected AbstractJpaTransaction(EntityManager em) {
+        this(em, false);
+    }
+
+    /**
+     * Constructor.
+     * <p>
+     * A read only transaction hints its queries as read only and skips the deferred writes and the flush on commit.
+     * A Hibernate session also loads every entity read only, including lazily loaded associations, and never
+     * flushes.  Other providers only stop flushing before queries.
+     *
+     * @param em the entity manager
+     * @param readOnly whether or not this is a read transaction
+     */
+    protected AbstractJpaTransaction(EntityManager em, boolean readOnly) {
         this.em = em;
-        this.emWrapper = new EntityManagerWrapper(em);
+        this.readOnly = readOnly;
+        this.emWrapper = new EntityManagerWrapper(em, readOnly);
+        this.pageTotalsCounter = new PageTotalsCounter(emWrapper);
+        this.batchFetcher = new RelationshipBatchFetcher(emWrapper, new CollectionLoadState() {
+            @Override
+            public boolean isPersistentCollection(Object value) {
+                return value instanceof Collection && IS_PERSISTENT_COLLECTION.test((Collection<?>) value);
+            }
+
+            @Override
+            public boolean isLoaded(Object entity, String relationName, Object value) {
+                return em.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(entity, relationName);
+            }
+        });
+        if (readOnly && !HibernateReadOnlyMode.apply(em)) {
+            em.setFlushMode(FlushModeType.COMMIT);
+        }
     }
 
     @Override
@@ -75,7 +110,7 @@ public abstract class AbstractJpaTransaction implements JpaTransaction {
 
     @Override
     public void flush(RequestScope requestScope) {
-        if (!isOpen()) {
+        if (readOnly || !isOpen()) {
             return;
         }
         try {
@@ -168,6 +203,7 @@ public abstract class AbstractJpaTransaction implements JpaTransaction {
             QueryWrapper query =
                     (QueryWrapper) new RootCollectionFetchQueryBuilder(entityClass, dictionary, emWrapper)
                             .withPossibleFilterExpression(Optional.of(joinedExpression))
+                            .withInListPadding(scope)
                             .build();
 
             return query.getQuery().getSingleResult();
@@ -184,20 +220,19 @@ public abstract class AbstractJpaTransaction implements JpaTransaction {
             Optional<Pagination> pagination,
             RequestScope scope) {
 
-        pagination.ifPresent(p -> {
-            if (p.isGenerateTotals()) {
-                p.setPageTotals(getTotalRecords(entityClass, filterExpression, scope.getDictionary()));
-            }
-        });
-
         QueryWrapper query =
                 (QueryWrapper) new RootCollectionFetchQueryBuilder(entityClass, scope.getDictionary(), emWrapper)
                         .withPossibleFilterExpression(filterExpression)
+                        .withInListPadding(scope)
                         .withPossibleSorting(sorting)
                         .withPossiblePagination(pagination)
                         .build();
 
-        return query.getQuery().getResultList();
+        List<Object> results = query.getQuery().getResultList();
+        pagination.filter(Pagination::isGenerateTotals).ifPresent(p -> p.setPageTotals(
+                p.inferPageTotals(results.size(), filterExpression, scope.getDictionary())
+                        .orElseGet(() -> pageTotalsCounter.getTotalRecords(entityClass, filterExpression, scope))));
+        return results;
     }
 
     @Override
@@ -234,68 +269,56 @@ public abstract class AbstractJpaTransaction implements JpaTransaction {
                         entity,
                         filteredVal);
 
-                pagination.ifPresent(p -> {
-                    if (p.isGenerateTotals()) {
-                        p.setPageTotals(getTotalRecords(relationship, filterExpression, dictionary));
-                    }
-                });
-
                 QueryWrapper query = (QueryWrapper)
                         new SubCollectionFetchQueryBuilder(relationship, dictionary, emWrapper)
                                 .withPossibleFilterExpression(filterExpression)
+                                .withInListPadding(scope)
                                 .withPossibleSorting(sorting)
                                 .withPossiblePagination(pagination)
                                 .build();
 
                 if (query != null) {
-                    return query.getQuery().getResultList();
+                    List<Object> results = query.getQuery().getResultList();
+                    pagination.filter(Pagination::isGenerateTotals).ifPresent(p -> p.setPageTotals(
+                            p.inferPageTotals(results.size(), filterExpression, scope.getDictionary())
+                                    .orElseGet(() ->
+                                            pageTotalsCounter.getTotalRecords(relationship, filterExpression, scope))));
+                    return results;
                 }
             }
         }
         return val;
     }
 
-    /**
-     * Returns the total record count for a root entity and an optional filter expression.
-     *
-     * @param entityClass      The entity type to count
-     * @param filterExpression optional security and request filters
-     * @param dictionary       the entity dictionary
-     * @param <T>              The type of entity
-     * @return The total row count.
-     */
-    private <T> Long getTotalRecords(Class<T> entityClass,
-                                     Optional<FilterExpression> filterExpression,
-                                     EntityDictionary dictionary) {
-
-
-        QueryWrapper query = (QueryWrapper)
-                new RootCollectionPageTotalsQueryBuilder(entityClass, dictionary, emWrapper)
-                        .withPossibleFilterExpression(filterExpression)
-                        .build();
+    @Override
+    public Map<Object, Object> getRelations(
+            DataStoreTransaction relationTx,
+            Collection<?> entities,
+            String relationName,
+            Optional<FilterExpression> filterExpression,
+            RequestScope scope) {
 
-        return (Long) query.getQuery().getSingleResult();
+        return batchFetcher.getRelations(entities, relationName, filterExpression, scope, entity ->
+                getRelation(relationTx, entity, relationName, filterExpression, Optional.empty(), Optional.empty(),
+                        scope));
     }
 
-    /**
-     * Returns the total record count for a entity relationship.
-     *
-     * @param relationship     The relationship
-     * @param filterExpression optional security and request filters
-     * @param dictionary       the entity dictionary
-     * @param <T>              The type of entity
-     * @return The total row count.
-     */
-    private <T> Long getTotalRecords(AbstractHQLQueryBuilder.Relationship relationship,
-                                     Optional<FilterExpression> filterExpression,
-                                     EntityDictionary dictionary) {
+    @Override
+    public Map<Object, List<String>> getRelationIds(
+            DataStoreTransaction relationTx,
+            Collection<?> entities,
+            String relationName,
+            Optional<FilterExpression> filterExpression,
+            RequestScope scope) {
 
-        QueryWrapper query = (QueryWrapper)
-                new SubCollectionPageTotalsQueryBuilder(relationship, dictionary, emWrapper)
-                        .withPossibleFilterExpression(filterExpression)
-                        .build();
+        return batchFetcher.getRelationIds(entities, relationName, filterExpression, scope, otherEntities ->
+                JpaTransaction.super.getRelationIds(relationTx, otherEntities, relationName,
+                        filterExpression, scope));
+    }
 
-        return (Long) query.getQuery().getSingleResult();
+    @Override
+    public boolean supportsKeysetPagination(Class<?> entityClass) {
+        return true;
     }
 
     @Override
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.datastores.jpa.transaction;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+
+/**
+ * Makes the Hibernate session behind an entity manager load every entity read only and never flush.
+ * Hibernate is looked up by name, like the persistent collection checker does, to exclude the Hibernate dependency.
+ */
+@Slf4j
+public class HibernateReadOnlyMode {
+    private static final String SESSION_CLASS = "org.hibernate.Session";
+    private static final String FLUSH_MODE_CLASS = "org.hibernate.FlushMode";
+    private static final String MANUAL = "MANUAL";
+
+    private HibernateReadOnlyMode() {
+    }
+
+    /**
+     * Applies the read only mode if Hibernate provides the entity manager.
+     *
+     * @param em the entity manager
+     * @return whether the entity manager is backed by a Hibernate session which is now read only
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static boolean apply(EntityManager em) {
+        Class<?> sessionClass;
+        Class<? extends Enum> flushModeClass;
+        try {
+            sessionClass = Class.forName(SESSION_CLASS);
+            flushModeClass = Class.forName(FLUSH_MODE_CLASS).asSubclass(Enum.class);
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+
+        Object session;
+        try {
+            session = em.unwrap(sessionClass);
+        } catch (PersistenceException e) {
+            return false;
+        }
+        if (session == null) {
+            return false;
+        }
+
+        try {
+            sessionClass.getMethod("setDefaultReadOnly", boolean.class).invoke(session, true);
+            getFlushModeSetter(sessionClass, flushModeClass).invoke(session, Enum.valueOf(flushModeClass, MANUAL));
+            return true;
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            log.debug("Unable to make the Hibernate session read only", e);
+            return false;
+        }
+    }
+
+    /**
+     * Hibernate 5.2 renamed the setter of its own flush mode, since setFlushMode now takes the JPA flush mode.
+     */
+    private static Method getFlushModeSetter(Class<?> sessionClass, Class<?> flushModeClass)
+            throws NoSuchMethodException {
+        try {
+            return sessionClass.getMethod("setHibernateFlushMode", flushModeClass);
+        } catch (NoSuchMethodException e) {
+            return sessionClass.getMethod("setFlushMode", flushModeClass);
+        }
+    }
+}
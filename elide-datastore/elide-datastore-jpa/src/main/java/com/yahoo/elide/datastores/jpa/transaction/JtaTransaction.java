@@ -27,8 +27,16 @@ public class JtaTransaction extends AbstractJpaTransaction {
         this(entityManager, lookupUserTransaction());
     }
 
+    public JtaTransaction(EntityManager entityManager, boolean readOnly) {
+        this(entityManager, lookupUserTransaction(), readOnly);
+    }
+
     public JtaTransaction(EntityManager entityManager, UserTransaction transaction) {
-        super(entityManager);
+        this(entityManager, transaction, false);
+    }
+
+    public JtaTransaction(EntityManager entityManager, UserTransaction transaction, boolean readOnly) {
+        super(entityManager, readOnly);
         this.transaction = transaction;
     }
 
@@ -21,7 +21,11 @@ public class NonJtaTransaction extends AbstractJpaTransaction {
     private final EntityTransaction transaction;
 
     public NonJtaTransaction(EntityManager entityManager) {
-        super(entityManager);
+        this(entityManager, false);
+    }
+
+    public NonJtaTransaction(EntityManager entityManager, boolean readOnly) {
+        super(entityManager, readOnly);
         this.transaction = entityManager.getTransaction();
         entityManager.clear();
     }
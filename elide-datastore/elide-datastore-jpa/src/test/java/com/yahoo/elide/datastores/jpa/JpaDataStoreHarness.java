@@ -90,7 +90,9 @@ public class JpaDataStoreHarness implements DataStoreTestHarness {
 
         store = new JpaDataStore(
                 () -> { return emf.createEntityManager(); },
-                (entityManager) -> { return new NonJtaTransaction(entityManager); }
+                (entityManager) -> { return new NonJtaTransaction(entityManager); },
+                () -> { return emf.createEntityManager(); },
+                (entityManager) -> { return new NonJtaTransaction(entityManager, true); }
         );
     }
 
@@ -8,17 +8,24 @@ package com.yahoo.elide.datastores.jpa;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import com.yahoo.elide.annotation.Include;
+import com.yahoo.elide.core.DataStoreTransaction;
 import com.yahoo.elide.core.EntityDictionary;
 import com.yahoo.elide.core.annotations.JPQLFilterFragment;
 import com.yahoo.elide.core.filter.FilterPredicate;
 import com.yahoo.elide.core.filter.FilterTranslator;
 import com.yahoo.elide.core.filter.JPQLPredicateGenerator;
 import com.yahoo.elide.core.filter.Operator;
+import com.yahoo.elide.datastores.jpa.transaction.NonJtaTransaction;
 
 import com.google.common.collect.Sets;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
@@ -26,6 +33,8 @@ import java.util.List;
 
 import javax.persistence.Entity;
 import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+import javax.persistence.FlushModeType;
 import javax.persistence.Id;
 import javax.persistence.metamodel.EntityType;
 import javax.persistence.metamodel.Metamodel;
@@ -97,4 +106,48 @@ public class JpaDataStoreTest {
 
         assertNotNull(dictionary.lookupBoundClass(Test.class));
     }
+
+    @Test
+    public void verifyReadTransactionsAreReadOnly() throws Exception {
+        EntityManager writeManager = mock(EntityManager.class);
+        EntityManager readManager = mock(EntityManager.class);
+        EntityTransaction readTransaction = mock(EntityTransaction.class);
+        when(readManager.getTransaction()).thenReturn(readTransaction);
+        when(readTransaction.isActive()).thenReturn(false, true);
+
+        JpaDataStore store = new JpaDataStore(
+                () -> { return writeManager; },
+                (entityManager) -> { return new NonJtaTransaction(entityManager); },
+                () -> { return readManager; },
+                (entityManager) -> { return new NonJtaTransaction(entityManager, true); });
+
+        DataStoreTransaction transaction = store.beginReadTransaction();
+        verify(readManager).setFlushMode(FlushModeType.COMMIT);
+        verify(readTransaction).begin();
+
+        transaction.commit(null);
+        verify(readManager, never()).flush();
+        verify(readTransaction).commit();
+        verifyZeroInteractions(writeManager);
+    }
+
+    @Test
+    public void verifyHibernateReadTransactionsLoadReadOnlyEntities() throws Exception {
+        EntityManager readManager = mock(EntityManager.class);
+        Session session = mock(Session.class);
+        EntityTransaction readTransaction = mock(EntityTransaction.class);
+        when(readManager.unwrap(Session.class)).thenReturn(session);
+        when(readManager.getTransaction()).thenReturn(readTransaction);
+
+        JpaDataStore store = new JpaDataStore(
+                () -> { return mock(EntityManager.class); },
+                (entityManager) -> { return new NonJtaTransaction(entityManager); },
+                () -> { return readManager; },
+                (entityManager) -> { return new NonJtaTransaction(entityManager, true); });
+
+        store.beginReadTransaction();
+        verify(session).setDefaultReadOnly(true);
+        verify(session).setHibernateFlushMode(FlushMode.MANUAL);
+        verify(readManager, never()).setFlushMode(FlushModeType.COMMIT);
+    }
 }
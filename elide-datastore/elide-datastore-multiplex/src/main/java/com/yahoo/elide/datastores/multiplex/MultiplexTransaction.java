@@ -23,6 +23,8 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -185,6 +187,50 @@ public abstract class MultiplexTransaction implements DataStoreTransaction {
         return entityTransaction.getRelation(relationTx, entity, relationName, filter, sorting, pagination, scope);
     }
 
+    @Override
+    public Map<Object, Object> getRelations(DataStoreTransaction relationTx,
+                                            Collection<?> entities,
+                                            String relationName,
+                                            Optional<FilterExpression> filter,
+                                            RequestScope scope) {
+        if (entities.isEmpty()) {
+            return DataStoreTransaction.super.getRelations(relationTx, entities, relationName, filter, scope);
+        }
+
+        Object first = entities.iterator().next();
+        relationTx = getRelationTransaction(first, relationName);
+        DataStoreTransaction entityTransaction = getTransaction(first.getClass());
+
+        // Bridged relationships are loaded one entity at a time
+        if (entityTransaction != relationTx && relationTx instanceof BridgeableTransaction) {
+            return DataStoreTransaction.super.getRelations(relationTx, entities, relationName, filter, scope);
+        }
+
+        return entityTransaction.getRelations(relationTx, entities, relationName, filter, scope);
+    }
+
+    @Override
+    public Map<Object, List<String>> getRelationIds(DataStoreTransaction relationTx,
+                                                    Collection<?> entities,
+                                                    String relationName,
+                                                    Optional<FilterExpression> filter,
+                                                    RequestScope scope) {
+        if (entities.isEmpty()) {
+            return DataStoreTransaction.super.getRelationIds(relationTx, entities, relationName, filter, scope);
+        }
+
+        Object first = entities.iterator().next();
+        relationTx = getRelationTransaction(first, relationName);
+        DataStoreTransaction entityTransaction = getTransaction(first.getClass());
+
+        // Bridged relationships are loaded one entity at a time
+        if (entityTransaction != relationTx && relationTx instanceof BridgeableTransaction) {
+            return DataStoreTransaction.super.getRelationIds(relationTx, entities, relationName, filter, scope);
+        }
+
+        return entityTransaction.getRelationIds(relationTx, entities, relationName, filter, scope);
+    }
+
     @Override
     public void updateToManyRelation(DataStoreTransaction relationTx,
                                      Object entity, String relationName,
@@ -233,6 +279,11 @@ public abstract class MultiplexTransaction implements DataStoreTransaction {
         return getTransaction(entityClass).supportsPagination(entityClass);
     }
 
+    @Override
+    public boolean supportsKeysetPagination(Class<?> entityClass) {
+        return getTransaction(entityClass).supportsKeysetPagination(entityClass);
+    }
+
     private Serializable extractId(FilterExpression filterExpression,
                                    String idFieldName,
                                    Class<?> relationClass) {
@@ -19,9 +19,11 @@ import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 
@@ -207,4 +209,19 @@ public class MultiplexWriteTransaction extends MultiplexTransaction {
 
         return hold(transaction, relation);
     }
+
+    @Override
+    public Map<Object, Object> getRelations(DataStoreTransaction relationTx,
+                                            Collection<?> entities,
+                                            String relationName,
+                                            Optional<FilterExpression> filter,
+                                            RequestScope scope) {
+        // Load one entity at a time so that every relation is held for a possible reverse transaction
+        Map<Object, Object> relations = new IdentityHashMap<>();
+        for (Object entity : entities) {
+            relations.put(entity, getRelation(relationTx, entity, relationName, filter,
+                    Optional.empty(), Optional.empty(), scope));
+        }
+        return relations;
+    }
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.datastores.routing;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read transactions to the replica with the fewest outstanding read transactions.  Ties are broken in
+ * round robin order so that idle replicas share the load.
+ */
+public class LeastOutstandingLoadBalancer implements LoadBalancer {
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Override
+    public Replica select(List<Replica> replicas) {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+
+        Replica selected = null;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (selected == null || replica.getOutstandingTransactions() < selected.getOutstandingTransactions()) {
+                selected = replica;
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.datastores.routing;
+
+import java.util.List;
+
+/**
+ * Picks the replica a read transaction is routed to.
+ */
+@FunctionalInterface
+public interface LoadBalancer {
+
+    /**
+     * Pick a replica.
+     *
+     * @param replicas the replicas, never empty
+     * @return one of the replicas
+     */
+    Replica select(List<Replica> replicas);
+}
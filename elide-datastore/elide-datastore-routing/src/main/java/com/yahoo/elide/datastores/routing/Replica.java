@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.datastores.routing;
+
+import com.yahoo.elide.core.DataStore;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A read replica and the statistics of the read transactions routed to it.
+ * <p>
+ * Latency is measured from the start of a read transaction until it is closed.
+ */
+public class Replica {
+    @Getter
+    private final String name;
+
+    @Getter
+    private final DataStore dataStore;
+
+    private final AtomicInteger outstandingTransactions = new AtomicInteger();
+    private final LongAdder transactionCount = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    public Replica(String name, DataStore dataStore) {
+        this.name = name;
+        this.dataStore = dataStore;
+    }
+
+    /**
+     * @return the number of read transactions started on this replica which are not closed yet
+     */
+    public int getOutstandingTransactions() {
+        return outstandingTransactions.get();
+    }
+
+    /**
+     * @return the number of read transactions completed on this replica
+     */
+    public long getTransactionCount() {
+        return transactionCount.sum();
+    }
+
+    /**
+     * @return the mean read transaction latency in milliseconds or 0 if none completed
+     */
+    public double getMeanLatencyMillis() {
+        long count = transactionCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return (double) totalLatencyNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return the highest read transaction latency in milliseconds
+     */
+    public double getMaxLatencyMillis() {
+        return (double) maxLatencyNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    void started() {
+        outstandingTransactions.incrementAndGet();
+    }
+
+    void completed(long latencyNanos) {
+        outstandingTransactions.decrementAndGet();
+        transactionCount.increment();
+        totalLatencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
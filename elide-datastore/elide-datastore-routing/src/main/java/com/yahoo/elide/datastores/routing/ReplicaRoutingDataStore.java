@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.datastores.routing;
+
+import com.yahoo.elide.core.DataStore;
+import com.yahoo.elide.core.DataStoreTransaction;
+import com.yahoo.elide.core.EntityDictionary;
+
+import lombok.Getter;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Sends write transactions to a primary data store and read transactions to its read replicas.
+ * <p>
+ * Read transactions are routed once the user of the request is known, which is when Elide calls
+ * {@link DataStoreTransaction#accessUser(Object)} right after starting the transaction.  A user who committed a
+ * write transaction is pinned to the primary for a configurable window afterwards so that they read their own
+ * writes despite replication lag.  Without replicas every transaction goes to the primary.
+ */
+public class ReplicaRoutingDataStore implements DataStore {
+    @Getter
+    protected final DataStore primary;
+
+    @Getter
+    protected final List<Replica> replicas;
+
+    protected final LoadBalancer loadBalancer;
+    protected final long pinnedNanos;
+    protected final Function<Object, Object> userKey;
+    private final Map<Object, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param primary the data store all writes go to
+     * @param replicas the read replicas of the primary
+     * @param loadBalancer picks the replica of each read transaction
+     * @param readYourWritesWindow how long a user reads from the primary after committing a write
+     * @param userKey identifies the user of an opaque user object for pinning or returns null to never pin
+     */
+    public ReplicaRoutingDataStore(DataStore primary,
+                                   List<Replica> replicas,
+                                   LoadBalancer loadBalancer,
+                                   Duration readYourWritesWindow,
+                                   Function<Object, Object> userKey) {
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+        this.loadBalancer = loadBalancer;
+        this.pinnedNanos = readYourWritesWindow.toNanos();
+        this.userKey = userKey;
+    }
+
+    /**
+     * Builder object to configure a read replica routing store.
+     */
+    public static class Builder {
+        private final DataStore primary;
+        private final List<Replica> replicas = new ArrayList<>();
+        private LoadBalancer loadBalancer = new RoundRobinLoadBalancer();
+        private Duration readYourWritesWindow = Duration.ZERO;
+        private Function<Object, Object> userKey = ReplicaRoutingDataStore::defaultUserKey;
+
+        public Builder(DataStore primary) {
+            this.primary = primary;
+        }
+
+        public Builder withReplica(String name, DataStore replica) {
+            this.replicas.add(new Replica(name, replica));
+            return this;
+        }
+
+        public Builder withLoadBalancer(LoadBalancer loadBalancer) {
+            this.loadBalancer = loadBalancer;
+            return this;
+        }
+
+        public Builder withReadYourWritesWindow(Duration readYourWritesWindow) {
+            this.readYourWritesWindow = readYourWritesWindow;
+            return this;
+        }
+
+        public Builder withUserKey(Function<Object, Object> userKey) {
+            this.userKey = userKey;
+            return this;
+        }
+
+        public ReplicaRoutingDataStore build() {
+            return new ReplicaRoutingDataStore(primary, replicas, loadBalancer, readYourWritesWindow, userKey);
+        }
+    }
+
+    /**
+     * Identifies principals by name and any other user by itself.
+     *
+     * @param opaqueUser the opaque user of a request
+     * @return the key the user is pinned with
+     */
+    public static Object defaultUserKey(Object opaqueUser) {
+        if (opaqueUser instanceof Principal) {
+            return ((Principal) opaqueUser).getName();
+        }
+        return opaqueUser;
+    }
+
+    @Override
+    public void populateEntityDictionary(EntityDictionary dictionary) {
+        primary.populateEntityDictionary(dictionary);
+        // Replicas serve the same models, so their duplicate bindings are ignored
+        for (Replica replica : replicas) {
+            replica.getDataStore().populateEntityDictionary(dictionary);
+        }
+    }
+
+    @Override
+    public DataStoreTransaction beginTransaction() {
+        return new RoutingWriteTransaction(primary.beginTransaction(), this);
+    }
+
+    @Override
+    public DataStoreTransaction beginReadTransaction() {
+        if (replicas.isEmpty()) {
+            return primary.beginReadTransaction();
+        }
+        return new RoutingReadTransaction(this);
+    }
+
+    /**
+     * Pick the replica which serves a read transaction of a user.
+     *
+     * @param opaqueUser the opaque user of the request
+     * @return the replica or empty if the user must read from the primary
+     */
+    protected Replica selectReplica(Object opaqueUser) {
+        if (isPinned(opaqueUser)) {
+            return null;
+        }
+        return loadBalancer.select(replicas);
+    }
+
+    /**
+     * Pin a user to the primary after they committed a write.
+     *
+     * @param opaqueUser the opaque user of the request
+     */
+    protected void pin(Object opaqueUser) {
+        Object key = opaqueUser == null ? null : userKey.apply(opaqueUser);
+        if (key == null || pinnedNanos <= 0 || replicas.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        // Expired pins are dropped here since a user might never read again
+        pinnedUntil.values().removeIf(until -> until - now <= 0);
+        pinnedUntil.put(key, now + pinnedNanos);
+    }
+
+    /**
+     * @param opaqueUser the opaque user of a request
+     * @return whether or not the user currently reads from the primary
+     */
+    public boolean isPinned(Object opaqueUser) {
+        Object key = opaqueUser == null ? null : userKey.apply(opaqueUser);
+        Long until = key == null ? null : pinnedUntil.get(key);
+        return until != null && until - System.nanoTime() > 0;
+    }
+}
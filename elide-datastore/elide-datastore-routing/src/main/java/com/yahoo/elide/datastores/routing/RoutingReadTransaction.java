@@ -0,0 +1,221 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.datastores.routing;
+
+import com.yahoo.elide.core.DataStoreTransaction;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.core.datastore.wrapped.TransactionWrapper;
+import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.core.pagination.Pagination;
+import com.yahoo.elide.core.sort.Sorting;
+import com.yahoo.elide.security.User;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A read transaction which starts on a replica, or on the primary for pinned users, once the user of the request
+ * is known.
+ * <p>
+ * Elide and the GraphQL query runner call {@link #accessUser(Object)} before anything else, which is when the
+ * wrapped transaction is started.  Any other call made first starts it for an unknown user instead.
+ */
+public class RoutingReadTransaction extends TransactionWrapper {
+    private final ReplicaRoutingDataStore dataStore;
+    private Replica replica;
+    private long startNanos;
+
+    public RoutingReadTransaction(ReplicaRoutingDataStore dataStore) {
+        super(null);
+        this.dataStore = dataStore;
+    }
+
+    /**
+     * Starts the wrapped transaction unless it is started already.
+     *
+     * @param opaqueUser the opaque user of the request or null if unknown
+     */
+    private void begin(Object opaqueUser) {
+        if (tx != null) {
+            return;
+        }
+        replica = dataStore.selectReplica(opaqueUser);
+        if (replica == null) {
+            tx = dataStore.getPrimary().beginReadTransaction();
+        } else {
+            tx = replica.getDataStore().beginReadTransaction();
+            replica.started();
+            startNanos = System.nanoTime();
+        }
+    }
+
+    @Override
+    public User accessUser(Object opaqueUser) {
+        begin(opaqueUser);
+        return super.accessUser(opaqueUser);
+    }
+
+    @Override
+    public void preCommit() {
+        begin(null);
+        super.preCommit();
+    }
+
+    @Override
+    public <T> T createNewObject(Class<T> entityClass) {
+        begin(null);
+        return super.createNewObject(entityClass);
+    }
+
+    @Override
+    public Object loadObject(Class<?> entityClass, Serializable id, Optional<FilterExpression> filterExpression,
+                             RequestScope scope) {
+        begin(null);
+        return super.loadObject(entityClass, id, filterExpression, scope);
+    }
+
+    @Override
+    public Object getRelation(DataStoreTransaction relationTx, Object entity, String relationName,
+                              Optional<FilterExpression> filterExpression, Optional<Sorting> sorting,
+                              Optional<Pagination> pagination, RequestScope scope) {
+        begin(null);
+        return super.getRelation(relationTx, entity, relationName, filterExpression, sorting, pagination, scope);
+    }
+
+    @Override
+    public Map<Object, Object> getRelations(DataStoreTransaction relationTx, Collection<?> entities,
+                                            String relationName, Optional<FilterExpression> filterExpression,
+                                            RequestScope scope) {
+        begin(null);
+        return super.getRelations(relationTx, entities, relationName, filterExpression, scope);
+    }
+
+    @Override
+    public Map<Object, List<String>> getRelationIds(DataStoreTransaction relationTx, Collection<?> entities,
+                                                    String relationName, Optional<FilterExpression> filterExpression,
+                                                    RequestScope scope) {
+        begin(null);
+        return super.getRelationIds(relationTx, entities, relationName, filterExpression, scope);
+    }
+
+    @Override
+    public void updateToManyRelation(DataStoreTransaction relationTx, Object entity, String relationName,
+                                     Set<Object> newRelationships, Set<Object> deletedRelationships,
+                                     RequestScope scope) {
+        begin(null);
+        super.updateToManyRelation(relationTx, entity, relationName, newRelationships, deletedRelationships, scope);
+    }
+
+    @Override
+    public void updateToOneRelation(DataStoreTransaction relationTx, Object entity,
+                                    String relationName, Object relationshipValue, RequestScope scope) {
+        begin(null);
+        super.updateToOneRelation(relationTx, entity, relationName, relationshipValue, scope);
+    }
+
+    @Override
+    public Object getAttribute(Object entity, String attributeName, RequestScope scope) {
+        begin(null);
+        return super.getAttribute(entity, attributeName, scope);
+    }
+
+    @Override
+    public void setAttribute(Object entity, String attributeName, Object attributeValue, RequestScope scope) {
+        begin(null);
+        super.setAttribute(entity, attributeName, attributeValue, scope);
+    }
+
+    @Override
+    public FeatureSupport supportsFiltering(Class<?> entityClass, FilterExpression expression) {
+        begin(null);
+        return super.supportsFiltering(entityClass, expression);
+    }
+
+    @Override
+    public boolean supportsSorting(Class<?> entityClass, Sorting sorting) {
+        begin(null);
+        return super.supportsSorting(entityClass, sorting);
+    }
+
+    @Override
+    public boolean supportsPagination(Class<?> entityClass) {
+        begin(null);
+        return super.supportsPagination(entityClass);
+    }
+
+    @Override
+    public boolean supportsKeysetPagination(Class<?> entityClass) {
+        begin(null);
+        return super.supportsKeysetPagination(entityClass);
+    }
+
+    @Override
+    public void save(Object o, RequestScope requestScope) {
+        begin(null);
+        super.save(o, requestScope);
+    }
+
+    @Override
+    public void delete(Object o, RequestScope requestScope) {
+        begin(null);
+        super.delete(o, requestScope);
+    }
+
+    @Override
+    public void flush(RequestScope requestScope) {
+        begin(null);
+        super.flush(requestScope);
+    }
+
+    @Override
+    public void commit(RequestScope requestScope) {
+        begin(null);
+        super.commit(requestScope);
+    }
+
+    @Override
+    public void createObject(Object o, RequestScope requestScope) {
+        begin(null);
+        super.createObject(o, requestScope);
+    }
+
+    @Override
+    public Iterable<Object> loadObjects(Class<?> entityClass,
+                                        Optional<FilterExpression> filterExpression,
+                                        Optional<Sorting> sorting,
+                                        Optional<Pagination> pagination,
+                                        RequestScope requestScope) {
+        begin(null);
+        return super.loadObjects(entityClass, filterExpression, sorting, pagination, requestScope);
+    }
+
+    /**
+     * @return the replica this transaction reads from or null when it reads from the primary or is not started
+     */
+    public Replica getReplica() {
+        return replica;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (tx == null) {
+            return;
+        }
+        try {
+            super.close();
+        } finally {
+            if (replica != null) {
+                replica.completed(System.nanoTime() - startNanos);
+                replica = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.datastores.routing;
+
+import com.yahoo.elide.core.DataStoreTransaction;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.core.datastore.wrapped.TransactionWrapper;
+
+/**
+ * A write transaction on the primary which pins its user to the primary once committed.
+ */
+public class RoutingWriteTransaction extends TransactionWrapper {
+    private final ReplicaRoutingDataStore dataStore;
+
+    public RoutingWriteTransaction(DataStoreTransaction tx, ReplicaRoutingDataStore dataStore) {
+        super(tx);
+        this.dataStore = dataStore;
+    }
+
+    @Override
+    public void commit(RequestScope requestScope) {
+        super.commit(requestScope);
+        if (requestScope != null && requestScope.getUser() != null) {
+            dataStore.pin(requestScope.getUser().getOpaqueUser());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.datastores.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.yahoo.elide.core.DataStore;
+import com.yahoo.elide.core.DataStoreTransaction;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.security.User;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+public class ReplicaRoutingDataStoreTest {
+    private DataStore primary;
+    private DataStore replica1;
+    private DataStore replica2;
+
+    @BeforeEach
+    public void setup() {
+        primary = mockStore();
+        replica1 = mockStore();
+        replica2 = mockStore();
+    }
+
+    private static DataStore mockStore() {
+        DataStore store = mock(DataStore.class);
+        DataStoreTransaction tx = mock(DataStoreTransaction.class);
+        when(tx.accessUser("alice")).thenReturn(new User("alice"));
+        when(tx.accessUser("bob")).thenReturn(new User("bob"));
+        when(store.beginTransaction()).thenReturn(tx);
+        when(store.beginReadTransaction()).thenReturn(tx);
+        return store;
+    }
+
+    private RoutingReadTransaction read(ReplicaRoutingDataStore store, String user) {
+        RoutingReadTransaction tx = (RoutingReadTransaction) store.beginReadTransaction();
+        tx.accessUser(user);
+        return tx;
+    }
+
+    @Test
+    public void testReadsAreRoutedRoundRobin() throws IOException {
+        ReplicaRoutingDataStore store = new ReplicaRoutingDataStore.Builder(primary)
+                .withReplica("replica1", replica1)
+                .withReplica("replica2", replica2)
+                .build();
+
+        RoutingReadTransaction first = read(store, "alice");
+        RoutingReadTransaction second = read(store, "alice");
+        RoutingReadTransaction third = read(store, "alice");
+
+        assertSame(replica1, first.getReplica().getDataStore());
+        assertSame(replica2, second.getReplica().getDataStore());
+        assertSame(replica1, third.getReplica().getDataStore());
+        verify(primary, never()).beginReadTransaction();
+
+        first.close();
+        second.close();
+        third.close();
+
+        List<Replica> replicas = store.getReplicas();
+        assertEquals(2, replicas.get(0).getTransactionCount());
+        assertEquals(1, replicas.get(1).getTransactionCount());
+        assertEquals(0, replicas.get(0).getOutstandingTransactions());
+    }
+
+    @Test
+    public void testReadsAreRoutedToLeastOutstanding() throws IOException {
+        ReplicaRoutingDataStore store = new ReplicaRoutingDataStore.Builder(primary)
+                .withReplica("replica1", replica1)
+                .withReplica("replica2", replica2)
+                .withLoadBalancer(new LeastOutstandingLoadBalancer())
+                .build();
+
+        RoutingReadTransaction first = read(store, "alice");
+        RoutingReadTransaction second = read(store, "alice");
+        assertSame(replica1, first.getReplica().getDataStore());
+        assertSame(replica2, second.getReplica().getDataStore());
+
+        second.close();
+
+        // replica1 is still busy with the first transaction
+        RoutingReadTransaction third = read(store, "alice");
+        assertSame(replica2, third.getReplica().getDataStore());
+        first.close();
+        third.close();
+    }
+
+    @Test
+    public void testWritersReadTheirWritesFromThePrimary() throws IOException {
+        ReplicaRoutingDataStore store = new ReplicaRoutingDataStore.Builder(primary)
+                .withReplica("replica1", replica1)
+                .withReadYourWritesWindow(Duration.ofMinutes(1))
+                .build();
+
+        RequestScope scope = mock(RequestScope.class);
+        when(scope.getUser()).thenReturn(new User("alice"));
+        DataStoreTransaction write = store.beginTransaction();
+        write.commit(scope);
+        verify(primary.beginTransaction()).commit(scope);
+
+        assertTrue(store.isPinned("alice"));
+        assertFalse(store.isPinned("bob"));
+
+        RoutingReadTransaction aliceRead = read(store, "alice");
+        assertNull(aliceRead.getReplica());
+        verify(primary).beginReadTransaction();
+
+        RoutingReadTransaction bobRead = read(store, "bob");
+        assertSame(replica1, bobRead.getReplica().getDataStore());
+
+        aliceRead.close();
+        bobRead.close();
+    }
+
+    @Test
+    public void testWritersAreNotPinnedWithoutWindow() {
+        ReplicaRoutingDataStore store = new ReplicaRoutingDataStore.Builder(primary)
+                .withReplica("replica1", replica1)
+                .build();
+
+        RequestScope scope = mock(RequestScope.class);
+        when(scope.getUser()).thenReturn(new User("alice"));
+        store.beginTransaction().commit(scope);
+
+        assertFalse(store.isPinned("alice"));
+        assertSame(replica1, read(store, "alice").getReplica().getDataStore());
+    }
+
+    @Test
+    public void testReadsStartWithoutUser() throws IOException {
+        ReplicaRoutingDataStore store = new ReplicaRoutingDataStore.Builder(primary)
+                .withReplica("replica1", replica1)
+                .build();
+
+        RoutingReadTransaction tx = (RoutingReadTransaction) store.beginReadTransaction();
+        tx.loadObjects(Object.class, Optional.empty(), Optional.empty(), Optional.empty(), null);
+
+        assertSame(replica1, tx.getReplica().getDataStore());
+        verify(replica1.beginReadTransaction()).loadObjects(Object.class, Optional.empty(), Optional.empty(),
+                Optional.empty(), null);
+        tx.close();
+    }
+
+    @Test
+    public void testReadsUseThePrimaryWithoutReplicas() {
+        ReplicaRoutingDataStore store = new ReplicaRoutingDataStore.Builder(primary).build();
+
+        assertSame(primary.beginReadTransaction(), store.beginReadTransaction());
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+
+package com.yahoo.elide.datastores.search;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Date;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Keeps the high-water marks in a properties file, typically next to the index they describe.
+ */
+public class FileHighWaterMarkStore implements HighWaterMarkStore {
+
+    private final File file;
+    private final Properties marks = new Properties();
+
+    public FileHighWaterMarkStore(File file) {
+        this.file = file;
+
+        if (file.exists()) {
+            try (InputStream in = new FileInputStream(file)) {
+                marks.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized Optional<Date> getHighWaterMark(Class<?> entityClass) {
+        return Optional.ofNullable(marks.getProperty(entityClass.getName()))
+                .map(Long::parseLong)
+                .map(Date::new);
+    }
+
+    @Override
+    public synchronized void setHighWaterMark(Class<?> entityClass, Date highWaterMark) {
+        marks.setProperty(entityClass.getName(), String.valueOf(highWaterMark.getTime()));
+
+        try (OutputStream out = new FileOutputStream(file)) {
+            marks.store(out, "Elide search index high-water marks");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
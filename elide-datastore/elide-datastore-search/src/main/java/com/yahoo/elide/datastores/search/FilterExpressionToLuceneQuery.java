@@ -15,28 +15,54 @@ import com.yahoo.elide.core.filter.expression.OrFilterExpression;
 
 import com.google.common.base.Preconditions;
 
-import org.apache.lucene.analysis.Analyzer;
-import org.apache.lucene.analysis.core.KeywordAnalyzer;
-import org.apache.lucene.queryparser.classic.ParseException;
-import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queries.TermsQuery;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
 import org.hibernate.search.jpa.FullTextEntityManager;
 import org.hibernate.search.query.dsl.QueryBuilder;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Converts an Elide filter expression into a Lucene Search query.
+ * <p>
+ * Predicates are translated straight into Lucene queries, without building and parsing a query string:
+ * <ul>
+ * <li>INFIX, PREFIX and POSTFIX match the n-grams of an analyzed field, so each value is a prefix of a gram.
+ * Analyzed fields are expected to be lower cased, so case insensitive values are lower cased.  Case sensitive
+ * values match either as given or lower cased, which may match more records than the predicate.</li>
+ * <li>IN and PREFIX on an un-analyzed field match its whole value as given.</li>
+ * </ul>
  */
 public class FilterExpressionToLuceneQuery implements FilterExpressionVisitor<Query> {
 
     private QueryBuilder builder;
     private Class<?> entityClass;
+    private Predicate<String> isAnalyzed;
 
-    public FilterExpressionToLuceneQuery(FullTextEntityManager entityManager, Class<?> entityClass) {
+    public FilterExpressionToLuceneQuery(FullTextEntityManager entityManager, Class<?> entityClass,
+                                         Predicate<String> isAnalyzed) {
+        this(entityManager.getSearchFactory().buildQueryBuilder().forEntity(entityClass).get(), entityClass,
+                isAnalyzed);
+    }
+
+    /**
+     * @param builder The query builder of the entity
+     * @param entityClass The entity being searched
+     * @param isAnalyzed Whether a field of the entity is indexed as n-grams
+     */
+    public FilterExpressionToLuceneQuery(QueryBuilder builder, Class<?> entityClass, Predicate<String> isAnalyzed) {
         this.entityClass = entityClass;
-        builder = entityManager.getSearchFactory().buildQueryBuilder().forEntity(entityClass).get();
+        this.builder = builder;
+        this.isAnalyzed = isAnalyzed;
     }
 
     @Override
@@ -44,30 +70,41 @@ public class FilterExpressionToLuceneQuery implements FilterExpressionVisitor<Qu
         Preconditions.checkArgument(filterPredicate.getPath().getPathElements().size() == 1);
         Preconditions.checkArgument(filterPredicate.getEntityType().equals(entityClass));
 
-        Analyzer analyzer = new KeywordAnalyzer();
-        QueryParser queryParser = new QueryParser(filterPredicate.getField(), analyzer);
-
-        String queryString = "";
+        String field = filterPredicate.getField();
+        Operator op = filterPredicate.getOperator();
+        boolean isFieldAnalyzed = isAnalyzed.test(field);
 
-        List<String> predicateValues = filterPredicate.getValues()
+        List<Term> terms = filterPredicate.getValues()
                 .stream()
                 .map(Object::toString)
-                .map(QueryParser::escape)
-                .map(FilterExpressionToLuceneQuery::escapeWhiteSpace)
+                .flatMap((value) -> isFieldAnalyzed ? normalize(op, value) : Stream.of(value))
+                .distinct()
+                .map((value) -> new Term(field, value))
                 .collect(Collectors.toList());
 
-        Operator op = filterPredicate.getOperator();
-
-        boolean lowerCaseTerms = lowerCaseTerms(op);
-
-        queryString = buildQueryString(op, predicateValues);
-
-        queryParser.setLowercaseExpandedTerms(lowerCaseTerms);
-
-        try {
-            return queryParser.parse(queryString);
-        } catch (ParseException e) {
-            throw new IllegalStateException(e);
+        switch (op) {
+            case INFIX_CASE_INSENSITIVE:
+            case PREFIX_CASE_INSENSITIVE:
+            case POSTFIX_CASE_INSENSITIVE:
+            case PREFIX:
+            case INFIX:
+            case POSTFIX: {
+                if (terms.size() == 1) {
+                    return new PrefixQuery(terms.get(0));
+                }
+
+                BooleanQuery.Builder anyPrefix = new BooleanQuery.Builder();
+                terms.forEach((term) -> anyPrefix.add(new PrefixQuery(term), BooleanClause.Occur.SHOULD));
+                return anyPrefix.build();
+            }
+            case IN: {
+                if (terms.size() == 1) {
+                    return new TermQuery(terms.get(0));
+                }
+                return new TermsQuery(terms);
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported Predicate Operator: " + op);
         }
     }
 
@@ -89,49 +126,29 @@ public class FilterExpressionToLuceneQuery implements FilterExpressionVisitor<Qu
 
     @Override
     public Query visitNotExpression(NotFilterExpression expression) {
+        /* Only fully supported predicates are negated: a partial one would drop records instead of adding some */
         return builder.bool()
                 .must(expression.getNegated().accept(this))
                 .not()
                 .createQuery();
     }
 
-    private boolean lowerCaseTerms(Operator op) {
+    /**
+     * Gets the values to look up in an analyzed field for a predicate value.
+     * @param op The predicate operator
+     * @param value The predicate value
+     * @return The lower cased value, and the value as given if the operator is case sensitive
+     */
+    private Stream<String> normalize(Operator op, String value) {
+        String lowerCased = value.toLowerCase(Locale.ENGLISH);
         switch (op) {
             case INFIX_CASE_INSENSITIVE:
             case PREFIX_CASE_INSENSITIVE:
-                return true;
+            case POSTFIX_CASE_INSENSITIVE:
+                return Stream.of(lowerCased);
 
             default:
-                return false;
-        }
-    }
-
-    private String buildQueryString(Operator op, List<String> predicateValues) {
-        switch (op) {
-            case INFIX_CASE_INSENSITIVE:
-            case PREFIX_CASE_INSENSITIVE:
-            case PREFIX:
-            case INFIX: {
-                return predicateValues.stream()
-                        .map((str) -> str + "*")
-                        .collect(Collectors.joining(" | "));
-            }
-            default:
-                throw new IllegalArgumentException("Unsupported Predicate Operator: " + op);
-        }
-    }
-
-    public static String escapeWhiteSpace(String str) {
-        StringBuilder sb = new StringBuilder();
-
-        for (int i = 0; i < str.length(); i++) {
-            char c = str.charAt(i);
-
-            if (Character.isWhitespace(c)) {
-                sb.append('\\');
-            }
-            sb.append(c);
+                return Stream.of(value, lowerCased);
         }
-        return sb.toString();
     }
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+
+package com.yahoo.elide.datastores.search;
+
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * Persists the time up to which the changes of each entity type have been indexed.  The time is the latest
+ * modification date read from the database, so it does not depend on the clock of the indexing process.
+ */
+public interface HighWaterMarkStore {
+
+    /**
+     * Gets the high-water mark of an entity type.
+     * @param entityClass The indexed entity
+     * @return The time up to which changes were indexed, or empty if the entity was never indexed.
+     */
+    Optional<Date> getHighWaterMark(Class<?> entityClass);
+
+    /**
+     * Records the high-water mark of an entity type.
+     * @param entityClass The indexed entity
+     * @param highWaterMark The time up to which changes were indexed
+     */
+    void setHighWaterMark(Class<?> entityClass, Date highWaterMark);
+}
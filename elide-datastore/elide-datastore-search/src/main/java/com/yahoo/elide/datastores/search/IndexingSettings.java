@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+
+package com.yahoo.elide.datastores.search;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controls how the search store builds its indexes on startup.
+ * <p>
+ * A few indexed entity types are indexed concurrently.  In the background, the store serves requests from the wrapped
+ * store until the index of an entity type is built.  In incremental mode, entity types with a recorded high-water
+ * mark only re-index the rows modified since then.
+ */
+public class IndexingSettings {
+
+    @Getter private int threadsToLoadObjects = 6;
+    @Getter private int batchSizeToLoadObjects = 10;
+    @Getter private int idFetchSize = 100;
+    @Getter private int typesToIndexInParallel = 2;
+    @Getter private boolean background = false;
+    @Getter private HighWaterMarkStore highWaterMarkStore;
+    @Getter private Duration highWaterMarkOverlap = Duration.ofMinutes(1);
+    @Getter private final Map<Class<?>, String> modifiedDateFields = new HashMap<>();
+
+    /**
+     * Sets the number of threads which load the entities of each type.
+     * @param threadsToLoadObjects the number of threads which load the entities of each type
+     * @return these settings
+     */
+    public IndexingSettings withThreadsToLoadObjects(int threadsToLoadObjects) {
+        this.threadsToLoadObjects = threadsToLoadObjects;
+        return this;
+    }
+
+    /**
+     * Sets the number of entities loaded by each query.
+     * @param batchSizeToLoadObjects the number of entities loaded by each query
+     * @return these settings
+     */
+    public IndexingSettings withBatchSizeToLoadObjects(int batchSizeToLoadObjects) {
+        this.batchSizeToLoadObjects = batchSizeToLoadObjects;
+        return this;
+    }
+
+    /**
+     * Sets the JDBC fetch size of the queries which list the ids to index.
+     * @param idFetchSize the JDBC fetch size of the queries which list the ids to index
+     * @return these settings
+     */
+    public IndexingSettings withIdFetchSize(int idFetchSize) {
+        this.idFetchSize = idFetchSize;
+        return this;
+    }
+
+    /**
+     * Sets the number of entity types indexed at the same time.  Each of them holds a database connection per thread
+     * which loads its entities, and one more which lists their ids.
+     * @param typesToIndexInParallel the number of entity types indexed at the same time
+     * @return these settings
+     */
+    public IndexingSettings withTypesToIndexInParallel(int typesToIndexInParallel) {
+        this.typesToIndexInParallel = typesToIndexInParallel;
+        return this;
+    }
+
+    /**
+     * Builds the indexes in the background, so that startup does not wait for them.
+     * @param background whether to build the indexes while requests are served
+     * @return these settings
+     */
+    public IndexingSettings withBackground(boolean background) {
+        this.background = background;
+        return this;
+    }
+
+    /**
+     * Only re-index the entities of a type modified since its last indexing.
+     * @param entityClass the indexed entity
+     * @param modifiedDateField the attribute holding the last modification date of the entity
+     * @return these settings
+     */
+    public IndexingSettings withIncrementalIndexing(Class<?> entityClass, String modifiedDateField) {
+        modifiedDateFields.put(entityClass, modifiedDateField);
+        return this;
+    }
+
+    /**
+     * Sets where the high-water marks of incremental indexing are kept.
+     * @param highWaterMarkStore where the times up to which entity types were indexed are kept
+     * @return these settings
+     */
+    public IndexingSettings withHighWaterMarkStore(HighWaterMarkStore highWaterMarkStore) {
+        this.highWaterMarkStore = highWaterMarkStore;
+        return this;
+    }
+
+    /**
+     * Sets how long before its high-water mark an incremental run starts re-indexing.  Rows committed late, with a
+     * modification date older than the latest one indexed, are indexed if they fall within this window.
+     * @param highWaterMarkOverlap how far back from the high-water mark rows are re-indexed
+     * @return these settings
+     */
+    public IndexingSettings withHighWaterMarkOverlap(Duration highWaterMarkOverlap) {
+        this.highWaterMarkOverlap = highWaterMarkOverlap;
+        return this;
+    }
+}
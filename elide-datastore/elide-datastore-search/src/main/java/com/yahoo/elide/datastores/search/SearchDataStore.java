@@ -13,6 +13,13 @@ import com.yahoo.elide.core.EntityDictionary;
 import org.hibernate.search.annotations.Indexed;
 import org.hibernate.search.jpa.FullTextEntityManager;
 import org.hibernate.search.jpa.Search;
+import org.hibernate.search.query.dsl.QueryBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import javax.persistence.EntityManagerFactory;
 
@@ -30,6 +37,12 @@ public class SearchDataStore implements DataStore {
     private boolean indexOnStartup = false;
     private int minNgramSize;
     private int maxNgramSize;
+    private IndexingSettings indexingSettings;
+    private SearchIndexer indexer;
+    private boolean projectStoredFields;
+
+    /* Query builders belong to the search factory, which every entity manager of the factory shares */
+    private Map<Class<?>, QueryBuilder> queryBuilders = new ConcurrentHashMap<>();
 
     public SearchDataStore(DataStore wrapped, EntityManagerFactory entityManagerFactory, boolean indexOnStartup) {
         this(wrapped, entityManagerFactory, indexOnStartup, DEFAULT_MIN_NGRAM, DEFAULT_MAX_NGRAM);
@@ -40,12 +53,44 @@ public class SearchDataStore implements DataStore {
                            boolean indexOnStartup,
                            int minNgramSize,
                            int maxNgramSize) {
+        this(wrapped, entityManagerFactory, indexOnStartup, minNgramSize, maxNgramSize, new IndexingSettings());
+    }
+
+    public SearchDataStore(DataStore wrapped,
+                           EntityManagerFactory entityManagerFactory,
+                           boolean indexOnStartup,
+                           int minNgramSize,
+                           int maxNgramSize,
+                           IndexingSettings indexingSettings) {
+        this(wrapped, entityManagerFactory, indexOnStartup, minNgramSize, maxNgramSize, indexingSettings, false);
+    }
+
+    /**
+     * Constructor.
+     * @param wrapped The store which serves what cannot be searched
+     * @param entityManagerFactory Creates the entity managers which search the index
+     * @param indexOnStartup Whether to build the indexes on startup
+     * @param minNgramSize The shortest value which can be searched
+     * @param maxNgramSize The longest value which can be searched
+     * @param indexingSettings How to build the indexes
+     * @param projectStoredFields Whether searches which only request attributes stored in the index
+     *                            (Store.YES) read them from the index instead of loading the hits
+     */
+    public SearchDataStore(DataStore wrapped,
+                           EntityManagerFactory entityManagerFactory,
+                           boolean indexOnStartup,
+                           int minNgramSize,
+                           int maxNgramSize,
+                           IndexingSettings indexingSettings,
+                           boolean projectStoredFields) {
         this.wrapped = wrapped;
         this.entityManagerFactory = entityManagerFactory;
         this.indexOnStartup = indexOnStartup;
 
         this.minNgramSize = minNgramSize;
         this.maxNgramSize = maxNgramSize;
+        this.indexingSettings = indexingSettings;
+        this.projectStoredFields = projectStoredFields;
     }
 
 
@@ -53,23 +98,16 @@ public class SearchDataStore implements DataStore {
     public void populateEntityDictionary(EntityDictionary entityDictionary) {
         wrapped.populateEntityDictionary(entityDictionary);
 
+        this.dictionary = entityDictionary;
+        this.indexer = new SearchIndexer(entityManagerFactory, entityDictionary, indexingSettings);
+
         if (indexOnStartup) {
+            List<Class<?>> indexedClasses = entityDictionary.getBindings().stream()
+                    .filter((entityClass) -> entityDictionary.getAnnotation(entityClass, Indexed.class) != null)
+                    .collect(Collectors.toList());
 
-            FullTextEntityManager em = Search.getFullTextEntityManager(entityManagerFactory.createEntityManager());
-            try {
-                for (Class<?> entityClass : entityDictionary.getBindings()) {
-                    if (entityDictionary.getAnnotation(entityClass, Indexed.class) != null) {
-                        em.createIndexer(entityClass).startAndWait();
-                    }
-                }
-            } catch (InterruptedException e) {
-                throw new IllegalStateException(e);
-            } finally {
-                em.close();
-            }
+            indexer.index(indexedClasses);
         }
-
-        this.dictionary = entityDictionary;
     }
 
     @Override
@@ -82,6 +120,12 @@ public class SearchDataStore implements DataStore {
 
         FullTextEntityManager em = Search.getFullTextEntityManager(entityManagerFactory.createEntityManager());
 
-        return new SearchDataTransaction(wrapped.beginReadTransaction(), dictionary, em, minNgramSize, maxNgramSize);
+        /* Whether an entity is indexed does not change within a transaction */
+        Set<Class<?>> unindexed = indexer.getUnindexed();
+
+        return new SearchDataTransaction(wrapped.beginReadTransaction(), dictionary, em, minNgramSize, maxNgramSize,
+                (entityClass) -> !unindexed.contains(entityClass), projectStoredFields,
+                (entityClass) -> queryBuilders.computeIfAbsent(entityClass, (cls) ->
+                        em.getSearchFactory().buildQueryBuilder().forEntity(cls).get()));
     }
 }
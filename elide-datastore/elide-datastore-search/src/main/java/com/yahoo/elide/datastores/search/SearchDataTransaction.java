@@ -9,42 +9,58 @@ package com.yahoo.elide.datastores.search;
 import static com.yahoo.elide.core.DataStoreTransaction.FeatureSupport.FULL;
 import static com.yahoo.elide.core.DataStoreTransaction.FeatureSupport.NONE;
 
+import com.yahoo.elide.annotation.ReadPermission;
 import com.yahoo.elide.core.DataStoreTransaction;
 import com.yahoo.elide.core.EntityDictionary;
 import com.yahoo.elide.core.Path;
 import com.yahoo.elide.core.RequestScope;
 import com.yahoo.elide.core.datastore.wrapped.TransactionWrapper;
 import com.yahoo.elide.core.exceptions.HttpStatusException;
+import com.yahoo.elide.core.exceptions.InternalServerErrorException;
 import com.yahoo.elide.core.exceptions.InvalidPredicateException;
 import com.yahoo.elide.core.exceptions.InvalidValueException;
 import com.yahoo.elide.core.filter.FilterPredicate;
 import com.yahoo.elide.core.filter.Operator;
+import com.yahoo.elide.core.filter.expression.AndFilterExpression;
 import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.core.filter.expression.FilterExpressionVisitor;
+import com.yahoo.elide.core.filter.expression.NotFilterExpression;
+import com.yahoo.elide.core.filter.expression.OrFilterExpression;
 import com.yahoo.elide.core.filter.expression.PredicateExtractionVisitor;
 import com.yahoo.elide.core.pagination.Pagination;
 import com.yahoo.elide.core.sort.Sorting;
+import com.yahoo.elide.generated.parsers.ExpressionParser;
+import com.yahoo.elide.security.checks.UserCheck;
 
+import org.antlr.v4.runtime.tree.ParseTree;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.Sort;
+import org.hibernate.search.annotations.Analyze;
 import org.hibernate.search.annotations.Field;
 import org.hibernate.search.annotations.Fields;
 import org.hibernate.search.annotations.Index;
 import org.hibernate.search.annotations.SortableField;
+import org.hibernate.search.annotations.Store;
 import org.hibernate.search.engine.ProjectionConstants;
 import org.hibernate.search.jpa.FullTextEntityManager;
 import org.hibernate.search.jpa.FullTextQuery;
+import org.hibernate.search.query.DatabaseRetrievalMethod;
+import org.hibernate.search.query.ObjectLookupMethod;
 import org.hibernate.search.query.dsl.QueryBuilder;
 import org.hibernate.search.query.dsl.sort.SortFieldContext;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Performs full text search when it can.  Otherwise delegates to a wrapped transaction.
@@ -55,17 +71,35 @@ public class SearchDataTransaction extends TransactionWrapper {
     private FullTextEntityManager em;
     private int minNgram;
     private int maxNgram;
+    private Predicate<Class<?>> isIndexed;
+    private boolean projectStoredFields;
+    private Function<Class<?>, QueryBuilder> queryBuilders;
 
     public SearchDataTransaction(DataStoreTransaction tx,
                                  EntityDictionary dictionary,
                                  FullTextEntityManager em,
                                  int minNgramSize,
                                  int maxNgramSize) {
+        this(tx, dictionary, em, minNgramSize, maxNgramSize, (entityClass) -> true, false,
+                (entityClass) -> em.getSearchFactory().buildQueryBuilder().forEntity(entityClass).get());
+    }
+
+    public SearchDataTransaction(DataStoreTransaction tx,
+                                 EntityDictionary dictionary,
+                                 FullTextEntityManager em,
+                                 int minNgramSize,
+                                 int maxNgramSize,
+                                 Predicate<Class<?>> isIndexed,
+                                 boolean projectStoredFields,
+                                 Function<Class<?>, QueryBuilder> queryBuilders) {
         super(tx);
         this.dictionary = dictionary;
         this.em = em;
         this.minNgram = minNgramSize;
         this.maxNgram = maxNgramSize;
+        this.isIndexed = isIndexed;
+        this.projectStoredFields = projectStoredFields;
+        this.queryBuilders = queryBuilders;
     }
 
     @Override
@@ -74,7 +108,8 @@ public class SearchDataTransaction extends TransactionWrapper {
                                         Optional<Sorting> sorting,
                                         Optional<Pagination> pagination,
                                         RequestScope requestScope) {
-        if (!filterExpression.isPresent()) {
+        /* Until its index is built, the entity is served by the wrapped store */
+        if (!filterExpression.isPresent() || !isIndexed.test(entityClass)) {
             return super.loadObjects(entityClass, filterExpression, sorting, pagination, requestScope);
         }
 
@@ -85,7 +120,7 @@ public class SearchDataTransaction extends TransactionWrapper {
         }
 
         if (canSearch) {
-            return search(entityClass, filterExpression.get(), sorting, pagination);
+            return search(entityClass, filterExpression.get(), sorting, pagination, requestScope);
         }
 
         return super.loadObjects(entityClass, filterExpression, sorting, pagination, requestScope);
@@ -136,7 +171,7 @@ public class SearchDataTransaction extends TransactionWrapper {
      * @return A lucene Sort object
      */
     private Sort buildSort(Sorting sorting, Class<?> entityClass) {
-        QueryBuilder builder = em.getSearchFactory().buildQueryBuilder().forEntity(entityClass).get();
+        QueryBuilder builder = queryBuilders.apply(entityClass);
 
         SortFieldContext context = null;
         for (Map.Entry<Path, Sorting.SortOrder> entry
@@ -167,8 +202,17 @@ public class SearchDataTransaction extends TransactionWrapper {
         return context.createSort();
     }
 
+    @Override
+    public boolean supportsKeysetPagination(Class<?> entityClass) {
+        /* Lucene queries are paginated by offset */
+        return false;
+    }
+
     @Override
     public FeatureSupport supportsFiltering(Class<?> entityClass, FilterExpression expression) {
+        if (!isIndexed.test(entityClass)) {
+            return super.supportsFiltering(entityClass, expression);
+        }
 
         /* Return the least support among all the predicates */
         FeatureSupport support = canSearch(entityClass, expression);
@@ -194,8 +238,17 @@ public class SearchDataTransaction extends TransactionWrapper {
             return support;
         }
 
+        /*
+         * A partially supported predicate matches a superset of the records.  Negated, it matches a subset, and the
+         * records it misses cannot be brought back in memory.
+         */
+        if (support == FeatureSupport.PARTIAL && getNegatedPredicates(expression).stream()
+                .anyMatch((predicate) -> canSearch(entityClass, predicate) == FeatureSupport.PARTIAL)) {
+            return NONE;
+        }
+
         /* Throw an exception if ngram size is violated */
-        predicates.stream().forEach((predicate) -> {
+        predicates.stream().filter((predicate) -> fieldIsAnalyzed(entityClass, predicate)).forEach((predicate) -> {
             predicate.getValues().stream().map(Object::toString).forEach((value) -> {
                 if (value.length() < minNgram || value.length() > maxNgram) {
                     String message = String.format("Field values for %s on entity %s must be >= %d and <= %d",
@@ -208,6 +261,42 @@ public class SearchDataTransaction extends TransactionWrapper {
         return support;
     }
 
+    /**
+     * Collects the predicates which appear under a NOT.
+     * @param expression The filter expression
+     * @return The negated predicates
+     */
+    private static Collection<FilterPredicate> getNegatedPredicates(FilterExpression expression) {
+        Collection<FilterPredicate> negated = new HashSet<>();
+        expression.accept(new FilterExpressionVisitor<Void>() {
+            @Override
+            public Void visitPredicate(FilterPredicate filterPredicate) {
+                return null;
+            }
+
+            @Override
+            public Void visitAndExpression(AndFilterExpression andExpression) {
+                andExpression.getLeft().accept(this);
+                andExpression.getRight().accept(this);
+                return null;
+            }
+
+            @Override
+            public Void visitOrExpression(OrFilterExpression orExpression) {
+                orExpression.getLeft().accept(this);
+                orExpression.getRight().accept(this);
+                return null;
+            }
+
+            @Override
+            public Void visitNotExpression(NotFilterExpression notExpression) {
+                notExpression.getNegated().accept(new PredicateExtractionVisitor(negated));
+                return null;
+            }
+        });
+        return negated;
+    }
+
     private DataStoreTransaction.FeatureSupport canSearch(Class<?> entityClass, FilterPredicate predicate) {
 
         boolean isIndexed = fieldIsIndexed(entityClass, predicate);
@@ -230,13 +319,16 @@ public class SearchDataTransaction extends TransactionWrapper {
      * @param filterExpression The filter expression to apply
      * @param sorting Optional sorting
      * @param pagination Optional pagination
+     * @param requestScope The request scope
      * @return A list of records of type entityClass.
      */
     private List<Object> search(Class<?> entityClass, FilterExpression filterExpression, Optional<Sorting> sorting,
-                                Optional<Pagination> pagination) {
+                                Optional<Pagination> pagination, RequestScope requestScope) {
             Query query;
             try {
-                query = filterExpression.accept(new FilterExpressionToLuceneQuery(em, entityClass));
+                query = filterExpression.accept(
+                        new FilterExpressionToLuceneQuery(queryBuilders.apply(entityClass), entityClass,
+                                (fieldName) -> fieldIsAnalyzed(entityClass, fieldName)));
             } catch (IllegalArgumentException e) {
                 throw new InvalidPredicateException(e.getMessage());
             }
@@ -252,27 +344,144 @@ public class SearchDataTransaction extends TransactionWrapper {
                 fullTextQuery = fullTextQuery.setFirstResult(pagination.get().getOffset());
             }
 
-            List<Object[]> results = fullTextQuery
-                    .setProjection(ProjectionConstants.THIS)
-                    .getResultList();
+            Optional<List<String>> projectedFields =
+                    getProjectedFields(entityClass, filterExpression, sorting, pagination, requestScope);
+
+            List<Object> results;
+            if (projectedFields.isPresent()) {
+                results = project(entityClass, fullTextQuery, projectedFields.get());
+            } else {
+                /* Load all the hits with one query by id rather than one query per hit */
+                results = fullTextQuery
+                        .initializeObjectsWith(ObjectLookupMethod.SKIP, DatabaseRetrievalMethod.QUERY)
+                        .getResultList();
+            }
 
+            /* The total was counted by the search which returned the hits */
             if (pagination.isPresent() && pagination.get().isGenerateTotals()) {
                 pagination.get().setPageTotals(fullTextQuery.getResultSize());
             }
 
-            if (results.isEmpty()) {
-                return Collections.emptyList();
+            return results;
+    }
+
+    /**
+     * Gets the fields which can be read from the index instead of the database.
+     * <p>
+     * Projected entities only hold their id and these fields, so nothing else may read them: not in-memory filters,
+     * sorts or permission checks, and not included relationships.
+     * @param entityClass The class to search
+     * @param filterExpression The filter expression applied by the search
+     * @param sorting The sorting applied by the search
+     * @param pagination The pagination applied by the search
+     * @param requestScope The request scope
+     * @return The requested fields, if they are all attributes stored in the index.
+     */
+    private Optional<List<String>> getProjectedFields(Class<?> entityClass,
+                                                      FilterExpression filterExpression,
+                                                      Optional<Sorting> sorting,
+                                                      Optional<Pagination> pagination,
+                                                      RequestScope requestScope) {
+        if (!projectStoredFields) {
+            return Optional.empty();
+        }
+
+        /* Without sparse fields every attribute and relationship is returned */
+        Set<String> sparseFields = requestScope.getSparseFields().get(dictionary.getJsonAliasFor(entityClass));
+        if (sparseFields == null) {
+            return Optional.empty();
+        }
+
+        List<String> attributes = dictionary.getAttributes(entityClass);
+        for (String fieldName : sparseFields) {
+            if (!attributes.contains(fieldName) || !fieldIsStored(entityClass, fieldName)) {
+                return Optional.empty();
             }
+        }
+
+        boolean isIncluding = requestScope.getQueryParams()
+                .map((params) -> params.containsKey("include"))
+                .orElse(false);
+
+        /* Partially supported filters, sorts the store could not apply and keyset pages are redone in memory */
+        boolean isSortedInMemory = !requestScope.getSorting().isDefaultInstance() && !sorting.isPresent();
+        boolean isKeyset = pagination.isPresent() && pagination.get().isKeyset();
 
-            return results.stream()
-                    .map((result) -> {
-                        return result[0];
-                    }).collect(Collectors.toList());
+        if (isIncluding || isSortedInMemory || isKeyset
+                || canSearch(entityClass, filterExpression) != FULL
+                || !hasOnlyUserChecks(entityClass)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new ArrayList<>(sparseFields));
     }
 
-    private boolean fieldIsIndexed(Class<?> entityClass, FilterPredicate predicate) {
-        String fieldName = predicate.getField();
+    /**
+     * Whether the read permissions of an entity and of all its fields only depend on the user.
+     * @param entityClass The class to search
+     * @return false if any read permission check inspects the entity.
+     */
+    private boolean hasOnlyUserChecks(Class<?> entityClass) {
+        List<ParseTree> permissions = new ArrayList<>();
+        permissions.add(dictionary.getPermissionsForClass(entityClass, ReadPermission.class));
+        for (String fieldName : dictionary.getAllFields(entityClass)) {
+            permissions.add(dictionary.getPermissionsForField(entityClass, fieldName, ReadPermission.class));
+        }
+
+        return permissions.stream()
+                .filter(Objects::nonNull)
+                .allMatch(this::hasOnlyUserChecks);
+    }
+
+    private boolean hasOnlyUserChecks(ParseTree permission) {
+        if (permission instanceof ExpressionParser.PermissionClassContext) {
+            return UserCheck.class.isAssignableFrom(dictionary.getCheck(permission.getText()));
+        }
+
+        for (int i = 0; i < permission.getChildCount(); i++) {
+            if (!hasOnlyUserChecks(permission.getChild(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
 
+    /**
+     * Builds detached entities from the fields stored in the index.
+     * @param entityClass The class to search
+     * @param fullTextQuery The search
+     * @param fieldNames The stored attributes to read
+     * @return Entities holding only their id and the stored attributes
+     */
+    private List<Object> project(Class<?> entityClass, FullTextQuery fullTextQuery, List<String> fieldNames) {
+        String[] projection = new String[fieldNames.size() + 1];
+        projection[0] = ProjectionConstants.ID;
+        for (int i = 0; i < fieldNames.size(); i++) {
+            projection[i + 1] = fieldNames.get(i);
+        }
+
+        List<Object[]> rows = fullTextQuery.setProjection(projection).getResultList();
+
+        String idFieldName = dictionary.getIdFieldName(entityClass);
+        List<Object> results = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Object entity;
+            try {
+                entity = entityClass.newInstance();
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new InternalServerErrorException("Cannot instantiate " + entityClass.getName());
+            }
+
+            dictionary.setValue(entity, idFieldName, row[0]);
+            for (int i = 0; i < fieldNames.size(); i++) {
+                dictionary.setValue(entity, fieldNames.get(i), row[i + 1]);
+            }
+            results.add(entity);
+        }
+        return results;
+    }
+
+    private List<Field> getFieldAnnotations(Class<?> entityClass, String fieldName) {
         List<Field> fields = new ArrayList<>();
 
         Field fieldAnnotation = dictionary.getAttributeOrRelationAnnotation(entityClass, Field.class, fieldName);
@@ -288,15 +497,44 @@ public class SearchDataTransaction extends TransactionWrapper {
             }
         }
 
-        boolean indexed = false;
+        return fields;
+    }
 
-        for (Field field : fields) {
-            if (field.index() == Index.YES && (field.name().equals(fieldName) || field.name().isEmpty())) {
-                indexed = true;
+    private boolean fieldIsStored(Class<?> entityClass, String fieldName) {
+        for (Field field : getFieldAnnotations(entityClass, fieldName)) {
+            if (field.store() != Store.NO && (field.name().equals(fieldName) || field.name().isEmpty())) {
+                return true;
             }
         }
 
-        return indexed;
+        return false;
+    }
+
+    private boolean fieldIsIndexed(Class<?> entityClass, FilterPredicate predicate) {
+        return getIndexedField(entityClass, predicate.getField()).isPresent();
+    }
+
+    /**
+     * Whether a predicate is matched against the n-grams of an analyzed field.
+     * @param entityClass The entity being searched
+     * @param predicate The predicate
+     * @return True if the field is analyzed.  False otherwise.
+     */
+    private boolean fieldIsAnalyzed(Class<?> entityClass, FilterPredicate predicate) {
+        return fieldIsAnalyzed(entityClass, predicate.getField());
+    }
+
+    private boolean fieldIsAnalyzed(Class<?> entityClass, String fieldName) {
+        return getIndexedField(entityClass, fieldName)
+                .map((field) -> field.analyze() == Analyze.YES)
+                .orElse(false);
+    }
+
+    private Optional<Field> getIndexedField(Class<?> entityClass, String fieldName) {
+        return getFieldAnnotations(entityClass, fieldName).stream()
+                .filter((field) -> field.index() == Index.YES)
+                .filter((field) -> field.name().equals(fieldName) || field.name().isEmpty())
+                .findFirst();
     }
 
     private DataStoreTransaction.FeatureSupport operatorSupport(Class<?> entityClass, FilterPredicate predicate)
@@ -304,14 +542,35 @@ public class SearchDataTransaction extends TransactionWrapper {
 
         Operator op = predicate.getOperator();
 
-        /* We only support INFIX & PREFIX */
+        if (fieldIsAnalyzed(entityClass, predicate)) {
+
+            /*
+             * The values match n-grams, which can start anywhere in the field.  Case sensitive values also match
+             * the lower cased n-grams of other cases.
+             */
+            switch (op) {
+                case INFIX_CASE_INSENSITIVE:
+                    return FULL;
+                case INFIX:
+                case PREFIX:
+                case PREFIX_CASE_INSENSITIVE:
+                case POSTFIX:
+                case POSTFIX_CASE_INSENSITIVE:
+                    return FeatureSupport.PARTIAL;
+                default:
+                    return NONE;
+            }
+        }
+
+        /* Un-analyzed text is indexed as is, so only exact matches and prefixes can be searched */
+        if (!String.class.equals(dictionary.getType(entityClass, predicate.getField()))) {
+            return NONE;
+        }
+
         switch (op) {
-            case INFIX:
-            case INFIX_CASE_INSENSITIVE:
-                return FULL;
+            case IN:
             case PREFIX:
-            case PREFIX_CASE_INSENSITIVE:
-                return FeatureSupport.PARTIAL;
+                return FULL;
             default:
                 return NONE;
         }
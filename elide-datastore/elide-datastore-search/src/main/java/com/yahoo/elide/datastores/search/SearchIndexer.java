@@ -0,0 +1,199 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+
+package com.yahoo.elide.datastores.search;
+
+import com.yahoo.elide.core.EntityDictionary;
+
+import org.hibernate.search.jpa.FullTextEntityManager;
+import org.hibernate.search.jpa.Search;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+/**
+ * Builds the indexes of the search store, one entity type per task.
+ * <p>
+ * An entity type is indexed in full the first time, and then, if incremental indexing is configured for it, only
+ * the entities modified since its high-water mark, less an overlap for rows committed late.  The high-water mark is
+ * the latest modification date in the database before the run.  Entities deleted outside of Hibernate are not
+ * removed from the index by an incremental run.
+ */
+@Slf4j
+class SearchIndexer {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityDictionary dictionary;
+    private final IndexingSettings settings;
+    private final Set<Class<?>> pending = ConcurrentHashMap.newKeySet();
+
+    SearchIndexer(EntityManagerFactory entityManagerFactory, EntityDictionary dictionary, IndexingSettings settings) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dictionary = dictionary;
+        this.settings = settings;
+    }
+
+    /**
+     * Gets the entity types whose index cannot be searched yet.
+     * @return a copy of the entity types being indexed, or which failed to be.
+     */
+    Set<Class<?>> getUnindexed() {
+        return new HashSet<>(pending);
+    }
+
+    /**
+     * Indexes entity types concurrently.  Waits for them unless indexing runs in the background.
+     * @param entityClasses The entity types to index
+     */
+    void index(Collection<Class<?>> entityClasses) {
+        if (entityClasses.isEmpty()) {
+            return;
+        }
+
+        pending.addAll(entityClasses);
+
+        int threads = Math.max(1, Math.min(settings.getTypesToIndexInParallel(), entityClasses.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads, (runnable) -> {
+            Thread thread = new Thread(runnable, "elide-search-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (Class<?> entityClass : entityClasses) {
+            futures.add(executor.submit(() -> {
+                try {
+                    index(entityClass);
+                } catch (Exception e) {
+                    log.error("Failed to index {}", entityClass.getName(), e);
+                    throw e;
+                }
+                pending.remove(entityClass);
+                return null;
+            }));
+        }
+        executor.shutdown();
+
+        if (settings.isBackground()) {
+            return;
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void index(Class<?> entityClass) throws InterruptedException {
+        String modifiedDateField = settings.getModifiedDateFields().get(entityClass);
+        HighWaterMarkStore highWaterMarks = settings.getHighWaterMarkStore();
+        boolean incremental = modifiedDateField != null && highWaterMarks != null;
+
+        Optional<Date> highWaterMark = incremental
+                ? highWaterMarks.getHighWaterMark(entityClass)
+                : Optional.empty();
+
+        Optional<Date> lastModified = Optional.empty();
+        FullTextEntityManager em = Search.getFullTextEntityManager(entityManagerFactory.createEntityManager());
+        try {
+            /* Changes made while indexing are newer, so the next run picks them up */
+            if (incremental) {
+                lastModified = getLastModified(em, entityClass, modifiedDateField);
+            }
+
+            if (highWaterMark.isPresent()) {
+                Date since = new Date(highWaterMark.get().getTime() - settings.getHighWaterMarkOverlap().toMillis());
+                indexModifiedSince(em, entityClass, modifiedDateField, since);
+            } else {
+                em.createIndexer(entityClass)
+                        .threadsToLoadObjects(settings.getThreadsToLoadObjects())
+                        .batchSizeToLoadObjects(settings.getBatchSizeToLoadObjects())
+                        .idFetchSize(settings.getIdFetchSize())
+                        .startAndWait();
+            }
+        } finally {
+            em.close();
+        }
+
+        lastModified.ifPresent((mark) -> highWaterMarks.setHighWaterMark(entityClass, mark));
+    }
+
+    private <T> Optional<Date> getLastModified(FullTextEntityManager em,
+                                               Class<T> entityClass,
+                                               String modifiedDateField) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<Date> criteria = builder.createQuery(Date.class);
+        Root<T> root = criteria.from(entityClass);
+        criteria.select(builder.greatest(root.<Date>get(modifiedDateField)));
+
+        return Optional.ofNullable(em.createQuery(criteria).getSingleResult());
+    }
+
+    private <T> void indexModifiedSince(FullTextEntityManager em,
+                                        Class<T> entityClass,
+                                        String modifiedDateField,
+                                        Date since) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<T> criteria = builder.createQuery(entityClass);
+        Root<T> root = criteria.from(entityClass);
+        criteria.select(root)
+                .where(builder.greaterThanOrEqualTo(root.<Date>get(modifiedDateField), since))
+                .orderBy(builder.asc(root.get(dictionary.getIdFieldName(entityClass))));
+
+        int batchSize = settings.getBatchSizeToLoadObjects();
+
+        EntityTransaction transaction = em.getTransaction();
+        transaction.begin();
+        try {
+            List<T> batch;
+            int offset = 0;
+            do {
+                batch = em.createQuery(criteria)
+                        .setFirstResult(offset)
+                        .setMaxResults(batchSize)
+                        .getResultList();
+
+                batch.forEach(em::index);
+
+                /* Write each batch to the index and let go of its entities */
+                em.flushToIndexes();
+                em.clear();
+                offset += batchSize;
+            } while (batch.size() == batchSize);
+
+            transaction.commit();
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        }
+    }
+}
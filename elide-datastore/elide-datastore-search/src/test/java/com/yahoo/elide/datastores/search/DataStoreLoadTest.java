@@ -7,6 +7,8 @@
 package com.yahoo.elide.datastores.search;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -20,6 +22,7 @@ import com.yahoo.elide.core.DataStoreTransaction;
 import com.yahoo.elide.core.EntityDictionary;
 import com.yahoo.elide.core.RequestScope;
 import com.yahoo.elide.core.datastore.inmemory.InMemoryStoreTransaction;
+import com.yahoo.elide.core.filter.dialect.CaseSensitivityStrategy;
 import com.yahoo.elide.core.filter.dialect.RSQLFilterDialect;
 import com.yahoo.elide.core.filter.expression.FilterExpression;
 import com.yahoo.elide.core.pagination.Pagination;
@@ -36,6 +39,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -46,26 +50,33 @@ import java.util.stream.StreamSupport;
 
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class DataStoreLoadTest {
 
+    private EntityDictionary dictionary;
     private RSQLFilterDialect filterParser;
+    private RSQLFilterDialect caseSensitiveFilterParser;
+    private DataStore mockStore;
+    private EntityManagerFactory emf;
     private SearchDataStore searchStore;
     private DataStoreTransaction wrappedTransaction;
     private RequestScope mockScope;
 
     public DataStoreLoadTest() {
-        EntityDictionary dictionary = new EntityDictionary(new HashMap<>());
+        dictionary = new EntityDictionary(new HashMap<>());
         dictionary.bindEntity(Item.class);
 
         filterParser = new RSQLFilterDialect(dictionary);
+        caseSensitiveFilterParser = new RSQLFilterDialect(dictionary, new CaseSensitivityStrategy.UseColumnCollation());
 
-        DataStore mockStore = mock(DataStore.class);
+        mockStore = mock(DataStore.class);
         wrappedTransaction = mock(DataStoreTransaction.class);
         when(mockStore.beginReadTransaction()).thenReturn(wrappedTransaction);
 
-        EntityManagerFactory emf = Persistence.createEntityManagerFactory("searchDataStoreTest");
+        emf = Persistence.createEntityManagerFactory("searchDataStoreTest");
 
         searchStore = new SearchDataStore(mockStore, emf, true, 3, 10);
         searchStore.populateEntityDictionary(dictionary);
@@ -190,6 +201,56 @@ public class DataStoreLoadTest {
         verify(wrappedTransaction, never()).loadObjects(any(), any(), any(), any(), any());
     }
 
+    @Test
+    public void testCaseSensitiveContainsPredicate() throws Exception {
+        DataStoreTransaction testTransaction = new InMemoryStoreTransaction(searchStore.beginReadTransaction());
+
+        //Case sensitive query against case insensitive index is filtered again in memory
+        FilterExpression filter = caseSensitiveFilterParser.parseFilterExpression("name==*Dru*", Item.class, false);
+
+        Iterable<Object> loaded = testTransaction.loadObjects(Item.class, Optional.of(filter), Optional.empty(), Optional.empty(), mockScope);
+
+        assertListContains(loaded, Lists.newArrayList(1L, 3L));
+
+        filter = caseSensitiveFilterParser.parseFilterExpression("name==*dru*", Item.class, false);
+
+        loaded = testTransaction.loadObjects(Item.class, Optional.of(filter), Optional.empty(), Optional.empty(), mockScope);
+
+        assertListContains(loaded, Lists.newArrayList());
+        verify(wrappedTransaction, never()).loadObjects(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testUnanalyzedInPredicate() throws Exception {
+        DataStoreTransaction testTransaction = searchStore.beginReadTransaction();
+
+        FilterExpression filter = caseSensitiveFilterParser.parseFilterExpression("sku=in=(SD-14,BD-22)", Item.class, false);
+
+        Iterable<Object> loaded = testTransaction.loadObjects(Item.class, Optional.of(filter), Optional.empty(), Optional.empty(), mockScope);
+
+        assertListContains(loaded, Lists.newArrayList(1L, 3L));
+        verify(wrappedTransaction, never()).loadObjects(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testUnanalyzedPrefixPredicate() throws Exception {
+        DataStoreTransaction testTransaction = searchStore.beginReadTransaction();
+
+        FilterExpression filter = caseSensitiveFilterParser.parseFilterExpression("sku==CS*", Item.class, false);
+
+        Iterable<Object> loaded = testTransaction.loadObjects(Item.class, Optional.of(filter), Optional.empty(), Optional.empty(), mockScope);
+
+        assertListContains(loaded, Lists.newArrayList(4L, 5L));
+
+        //Un-analyzed values are indexed as is
+        filter = caseSensitiveFilterParser.parseFilterExpression("sku==cs*", Item.class, false);
+
+        loaded = testTransaction.loadObjects(Item.class, Optional.of(filter), Optional.empty(), Optional.empty(), mockScope);
+
+        assertListContains(loaded, Lists.newArrayList());
+        verify(wrappedTransaction, never()).loadObjects(any(), any(), any(), any(), any());
+    }
+
     @Test
     public void testPredicateConjunction() throws Exception {
 
@@ -311,13 +372,86 @@ public class DataStoreLoadTest {
     }
 
     @Test
-    public void testEscapeWhiteSpace() {
-        String toReplace = "Foo\tBar Blah\nFoobar";
-        String expected = "Foo\\\tBar\\ Blah\\\nFoobar";
+    public void testStoredFieldProjection() throws Exception {
+        SearchDataStore projectingStore = new SearchDataStore(mockStore, emf, false, 3, 10,
+                new IndexingSettings(), true);
+        projectingStore.populateEntityDictionary(dictionary);
+
+        DataStoreTransaction testTransaction = projectingStore.beginReadTransaction();
+
+        RequestScope sparseScope = mock(RequestScope.class);
+        when(sparseScope.getDictionary()).thenReturn(dictionary);
+        when(sparseScope.getSparseFields())
+                .thenReturn(Collections.singletonMap("item", Collections.singleton("description")));
+        when(sparseScope.getSorting()).thenReturn(Sorting.getDefaultEmptyInstance());
+
+        FilterExpression filter = filterParser.parseFilterExpression("name==*DrU*", Item.class, false);
+
+        Iterable<Object> loaded = testTransaction.loadObjects(Item.class, Optional.of(filter), Optional.empty(), Optional.empty(), sparseScope);
+
+        assertListContains(loaded, Lists.newArrayList(1L, 3L));
+
+        /* Only the stored attribute is read from the index */
+        for (Object item : loaded) {
+            assertNotNull(((Item) item).getDescription());
+            assertNull(((Item) item).getName());
+        }
+        verify(wrappedTransaction, never()).loadObjects(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testNoStoredFieldProjectionWhenIncluding() throws Exception {
+        SearchDataStore projectingStore = new SearchDataStore(mockStore, emf, false, 3, 10,
+                new IndexingSettings(), true);
+        projectingStore.populateEntityDictionary(dictionary);
+
+        DataStoreTransaction testTransaction = projectingStore.beginReadTransaction();
+
+        MultivaluedMap<String, String> queryParams = new MultivaluedHashMap<>();
+        queryParams.putSingle("include", "owner");
+
+        RequestScope includingScope = mock(RequestScope.class);
+        when(includingScope.getDictionary()).thenReturn(dictionary);
+        when(includingScope.getSparseFields())
+                .thenReturn(Collections.singletonMap("item", Collections.singleton("description")));
+        when(includingScope.getSorting()).thenReturn(Sorting.getDefaultEmptyInstance());
+        when(includingScope.getQueryParams()).thenReturn(Optional.of(queryParams));
+
+        FilterExpression filter = filterParser.parseFilterExpression("name==*DrU*", Item.class, false);
+
+        Iterable<Object> loaded = testTransaction.loadObjects(Item.class, Optional.of(filter), Optional.empty(), Optional.empty(), includingScope);
+
+        assertListContains(loaded, Lists.newArrayList(1L, 3L));
+
+        /* Included relationships are read from the entities, so they are loaded whole */
+        for (Object item : loaded) {
+            assertNotNull(((Item) item).getName());
+        }
+    }
+
+    @Test
+    public void testNoStoredFieldProjectionWhenSortedInMemory() throws Exception {
+        SearchDataStore projectingStore = new SearchDataStore(mockStore, emf, false, 3, 10,
+                new IndexingSettings(), true);
+        projectingStore.populateEntityDictionary(dictionary);
+
+        DataStoreTransaction testTransaction = projectingStore.beginReadTransaction();
 
-        String actual = FilterExpressionToLuceneQuery.escapeWhiteSpace(toReplace);
+        RequestScope sortingScope = mock(RequestScope.class);
+        when(sortingScope.getDictionary()).thenReturn(dictionary);
+        when(sortingScope.getSparseFields())
+                .thenReturn(Collections.singletonMap("item", Collections.singleton("description")));
+        when(sortingScope.getSorting()).thenReturn(Sorting.parseSortRule("name"));
 
-        assertEquals(expected, actual);
+        FilterExpression filter = filterParser.parseFilterExpression("name==*DrU*", Item.class, false);
+
+        /* The sort was not pushed down, so the records are sorted by name after they are loaded */
+        Iterable<Object> loaded = testTransaction.loadObjects(Item.class, Optional.of(filter), Optional.empty(), Optional.empty(), sortingScope);
+
+        assertListContains(loaded, Lists.newArrayList(1L, 3L));
+        for (Object item : loaded) {
+            assertNotNull(((Item) item).getName());
+        }
     }
 
     private void assertListMatches(Iterable<Object> actual, List<Long> expectedIds) {
@@ -20,12 +20,15 @@ import com.yahoo.elide.core.EntityDictionary;
 import com.yahoo.elide.core.RequestScope;
 import com.yahoo.elide.core.exceptions.InvalidValueException;
 import com.yahoo.elide.core.filter.FilterPredicate;
+import com.yahoo.elide.core.filter.dialect.CaseSensitivityStrategy;
 import com.yahoo.elide.core.filter.dialect.RSQLFilterDialect;
 import com.yahoo.elide.core.filter.expression.FilterExpression;
 import com.yahoo.elide.datastores.search.models.Item;
 import com.yahoo.elide.utils.coerce.CoerceUtil;
 import com.yahoo.elide.utils.coerce.converters.ISO8601DateSerde;
 import org.h2.store.fs.FileUtils;
+import org.hibernate.search.jpa.FullTextEntityManager;
+import org.hibernate.search.query.dsl.QueryBuilder;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,16 +43,19 @@ import javax.persistence.Persistence;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class DataStoreSupportsFilteringTest {
 
+    private EntityDictionary dictionary;
     private RSQLFilterDialect filterParser;
+    private RSQLFilterDialect caseSensitiveFilterParser;
     private SearchDataStore searchStore;
     private DataStoreTransaction wrappedTransaction;
     private RequestScope mockScope;
 
     public DataStoreSupportsFilteringTest() {
-        EntityDictionary dictionary = new EntityDictionary(new HashMap<>());
+        dictionary = new EntityDictionary(new HashMap<>());
         dictionary.bindEntity(Item.class);
 
         filterParser = new RSQLFilterDialect(dictionary);
+        caseSensitiveFilterParser = new RSQLFilterDialect(dictionary, new CaseSensitivityStrategy.UseColumnCollation());
 
         DataStore mockStore = mock(DataStore.class);
         wrappedTransaction = mock(DataStoreTransaction.class);
@@ -113,6 +119,19 @@ public class DataStoreSupportsFilteringTest {
         verify(wrappedTransaction, times(1)).supportsFiltering(eq(Item.class), eq(filter));
     }
 
+    @Test
+    public void testUnindexedEntity() throws Exception {
+        /* Until its index is built, the entity is filtered by the wrapped store */
+        DataStoreTransaction testTransaction = new SearchDataTransaction(wrappedTransaction, dictionary,
+                mock(FullTextEntityManager.class), 3, 10, (entityClass) -> false, false,
+                (entityClass) -> mock(QueryBuilder.class));
+        FilterExpression filter = filterParser.parseFilterExpression("name==*rum*",
+                Item.class, false);
+
+        assertEquals(null, testTransaction.supportsFiltering(Item.class, filter));
+        verify(wrappedTransaction, times(1)).supportsFiltering(eq(Item.class), eq(filter));
+    }
+
     @Test
     public void testNgramTooSmall() throws Exception {
         DataStoreTransaction testTransaction = searchStore.beginReadTransaction();
@@ -159,6 +178,55 @@ public class DataStoreSupportsFilteringTest {
         assertEquals(DataStoreTransaction.FeatureSupport.FULL, testTransaction.supportsFiltering(Item.class, filter));
     }
 
+    @Test
+    public void testCaseSensitiveInfixOperator() throws Exception {
+        /* The lower cased n-grams also match other cases, which are filtered out in memory */
+        DataStoreTransaction testTransaction = searchStore.beginReadTransaction();
+        FilterPredicate filter = (FilterPredicate) caseSensitiveFilterParser.parseFilterExpression("name==*Rum*",
+                Item.class, false);
+
+        assertEquals(DataStoreTransaction.FeatureSupport.PARTIAL, testTransaction.supportsFiltering(Item.class, filter));
+    }
+
+    @Test
+    public void testNegatedCaseSensitiveInfixOperator() throws Exception {
+        /* The n-grams would exclude other cases too, which cannot be brought back in memory */
+        DataStoreTransaction testTransaction = searchStore.beginReadTransaction();
+        FilterExpression filter = caseSensitiveFilterParser.parseFilterExpression("name!=*Rum*",
+                Item.class, false);
+
+        assertEquals(null, testTransaction.supportsFiltering(Item.class, filter));
+        verify(wrappedTransaction, times(1)).supportsFiltering(eq(Item.class), eq(filter));
+    }
+
+    @Test
+    public void testUnanalyzedInOperator() throws Exception {
+        DataStoreTransaction testTransaction = searchStore.beginReadTransaction();
+        FilterPredicate filter = (FilterPredicate) caseSensitiveFilterParser.parseFilterExpression(
+                "sku=in=(SD-14,BD-22)", Item.class, false);
+
+        assertEquals(DataStoreTransaction.FeatureSupport.FULL, testTransaction.supportsFiltering(Item.class, filter));
+    }
+
+    @Test
+    public void testUnanalyzedPrefixOperator() throws Exception {
+        DataStoreTransaction testTransaction = searchStore.beginReadTransaction();
+        FilterPredicate filter = (FilterPredicate) caseSensitiveFilterParser.parseFilterExpression("sku==CS*",
+                Item.class, false);
+
+        assertEquals(DataStoreTransaction.FeatureSupport.FULL, testTransaction.supportsFiltering(Item.class, filter));
+    }
+
+    @Test
+    public void testUnanalyzedCaseInsensitiveOperator() throws Exception {
+        DataStoreTransaction testTransaction = searchStore.beginReadTransaction();
+        FilterPredicate filter = (FilterPredicate) filterParser.parseFilterExpression("sku==CS*",
+                Item.class, false);
+
+        assertEquals(null, testTransaction.supportsFiltering(Item.class, filter));
+        verify(wrappedTransaction, times(1)).supportsFiltering(eq(Item.class), eq(filter));
+    }
+
     @Test
     public void testPrefixOperator() throws Exception {
         DataStoreTransaction testTransaction = searchStore.beginReadTransaction();
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+
+package com.yahoo.elide.datastores.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.yahoo.elide.datastores.search.models.Item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.util.Date;
+import java.util.Optional;
+
+public class FileHighWaterMarkStoreTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    public void testHighWaterMarksArePersisted() {
+        File file = new File(directory, "marks.properties");
+
+        FileHighWaterMarkStore store = new FileHighWaterMarkStore(file);
+        assertEquals(Optional.empty(), store.getHighWaterMark(Item.class));
+
+        store.setHighWaterMark(Item.class, new Date(1000L));
+        assertEquals(Optional.of(new Date(1000L)), store.getHighWaterMark(Item.class));
+
+        /* A new store reads the marks of the previous one */
+        assertEquals(Optional.of(new Date(1000L)), new FileHighWaterMarkStore(file).getHighWaterMark(Item.class));
+    }
+
+    @Test
+    public void testUnreadableFile() {
+        assertThrows(UncheckedIOException.class, () -> new FileHighWaterMarkStore(directory));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+
+package com.yahoo.elide.datastores.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.Path;
+import com.yahoo.elide.core.filter.FilterPredicate;
+import com.yahoo.elide.core.filter.Operator;
+import com.yahoo.elide.datastores.search.models.Item;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queries.TermsQuery;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.hibernate.search.query.dsl.QueryBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+
+public class FilterExpressionToLuceneQueryTest {
+
+    private Path namePath;
+    private Path skuPath;
+    private FilterExpressionToLuceneQuery visitor;
+
+    public FilterExpressionToLuceneQueryTest() {
+        EntityDictionary dictionary = new EntityDictionary(new HashMap<>());
+        dictionary.bindEntity(Item.class);
+
+        namePath = new Path(Item.class, dictionary, "name");
+        skuPath = new Path(Item.class, dictionary, "sku");
+        visitor = new FilterExpressionToLuceneQuery(mock(QueryBuilder.class), Item.class,
+                (fieldName) -> fieldName.equals("name"));
+    }
+
+    @Test
+    public void testInfixOperator() {
+        Query query = toQuery(namePath, Operator.INFIX_CASE_INSENSITIVE, "DrU");
+
+        assertEquals(new PrefixQuery(new Term("name", "dru")), query);
+    }
+
+    @Test
+    public void testCaseSensitiveInfixOperator() {
+        /* The analyzed field is lower cased, so the value may be indexed either way */
+        Query query = toQuery(namePath, Operator.INFIX, "DrU");
+
+        BooleanQuery.Builder expected = new BooleanQuery.Builder();
+        expected.add(new PrefixQuery(new Term("name", "DrU")), BooleanClause.Occur.SHOULD);
+        expected.add(new PrefixQuery(new Term("name", "dru")), BooleanClause.Occur.SHOULD);
+
+        assertEquals(expected.build(), query);
+    }
+
+    @Test
+    public void testValuesWithWhiteSpace() {
+        Query query = toQuery(namePath, Operator.PREFIX, "dr u", "ha t");
+
+        BooleanQuery.Builder expected = new BooleanQuery.Builder();
+        expected.add(new PrefixQuery(new Term("name", "dr u")), BooleanClause.Occur.SHOULD);
+        expected.add(new PrefixQuery(new Term("name", "ha t")), BooleanClause.Occur.SHOULD);
+
+        assertEquals(expected.build(), query);
+    }
+
+    @Test
+    public void testPrefixOperatorOnUnanalyzedField() {
+        assertEquals(new PrefixQuery(new Term("sku", "CS")), toQuery(skuPath, Operator.PREFIX, "CS"));
+    }
+
+    @Test
+    public void testInOperator() {
+        assertEquals(new TermQuery(new Term("sku", "SD-14")), toQuery(skuPath, Operator.IN, "SD-14"));
+
+        assertEquals(new TermsQuery(Arrays.asList(new Term("sku", "SD-14"), new Term("sku", "BD-22"))),
+                toQuery(skuPath, Operator.IN, "SD-14", "BD-22"));
+    }
+
+    @Test
+    public void testUnsupportedOperator() {
+        FilterPredicate predicate = new FilterPredicate(namePath, Operator.ISNULL, Collections.emptyList());
+
+        assertThrows(IllegalArgumentException.class, () -> predicate.accept(visitor));
+    }
+
+    private Query toQuery(Path path, Operator op, Object... values) {
+        return new FilterPredicate(path, op, Arrays.asList(values)).accept(visitor);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+
+package com.yahoo.elide.datastores.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.datastores.search.models.Item;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.TermQuery;
+import org.h2.store.fs.FileUtils;
+import org.hibernate.search.jpa.FullTextEntityManager;
+import org.hibernate.search.jpa.Search;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SearchIndexerTest {
+
+    private EntityDictionary dictionary;
+    private EntityManagerFactory emf;
+
+    public SearchIndexerTest() {
+        dictionary = new EntityDictionary(new HashMap<>());
+        dictionary.bindEntity(Item.class);
+
+        emf = Persistence.createEntityManagerFactory("searchDataStoreTest");
+    }
+
+    @BeforeAll
+    public void initialize() {
+        FileUtils.createDirectory("/tmp/lucene");
+    }
+
+    @AfterAll
+    public void cleanup() {
+        FileUtils.deleteRecursive("/tmp/lucene", false);
+    }
+
+    @Test
+    public void testBackgroundIndexing() throws Exception {
+        CountDownLatch released = new CountDownLatch(1);
+        IndexingSettings settings = new IndexingSettings()
+                .withBackground(true)
+                .withIncrementalIndexing(Item.class, "modifiedDate")
+                .withHighWaterMarkStore(new MemoryHighWaterMarkStore(released));
+
+        SearchIndexer indexer = new SearchIndexer(emf, dictionary, settings);
+        indexer.index(Collections.singletonList(Item.class));
+
+        /* The entity is served by the wrapped store until its index is built */
+        assertEquals(Collections.singleton(Item.class), indexer.getUnindexed());
+
+        released.countDown();
+        awaitIndexed(indexer);
+
+        assertTrue(indexer.getUnindexed().isEmpty());
+        assertEquals(1, countSku("SD-14"));
+    }
+
+    @Test
+    public void testIncrementalIndexing() {
+        MemoryHighWaterMarkStore highWaterMarks = new MemoryHighWaterMarkStore(new CountDownLatch(0));
+        IndexingSettings settings = new IndexingSettings()
+                .withIncrementalIndexing(Item.class, "modifiedDate")
+                .withHighWaterMarkStore(highWaterMarks);
+
+        SearchIndexer indexer = new SearchIndexer(emf, dictionary, settings);
+
+        /* The first run indexes everything, up to the latest modification in the database */
+        indexer.index(Collections.singletonList(Item.class));
+        assertEquals(Timestamp.valueOf("2018-02-01 00:00:00").getTime(),
+                highWaterMarks.getHighWaterMark(Item.class).get().getTime());
+
+        try {
+            /* Rows written behind the back of Hibernate Search */
+            insert(2000, "Crash Cymbal", "2019-01-01 00:00:00", "CC-18");
+            insert(2001, "Splash Cymbal", "2017-01-01 00:00:00", "SC-10");
+
+            indexer.index(Collections.singletonList(Item.class));
+
+            /* Only the rows modified since the high-water mark are indexed */
+            assertEquals(1, countSku("CC-18"));
+            assertEquals(0, countSku("SC-10"));
+            assertEquals(Timestamp.valueOf("2019-01-01 00:00:00").getTime(),
+                    highWaterMarks.getHighWaterMark(Item.class).get().getTime());
+        } finally {
+            delete(2000);
+            delete(2001);
+        }
+    }
+
+    @Test
+    public void testFailedIndexing() {
+        MemoryHighWaterMarkStore highWaterMarks = new MemoryHighWaterMarkStore(new CountDownLatch(0));
+        IndexingSettings settings = new IndexingSettings()
+                .withIncrementalIndexing(Item.class, "noSuchField")
+                .withHighWaterMarkStore(highWaterMarks);
+
+        SearchIndexer indexer = new SearchIndexer(emf, dictionary, settings);
+
+        assertThrows(IllegalStateException.class, () -> indexer.index(Collections.singletonList(Item.class)));
+
+        /* The entity is never searched, and the next run starts over */
+        assertEquals(Collections.singleton(Item.class), indexer.getUnindexed());
+        assertEquals(Optional.empty(), highWaterMarks.getHighWaterMark(Item.class));
+    }
+
+    private void awaitIndexed(SearchIndexer indexer) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30000;
+        while (!indexer.getUnindexed().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private int countSku(String sku) {
+        FullTextEntityManager em = Search.getFullTextEntityManager(emf.createEntityManager());
+        try {
+            return em.createFullTextQuery(new TermQuery(new Term("sku", sku)), Item.class).getResultSize();
+        } finally {
+            em.close();
+        }
+    }
+
+    private void insert(long id, String name, String modifiedDate, String sku) {
+        FullTextEntityManager em = Search.getFullTextEntityManager(emf.createEntityManager());
+        try {
+            em.getTransaction().begin();
+            em.createNativeQuery("INSERT INTO item (id, name, description, modifiedDate, price, sku) "
+                    + "VALUES (?, ?, ?, ?, 0, ?)")
+                    .setParameter(1, id)
+                    .setParameter(2, name)
+                    .setParameter(3, name)
+                    .setParameter(4, Timestamp.valueOf(modifiedDate))
+                    .setParameter(5, sku)
+                    .executeUpdate();
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    private void delete(long id) {
+        FullTextEntityManager em = Search.getFullTextEntityManager(emf.createEntityManager());
+        try {
+            em.getTransaction().begin();
+            em.createNativeQuery("DELETE FROM item WHERE id = ?")
+                    .setParameter(1, id)
+                    .executeUpdate();
+            em.purge(Item.class, id);
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Keeps the high-water marks in memory, and holds back indexing until released.
+     */
+    private static class MemoryHighWaterMarkStore implements HighWaterMarkStore {
+        private final Map<Class<?>, Date> marks = new ConcurrentHashMap<>();
+        private final CountDownLatch released;
+
+        MemoryHighWaterMarkStore(CountDownLatch released) {
+            this.released = released;
+        }
+
+        @Override
+        public Optional<Date> getHighWaterMark(Class<?> entityClass) {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return Optional.ofNullable(marks.get(entityClass));
+        }
+
+        @Override
+        public void setHighWaterMark(Class<?> entityClass, Date highWaterMark) {
+            marks.put(entityClass, highWaterMark);
+        }
+    }
+}
@@ -59,7 +59,7 @@ public class Item {
     private String name;
 
     @Field(index = Index.YES, analyze = Analyze.YES,
-            store = Store.NO, analyzer = @Analyzer(definition = "case_insensitive"))
+            store = Store.YES, analyzer = @Analyzer(definition = "case_insensitive"))
     private String description;
 
     @Field(index = Index.YES, analyze = Analyze.NO, store = Store.NO)
@@ -68,4 +68,7 @@ public class Item {
     private Date modifiedDate;
 
     private BigDecimal price;
+
+    @Field(index = Index.YES, analyze = Analyze.NO, store = Store.NO)
+    private String sku;
 }
@@ -4,5 +4,6 @@ CREATE TABLE IF NOT EXISTS item
       name VARCHAR(255),
       description VARCHAR(2047),
       modifiedDate TIMESTAMP,
-      price BIGINT
+      price BIGINT,
+      sku VARCHAR(255)
     ) AS SELECT * FROM CSVREAD('classpath:items.csv');
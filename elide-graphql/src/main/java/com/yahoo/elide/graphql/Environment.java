@@ -56,7 +56,7 @@ public class Environment {
         rawSource = environment.getSource();
         container = isRoot() ? new RootContainer() : (GraphQLContainer) rawSource;
 
-        if (isRoot()) {
+        if (isRoot() && !requestScope.isReadOnly()) {
             // Flush (but don't commit) between root queries
             requestScope.saveOrCreateObjects();
             requestScope.getTransaction().flush(requestScope);
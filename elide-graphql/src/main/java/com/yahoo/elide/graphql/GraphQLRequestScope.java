@@ -10,7 +10,10 @@ import com.yahoo.elide.core.DataStoreTransaction;
 import com.yahoo.elide.core.RequestScope;
 import com.yahoo.elide.security.User;
 
+import org.dataloader.DataLoaderRegistry;
+
 import lombok.Getter;
+import lombok.Setter;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -23,13 +26,27 @@ import javax.ws.rs.core.MultivaluedHashMap;
 public class GraphQLRequestScope extends RequestScope {
     @Getter private final Map<String, Long> totalRecordCounts = new HashMap<>();
 
+    // Relationship fetches are only batched when the executor of the request dispatches this registry
+    @Getter @Setter private DataLoaderRegistry dataLoaderRegistry;
+
+    // Read only requests run in a read transaction and never save or flush
+    @Getter private final boolean readOnly;
+
     public GraphQLRequestScope(DataStoreTransaction transaction,
                                User user,
                                ElideSettings elideSettings) {
+        this(transaction, user, elideSettings, false);
+    }
+
+    public GraphQLRequestScope(DataStoreTransaction transaction,
+                               User user,
+                               ElideSettings elideSettings,
+                               boolean readOnly) {
         // TODO: We're going to break out the two request scopes. `RequestScope` should become an interface and
         // we should have a GraphQLRequestScope and a JSONAPIRequestScope.
         // TODO: What should mutate multiple entity value be? There is a problem with this setting in practice.
         // Namely, we don't filter or paginate in the data store.
         super("/", null, transaction, user, new MultivaluedHashMap<>(), elideSettings);
+        this.readOnly = readOnly;
     }
 }
@@ -23,6 +23,10 @@ import com.yahoo.elide.graphql.containers.ConnectionContainer;
 
 import com.google.common.collect.Sets;
 
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.DataLoaderRegistry;
+
 import graphql.language.Field;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
@@ -195,6 +199,10 @@ public class PersistentResourceFetcher implements DataFetcher<Object> {
 
     /**
      * Fetches a relationship for a top-level entity.
+     * <p>
+     * When the request scope has a {@link DataLoaderRegistry}, fetches of the same relationship of many parents
+     * (without ids, sorting or pagination) are deferred and loaded together.  The result is then a future
+     * of the {@link ConnectionContainer}.
      *
      * @param context Request context
      * @param parentResource Parent object
@@ -223,6 +231,20 @@ public class PersistentResourceFetcher implements DataFetcher<Object> {
         Optional<Sorting> sorting = buildSorting(sort);
         Optional<FilterExpression> filter = buildFilter(typeName, filters, parentResource.getRequestScope());
 
+        DataLoaderRegistry dataLoaderRegistry = context.requestScope.getDataLoaderRegistry();
+        if (dataLoaderRegistry != null && !ids.isPresent() && !sorting.isPresent() && !pagination.isPresent()) {
+            String loaderKey = dictionary.getJsonAliasFor(parentResource.getResourceClass()) + "." + fieldName
+                    + filters.map(filterStr -> "?" + filterStr).orElse("");
+            DataLoader<PersistentResource, Object> loader = dataLoaderRegistry.getDataLoader(loaderKey);
+            if (loader == null) {
+                // Do not cache: a relationship may change between the operations of one request
+                loader = DataLoader.newDataLoader(new RelationshipBatchLoader(fieldName, filter, typeName),
+                        DataLoaderOptions.newOptions().setCachingEnabled(false));
+                dataLoaderRegistry.register(loaderKey, loader);
+            }
+            return loader.load(parentResource);
+        }
+
         Set<PersistentResource> relations;
         if (ids.isPresent()) {
             relations = parentResource.getRelation(fieldName, ids.get(), filter, sorting, pagination);
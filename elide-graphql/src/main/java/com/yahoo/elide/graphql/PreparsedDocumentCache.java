@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.graphql;
+
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caches parsed and validated GraphQL documents keyed on their query text.
+ * <p>
+ * Recently used documents are kept in a bounded LRU cache.  Pinned documents, such as persisted queries, are
+ * never evicted.  Documents with parse or validation errors are not cached.
+ */
+public class PreparsedDocumentCache implements PreparsedDocumentProvider {
+    private final Map<String, PreparsedDocumentEntry> pinned = new ConcurrentHashMap<>();
+    private final Map<String, PreparsedDocumentEntry> recent;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize the maximum number of documents kept besides the pinned ones
+     */
+    public PreparsedDocumentCache(int maxSize) {
+        this.recent = Collections.synchronizedMap(
+                new LinkedHashMap<String, PreparsedDocumentEntry>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, PreparsedDocumentEntry> eldest) {
+                        return size() > maxSize;
+                    }
+                });
+    }
+
+    @Override
+    public PreparsedDocumentEntry get(String query, Function<String, PreparsedDocumentEntry> compute) {
+        PreparsedDocumentEntry entry = pinned.get(query);
+        if (entry == null) {
+            entry = recent.get(query);
+        }
+        if (entry != null) {
+            hits.incrementAndGet();
+            return entry;
+        }
+
+        misses.incrementAndGet();
+        entry = compute.apply(query);
+        if (!entry.hasErrors()) {
+            recent.put(query, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Get a document without counting a hit or a miss, nor caching it if it has to be computed.
+     *
+     * @param query the query text
+     * @param compute parses and validates the query when it is not cached
+     * @return the parsed and validated document
+     */
+    public PreparsedDocumentEntry getOrCompute(String query, Function<String, PreparsedDocumentEntry> compute) {
+        PreparsedDocumentEntry entry = pinned.get(query);
+        if (entry == null) {
+            entry = recent.get(query);
+        }
+        return entry == null ? compute.apply(query) : entry;
+    }
+
+    /**
+     * Keep a document in the cache for the lifetime of this cache.
+     *
+     * @param query the query text
+     * @param entry the parsed and validated document
+     */
+    public void pin(String query, PreparsedDocumentEntry entry) {
+        pinned.put(query, entry);
+    }
+
+    /**
+     * @return the number of documents served from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of documents which had to be parsed and validated
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+}
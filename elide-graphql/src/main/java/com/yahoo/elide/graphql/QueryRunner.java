@@ -24,21 +24,38 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.google.common.hash.Hashing;
 
+import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.apache.commons.lang3.tuple.Pair;
+import org.dataloader.DataLoaderRegistry;
 import org.owasp.encoder.Encode;
 
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
 import graphql.GraphQLError;
+import graphql.InvalidSyntaxError;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.validation.ValidationError;
+import graphql.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import javax.ws.rs.WebApplicationException;
@@ -50,24 +67,47 @@ import javax.ws.rs.core.Response;
 @Slf4j
 public class QueryRunner {
     private final Elide elide;
+    private final GraphQLSchema schema;
+    private final PreparsedDocumentCache documentCache;
+    private final Map<String, String> persistedQueries = new ConcurrentHashMap<>();
     private GraphQL api;
 
     private static final String QUERY = "query";
     private static final String OPERATION_NAME = "operationName";
     private static final String VARIABLES = "variables";
     private static final String MUTATION = "mutation";
+    private static final String EXTENSIONS = "extensions";
+    private static final String PERSISTED_QUERY = "persistedQuery";
+    private static final String SHA256_HASH = "sha256Hash";
+    private static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+
+    public static final int DEFAULT_DOCUMENT_CACHE_SIZE = 1024;
 
     /**
      * Builds a new query runner.
      * @param elide The singular elide instance for this service.
      */
     public QueryRunner(Elide elide) {
+        this(elide, DEFAULT_DOCUMENT_CACHE_SIZE);
+    }
+
+    /**
+     * Builds a new query runner.
+     * @param elide The singular elide instance for this service.
+     * @param documentCacheSize The number of parsed and validated documents to keep.
+     */
+    public QueryRunner(Elide elide, int documentCacheSize) {
         this.elide = elide;
 
         PersistentResourceFetcher fetcher = new PersistentResourceFetcher(elide.getElideSettings());
         ModelBuilder builder = new ModelBuilder(elide.getElideSettings().getDictionary(), fetcher);
 
-        this.api = new GraphQL(builder.build());
+        this.schema = builder.build();
+        this.documentCache = new PreparsedDocumentCache(documentCacheSize);
+        this.api = GraphQL.newGraphQL(schema)
+                // Documents are looked up (and counted) once per request by getOperation
+                .preparsedDocumentProvider(documentCache::getOrCompute)
+                .build();
 
         // TODO - add serializers to allow for custom handling of ExecutionResult and GraphQLError objects
         GraphQLErrorSerializer errorSerializer =
@@ -78,6 +118,32 @@ public class QueryRunner {
         elide.getElideSettings().getMapper().getObjectMapper().registerModule(module);
     }
 
+    /**
+     * Register a persisted query.
+     * <p>
+     * Clients may then send the SHA-256 hash of the query as {@code extensions.persistedQuery.sha256Hash}
+     * instead of the query itself.  The query is parsed and validated once here and never again.
+     *
+     * @param query The GraphQL query.
+     * @return The hex encoded SHA-256 hash of the query.
+     * @throws IllegalArgumentException if the query is not valid against the schema.
+     */
+    public String registerPersistedQuery(String query) {
+        PreparsedDocumentEntry entry = parseAndValidate(query);
+        if (entry.hasErrors()) {
+            throw new IllegalArgumentException("Invalid persisted query: " + entry.getErrors());
+        }
+
+        String hash = Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+        documentCache.pin(query, entry);
+        persistedQueries.put(hash, query);
+        return hash;
+    }
+
+    public PreparsedDocumentCache getDocumentCache() {
+        return documentCache;
+    }
+
     /**
      * Execute a GraphQL query and return the response.
      * @param graphQLDocument The graphQL document (wrapped in JSON payload).
@@ -139,31 +205,58 @@ public class QueryRunner {
 
     private ElideResponse executeGraphQLRequest(ObjectMapper mapper, Object principal,
                                                 String graphQLDocument, JsonNode jsonDocument) {
-        boolean isVerbose = false;
-        try (DataStoreTransaction tx = elide.getDataStore().beginTransaction()) {
-            final User user = tx.accessUser(principal);
-            GraphQLRequestScope requestScope = new GraphQLRequestScope(tx, user, elide.getElideSettings());
-            isVerbose = requestScope.getPermissionExecutor().isVerbose();
-
-            if (!jsonDocument.has(QUERY)) {
+        String query;
+        JsonNode persistedQueryHash = jsonDocument.path(EXTENSIONS).path(PERSISTED_QUERY).path(SHA256_HASH);
+        if (jsonDocument.has(QUERY)) {
+            query = jsonDocument.get(QUERY).asText();
+        } else if (persistedQueryHash.isTextual()) {
+            query = persistedQueries.get(persistedQueryHash.asText());
+            if (query == null) {
+                // Same error as automatic persisted queries so that clients can retry with the full query
+                ErrorObjects errors = ErrorObjects.builder().addError()
+                        .with("message", PERSISTED_QUERY_NOT_FOUND).build();
                 return ElideResponse.builder()
-                        .responseCode(HttpStatus.SC_BAD_REQUEST)
-                        .body("A `query` key is required.")
+                        .responseCode(HttpStatus.SC_OK)
+                        .body(mapper.convertValue(errors, JsonNode.class).toString())
                         .build();
             }
+        } else {
+            return ElideResponse.builder()
+                    .responseCode(HttpStatus.SC_BAD_REQUEST)
+                    .body("A `query` key is required.")
+                    .build();
+        }
 
-            String query = jsonDocument.get(QUERY).asText();
+        // Logging all queries. It is recommended to put any private information that shouldn't be logged into
+        // the "variables" section of your query. Variable values are not logged.
+        log.info("Processing GraphQL query:\n{}", query);
 
-            // Logging all queries. It is recommended to put any private information that shouldn't be logged into
-            // the "variables" section of your query. Variable values are not logged.
-            log.info("Processing GraphQL query:\n{}", query);
+        String operationName = null;
+        if (jsonDocument.has(OPERATION_NAME) && !jsonDocument.get(OPERATION_NAME).isNull()) {
+            operationName = jsonDocument.get(OPERATION_NAME).asText();
+        }
+
+        Optional<OperationDefinition.Operation> operation = getOperation(query, operationName);
+        boolean isReadOnly = operation.filter(OperationDefinition.Operation.QUERY::equals).isPresent();
+        boolean isMutation = operation
+                .map(OperationDefinition.Operation.MUTATION::equals)
+                .orElseGet(() -> query.trim().startsWith(MUTATION));
+
+        boolean isVerbose = false;
+        try (DataStoreTransaction tx = isReadOnly
+                ? elide.getDataStore().beginReadTransaction()
+                : elide.getDataStore().beginTransaction()) {
+            final User user = tx.accessUser(principal);
+            GraphQLRequestScope requestScope =
+                    new GraphQLRequestScope(tx, user, elide.getElideSettings(), isReadOnly);
+            isVerbose = requestScope.getPermissionExecutor().isVerbose();
 
             ExecutionInput.Builder executionInput = new ExecutionInput.Builder()
                     .context(requestScope)
                     .query(query);
 
-            if (jsonDocument.has(OPERATION_NAME) && !jsonDocument.get(OPERATION_NAME).isNull()) {
-                executionInput.operationName(jsonDocument.get(OPERATION_NAME).asText());
+            if (operationName != null) {
+                executionInput.operationName(operationName);
             }
 
             if (jsonDocument.has(VARIABLES) && !jsonDocument.get(VARIABLES).isNull()) {
@@ -171,12 +264,12 @@ public class QueryRunner {
                 executionInput.variables(variables);
             }
 
-            ExecutionResult result = api.execute(executionInput);
+            ExecutionResult result = execute(executionInput, requestScope);
 
             tx.preCommit();
             requestScope.runQueuedPreSecurityTriggers();
             requestScope.getPermissionExecutor().executeCommitChecks();
-            if (query.trim().startsWith(MUTATION)) {
+            if (isMutation) {
                 if (!result.getErrors().isEmpty()) {
                     HashMap<String, Object> abortedResponseObject = new HashMap<String, Object>() {
                         {
@@ -190,7 +283,9 @@ public class QueryRunner {
                 }
                 requestScope.saveOrCreateObjects();
             }
-            tx.flush(requestScope);
+            if (!isReadOnly) {
+                tx.flush(requestScope);
+            }
 
             requestScope.runQueuedPreCommitTriggers();
             elide.getAuditLogger().commit(requestScope);
@@ -258,6 +353,64 @@ public class QueryRunner {
         }
     }
 
+    /**
+     * Execute a GraphQL query, batching relationship fetches.
+     * <p>
+     * Fetching is synchronous, so the execution runs until every remaining field waits on a batched
+     * relationship.  Dispatching those batches resumes the execution, which then stops at the next set of
+     * relationships, and so on until the query completes.
+     * @param executionInput The query.
+     * @param requestScope The request scope.
+     * @return The result.
+     */
+    private ExecutionResult execute(ExecutionInput.Builder executionInput, GraphQLRequestScope requestScope) {
+        DataLoaderRegistry dataLoaderRegistry = new DataLoaderRegistry();
+        requestScope.setDataLoaderRegistry(dataLoaderRegistry);
+
+        CompletableFuture<ExecutionResult> result = api.executeAsync(executionInput);
+
+        while (!result.isDone() && dataLoaderRegistry.getDataLoaders().stream()
+                .anyMatch(loader -> loader.dispatchDepth() > 0)) {
+            dataLoaderRegistry.dispatchAll();
+        }
+        if (!result.isDone()) {
+            throw new IllegalStateException("GraphQL execution did not complete");
+        }
+        return result.join();
+    }
+
+    /**
+     * Find the type of the operation a request runs from its parsed document.
+     * @param query The GraphQL query.
+     * @param operationName The name of the operation to run, if any.
+     * @return The type of the operation, or empty if the document is not valid or the operation is ambiguous.
+     */
+    private Optional<OperationDefinition.Operation> getOperation(String query, String operationName) {
+        PreparsedDocumentEntry entry = documentCache.get(query, this::parseAndValidate);
+        if (entry.hasErrors()) {
+            return Optional.empty();
+        }
+
+        List<OperationDefinition> operations = entry.getDocument().getDefinitions().stream()
+                .filter(OperationDefinition.class::isInstance)
+                .map(OperationDefinition.class::cast)
+                .filter(definition -> operationName == null || operationName.equals(definition.getName()))
+                .collect(Collectors.toList());
+        return operations.size() == 1 ? Optional.of(operations.get(0).getOperation()) : Optional.empty();
+    }
+
+    private PreparsedDocumentEntry parseAndValidate(String query) {
+        Document document;
+        try {
+            document = new Parser().parseDocument(query);
+        } catch (ParseCancellationException e) {
+            return new PreparsedDocumentEntry(InvalidSyntaxError.toInvalidSyntaxError(e));
+        }
+
+        List<ValidationError> errors = new Validator().validateDocument(schema, document);
+        return errors.isEmpty() ? new PreparsedDocumentEntry(document) : new PreparsedDocumentEntry(errors);
+    }
+
     private ElideResponse buildErrorResponse(HttpStatusException error, boolean isVerbose) {
         ObjectMapper mapper = elide.getMapper().getObjectMapper();
         JsonNode errorNode;
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.graphql;
+
+import com.yahoo.elide.core.PersistentResource;
+import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.graphql.containers.ConnectionContainer;
+
+import org.dataloader.BatchLoader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Loads the same relationship of many resources of the same type with a single data store call.
+ * <p>
+ * Each parent resource resolves to the {@link ConnectionContainer} of its relationship, or to the exception its
+ * fetch would have thrown.  Data stores which cannot batch fall back to one fetch per parent through
+ * {@link com.yahoo.elide.core.DataStoreTransaction#getRelations}.
+ */
+public class RelationshipBatchLoader implements BatchLoader<PersistentResource, Object> {
+    private final String relationName;
+    private final Optional<FilterExpression> filter;
+    private final String typeName;
+
+    /**
+     * Constructor.
+     *
+     * @param relationName the relationship to load
+     * @param filter the filter on the relationship
+     * @param typeName the type of the relationship
+     */
+    public RelationshipBatchLoader(String relationName, Optional<FilterExpression> filter, String typeName) {
+        this.relationName = relationName;
+        this.filter = filter;
+        this.typeName = typeName;
+    }
+
+    @Override
+    public CompletionStage<List<Object>> load(List<PersistentResource> parents) {
+        Map<PersistentResource, Set<PersistentResource>> relations;
+        try {
+            relations = PersistentResource.getRelationsCheckedFiltered(parents, relationName, filter);
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(new ArrayList<>(Collections.nCopies(parents.size(), e)));
+        }
+
+        List<Object> results = new ArrayList<>(parents.size());
+        for (PersistentResource<?> parent : parents) {
+            Set<PersistentResource> relation = relations.get(parent);
+            if (relation == null) {
+                // The relationship is not readable: fetch it alone to fail (or skip it) exactly as before
+                try {
+                    relation = parent.getRelationCheckedFiltered(relationName, filter,
+                            Optional.empty(), Optional.empty());
+                } catch (RuntimeException e) {
+                    results.add(e);
+                    continue;
+                }
+            }
+            results.add(new ConnectionContainer(relation, Optional.empty(), typeName));
+        }
+        return CompletableFuture.completedFuture(results);
+    }
+}
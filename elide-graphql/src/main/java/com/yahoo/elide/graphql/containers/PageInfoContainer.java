@@ -46,6 +46,20 @@ public class PageInfoContainer implements GraphQLContainer {
                 .collect(Collectors.toList());
 
         return pagination.map(pageValue -> {
+            // Keyset paginated pages start after the cursor of the previous page rather than at an offset
+            if (pageValue.isKeyset()) {
+                switch (fieldName) {
+                    case PAGE_INFO_HAS_NEXT_PAGE_KEYWORD:
+                        return pageValue.getNextCursor() != null;
+                    case PAGE_INFO_START_CURSOR_KEYWORD:
+                        return pageValue.getAfter();
+                    case PAGE_INFO_END_CURSOR_KEYWORD:
+                        return pageValue.getNextCursor();
+                    default:
+                        break;
+                }
+            }
+
             switch (fieldName) {
                 case PAGE_INFO_HAS_NEXT_PAGE_KEYWORD: {
                     int numResults = ids.size();
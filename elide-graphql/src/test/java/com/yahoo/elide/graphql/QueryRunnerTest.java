@@ -0,0 +1,239 @@
+/*
+ * Copyright 2019, Yahoo Inc.
+ * Licensed under the Apache License, Version 2.0
+ * See LICENSE file in project root for terms.
+ */
+package com.yahoo.elide.graphql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.yahoo.elide.Elide;
+import com.yahoo.elide.ElideResponse;
+import com.yahoo.elide.ElideSettingsBuilder;
+import com.yahoo.elide.core.DataStoreTransaction;
+import com.yahoo.elide.core.EntityDictionary;
+import com.yahoo.elide.core.RequestScope;
+import com.yahoo.elide.core.datastore.inmemory.HashMapDataStore;
+import com.yahoo.elide.core.datastore.wrapped.TransactionWrapper;
+import com.yahoo.elide.core.filter.expression.FilterExpression;
+import com.yahoo.elide.core.pagination.Pagination;
+import com.yahoo.elide.core.sort.Sorting;
+import com.yahoo.elide.security.checks.Check;
+
+import org.json.JSONException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+import graphqlEndpointTestModels.Author;
+import graphqlEndpointTestModels.Book;
+import graphqlEndpointTestModels.security.CommitChecks;
+import graphqlEndpointTestModels.security.UserChecks;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Tests the document cache, persisted queries, read transactions and relationship batching of {@link QueryRunner}.
+ */
+public class QueryRunnerTest {
+    private static final String QUERY = "{ book { edges { node { id title } } } }";
+    private static final String RESPONSE = "{\"data\":{\"book\":{\"edges\":[{\"node\":"
+            + "{\"id\":\"1\",\"title\":\"My first book\"}}]}}}";
+
+    private HashMapDataStore inMemoryStore;
+    private QueryRunner runner;
+    private final GraphQLEndpointTest.User user = new GraphQLEndpointTest.User().withName("1");
+    private int relationFetches;
+    private int batchedRelationFetches;
+    private int readTransactions;
+
+    @BeforeEach
+    public void setup() {
+        relationFetches = 0;
+        batchedRelationFetches = 0;
+        readTransactions = 0;
+        inMemoryStore = new HashMapDataStore(Book.class.getPackage()) {
+            @Override
+            public DataStoreTransaction beginReadTransaction() {
+                readTransactions++;
+                return super.beginReadTransaction();
+            }
+
+            @Override
+            public DataStoreTransaction beginTransaction() {
+                return new TransactionWrapper(super.beginTransaction()) {
+                    @Override
+                    public Object getRelation(DataStoreTransaction relationTx, Object entity, String relationName,
+                            Optional<FilterExpression> filter, Optional<Sorting> sorting,
+                            Optional<Pagination> pagination, RequestScope scope) {
+                        relationFetches++;
+                        return super.getRelation(relationTx, entity, relationName, filter, sorting, pagination,
+                                scope);
+                    }
+
+                    @Override
+                    public Map<Object, Object> getRelations(DataStoreTransaction relationTx, Collection<?> entities,
+                            String relationName, Optional<FilterExpression> filter, RequestScope scope) {
+                        batchedRelationFetches++;
+                        return super.getRelations(relationTx, entities, relationName, filter, scope);
+                    }
+                };
+            }
+        };
+        Map<String, Class<? extends Check>> checkMappings = new HashMap<>();
+
+        checkMappings.put(UserChecks.IS_USER_1, UserChecks.IsUserId.One.class);
+        checkMappings.put(UserChecks.IS_USER_2, UserChecks.IsUserId.Two.class);
+        checkMappings.put(CommitChecks.IS_NOT_USER_3, CommitChecks.IsNotUser3.class);
+
+        Elide elide = new Elide(
+                new ElideSettingsBuilder(inMemoryStore)
+                        .withEntityDictionary(new EntityDictionary(checkMappings))
+                        .build());
+        runner = new QueryRunner(elide, 1);
+
+        DataStoreTransaction tx = inMemoryStore.beginTransaction();
+        Book book = new Book();
+        book.setId(1L);
+        book.setTitle("My first book");
+        tx.createObject(book, null);
+        tx.save(book, null);
+        tx.commit(null);
+    }
+
+    @Test
+    public void testRelationshipsAreBatched() throws JSONException {
+        DataStoreTransaction tx = inMemoryStore.beginTransaction();
+        Book book1 = (Book) tx.loadObject(Book.class, 1L, Optional.empty(), null);
+        Book book2 = new Book();
+        Author author1 = new Author();
+        Author author2 = new Author();
+
+        book2.setId(2L);
+        book2.setTitle("My second book");
+        author1.setId(1L);
+        author1.setName("Ricky Carmichael");
+        author2.setId(2L);
+        author2.setName("The Silent Author");
+        book1.setAuthors(Collections.singleton(author1));
+        book2.setAuthors(Collections.singleton(author2));
+        author1.setBooks(Collections.singleton(book1));
+        author2.setBooks(Collections.singleton(book2));
+
+        tx.createObject(book2, null);
+        tx.createObject(author1, null);
+        tx.createObject(author2, null);
+        tx.save(book1, null);
+        tx.save(book2, null);
+        tx.save(author1, null);
+        tx.save(author2, null);
+        tx.commit(null);
+        relationFetches = 0;
+
+        String query = "{ book(sort: \\\"id\\\") { edges { node { id authors { edges { node { name "
+                + "books { edges { node { id } } } } } } } } } }";
+        String expected = "{\"data\":{\"book\":{\"edges\":["
+                + "{\"node\":{\"id\":\"1\",\"authors\":{\"edges\":[{\"node\":{\"name\":\"Ricky Carmichael\","
+                + "\"books\":{\"edges\":[{\"node\":{\"id\":\"1\"}}]}}}]}}},"
+                + "{\"node\":{\"id\":\"2\",\"authors\":{\"edges\":[{\"node\":{\"name\":\"The Silent Author\","
+                + "\"books\":{\"edges\":[{\"node\":{\"id\":\"2\"}}]}}}]}}}]}}}";
+
+        assertResponse(runner.run(request(query), user), expected);
+
+        // One batch for the authors of both books and one for the books of both authors
+        assertEquals(2, batchedRelationFetches);
+        assertEquals(0, relationFetches);
+    }
+
+    @Test
+    public void testQueriesUseReadTransactions() throws JSONException {
+        assertResponse(runner.run(request(QUERY), user), RESPONSE);
+        assertEquals(1, readTransactions);
+
+        runner.run(request("mutation { book(op: UPSERT, data: {id: \\\"1\\\", title: \\\"My first book\\\"}) "
+                + "{ edges { node { id } } } }"), user);
+        assertEquals(1, readTransactions);
+
+        // The operation to run decides, not the other operations of the document
+        String document = "query books " + QUERY
+                + " mutation noop { book(ids: [\\\"1\\\"]) { edges { node { id } } } }";
+        assertResponse(runner.run(request(document, "books"), user), RESPONSE);
+        assertEquals(2, readTransactions);
+        runner.run(request(document, "noop"), user);
+        assertEquals(2, readTransactions);
+    }
+
+    @Test
+    public void testDocumentCache() throws JSONException {
+        assertResponse(runner.run(request(QUERY), user), RESPONSE);
+        assertResponse(runner.run(request(QUERY), user), RESPONSE);
+
+        assertEquals(1, runner.getDocumentCache().getMisses());
+        assertEquals(1, runner.getDocumentCache().getHits());
+
+        // Evicts the first query
+        runner.run(request("{ book { edges { node { id } } } }"), user);
+        assertResponse(runner.run(request(QUERY), user), RESPONSE);
+        assertEquals(3, runner.getDocumentCache().getMisses());
+    }
+
+    @Test
+    public void testInvalidDocumentsAreNotCached() {
+        String invalid = "{ book { edges { node { unknownField } } } }";
+        runner.run(request(invalid), user);
+        runner.run(request(invalid), user);
+
+        assertEquals(2, runner.getDocumentCache().getMisses());
+        assertEquals(0, runner.getDocumentCache().getHits());
+    }
+
+    @Test
+    public void testPersistedQuery() throws JSONException {
+        String hash = runner.registerPersistedQuery(QUERY);
+        assertEquals(64, hash.length());
+
+        assertResponse(runner.run(persistedRequest(hash), user), RESPONSE);
+        assertEquals(0, runner.getDocumentCache().getMisses());
+        assertEquals(1, runner.getDocumentCache().getHits());
+
+        // Pinned queries survive eviction
+        runner.run(request("{ book { edges { node { id } } } }"), user);
+        runner.run(request("{ book { edges { node { title } } } }"), user);
+        assertResponse(runner.run(persistedRequest(hash), user), RESPONSE);
+        assertEquals(2, runner.getDocumentCache().getHits());
+    }
+
+    @Test
+    public void testUnknownPersistedQuery() throws JSONException {
+        ElideResponse response = runner.run(persistedRequest("0000"), user);
+        assertResponse(response, "{\"errors\":[{\"message\":\"PersistedQueryNotFound\"}]}");
+    }
+
+    @Test
+    public void testInvalidPersistedQuery() {
+        assertThrows(IllegalArgumentException.class,
+                () -> runner.registerPersistedQuery("{ book { edges { node { unknownField } } } }"));
+    }
+
+    private static String request(String query) {
+        return "{\"query\":\"" + query + "\"}";
+    }
+
+    private static String request(String query, String operationName) {
+        return "{\"query\":\"" + query + "\",\"operationName\":\"" + operationName + "\"}";
+    }
+
+    private static String persistedRequest(String hash) {
+        return "{\"extensions\":{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"" + hash + "\"}}}";
+    }
+
+    private static void assertResponse(ElideResponse response, String expected) throws JSONException {
+        assertEquals(200, response.getResponseCode());
+        JSONAssert.assertEquals(expected, (String) response.getBody(), true);
+    }
+}
@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Test;
 
 import io.restassured.response.Response;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -417,6 +418,43 @@ class PaginateIT extends IntegrationTest {
 
     }
 
+    @Test
+    void testKeysetPagination() {
+        // Books with a null genre come first
+        List<String> expected = get("/book?sort=genre,id").path("data.id");
+
+        List<String> paged = new ArrayList<>();
+        String next = "/book?sort=genre&page[size]=2&page[after]=";
+        while (next != null) {
+            Response response = get(next).then().statusCode(OK_200).extract().response();
+            paged.addAll(response.path("data.id"));
+            next = response.path("links.next");
+        }
+
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    void testKeysetPaginationOnSubRecords() {
+        String url = "/author/" + orsonCardId + "/books?sort=-title&page[size]=1&page[after]=";
+        Response response = get(url).then().statusCode(OK_200).extract().response();
+        assertEquals("Enders Shadow", response.path("data[0].attributes.title"));
+
+        when()
+            .get(response.<String>path("links.next"))
+        .then()
+            .body("data.attributes.title", contains("Enders Game"));
+    }
+
+    @Test
+    void testKeysetPaginationInvalidCursor() {
+        String url = "/book?sort=genre&page[size]=2&page[after]=bad";
+        when()
+            .get(url)
+        .then()
+            .statusCode(BAD_REQUEST_400);
+    }
+
     @Test
     void testBasicPageBasedPagination() {
         String url = "/book?page[number]=2&page[size]=2";
@@ -58,6 +58,7 @@ public class ElideAutoConfiguration {
                 .withSubqueryFilterDialect(new RSQLFilterDialect(dictionary))
                 .withAuditLogger(new Slf4jLogger())
                 .withEncodeErrorResponses(true)
+                .withStreamingResponses(settings.isStreamingResponses())
                 .withISO8601Dates("yyyy-MM-dd'T'HH:mm'Z'", TimeZone.getTimeZone("UTC"));
 
         return new Elide(builder.build());
@@ -100,7 +101,9 @@ public class ElideAutoConfiguration {
 
         return new JpaDataStore(
                 () -> { return entityManagerFactory.createEntityManager(); },
-                    (em -> { return new NonJtaTransaction(em); }));
+                    (em -> { return new NonJtaTransaction(em); }),
+                () -> { return entityManagerFactory.createEntityManager(); },
+                    (em -> { return new NonJtaTransaction(em, true); }));
     }
 
     /**
@@ -40,4 +40,9 @@ public class ElideConfigProperties {
      * The maximum pagination size a client can request.
      */
     private int maxPageSize = 10000;
+
+    /**
+     * Whether JSON-API collection responses are written to the client as they are read from the data store.
+     */
+    private boolean streamingResponses = false;
 }
@@ -21,9 +21,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
@@ -52,12 +54,12 @@ public class JsonApiController {
     }
 
     @GetMapping(value = "/**", produces = JSON_API_CONTENT_TYPE)
-    public ResponseEntity<String> elideGet(@RequestParam Map<String, String> allRequestParams,
-                                           HttpServletRequest request, Principal authentication) {
+    public ResponseEntity<StreamingResponseBody> elideGet(@RequestParam Map<String, String> allRequestParams,
+                                                          HttpServletRequest request, Principal authentication) {
         String pathname = getJsonApiPath(request, settings.getJsonApi().getPath());
 
         ElideResponse response = elide.get(pathname, new MultivaluedHashMap<>(allRequestParams), authentication);
-        return ResponseEntity.status(response.getResponseCode()).body(response.getBody());
+        return ResponseEntity.status(response.getResponseCode()).body(toStreamingBody(response));
     }
 
     @PostMapping(value = "/**", consumes = JSON_API_CONTENT_TYPE, produces = JSON_API_CONTENT_TYPE)
@@ -100,6 +102,25 @@ public class JsonApiController {
         return ResponseEntity.status(response.getResponseCode()).body(response.getBody());
     }
 
+    private static StreamingResponseBody toStreamingBody(ElideResponse response) {
+        if (!response.isStreaming()) {
+            String body = response.getBody();
+            return outputStream -> {
+                if (body != null) {
+                    outputStream.write(body.getBytes(StandardCharsets.UTF_8));
+                }
+            };
+        }
+
+        return outputStream -> {
+            try {
+                response.getStreamingBody().write(outputStream);
+            } finally {
+                response.complete();
+            }
+        };
+    }
+
     private String getJsonApiPath(HttpServletRequest request, String prefix) {
         String pathname = (String) request
                 .getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
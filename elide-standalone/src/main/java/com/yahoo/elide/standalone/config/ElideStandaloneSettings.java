@@ -67,7 +67,9 @@ public interface ElideStandaloneSettings {
                 getDatabaseProperties());
         DataStore dataStore = new JpaDataStore(
                 () -> { return entityManagerFactory.createEntityManager(); },
-                (em -> { return new NonJtaTransaction(em); }));
+                (em -> { return new NonJtaTransaction(em); }),
+                () -> { return entityManagerFactory.createEntityManager(); },
+                (em -> { return new NonJtaTransaction(em, true); }));
 
         EntityDictionary dictionary = new EntityDictionary(getCheckMappings(),
                 new Injector() {
@@ -95,6 +97,10 @@ public interface ElideStandaloneSettings {
             builder = builder.withISO8601Dates("yyyy-MM-dd'T'HH:mm'Z'", TimeZone.getTimeZone("UTC"));
         }
 
+        if (enableStreamingResponses()) {
+            builder = builder.withStreamingResponses(true);
+        }
+
         return builder.build();
     }
 
@@ -188,6 +194,15 @@ public interface ElideStandaloneSettings {
         return true;
     }
 
+    /**
+     * Whether JSON-API collection responses should be written to the client as they are read from the data store
+     * rather than buffered in memory first.
+     * @return Default: False
+     */
+    default boolean enableStreamingResponses() {
+        return false;
+    }
+
     /**
      * Whether or not Codahale metrics, healthchecks, thread, ping, and admin servlet
      * should be enabled.